@@ -27,6 +27,16 @@ class Messages extends NLS {
 
 	public static String MarketplaceClientCore_connectionProblem;
 
+	public static String ServiceLocator_catalogCacheLoadError;
+
+	public static String ServiceLocator_installReportsLoadError;
+
+	public static String ServiceLocator_installReportsSaveError;
+
+	public static String ServiceLocator_searchIndexLoadError;
+
+	public static String ServiceLocator_searchIndexSaveError;
+
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
@@ -13,25 +13,36 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.core;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.Dictionary;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.core.runtime.IProduct;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.service.AsyncMarketplaceService;
 import org.eclipse.epp.internal.mpc.core.service.CachingMarketplaceService;
+import org.eclipse.epp.internal.mpc.core.service.CatalogCache;
 import org.eclipse.epp.internal.mpc.core.service.DefaultCatalogService;
 import org.eclipse.epp.internal.mpc.core.service.DefaultMarketplaceService;
+import org.eclipse.epp.internal.mpc.core.service.InstallReportQueue;
 import org.eclipse.epp.internal.mpc.core.service.MarketplaceStorageService;
+import org.eclipse.epp.internal.mpc.core.service.NodeSearchIndex;
 import org.eclipse.epp.internal.mpc.core.service.UserFavoritesService;
 import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
+import org.eclipse.epp.internal.mpc.core.util.ServiceIndex;
 import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
+import org.eclipse.epp.mpc.core.service.IAsyncMarketplaceService;
 import org.eclipse.epp.mpc.core.service.ICatalogService;
 import org.eclipse.epp.mpc.core.service.IMarketplaceService;
 import org.eclipse.epp.mpc.core.service.IMarketplaceServiceLocator;
@@ -40,6 +51,7 @@ import org.eclipse.epp.mpc.core.service.IUserFavoritesService;
 import org.eclipse.epp.mpc.core.service.ServiceHelper;
 import org.eclipse.osgi.service.debug.DebugOptions;
 import org.eclipse.osgi.service.debug.DebugOptionsListener;
+import org.eclipse.osgi.util.NLS;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.FrameworkUtil;
@@ -65,6 +77,12 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 
 	private static final String STORAGE_SERVICE_BINDING_ID = "bind.storageService"; //$NON-NLS-1$
 
+	private static final String SEARCH_INDEX_PATH = "searchindex/"; //$NON-NLS-1$
+
+	private static final String INSTALL_REPORTS_PATH = "installreports.dat"; //$NON-NLS-1$
+
+	private static final String CATALOG_CACHE_PATH = "catalogcache"; //$NON-NLS-1$
+
 	private static final String DEBUG_CLIENT_OPTIONS_PATH = MarketplaceClientCore.BUNDLE_ID + "/client/"; //$NON-NLS-1$
 
 	private static boolean DEBUG_FAKE_CLIENT = false;
@@ -142,14 +160,24 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 
 	private ServiceTracker<IUserFavoritesService, IUserFavoritesService> favoritesServiceTracker;
 
+	private volatile ServiceIndex<IMarketplaceService> marketplaceServiceIndex;
+
+	private volatile ServiceIndex<IMarketplaceStorageService> storageServiceIndex;
+
+	private volatile ServiceIndex<IUserFavoritesService> favoritesServiceIndex;
+
 	private URL defaultCatalogUrl;
 
 	private URL defaultMarketplaceUrl;
 
-	private final List<ServiceRegistration<?>> dynamicServiceRegistrations = new ArrayList<>();
+	private final List<ServiceRegistration<?>> dynamicServiceRegistrations = new CopyOnWriteArrayList<>();
+
+	private final Map<File, NodeSearchIndex> searchIndexes = new HashMap<>();
 
 	private HttpClientService httpClient;
 
+	private InstallReportQueue installReportQueue;
+
 	public ServiceLocator() {
 		defaultMarketplaceUrl = DefaultMarketplaceService.DEFAULT_SERVICE_URL;
 		defaultCatalogUrl = DefaultCatalogService.DEFAULT_CATALOG_SERVICE_URL;
@@ -179,6 +207,9 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 	}
 
 	private void updateHttpClient(HttpClientService httpClient) {
+		if (installReportQueue != null) {
+			installReportQueue.setHttpClient(httpClient);
+		}
 		applyServiceReferenceOperation(favoritesServiceTracker, new ServiceReferenceOperation<IUserFavoritesService>() {
 
 			@Override
@@ -225,14 +256,31 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 	}
 
 	@Override
-	public synchronized IMarketplaceService getMarketplaceService(String baseUrl) {
-		IMarketplaceService service = getService(marketplaceServiceTracker, baseUrl);
+	public IMarketplaceService getMarketplaceService(String baseUrl) {
+		IMarketplaceService service = getService(marketplaceServiceIndex, baseUrl);
 		if (service != null) {
 			return service;
 		}
-		service = createMarketplaceService(baseUrl);
-		registerService(baseUrl, IMarketplaceService.class, service);
-		return service;
+		synchronized (this) {
+			//check again, another thread might have registered it in the meantime
+			service = getService(marketplaceServiceIndex, baseUrl);
+			if (service != null) {
+				return service;
+			}
+			service = createMarketplaceService(baseUrl);
+			registerService(baseUrl, IMarketplaceService.class, service);
+			return service;
+		}
+	}
+
+	@Override
+	public IAsyncMarketplaceService getDefaultAsyncMarketplaceService() {
+		return getAsyncMarketplaceService(defaultMarketplaceUrl.toExternalForm());
+	}
+
+	@Override
+	public IAsyncMarketplaceService getAsyncMarketplaceService(String baseUrl) {
+		return new AsyncMarketplaceService(getMarketplaceService(baseUrl));
 	}
 
 	private <T> void registerService(String baseUrl, Class<T> serviceClass, T service) {
@@ -254,24 +302,9 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 		return registration;
 	}
 
-	private <T> T getService(ServiceTracker<T, T> serviceTracker, String baseUrl) {
-		if (serviceTracker != null) {
-			ServiceReference<T>[] serviceReferences = serviceTracker.getServiceReferences();
-			if (serviceReferences != null) {
-				for (ServiceReference<T> serviceReference : serviceReferences) {
-					Object serviceBaseUrl = ServiceUtil.getOverridablePropertyValue(serviceReference,
-							IMarketplaceService.BASE_URL);
-					if (baseUrl.equals(serviceBaseUrl)) {
-						T service = serviceTracker.getService(serviceReference);
-						//we don't cache this on our own, since it might become invalid
-						if (service != null) {
-							return service;
-						}
-					}
-				}
-			}
-		}
-		return null;
+	private static <T> T getService(ServiceIndex<T> serviceIndex, String baseUrl) {
+		//the index is kept up to date by its tracker, so this won't return services that have become invalid
+		return serviceIndex == null ? null : serviceIndex.getService(baseUrl);
 	}
 
 	protected IMarketplaceService createMarketplaceService(String baseUrl) {
@@ -288,13 +321,96 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 		IUserFavoritesService favoritesService = getFavoritesService(baseUrl);
 		defaultService.setUserFavoritesService(favoritesService);//FIXME this should be a service reference!
 		defaultService.setHttpClient(httpClient);
-		service = new CachingMarketplaceService(defaultService);
+		defaultService.setInstallReportQueue(installReportQueue);
+		service = new CachingMarketplaceService(defaultService, getSearchIndex(baseUrl));
 		return service;
 	}
 
+	private NodeSearchIndex getSearchIndex(String baseUrl) {
+		File indexFile = computeSearchIndexFile(baseUrl);
+		if (indexFile == null) {
+			return new NodeSearchIndex();
+		}
+		NodeSearchIndex searchIndex = searchIndexes.get(indexFile);
+		if (searchIndex == null) {
+			searchIndex = new NodeSearchIndex();
+			try {
+				searchIndex.load(indexFile);
+			} catch (IOException e) {
+				//start over with an empty index
+				MarketplaceClientCore.getLog()
+				.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+						NLS.bind(Messages.ServiceLocator_searchIndexLoadError, indexFile), e));
+			}
+			searchIndexes.put(indexFile, searchIndex);
+		}
+		return searchIndex;
+	}
+
+	private static File computeSearchIndexFile(String baseUrl) {
+		return computeDataFile(SEARCH_INDEX_PATH + Integer.toHexString(baseUrl.hashCode()) + ".idx"); //$NON-NLS-1$
+	}
+
+	private static File computeDataFile(String path) {
+		Bundle bundle = FrameworkUtil.getBundle(ServiceLocator.class);
+		BundleContext bundleContext = bundle == null ? null : bundle.getBundleContext();
+		if (bundleContext == null) {
+			return null;
+		}
+		return bundleContext.getDataFile(path);
+	}
+
+	private void startInstallReportQueue() {
+		installReportQueue = new InstallReportQueue();
+		File reportsFile = computeDataFile(INSTALL_REPORTS_PATH);
+		if (reportsFile != null) {
+			try {
+				installReportQueue.load(reportsFile);
+			} catch (IOException e) {
+				MarketplaceClientCore.getLog()
+				.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+						NLS.bind(Messages.ServiceLocator_installReportsLoadError, reportsFile), e));
+			}
+			installReportQueue.setFile(reportsFile);
+		}
+		installReportQueue.setHttpClient(httpClient);
+	}
+
+	private void stopInstallReportQueue() {
+		if (installReportQueue == null) {
+			return;
+		}
+		installReportQueue.shutdown();
+		File reportsFile = computeDataFile(INSTALL_REPORTS_PATH);
+		if (reportsFile != null) {
+			try {
+				//keep undelivered reports for the next session
+				installReportQueue.save(reportsFile);
+			} catch (IOException e) {
+				MarketplaceClientCore.getLog()
+				.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+						NLS.bind(Messages.ServiceLocator_installReportsSaveError, reportsFile), e));
+			}
+		}
+		installReportQueue = null;
+	}
+
+	private void saveSearchIndexes() {
+		for (Map.Entry<File, NodeSearchIndex> entry : searchIndexes.entrySet()) {
+			try {
+				entry.getValue().save(entry.getKey());
+			} catch (IOException e) {
+				MarketplaceClientCore.getLog()
+				.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+						NLS.bind(Messages.ServiceLocator_searchIndexSaveError, entry.getKey()), e));
+			}
+		}
+		searchIndexes.clear();
+	}
+
 	@Override
 	public IMarketplaceStorageService getStorageService(String marketplaceUrl) {
-		return getService(storageServiceTracker, marketplaceUrl);
+		return getService(storageServiceIndex, marketplaceUrl);
 	}
 
 	@Override
@@ -304,7 +420,7 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 
 	@Override
 	public IUserFavoritesService getFavoritesService(String marketplaceUrl) {
-		return getService(favoritesServiceTracker, marketplaceUrl);
+		return getService(favoritesServiceIndex, marketplaceUrl);
 	}
 
 	@Override
@@ -377,13 +493,16 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 			this.defaultMarketplaceUrl = marketplaceUrl;
 		} //else the default value from the constructor is used
 
-		marketplaceServiceTracker = new ServiceTracker<>(context, IMarketplaceService.class, null);
+		startInstallReportQueue();
+
+		marketplaceServiceIndex = new ServiceIndex<>(context, null);
+		marketplaceServiceTracker = new ServiceTracker<>(context, IMarketplaceService.class, marketplaceServiceIndex);
 		marketplaceServiceTracker.open(true);
 
 		catalogServiceTracker = new ServiceTracker<>(context, ICatalogService.class, null);
 		catalogServiceTracker.open(true);
 
-		storageServiceTracker = new ServiceTracker<>(context, IMarketplaceStorageService.class,
+		storageServiceIndex = new ServiceIndex<>(context,
 				new ServiceTrackerCustomizer<IMarketplaceStorageService, IMarketplaceStorageService>() {
 
 			@Override
@@ -416,9 +535,10 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 				unbindFromUserFavoritesServices(reference, service);
 			}
 		});
+		storageServiceTracker = new ServiceTracker<>(context, IMarketplaceStorageService.class, storageServiceIndex);
 		storageServiceTracker.open(true);
 
-		favoritesServiceTracker = new ServiceTracker<>(context, IUserFavoritesService.class,
+		favoritesServiceIndex = new ServiceIndex<>(context,
 				new ServiceTrackerCustomizer<IUserFavoritesService, IUserFavoritesService>() {
 			@Override
 			public IUserFavoritesService addingService(ServiceReference<IUserFavoritesService> reference) {
@@ -450,6 +570,7 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 			}
 
 		});
+		favoritesServiceTracker = new ServiceTracker<>(context, IUserFavoritesService.class, favoritesServiceIndex);
 		favoritesServiceTracker.open(true);
 	}
 
@@ -582,9 +703,14 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 			catalogServiceTracker.close();
 			catalogServiceTracker = null;
 		}
+		marketplaceServiceIndex = null;
+		storageServiceIndex = null;
+		favoritesServiceIndex = null;
 		for (ServiceRegistration<?> serviceRegistration : dynamicServiceRegistrations) {
 			serviceRegistration.unregister();
 		}
+		saveSearchIndexes();
+		stopInstallReportQueue();
 	}
 
 	@Override
@@ -599,11 +725,29 @@ public class ServiceLocator implements IMarketplaceServiceLocator {
 		if (catalogService != null) {
 			return catalogService;
 		}
-		ICatalogService catalogService = new DefaultCatalogService(defaultCatalogUrl);
+		DefaultCatalogService catalogService = new DefaultCatalogService(defaultCatalogUrl);
+		catalogService.setCache(createCatalogCache());
 		registerService(null, ICatalogService.class, catalogService);
 		return catalogService;
 	}
 
+	private CatalogCache createCatalogCache() {
+		File cacheDir = computeDataFile(CATALOG_CACHE_PATH);
+		if (cacheDir == null) {
+			return null;
+		}
+		CatalogCache catalogCache = new CatalogCache(cacheDir, httpClient);
+		try {
+			catalogCache.load();
+		} catch (IOException e) {
+			//start over with an empty cache
+			MarketplaceClientCore.getLog()
+			.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+					NLS.bind(Messages.ServiceLocator_catalogCacheLoadError, cacheDir), e));
+		}
+		return catalogCache;
+	}
+
 	/**
 	 * for testing purposes
 	 *
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A list backed by an array of exactly its size. Every node has a few of these, and they rarely have more than a
+ * handful of elements, so unlike an {@link java.util.ArrayList} they don't reserve spare capacity, and empty lists
+ * share a single empty array.
+ *
+ * @author agent
+ */
+class CompactList<E> extends AbstractList<E> implements RandomAccess {
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private Object[] elements = EMPTY;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		rangeCheck(index, elements.length);
+		return (E) elements[index];
+	}
+
+	@Override
+	public int size() {
+		return elements.length;
+	}
+
+	@Override
+	public E set(int index, E element) {
+		E previous = get(index);
+		elements[index] = element;
+		return previous;
+	}
+
+	@Override
+	public void add(int index, E element) {
+		rangeCheck(index, elements.length + 1);
+		Object[] added = new Object[elements.length + 1];
+		System.arraycopy(elements, 0, added, 0, index);
+		System.arraycopy(elements, index, added, index + 1, elements.length - index);
+		added[index] = element;
+		elements = added;
+		modCount++;
+	}
+
+	@Override
+	public E remove(int index) {
+		E previous = get(index);
+		if (elements.length == 1) {
+			elements = EMPTY;
+		} else {
+			Object[] removed = new Object[elements.length - 1];
+			System.arraycopy(elements, 0, removed, 0, index);
+			System.arraycopy(elements, index + 1, removed, index, elements.length - index - 1);
+			elements = removed;
+		}
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		elements = EMPTY;
+		modCount++;
+	}
+
+	@Override
+	public Object[] toArray() {
+		return Arrays.copyOf(elements, elements.length);
+	}
+
+	private static void rangeCheck(int index, int size) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+}
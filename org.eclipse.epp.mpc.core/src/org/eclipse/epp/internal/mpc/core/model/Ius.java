@@ -25,7 +25,7 @@ import org.eclipse.epp.mpc.core.model.IIus;
  */
 public class Ius implements IIus {
 
-	protected List<IIu> iuElements = new ArrayList<>();
+	protected List<IIu> iuElements = new CompactList<>();
 
 	public Ius() {
 	}
@@ -21,7 +21,7 @@ import org.eclipse.epp.mpc.core.model.IPlatforms;
  */
 public class Platforms implements IPlatforms {
 
-	protected java.util.List<String> platform = new java.util.ArrayList<>();
+	protected java.util.List<String> platform = new CompactList<>();
 
 	public Platforms() {
 	}
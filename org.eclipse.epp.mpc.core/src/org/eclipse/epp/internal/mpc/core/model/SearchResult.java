@@ -26,6 +26,8 @@ public class SearchResult implements ISearchResult {
 
 	private List<Node> nodes;
 
+	private Object nextPage;
+
 	/**
 	 * The number of matches that matched the query, which may not be equal to the number of nodes returned.
 	 */
@@ -56,4 +58,27 @@ public class SearchResult implements ISearchResult {
 		this.nodes = nodes;
 	}
 
+	/**
+	 * Opaque state used by the service that produced this result to retrieve the next page of results, or null if
+	 * this is the last page.
+	 */
+	public Object getNextPage() {
+		return nextPage;
+	}
+
+	/**
+	 * Opaque state used by the service that produced this result to retrieve the next page of results, or null if
+	 * this is the last page.
+	 */
+	public void setNextPage(Object nextPage) {
+		this.nextPage = nextPage;
+	}
+
+	/**
+	 * @return true if more results can be retrieved for this result, false if this is the last page
+	 */
+	public boolean hasNextPage() {
+		return nextPage != null;
+	}
+
 }
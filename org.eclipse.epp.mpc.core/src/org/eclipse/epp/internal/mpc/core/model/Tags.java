@@ -20,7 +20,7 @@ import org.eclipse.epp.mpc.core.model.ITags;
  */
 public class Tags implements ITags {
 
-	protected java.util.List<Tag> tags = new java.util.ArrayList<>();
+	protected java.util.List<Tag> tags = new CompactList<>();
 
 	public Tags() {
 	}
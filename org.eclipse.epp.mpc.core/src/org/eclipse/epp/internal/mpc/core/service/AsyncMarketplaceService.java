@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.mpc.core.model.ICategory;
+import org.eclipse.epp.mpc.core.model.IFavoriteList;
+import org.eclipse.epp.mpc.core.model.IMarket;
+import org.eclipse.epp.mpc.core.model.INews;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.eclipse.epp.mpc.core.service.IAsyncMarketplaceService;
+import org.eclipse.epp.mpc.core.service.IMarketplaceService;
+
+/**
+ * Adapts a blocking {@link IMarketplaceService} - usually a {@link CachingMarketplaceService} around a
+ * {@link DefaultMarketplaceService} - to the {@link IAsyncMarketplaceService} API.
+ * <p>
+ * Requests are run on the shared {@link IOTaskExecutor}, so fanning out lots of requests doesn't start a thread for
+ * each of them or flood the marketplace server. Each request gets its own progress monitor, which is canceled along
+ * with the request's future. The marketplace service checks this monitor while downloading and parsing, so a canceled
+ * request is abandoned right away.
+ *
+ * @author agent
+ */
+public class AsyncMarketplaceService implements IAsyncMarketplaceService {
+
+	/**
+	 * A blocking request to the marketplace service.
+	 */
+	public interface Request<T> {
+		T run(IProgressMonitor monitor) throws CoreException;
+	}
+
+	private static class RequestFuture<T> extends CompletableFuture<T> {
+
+		private final IProgressMonitor monitor = new NullProgressMonitor();
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			monitor.setCanceled(true);
+			return super.cancel(mayInterruptIfRunning);
+		}
+	}
+
+	private final IMarketplaceService delegate;
+
+	private final Executor executor;
+
+	public AsyncMarketplaceService(IMarketplaceService delegate) {
+		this(delegate, IOTaskExecutor.getDefault().forHost(getHost(delegate)));
+	}
+
+	public AsyncMarketplaceService(IMarketplaceService delegate, Executor executor) {
+		if (delegate == null || executor == null) {
+			throw new IllegalArgumentException();
+		}
+		this.delegate = delegate;
+		this.executor = executor;
+	}
+
+	private static String getHost(IMarketplaceService delegate) {
+		URL baseUrl = delegate == null ? null : delegate.getBaseUrl();
+		return baseUrl == null ? null : baseUrl.getHost();
+	}
+
+	/**
+	 * Run the given request asynchronously. The request is skipped if the returned future is canceled before it
+	 * starts.
+	 */
+	public <T> CompletableFuture<T> submit(final Request<T> request) {
+		final RequestFuture<T> future = new RequestFuture<>();
+		Runnable task = () -> {
+			if (future.isDone()) {
+				return;
+			}
+			try {
+				future.complete(request.run(future.monitor));
+			} catch (CoreException e) {
+				if (e.getStatus().getSeverity() == IStatus.CANCEL) {
+					future.cancel(false);
+				} else {
+					future.completeExceptionally(e);
+				}
+			} catch (OperationCanceledException e) {
+				future.cancel(false);
+			} catch (RuntimeException | Error e) {
+				future.completeExceptionally(e);
+			}
+		};
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	@Override
+	public IMarketplaceService getMarketplaceService() {
+		return delegate;
+	}
+
+	@Override
+	public URL getBaseUrl() {
+		return delegate.getBaseUrl();
+	}
+
+	@Override
+	public CompletableFuture<List<? extends IMarket>> listMarkets() {
+		return submit(delegate::listMarkets);
+	}
+
+	@Override
+	public CompletableFuture<IMarket> getMarket(IMarket market) {
+		return submit(monitor -> delegate.getMarket(market, monitor));
+	}
+
+	@Override
+	public CompletableFuture<ICategory> getCategory(ICategory category) {
+		return submit(monitor -> delegate.getCategory(category, monitor));
+	}
+
+	@Override
+	public CompletableFuture<INode> getNode(INode node) {
+		return submit(monitor -> delegate.getNode(node, monitor));
+	}
+
+	@Override
+	public CompletableFuture<List<INode>> getNodes(Collection<? extends INode> nodes) {
+		return submit(monitor -> delegate.getNodes(nodes, monitor));
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> search(IMarket market, ICategory category, String queryText) {
+		return submit(monitor -> delegate.search(market, category, queryText, monitor));
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> tagged(String tag) {
+		return submit(monitor -> delegate.tagged(tag, monitor));
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> tagged(List<String> tags) {
+		return submit(monitor -> delegate.tagged(tags, monitor));
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> featured() {
+		return submit(delegate::featured);
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> featured(IMarket market, ICategory category) {
+		return submit(monitor -> delegate.featured(market, category, monitor));
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> recent() {
+		return submit(delegate::recent);
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> topFavorites() {
+		return submit(delegate::topFavorites);
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> popular() {
+		return submit(delegate::popular);
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> related(List<? extends INode> basedOn) {
+		return submit(monitor -> delegate.related(basedOn, monitor));
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> userFavorites() {
+		return submit(delegate::userFavorites);
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> userFavorites(URI favoritesUri) {
+		return submit(monitor -> delegate.userFavorites(favoritesUri, monitor));
+	}
+
+	@Override
+	public CompletableFuture<List<IFavoriteList>> userFavoriteLists() {
+		return submit(delegate::userFavoriteLists);
+	}
+
+	@Override
+	public CompletableFuture<ISearchResult> nextPage(ISearchResult result) {
+		return submit(monitor -> delegate.nextPage(result, monitor));
+	}
+
+	@Override
+	public CompletableFuture<INews> news() {
+		return submit(delegate::news);
+	}
+}
@@ -30,7 +30,10 @@ import java.util.stream.Collectors;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
 import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.SearchResult;
 import org.eclipse.epp.internal.mpc.core.service.AbstractDataStorageService.NotAuthorizedException;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
 import org.eclipse.epp.mpc.core.model.ICategory;
@@ -42,22 +45,39 @@ import org.eclipse.epp.mpc.core.model.ISearchResult;
 import org.eclipse.epp.mpc.core.service.IMarketplaceService;
 import org.eclipse.epp.mpc.core.service.IUserFavoritesService;
 import org.eclipse.epp.mpc.core.service.QueryHelper;
+import org.eclipse.osgi.util.NLS;
 
 public class CachingMarketplaceService implements IMarketplaceService {
 
 	private static final String MISSING_NODE_TYPE = "__MISSING__"; //$NON-NLS-1$
 
+	private static final int MAX_LOCAL_SEARCH_RESULTS = 100;
+
 	private final IMarketplaceService delegate;
 
 	private final Map<String, Reference<Object>> cache = new LinkedHashMap<>();
 
 	private final ReferenceQueue<Object> cacheReferenceQueue = new ReferenceQueue<>();
 
+	private final NodeSearchIndex searchIndex;
+
 	public CachingMarketplaceService(IMarketplaceService delegate) {
-		if (delegate == null) {
+		this(delegate, new NodeSearchIndex());
+	}
+
+	public CachingMarketplaceService(IMarketplaceService delegate, NodeSearchIndex searchIndex) {
+		if (delegate == null || searchIndex == null) {
 			throw new IllegalArgumentException();
 		}
 		this.delegate = delegate;
+		this.searchIndex = searchIndex;
+	}
+
+	/**
+	 * @return the local index of all nodes seen by this service
+	 */
+	public NodeSearchIndex getSearchIndex() {
+		return searchIndex;
 	}
 
 	public IMarketplaceService getDelegate() {
@@ -149,6 +169,7 @@ public class CachingMarketplaceService implements IMarketplaceService {
 			cache(computeNodeUrlKey(node), node);
 			cache(computeNodeIdUrlKey(node), node);
 		}
+		searchIndex.add(node);
 	}
 
 	@Override
@@ -303,7 +324,22 @@ public class CachingMarketplaceService implements IMarketplaceService {
 	public ISearchResult search(final IMarket market, final ICategory category, final String queryText,
 			IProgressMonitor monitor) throws CoreException {
 		String key = computeSearchKey("search", market, category, queryText); //$NON-NLS-1$
-		return performSearch(monitor, key, monitor1 -> delegate.search(market, category, queryText, monitor1));
+		try {
+			return performSearch(monitor, key, monitor1 -> delegate.search(market, category, queryText, monitor1));
+		} catch (CoreException e) {
+			if (e.getStatus().getSeverity() == IStatus.CANCEL) {
+				throw e;
+			}
+			//server unreachable - answer from what we've seen before
+			ISearchResult localResult = searchLocal(category, queryText);
+			if (localResult == null || localResult.getNodes().isEmpty()) {
+				throw e;
+			}
+			MarketplaceClientCore.getLog()
+			.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+					NLS.bind(Messages.CachingMarketplaceService_localSearchFallback, queryText), e));
+			return localResult;
+		}
 	}
 
 	@Override
@@ -318,6 +354,21 @@ public class CachingMarketplaceService implements IMarketplaceService {
 		return tagged(combinedTags, monitor);
 	}
 
+	@Override
+	public ISearchResult nextPage(ISearchResult result, IProgressMonitor monitor) throws CoreException {
+		//pages aren't cached themselves, but their nodes are
+		ISearchResult page = delegate.nextPage(result, monitor);
+		if (page != null) {
+			synchronized (cache) {
+				for (INode node : page.getNodes()) {
+					cache(computeNodeKey(node), node);
+				}
+			}
+			indexNodes(page);
+		}
+		return page;
+	}
+
 	private ISearchResult performSearch(IProgressMonitor monitor, String key, SearchOperation searchOperation)
 			throws CoreException {
 		ISearchResult result = null;
@@ -336,11 +387,35 @@ public class CachingMarketplaceService implements IMarketplaceService {
 						cache(computeNodeKey(node), node);
 					}
 				}
+				indexNodes(result);
 			}
 		}
 		return result;
 	}
 
+	private void indexNodes(ISearchResult result) {
+		for (INode node : result.getNodes()) {
+			searchIndex.add(node);
+		}
+	}
+
+	/**
+	 * Search the nodes this service has seen so far, without contacting the server.
+	 *
+	 * @return the matching nodes, or null if there is nothing to search in
+	 */
+	public ISearchResult searchLocal(ICategory category, String queryText) {
+		if (queryText == null || queryText.trim().length() == 0 || searchIndex.size() == 0) {
+			return null;
+		}
+		List<INode> nodes = searchIndex.search(queryText, category == null ? null : category.getId(),
+				MAX_LOCAL_SEARCH_RESULTS);
+		SearchResult result = new SearchResult();
+		result.setNodes(nodes.stream().map(Node.class::cast).collect(Collectors.toList()));
+		result.setMatchCount(nodes.size());
+		return result;
+	}
+
 	private String computeSearchKey(String prefix, IMarket market, ICategory category, String queryText) {
 		return prefix
 				+ ":" + (market == null ? "" : market.getId()) + ":" + (category == null ? "" : category.getId()) + ":" + (queryText == null ? "" : queryText.trim()); //$NON-NLS-1$ //$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$//$NON-NLS-5$ //$NON-NLS-6$
@@ -443,6 +518,13 @@ public class CachingMarketplaceService implements IMarketplaceService {
 		return delegate.userFavorites(monitor);
 	}
 
+	@Override
+	public ISearchResult userFavorites(int pageSize, IProgressMonitor monitor)
+			throws CoreException, NotAuthorizedException {
+		//we don't cache the favorite status, only contents individual nodes, which happens internally...
+		return delegate.userFavorites(pageSize, monitor);
+	}
+
 	@Override
 	public void userFavorites(List<? extends INode> nodes, IProgressMonitor monitor)
 			throws CoreException, NotAuthorizedException {
@@ -460,4 +542,11 @@ public class CachingMarketplaceService implements IMarketplaceService {
 		return delegate.userFavorites(favoritesUri, monitor);
 	}
 
+	@Override
+	public ISearchResult userFavorites(URI favoritesUri, int pageSize, IProgressMonitor monitor)
+			throws CoreException {
+		//nodes are cached while the delegate resolves them
+		return delegate.userFavorites(favoritesUri, pageSize, monitor);
+	}
+
 }
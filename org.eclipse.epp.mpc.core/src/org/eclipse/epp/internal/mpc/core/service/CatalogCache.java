@@ -0,0 +1,377 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.util.EntityUtils;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientTransport;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Permit;
+import org.eclipse.epp.internal.mpc.core.util.TransportFactory;
+import org.eclipse.epp.mpc.core.service.ITransport;
+
+/**
+ * Persistent cache for the catalog list and the catalogs' branding images, which are needed before the wizard can
+ * show anything. Cached contents can be used right away on the next start, and are revalidated with conditional
+ * requests using the validators the server sent along with them, so unchanged contents are not transferred again.
+ * <p>
+ * Requests go through the shared {@link HttpClientService}, scheduled by the {@link IOTaskExecutor} like all other
+ * requests. Without it, contents are fetched through the default {@link ITransport transport}, which can't
+ * revalidate, so they are transferred in full.
+ * <p>
+ * Contents that haven't been used for a while, like the images of catalogs that are gone, are removed by
+ * {@link #prune(long)}.
+ *
+ * @author agent
+ */
+public class CatalogCache {
+
+	public static final long DEFAULT_MAX_AGE = TimeUnit.DAYS.toMillis(30);
+
+	private static final String INDEX_FILE = "index.properties"; //$NON-NLS-1$
+
+	private static final String KEY_URL = ".url"; //$NON-NLS-1$
+
+	private static final String KEY_ETAG = ".etag"; //$NON-NLS-1$
+
+	private static final String KEY_LAST_MODIFIED = ".modified"; //$NON-NLS-1$
+
+	private static final String KEY_USED = ".used"; //$NON-NLS-1$
+
+	private static final class Entry {
+
+		private final String url;
+
+		private final String eTag;
+
+		private final String lastModified;
+
+		private long used;
+
+		private Entry(String url, String eTag, String lastModified, long used) {
+			this.url = url;
+			this.eTag = eTag;
+			this.lastModified = lastModified;
+			this.used = used;
+		}
+	}
+
+	private final File dir;
+
+	private final HttpClientService client;
+
+	private final ITransport transport;
+
+	private final IOTaskExecutor executor;
+
+	private final LongSupplier clock;
+
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	public CatalogCache(File dir, HttpClientService client) {
+		this(dir, client, TransportFactory.createTransport());
+	}
+
+	public CatalogCache(File dir, HttpClientService client, ITransport transport) {
+		this(dir, client, transport, IOTaskExecutor.getDefault(), System::currentTimeMillis);
+	}
+
+	/**
+	 * @param clock
+	 *            the time in milliseconds, used to track when cached contents have last been used
+	 */
+	public CatalogCache(File dir, HttpClientService client, ITransport transport, IOTaskExecutor executor,
+			LongSupplier clock) {
+		this.dir = dir;
+		this.client = client;
+		this.transport = transport;
+		this.executor = executor;
+		this.clock = clock;
+	}
+
+	/**
+	 * Restore the cache index from disk, if it exists.
+	 */
+	public synchronized void load() throws IOException {
+		File indexFile = new File(dir, INDEX_FILE);
+		if (!indexFile.isFile()) {
+			return;
+		}
+		Properties index = new Properties();
+		try (InputStream in = new BufferedInputStream(new FileInputStream(indexFile))) {
+			index.load(in);
+		}
+		entries.clear();
+		long now = clock.getAsLong();
+		for (String name : index.stringPropertyNames()) {
+			if (name.endsWith(KEY_URL)) {
+				String key = name.substring(0, name.length() - KEY_URL.length());
+				if (getDataFile(key).isFile()) {
+					entries.put(key, new Entry(index.getProperty(name), index.getProperty(key + KEY_ETAG),
+							index.getProperty(key + KEY_LAST_MODIFIED), parseTime(index.getProperty(key + KEY_USED),
+									now)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the cached contents of the given location without checking with the server, or null if there are none
+	 */
+	public synchronized byte[] getCached(URI location) {
+		String key = computeKey(location);
+		Entry entry = getEntry(key, location);
+		if (entry == null) {
+			return null;
+		}
+		entry.used = clock.getAsLong();
+		try {
+			return Files.readAllBytes(getDataFile(key).toPath());
+		} catch (IOException e) {
+			// missing or unreadable - treat as not cached
+			entries.remove(key);
+			return null;
+		}
+	}
+
+	/**
+	 * Retrieve the contents of the given location. If they are cached, they are revalidated with the server and only
+	 * transferred again if they have changed.
+	 *
+	 * @return the current contents
+	 * @throws OperationCanceledException
+	 *             if the monitor is canceled before the contents have been retrieved completely
+	 */
+	public byte[] fetch(URI location, IProgressMonitor monitor) throws IOException, CoreException {
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		String scheme = location.getScheme();
+		if (client == null || !("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))) { //$NON-NLS-1$ //$NON-NLS-2$
+			byte[] contents;
+			try (InputStream in = transport.stream(location, monitor)) {
+				contents = readFully(in, monitor);
+			}
+			store(location, contents, null, null);
+			return contents;
+		}
+
+		String key = computeKey(location);
+		Entry entry;
+		synchronized (this) {
+			entry = getEntry(key, location);
+		}
+		RequestBuilder builder = RequestBuilder.get(location);
+		builder.setHeader(HttpHeaders.USER_AGENT, HttpClientTransport.USER_AGENT);
+		if (entry != null) {
+			if (entry.eTag != null) {
+				builder.setHeader(HttpHeaders.IF_NONE_MATCH, entry.eTag);
+			}
+			if (entry.lastModified != null) {
+				builder.setHeader(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified);
+			}
+		}
+		HttpUriRequest request = builder.build();
+		try (Permit permit = executor.acquire(IOTaskExecutor.getCurrentPriority(), location.getHost(), monitor)) {
+			HttpResponse response = client.configureAndExecute(request);
+			HttpEntity entity = response.getEntity();
+			try {
+				int statusCode = response.getStatusLine().getStatusCode();
+				if (statusCode == HttpStatus.SC_NOT_MODIFIED && entry != null) {
+					byte[] cached = getCached(location);
+					if (cached != null) {
+						return cached;
+					}
+				} else {
+					if (statusCode != HttpStatus.SC_OK || entity == null) {
+						throw new HttpResponseException(statusCode, response.getStatusLine().getReasonPhrase());
+					}
+					byte[] contents;
+					try (InputStream in = entity.getContent()) {
+						contents = readFully(in, monitor);
+					}
+					store(location, contents, getHeader(response, HttpHeaders.ETAG),
+							getHeader(response, HttpHeaders.LAST_MODIFIED));
+					return contents;
+				}
+			} finally {
+				if (monitor.isCanceled()) {
+					//don't wait for the rest of a response nobody wants anymore
+					request.abort();
+				}
+				EntityUtils.consumeQuietly(entity);
+				if (response instanceof CloseableHttpResponse) {
+					((CloseableHttpResponse) response).close();
+				}
+			}
+		}
+		// cached contents got lost in the meantime - fetch them again without validators
+		remove(location);
+		return fetch(location, monitor);
+	}
+
+	/**
+	 * Forget the cached contents of the given location.
+	 */
+	public synchronized void remove(URI location) {
+		String key = computeKey(location);
+		if (getEntry(key, location) != null) {
+			entries.remove(key);
+			getDataFile(key).delete();
+			saveIndexQuietly();
+		}
+	}
+
+	/**
+	 * Forget all contents that haven't been {@link #getCached(URI) used} or {@link #fetch(URI, IProgressMonitor)
+	 * fetched} for the given time.
+	 *
+	 * @param maxAge
+	 *            the time in milliseconds
+	 */
+	public synchronized void prune(long maxAge) {
+		long oldest = clock.getAsLong() - maxAge;
+		for (Iterator<Map.Entry<String, Entry>> i = entries.entrySet().iterator(); i.hasNext();) {
+			Map.Entry<String, Entry> mapEntry = i.next();
+			if (mapEntry.getValue().used < oldest) {
+				i.remove();
+				getDataFile(mapEntry.getKey()).delete();
+			}
+		}
+		//also keeps the usage times up to date
+		saveIndexQuietly();
+	}
+
+	private synchronized void store(URI location, byte[] contents, String eTag, String lastModified)
+			throws IOException {
+		String key = computeKey(location);
+		writeAtomically(getDataFile(key), out -> out.write(contents));
+		entries.put(key, new Entry(location.toString(), eTag, lastModified, clock.getAsLong()));
+		saveIndex();
+	}
+
+	private Entry getEntry(String key, URI location) {
+		Entry entry = entries.get(key);
+		return entry != null && entry.url.equals(location.toString()) ? entry : null;
+	}
+
+	private void saveIndex() throws IOException {
+		Properties index = new Properties();
+		for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+			String key = mapEntry.getKey();
+			Entry entry = mapEntry.getValue();
+			index.setProperty(key + KEY_URL, entry.url);
+			if (entry.eTag != null) {
+				index.setProperty(key + KEY_ETAG, entry.eTag);
+			}
+			if (entry.lastModified != null) {
+				index.setProperty(key + KEY_LAST_MODIFIED, entry.lastModified);
+			}
+			index.setProperty(key + KEY_USED, Long.toString(entry.used));
+		}
+		writeAtomically(new File(dir, INDEX_FILE), out -> index.store(out, null));
+	}
+
+	private void saveIndexQuietly() {
+		try {
+			saveIndex();
+		} catch (IOException e) {
+			// the stale entry will be dropped on load, since its data file is gone
+		}
+	}
+
+	private interface Writer {
+		void write(OutputStream out) throws IOException;
+	}
+
+	private void writeAtomically(File file, Writer writer) throws IOException {
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Failed to create " + dir); //$NON-NLS-1$
+		}
+		File tempFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+			writer.write(out);
+		}
+		Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private File getDataFile(String key) {
+		return new File(dir, key + ".dat"); //$NON-NLS-1$
+	}
+
+	private static String computeKey(URI location) {
+		return Integer.toHexString(location.toString().hashCode());
+	}
+
+	private static String getHeader(HttpResponse response, String name) {
+		Header header = response.getFirstHeader(name);
+		return header == null ? null : header.getValue();
+	}
+
+	private static long parseTime(String value, long defaultValue) {
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	private static byte[] readFully(InputStream in, IProgressMonitor monitor) throws IOException {
+		if (in == null) {
+			throw new IOException();
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		for (int read; (read = in.read(buffer)) != -1;) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+}
@@ -13,21 +13,32 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.core.service;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
 import org.eclipse.epp.internal.mpc.core.ServiceLocator;
 import org.eclipse.epp.internal.mpc.core.model.Catalog;
 import org.eclipse.epp.internal.mpc.core.model.CatalogBranding;
 import org.eclipse.epp.internal.mpc.core.model.Catalogs;
 import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
+import org.eclipse.epp.internal.mpc.core.util.URLUtil;
 import org.eclipse.epp.mpc.core.model.ICatalog;
 import org.eclipse.epp.mpc.core.service.ICatalogService;
 import org.eclipse.epp.mpc.core.service.IMarketplaceServiceLocator;
 import org.eclipse.epp.mpc.core.service.IUserFavoritesService;
 import org.eclipse.epp.mpc.core.service.ServiceHelper;
+import org.eclipse.osgi.util.NLS;
 
 public class DefaultCatalogService extends RemoteMarketplaceService<Catalogs> implements ICatalogService {
 
@@ -36,6 +47,8 @@ public class DefaultCatalogService extends RemoteMarketplaceService<Catalogs> im
 
 	public static final URL DEFAULT_CATALOG_SERVICE_URL;
 
+	private static final String CATALOGS_PATH = "catalogs/" + API_URI_SUFFIX; //$NON-NLS-1$
+
 	static {
 		DEFAULT_CATALOG_SERVICE_URL = ServiceUtil.parseUrl(DEFAULT_CATALOG_SERVICE_LOCATION);
 	}
@@ -44,13 +57,107 @@ public class DefaultCatalogService extends RemoteMarketplaceService<Catalogs> im
 		this(null);
 	}
 
+	private CatalogCache cache;
+
 	public DefaultCatalogService(URL baseUrl) {
 		this.baseUrl = baseUrl == null ? DEFAULT_CATALOG_SERVICE_URL : baseUrl;
 	}
 
+	public CatalogCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Keep the catalog list in the given persistent cache, revalidating it with the server on each
+	 * {@link #listCatalogs(IProgressMonitor) request}.
+	 */
+	public void setCache(CatalogCache cache) {
+		this.cache = cache;
+	}
+
 	@Override
 	public List<? extends ICatalog> listCatalogs(IProgressMonitor monitor) throws CoreException {
-		Catalogs result = processRequest("catalogs/" + API_URI_SUFFIX, monitor); //$NON-NLS-1$
+		Catalogs result = null;
+		if (cache != null) {
+			result = fetchCatalogs(monitor);
+		}
+		if (result == null) {
+			result = processRequest(CATALOGS_PATH, monitor);
+		}
+		return registerCatalogs(result);
+	}
+
+	/**
+	 * Get the catalogs from the last successful request, which might have been made in an earlier session, without
+	 * contacting the server.
+	 *
+	 * @return the cached catalogs, or null if there are none
+	 */
+	public List<? extends ICatalog> getCachedCatalogs() {
+		if (cache == null) {
+			return null;
+		}
+		URI location = computeCatalogsLocation();
+		byte[] cached = cache.getCached(location);
+		if (cached == null) {
+			return null;
+		}
+		try {
+			return registerCatalogs(unmarshalCatalogs(cached, new NullProgressMonitor()));
+		} catch (CoreException | IOException e) {
+			// unusable - drop it and wait for the next request
+			cache.remove(location);
+			return null;
+		}
+	}
+
+	/**
+	 * Retrieve the catalogs through the cache. If that fails, the cached catalogs are used.
+	 *
+	 * @return the catalogs, or null if they could neither be retrieved nor taken from the cache
+	 */
+	private Catalogs fetchCatalogs(IProgressMonitor monitor) throws CoreException {
+		URI location = computeCatalogsLocation();
+		try {
+			return unmarshalCatalogs(cache.fetch(location, monitor), monitor);
+		} catch (OperationCanceledException e) {
+			throw new CoreException(Status.CANCEL_STATUS);
+		} catch (CoreException | IOException e) {
+			if (e instanceof CoreException && ((CoreException) e).getStatus().getSeverity() == IStatus.CANCEL) {
+				throw (CoreException) e;
+			}
+			byte[] cached = cache.getCached(location);
+			if (cached != null) {
+				try {
+					Catalogs catalogs = unmarshalCatalogs(cached, monitor);
+					MarketplaceClientCore.getLog()
+					.log(createStatus(IStatus.WARNING,
+							NLS.bind(Messages.DefaultCatalogService_usingCachedCatalogs, location, e.getMessage()),
+							e));
+					return catalogs;
+				} catch (CoreException | IOException ex) {
+					cache.remove(location);
+				}
+			}
+			// let the regular request retry and report the problem
+			return null;
+		}
+	}
+
+	private Catalogs unmarshalCatalogs(byte[] contents, IProgressMonitor monitor) throws CoreException, IOException {
+		return unmarshaller.unmarshal(new ByteArrayInputStream(contents), Catalogs.class, monitor);
+	}
+
+	private URI computeCatalogsLocation() {
+		try {
+			return new URI(addMetaParameters(URLUtil.appendPath(baseUrl.toURI().toString(), CATALOGS_PATH)));
+		} catch (URISyntaxException e) {
+			// should never happen
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private List<Catalog> registerCatalogs(Catalogs result) {
 		List<Catalog> catalogs = result.getCatalogs();
 		for (Catalog catalog : catalogs) {
 			registerDynamicFavoritesService(catalog);
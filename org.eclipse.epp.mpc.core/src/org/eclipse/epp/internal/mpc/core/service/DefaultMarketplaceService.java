@@ -16,16 +16,14 @@ package org.eclipse.epp.internal.mpc.core.service;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -33,9 +31,6 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.http.NameValuePair;
-import org.apache.http.client.entity.UrlEncodedFormEntity;
-import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.message.BasicNameValuePair;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -54,7 +49,6 @@ import org.eclipse.epp.internal.mpc.core.model.Search;
 import org.eclipse.epp.internal.mpc.core.model.SearchResult;
 import org.eclipse.epp.internal.mpc.core.service.AbstractDataStorageService.NotAuthorizedException;
 import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
-import org.eclipse.epp.internal.mpc.core.transport.httpclient.RequestTemplate;
 import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
 import org.eclipse.epp.mpc.core.model.ICategory;
@@ -169,6 +163,103 @@ MarketplaceService {
 	 */
 	public static final String PARAM_BASED_ON_NODES = "nodes"; //$NON-NLS-1$
 
+	/**
+	 * parameter identifying the (0-based) page of a paged search result
+	 */
+	public static final String PARAM_PAGE = "page"; //$NON-NLS-1$
+
+	/**
+	 * Remaining state of a paged server-side search
+	 */
+	private static final class SearchPage {
+
+		private final String relativeUrl;
+
+		private final String queryText;
+
+		private final int page;
+
+		private final int loadedCount;
+
+		public SearchPage(String relativeUrl, String queryText, int page, int loadedCount) {
+			this.relativeUrl = relativeUrl;
+			this.queryText = queryText;
+			this.page = page;
+			this.loadedCount = loadedCount;
+		}
+	}
+
+	/**
+	 * Remaining state of a paged favorites list, which is resolved client-side
+	 */
+	private static final class FavoritesPage {
+
+		private final List<INode> remaining;
+
+		private final int pageSize;
+
+		private final boolean filterIncompatible;
+
+		private final int matchCount;
+
+		public FavoritesPage(List<INode> remaining, int pageSize, boolean filterIncompatible, int matchCount) {
+			this.remaining = remaining;
+			this.pageSize = pageSize;
+			this.filterIncompatible = filterIncompatible;
+			this.matchCount = matchCount;
+		}
+	}
+
+	/**
+	 * Remaining state of a favorites list, which is resolved in the background
+	 */
+	private static final class FavoriteListPage {
+
+		private final URI listUri;
+
+		private final FavoriteListResolution resolution;
+
+		private final int nextChunk;
+
+		private final int loadedCount;
+
+		/**
+		 * Entries that can't be installed, which are listed last
+		 */
+		private final List<INode> deferred;
+
+		public FavoriteListPage(URI listUri, FavoriteListResolution resolution, int nextChunk, int loadedCount,
+				List<INode> deferred) {
+			this.listUri = listUri;
+			this.resolution = resolution;
+			this.nextChunk = nextChunk;
+			this.loadedCount = loadedCount;
+			this.deferred = deferred;
+		}
+	}
+
+	/**
+	 * A completely resolved favorites list, valid as long as the list's entries don't change
+	 */
+	private static final class ResolvedFavoriteList {
+
+		private final List<String> ids;
+
+		private final List<INode> nodes;
+
+		public ResolvedFavoriteList(List<String> ids, List<INode> nodes) {
+			this.ids = Collections.unmodifiableList(ids);
+			this.nodes = Collections.unmodifiableList(nodes);
+		}
+	}
+
+	/**
+	 * Number of entries of a favorites list that are resolved with a single request
+	 */
+	static final int FAVORITES_CHUNK_SIZE = 25;
+
+	private static final int MAX_CACHED_FAVORITE_LISTS = 10;
+
 	static {
 		DEFAULT_SERVICE_URL = ServiceUtil.parseUrl(DEFAULT_SERVICE_LOCATION);
 	}
@@ -177,6 +268,21 @@ MarketplaceService {
 
 	private HttpClientService httpClient;
 
+	private InstallReportQueue installReportQueue;
+
+	/**
+	 * Completely resolved favorites lists by list uri
+	 */
+	private final Map<URI, ResolvedFavoriteList> favoriteListCache = new LinkedHashMap<URI, ResolvedFavoriteList>(16,
+			0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<URI, ResolvedFavoriteList> eldest) {
+			return size() > MAX_CACHED_FAVORITE_LISTS;
+		}
+	};
+
 	public DefaultMarketplaceService(URL baseUrl) {
 		this.baseUrl = baseUrl == null ? DEFAULT_SERVICE_URL : baseUrl;
 	}
@@ -490,6 +596,11 @@ MarketplaceService {
 
 	private SearchResult processSearchRequest(String relativeUrl, String queryText, IProgressMonitor monitor)
 			throws CoreException {
+		return processSearchRequest(relativeUrl, queryText, 0, 0, monitor);
+	}
+
+	private SearchResult processSearchRequest(String relativeUrl, String queryText, int page, int loadedCount,
+			IProgressMonitor monitor) throws CoreException {
 		SearchResult result = new SearchResult();
 		if (relativeUrl == null) {
 			// empty search
@@ -498,7 +609,7 @@ MarketplaceService {
 		} else {
 			Marketplace marketplace;
 			try {
-				marketplace = processRequest(relativeUrl, monitor);
+				marketplace = processRequest(page == 0 ? relativeUrl : computePageUrl(relativeUrl, page), monitor);
 			} catch (CoreException ex) {
 				Throwable cause = ex.getCause();
 				if (cause instanceof FileNotFoundException) {
@@ -511,6 +622,10 @@ MarketplaceService {
 			if (search != null) {
 				result.setMatchCount(search.getCount());
 				result.setNodes(search.getNode());
+				int newLoadedCount = loadedCount + search.getNode().size();
+				if (!search.getNode().isEmpty() && search.getCount() != null && newLoadedCount < search.getCount()) {
+					result.setNextPage(new SearchPage(relativeUrl, queryText, page + 1, newLoadedCount));
+				}
 			} else if (marketplace.getCategory().size() == 1) {
 				Category category = marketplace.getCategory().get(0);
 				result.setMatchCount(category.getNode().size());
@@ -523,6 +638,25 @@ MarketplaceService {
 		return result;
 	}
 
+	private static String computePageUrl(String relativeUrl, int page) {
+		return relativeUrl + (relativeUrl.indexOf('?') == -1 ? '?' : '&') + PARAM_PAGE + '=' + page;
+	}
+
+	@Override
+	public ISearchResult nextPage(ISearchResult result, IProgressMonitor monitor) throws CoreException {
+		Object nextPage = result instanceof SearchResult ? ((SearchResult) result).getNextPage() : null;
+		if (nextPage instanceof SearchPage) {
+			SearchPage searchPage = (SearchPage) nextPage;
+			return processSearchRequest(searchPage.relativeUrl, searchPage.queryText, searchPage.page,
+					searchPage.loadedCount, monitor);
+		} else if (nextPage instanceof FavoritesPage) {
+			return resolveFavoritesPage((FavoritesPage) nextPage, monitor);
+		} else if (nextPage instanceof FavoriteListPage) {
+			return resolveFavoriteListPage((FavoriteListPage) nextPage, monitor);
+		}
+		return null;
+	}
+
 	@Override
 	public SearchResult tagged(String tag, IProgressMonitor monitor) throws CoreException {
 		return processSearchRequest(API_FREETAGGING_URI + URLUtil.urlEncode(tag) + '/' + API_URI_SUFFIX, tag, monitor);
@@ -619,7 +753,11 @@ MarketplaceService {
 	}
 
 	@Override
-	public ISearchResult userFavorites(URI favoritesUri, IProgressMonitor monitor) throws CoreException {
+	public ISearchResult userFavorites(int pageSize, IProgressMonitor monitor)
+			throws CoreException, NotAuthorizedException {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException();
+		}
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.DefaultMarketplaceService_FavoritesRetrieve, 10000);
 		IUserFavoritesService userFavoritesService = getUserFavoritesService();
 		if (userFavoritesService == null) {
@@ -627,13 +765,181 @@ MarketplaceService {
 		}
 		final List<INode> favorites;
 		try {
-			favorites = userFavoritesService.getFavorites(favoritesUri, progress.newChild(1000));
+			favorites = userFavoritesService.getFavorites(progress.newChild(1000));
+		} catch (NotAuthorizedException e) {
+			throw e;
 		} catch (Exception e) {
+			throw new CoreException(MarketplaceClientCore.computeStatus(e, Messages.DefaultMarketplaceService_FavoritesErrorRetrieving));
+		}
+		progress.setWorkRemaining(9000);
+		return resolveFavoritesPage(new FavoritesPage(favorites, pageSize, true, favorites.size()),
+				progress.newChild(9000));
+	}
+
+	private SearchResult resolveFavoritesPage(FavoritesPage page, IProgressMonitor monitor) throws CoreException {
+		List<INode> remaining = page.remaining;
+		SubMonitor progress = SubMonitor.convert(monitor, remaining.size());
+		List<Node> nodes = new ArrayList<>();
+		//skip ahead if all favorites of a page have been filtered, so we don't return empty pages
+		while (nodes.isEmpty() && !remaining.isEmpty()) {
+			int pageEnd = Math.min(page.pageSize, remaining.size());
+			List<INode> pageNodes = new ArrayList<>(remaining.subList(0, pageEnd));
+			ISearchResult resolved = resolveFavoriteNodes(pageNodes, progress.newChild(pageEnd),
+					page.filterIncompatible);
+			for (INode node : resolved.getNodes()) {
+				nodes.add((Node) node);
+			}
+			remaining = remaining.subList(pageEnd, remaining.size());
+		}
+		SearchResult result = new SearchResult();
+		result.setMatchCount(page.matchCount);
+		result.setNodes(nodes);
+		if (!remaining.isEmpty()) {
+			result.setNextPage(new FavoritesPage(new ArrayList<>(remaining), page.pageSize, page.filterIncompatible,
+					page.matchCount));
+		}
+		return result;
+	}
+
+	@Override
+	public ISearchResult userFavorites(URI favoritesUri, IProgressMonitor monitor) throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.DefaultMarketplaceService_FavoritesRetrieve, 10000);
+		ISearchResult page = userFavorites(favoritesUri, FAVORITES_CHUNK_SIZE, progress.newChild(5000));
+		final List<INode> favorites = new ArrayList<>();
+		SubMonitor pageProgress = progress.newChild(5000);
+		while (page != null) {
+			favorites.addAll(page.getNodes());
+			pageProgress.setWorkRemaining(10);
+			page = nextPage(page, pageProgress.newChild(1));
+		}
+		return new ISearchResult() {
+
+			@Override
+			public List<? extends INode> getNodes() {
+				return favorites;
+			}
+
+			@Override
+			public Integer getMatchCount() {
+				return favorites.size();
+			}
+		};
+	}
+
+	@Override
+	public ISearchResult userFavorites(URI favoritesUri, int pageSize, IProgressMonitor monitor)
+			throws CoreException {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException();
+		}
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.DefaultMarketplaceService_FavoritesRetrieve, 10000);
+		IUserFavoritesService userFavoritesService = getUserFavoritesService();
+		if (userFavoritesService == null) {
+			throw new UnsupportedOperationException();
+		}
+		ResolvedFavoriteList cached;
+		synchronized (favoriteListCache) {
+			cached = favoriteListCache.get(favoritesUri);
+		}
+		FavoriteListResolution resolution = new FavoriteListResolution(this::resolveFavoriteNodes, pageSize,
+				getBaseUrl().getHost());
+		//without a cached version to compare to, we start resolving while retrieving the rest of the list
+		boolean streamIds = cached == null && userFavoritesService instanceof UserFavoritesService;
+		final List<String> favoriteIds;
+		try {
+			if (streamIds) {
+				favoriteIds = ((UserFavoritesService) userFavoritesService).getFavoriteIds(favoritesUri,
+						resolution::addIds, progress.newChild(1000));
+			} else {
+				favoriteIds = userFavoritesService.getFavoriteIds(favoritesUri, progress.newChild(1000));
+			}
+		} catch (OperationCanceledException e) {
+			resolution.cancel();
+			throw e;
+		} catch (Exception e) {
+			resolution.cancel();
 			throw new CoreException(MarketplaceClientCore.computeStatus(e,
 					Messages.DefaultMarketplaceService_FavoritesErrorRetrieving));
 		}
+		if (cached != null && cached.ids.equals(favoriteIds)) {
+			//list hasn't changed since it was last resolved
+			SearchResult result = new SearchResult();
+			//hand out copies, so callers can't modify the cached list
+			List<Node> nodes = new ArrayList<>(cached.nodes.size());
+			for (INode node : cached.nodes) {
+				nodes.add(copyResolvedNode(node));
+			}
+			result.setNodes(nodes);
+			result.setMatchCount(nodes.size());
+			return result;
+		}
+		if (!streamIds) {
+			resolution.addIds(favoriteIds);
+		}
+		resolution.complete();
 		progress.setWorkRemaining(9000);
-		return resolveFavoriteNodes(favorites, progress.newChild(9000), false);
+		return resolveFavoriteListPage(
+				new FavoriteListPage(favoritesUri, resolution, 0, 0, Collections.<INode> emptyList()),
+				progress.newChild(9000));
+	}
+
+	private SearchResult resolveFavoriteListPage(FavoriteListPage page, IProgressMonitor monitor)
+			throws CoreException {
+		FavoriteListResolution resolution = page.resolution;
+		int chunkCount = resolution.getChunkCount();
+		int chunk = page.nextChunk;
+		SubMonitor progress = SubMonitor.convert(monitor, chunkCount - chunk);
+		List<Node> nodes = new ArrayList<>();
+		List<INode> deferred = new ArrayList<>(page.deferred);
+		//skip ahead if a chunk only contained uninstallable entries, so we don't return empty pages
+		while (nodes.isEmpty() && chunk < chunkCount) {
+			for (INode node : resolution.getChunk(chunk++, progress.newChild(1))) {
+				if (isInstallable(node)) {
+					nodes.add((Node) node);
+				} else {
+					deferred.add(node);
+				}
+			}
+		}
+		SearchResult result = new SearchResult();
+		if (chunk < chunkCount) {
+			result.setMatchCount(resolution.getIdCount());
+			result.setNextPage(
+					new FavoriteListPage(page.listUri, resolution, chunk, page.loadedCount + nodes.size(), deferred));
+		} else {
+			//entries that can't be installed come last
+			for (INode node : deferred) {
+				nodes.add((Node) node);
+			}
+			result.setMatchCount(page.loadedCount + nodes.size());
+			cacheFavoriteList(page.listUri, resolution);
+		}
+		result.setNodes(nodes);
+		return result;
+	}
+
+	private void cacheFavoriteList(URI listUri, FavoriteListResolution resolution) throws CoreException {
+		List<INode> nodes = new ArrayList<>();
+		for (int i = 0; i < resolution.getChunkCount(); i++) {
+			//the resolved nodes have already been handed out, so the cache keeps its own copies
+			for (INode node : resolution.getChunk(i, null)) {
+				nodes.add(copyResolvedNode(node));
+			}
+		}
+		sortInstallableFirst(nodes);
+		synchronized (favoriteListCache) {
+			favoriteListCache.put(listUri, new ResolvedFavoriteList(resolution.getIds(), nodes));
+		}
+	}
+
+	private static Node copyResolvedNode(INode node) {
+		Node copy = NodeSearchIndex.copy(node);
+		copy.setBody(node.getBody());
+		copy.setScreenshot(node.getScreenshot());
+		copy.setCreated(node.getCreated());
+		copy.setChanged(node.getChanged());
+		copy.setUserFavorite(node.getUserFavorite());
+		return copy;
 	}
 
 	@Override
@@ -662,40 +968,16 @@ MarketplaceService {
 	}
 
 	private ISearchResult resolveFavoriteNodes(final List<INode> nodes, IProgressMonitor monitor, boolean filterIncompatible) throws CoreException {
-		IMarketplaceService resolveService = this;
-		IMarketplaceService registeredService = ServiceHelper.getMarketplaceServiceLocator()
-				.getMarketplaceService(this.getBaseUrl().toString());
-		if (registeredService instanceof CachingMarketplaceService) {
-			CachingMarketplaceService cachingService = (CachingMarketplaceService) registeredService;
-			if (cachingService.getDelegate() == this) {
-				resolveService = cachingService;
-			}
-		}
-		final List<INode> resolvedNodes = resolveService.getNodes(nodes, monitor);
-		for (ListIterator<INode> i = resolvedNodes.listIterator(); i.hasNext();) {
-			INode resolved = i.next();
-			((Node) resolved).setUserFavorite(true);
-			if (filterIncompatible && !isInstallable(resolved)) {
-				i.remove();
-			}
-		}
-		if (!filterIncompatible) {
-			//sort the node list so uninstallable nodes come last
-			Collections.sort(resolvedNodes, (n1, n2) -> {
-				if (n1 == n2) {
-					return 0;
-				}
-				boolean n1Installable = isInstallable(n1);
-				boolean n2Installable = isInstallable(n2);
-				if (n1Installable == n2Installable) {
-					return 0;
-				}
-				if (n1Installable) { // && !n2Installable
-					return -1;
+		final List<INode> resolvedNodes = resolveFavoriteNodes(nodes, monitor);
+		if (filterIncompatible) {
+			for (ListIterator<INode> i = resolvedNodes.listIterator(); i.hasNext();) {
+				INode resolved = i.next();
+				if (!isInstallable(resolved)) {
+					i.remove();
 				}
-				// !n1Installable && n2Installable
-				return 1;
-			});
+			}
+		} else {
+			sortInstallableFirst(resolvedNodes);
 		}
 
 		return new ISearchResult() {
@@ -712,6 +994,42 @@ MarketplaceService {
 		};
 	}
 
+	private List<INode> resolveFavoriteNodes(final List<INode> nodes, IProgressMonitor monitor) throws CoreException {
+		IMarketplaceService resolveService = this;
+		IMarketplaceService registeredService = ServiceHelper.getMarketplaceServiceLocator()
+				.getMarketplaceService(this.getBaseUrl().toString());
+		if (registeredService instanceof CachingMarketplaceService) {
+			CachingMarketplaceService cachingService = (CachingMarketplaceService) registeredService;
+			if (cachingService.getDelegate() == this) {
+				resolveService = cachingService;
+			}
+		}
+		List<INode> resolvedNodes = resolveService.getNodes(nodes, monitor);
+		for (INode resolved : resolvedNodes) {
+			((Node) resolved).setUserFavorite(true);
+		}
+		return resolvedNodes;
+	}
+
+	private void sortInstallableFirst(List<INode> nodes) {
+		//sort the node list so uninstallable nodes come last
+		Collections.sort(nodes, (n1, n2) -> {
+			if (n1 == n2) {
+				return 0;
+			}
+			boolean n1Installable = isInstallable(n1);
+			boolean n2Installable = isInstallable(n2);
+			if (n1Installable == n2Installable) {
+				return 0;
+			}
+			if (n1Installable) { // && !n2Installable
+				return -1;
+			}
+			// !n1Installable && n2Installable
+			return 1;
+		});
+	}
+
 	private boolean isInstallable(INode resolved) {
 		IIus ius = resolved.getIus();
 		return ius != null && !ius.getIuElements().isEmpty();
@@ -781,48 +1099,38 @@ MarketplaceService {
 	@Override
 	public void reportInstallError(IStatus result, Set<? extends INode> nodes, Set<String> iuIdsAndVersions,
 			String resolutionDetails, IProgressMonitor monitor) throws CoreException {
-		try {
-			List<NameValuePair> parameters = new ArrayList<>();
-
-			Map<String, String> requestMetaParameters = getRequestMetaParameters();
-			for (Map.Entry<String, String> metaParam : requestMetaParameters.entrySet()) {
-				if (metaParam.getKey() != null) {
-					parameters.add(new BasicNameValuePair(metaParam.getKey(), metaParam.getValue()));
-				}
-			}
+		List<NameValuePair> parameters = new ArrayList<>();
 
-			parameters.add(new BasicNameValuePair("status", Integer.toString(result.getSeverity()))); //$NON-NLS-1$
-			parameters.add(new BasicNameValuePair("statusMessage", result.getMessage())); //$NON-NLS-1$
-			for (INode node : nodes) {
-				parameters.add(new BasicNameValuePair("node", node.getId())); //$NON-NLS-1$
-			}
-			if (iuIdsAndVersions != null && !iuIdsAndVersions.isEmpty()) {
-				for (String iuAndVersion : iuIdsAndVersions) {
-					parameters.add(new BasicNameValuePair("iu", iuAndVersion)); //$NON-NLS-1$
-				}
+		Map<String, String> requestMetaParameters = getRequestMetaParameters();
+		for (Map.Entry<String, String> metaParam : requestMetaParameters.entrySet()) {
+			if (metaParam.getKey() != null) {
+				parameters.add(new BasicNameValuePair(metaParam.getKey(), metaParam.getValue()));
 			}
-			parameters.add(new BasicNameValuePair("detailedMessage", resolutionDetails)); //$NON-NLS-1$
-			if (!parameters.isEmpty()) {
-				UrlEncodedFormEntity entity = new UrlEncodedFormEntity(parameters, StandardCharsets.UTF_8);
-				new RequestTemplate<Void>() {
-
-					@Override
-					protected HttpUriRequest createRequest(URI uri) {
-						return RequestBuilder.post(uri.resolve(API_ERROR_REPORT_URI)).setEntity(entity).build();
-					}
-
-					@Override
-					protected Void handleResponseStream(InputStream content, Charset charset) throws IOException {
-						// ignore
-						return null;
-					}
+		}
 
-				}.execute(httpClient, baseUrl.toURI());
+		parameters.add(new BasicNameValuePair("status", Integer.toString(result.getSeverity()))); //$NON-NLS-1$
+		parameters.add(new BasicNameValuePair("statusMessage", result.getMessage())); //$NON-NLS-1$
+		for (INode node : nodes) {
+			parameters.add(new BasicNameValuePair("node", node.getId())); //$NON-NLS-1$
+		}
+		if (iuIdsAndVersions != null && !iuIdsAndVersions.isEmpty()) {
+			for (String iuAndVersion : iuIdsAndVersions) {
+				parameters.add(new BasicNameValuePair("iu", iuAndVersion)); //$NON-NLS-1$
 			}
+		}
+		parameters.add(new BasicNameValuePair("detailedMessage", resolutionDetails)); //$NON-NLS-1$
+		InstallReportQueue.Report report;
+		try {
+			report = new InstallReportQueue.Report(baseUrl.toURI().resolve(API_ERROR_REPORT_URI), parameters);
 		} catch (URISyntaxException e) {
 			throw new IllegalStateException(e);
-		} catch (MalformedURLException e) {
-			throw new IllegalStateException(e);
+		}
+		if (installReportQueue != null) {
+			installReportQueue.submit(report);
+			return;
+		}
+		try {
+			report.send(httpClient);
 		} catch (IOException e) {
 			String message = NLS.bind(Messages.DefaultMarketplaceService_cannotCompleteRequest_reason,
 					baseUrl.toString() + API_ERROR_REPORT_URI, e.getMessage());
@@ -839,6 +1147,10 @@ MarketplaceService {
 		url += "success"; //$NON-NLS-1$
 		url = addMetaParameters(url);
 		try {
+			if (installReportQueue != null) {
+				installReportQueue.submit(new InstallReportQueue.Report(new URI(url), null));
+				return;
+			}
 			InputStream stream = transport.stream(new URI(url), monitor);
 
 			try {
@@ -862,6 +1174,18 @@ MarketplaceService {
 		this.userFavoritesService = userFavoritesService;
 	}
 
+	/**
+	 * Set the queue used to deliver install reports in the background. If no queue is set, reports are sent
+	 * synchronously.
+	 */
+	public void setInstallReportQueue(InstallReportQueue installReportQueue) {
+		this.installReportQueue = installReportQueue;
+	}
+
+	public InstallReportQueue getInstallReportQueue() {
+		return installReportQueue;
+	}
+
 	public void setHttpClient(HttpClientService httpClient) {
 		this.httpClient = httpClient;
 	}
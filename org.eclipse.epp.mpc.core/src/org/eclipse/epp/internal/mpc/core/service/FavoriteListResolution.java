@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Priority;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.service.QueryHelper;
+
+/**
+ * Resolves the entries of a favorites list in chunks of a fixed size. Chunks are resolved in the background as soon
+ * as their ids are {@link #addIds(List) known}, so resolution of the first entries can start while the rest of the list
+ * is still being retrieved. Chunks run on the {@link IOTaskExecutor}, with the priority of the thread that created the
+ * resolution, and at most {@value #MAX_CONCURRENT_CHUNKS} chunks of a list are resolved at the same time.
+ * <p>
+ * Resolved chunks are {@link #getChunk(int, IProgressMonitor) consumed} in list order.
+ *
+ * @author agent
+ */
+public class FavoriteListResolution {
+
+	public static final int MAX_CONCURRENT_CHUNKS = 4;
+
+	private static final long POLL_INTERVAL = 100;
+
+	public interface ChunkResolver {
+		List<INode> resolve(List<INode> chunk, IProgressMonitor monitor) throws CoreException;
+	}
+
+	private final ChunkResolver resolver;
+
+	private final int chunkSize;
+
+	private final String host;
+
+	private final Priority priority = IOTaskExecutor.getCurrentPriority();
+
+	private final List<FutureTask<List<INode>>> chunks = new ArrayList<>();
+
+	/**
+	 * Chunks waiting for one of the running ones to finish
+	 */
+	private final Deque<FutureTask<List<INode>>> waiting = new ArrayDeque<>();
+
+	private int running;
+
+	private final List<String> ids = new ArrayList<>();
+
+	private List<INode> unsubmitted = new ArrayList<>();
+
+	private final IProgressMonitor backgroundMonitor = new NullProgressMonitor();
+
+	public FavoriteListResolution(ChunkResolver resolver, int chunkSize) {
+		this(resolver, chunkSize, null);
+	}
+
+	/**
+	 * @param host
+	 *            the host the chunks are resolved from, or null if they aren't limited by host
+	 */
+	public FavoriteListResolution(ChunkResolver resolver, int chunkSize, String host) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.resolver = resolver;
+		this.chunkSize = chunkSize;
+		this.host = host;
+	}
+
+	/**
+	 * Add further ids of the list, submitting every chunk that's complete now for resolution.
+	 */
+	public synchronized void addIds(List<String> newIds) {
+		ids.addAll(newIds);
+		for (String id : newIds) {
+			unsubmitted.add(QueryHelper.nodeById(id));
+			if (unsubmitted.size() == chunkSize) {
+				submit();
+			}
+		}
+	}
+
+	/**
+	 * Signal that all ids of the list have been added, submitting the last incomplete chunk.
+	 */
+	public synchronized void complete() {
+		if (!unsubmitted.isEmpty()) {
+			submit();
+		}
+	}
+
+	private void submit() {
+		final List<INode> chunk = unsubmitted;
+		unsubmitted = new ArrayList<>(chunkSize);
+		FutureTask<List<INode>> task = new FutureTask<>(() -> {
+			if (backgroundMonitor.isCanceled()) {
+				throw new CoreException(Status.CANCEL_STATUS);
+			}
+			return resolver.resolve(chunk, backgroundMonitor);
+		});
+		chunks.add(task);
+		waiting.add(task);
+		startWaiting();
+	}
+
+	private synchronized void startWaiting() {
+		while (running < MAX_CONCURRENT_CHUNKS && !waiting.isEmpty()) {
+			FutureTask<List<INode>> task = waiting.poll();
+			running++;
+			try {
+				IOTaskExecutor.getDefault().execute(priority, host, () -> {
+					try {
+						task.run();
+					} finally {
+						chunkDone();
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				running--;
+				task.cancel(false);
+			}
+		}
+	}
+
+	private synchronized void chunkDone() {
+		running--;
+		startWaiting();
+	}
+
+	public synchronized List<String> getIds() {
+		return new ArrayList<>(ids);
+	}
+
+	public synchronized int getIdCount() {
+		return ids.size();
+	}
+
+	public synchronized int getChunkCount() {
+		return chunks.size();
+	}
+
+	/**
+	 * Wait for the chunk with the given index to be resolved.
+	 *
+	 * @return the resolved nodes of the chunk, without the entries that couldn't be found
+	 * @throws CoreException
+	 *             if resolving the chunk failed, or with a {@link IStatus#CANCEL cancel} status if the given monitor
+	 *             has been canceled. In the latter case, all remaining chunks are canceled as well.
+	 */
+	public List<INode> getChunk(int index, IProgressMonitor monitor) throws CoreException {
+		FutureTask<List<INode>> chunk;
+		synchronized (this) {
+			chunk = chunks.get(index);
+		}
+		while (true) {
+			if (monitor != null && monitor.isCanceled()) {
+				cancel();
+				throw new CoreException(Status.CANCEL_STATUS);
+			}
+			try {
+				return Collections.unmodifiableList(chunk.get(POLL_INTERVAL, TimeUnit.MILLISECONDS));
+			} catch (TimeoutException e) {
+				// check for cancellation and continue waiting
+			} catch (InterruptedException | CancellationException e) {
+				throw new CoreException(Status.CANCEL_STATUS);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof CoreException) {
+					throw (CoreException) cause;
+				}
+				throw new CoreException(MarketplaceClientCore.computeStatus(cause,
+						Messages.DefaultMarketplaceService_FavoritesErrorRetrieving));
+			}
+		}
+	}
+
+	/**
+	 * Stop resolving the remaining chunks.
+	 */
+	public synchronized void cancel() {
+		backgroundMonitor.setCanceled(true);
+		waiting.clear();
+		for (FutureTask<List<INode>> chunk : chunks) {
+			chunk.cancel(false);
+		}
+	}
+}
@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.mpc.core.model.IIu;
+import org.eclipse.epp.mpc.core.model.IIus;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.eclipse.epp.mpc.core.service.IAsyncMarketplaceService;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Searches several marketplaces at once. All marketplaces are queried concurrently, and their results are merged as
+ * soon as each of them answers, so a slow or unreachable marketplace neither delays the others nor the merging of their
+ * results. Marketplaces that don't answer within the timeout are abandoned.
+ * <p>
+ * The same solution is often listed on more than one marketplace. Entries offering the same installable units from the
+ * same update site are merged into a single {@link Hit hit}, which comes from the marketplace listed first.
+ *
+ * @author agent
+ */
+public class FederatedSearch {
+
+	public static final long DEFAULT_TIMEOUT = TimeUnit.SECONDS.toMillis(15);
+
+	/**
+	 * Notified whenever another marketplace has answered and its results have been merged.
+	 */
+	public static interface Listener {
+		void resultsChanged(FederatedSearch search);
+	}
+
+	/**
+	 * A solution found by the search, along with the marketplace it has been taken from.
+	 */
+	public static final class Hit {
+
+		private final int rank;
+
+		private final IAsyncMarketplaceService service;
+
+		private final INode node;
+
+		private Hit(int rank, IAsyncMarketplaceService service, INode node) {
+			this.rank = rank;
+			this.service = service;
+			this.node = node;
+		}
+
+		public IAsyncMarketplaceService getService() {
+			return service;
+		}
+
+		public URL getBaseUrl() {
+			return service.getBaseUrl();
+		}
+
+		public INode getNode() {
+			return node;
+		}
+	}
+
+	private final List<? extends IAsyncMarketplaceService> services;
+
+	private final long timeout;
+
+	private final List<CompletableFuture<ISearchResult>> requests = new ArrayList<>();
+
+	private final List<Hit> hits = new ArrayList<>();
+
+	private final Map<String, Integer> hitIndexByKey = new HashMap<>();
+
+	private final List<IStatus> problems = new ArrayList<>();
+
+	private int answered;
+
+	private boolean canceled;
+
+	/**
+	 * @param services
+	 *            the marketplaces to search, in order of preference
+	 * @param timeout
+	 *            the time in milliseconds after which a marketplace that hasn't answered is abandoned
+	 */
+	public FederatedSearch(List<? extends IAsyncMarketplaceService> services, long timeout) {
+		this.services = new ArrayList<>(services);
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Search all marketplaces for the given text.
+	 *
+	 * @param listener
+	 *            notified as each marketplace's results are merged, or null
+	 * @return a future completing with all merged hits once every marketplace has answered, failed or timed out
+	 * @throws IllegalStateException
+	 *             if the search has already been started
+	 */
+	public CompletableFuture<List<Hit>> search(final String queryText, final Listener listener) {
+		List<CompletableFuture<?>> merged = new ArrayList<>();
+		synchronized (this) {
+			if (!requests.isEmpty()) {
+				throw new IllegalStateException();
+			}
+			for (int i = 0; i < services.size(); i++) {
+				final int rank = i;
+				final IAsyncMarketplaceService service = services.get(i);
+				final CompletableFuture<ISearchResult> request = service.search(null, null, queryText);
+				requests.add(request);
+				CompletableFuture.delayedExecutor(timeout, TimeUnit.MILLISECONDS).execute(() -> {
+					synchronized (this) {
+						if (request.isDone()) {
+							return;
+						}
+						// report before canceling, which completes the search if this was the last one
+						addProblem(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID, NLS.bind(
+								Messages.FederatedSearch_timedOut, service.getBaseUrl(),
+								TimeUnit.MILLISECONDS.toSeconds(timeout))));
+					}
+					request.cancel(true);
+				});
+				merged.add(request.handle((result, ex) -> {
+					if (ex != null) {
+						fail(service, ex);
+					} else {
+						merge(rank, service, result);
+					}
+					if (listener != null) {
+						listener.resultsChanged(this);
+					}
+					return null;
+				}));
+			}
+		}
+		return CompletableFuture.allOf(merged.toArray(new CompletableFuture<?>[merged.size()]))
+				.thenApply(v -> getHits());
+	}
+
+	/**
+	 * Abandon all marketplaces that haven't answered yet.
+	 */
+	public void cancel() {
+		List<CompletableFuture<ISearchResult>> pending;
+		synchronized (this) {
+			canceled = true;
+			pending = new ArrayList<>(requests);
+		}
+		for (CompletableFuture<ISearchResult> request : pending) {
+			request.cancel(true);
+		}
+	}
+
+	/**
+	 * @return the hits merged so far
+	 */
+	public synchronized List<Hit> getHits() {
+		return new ArrayList<>(hits);
+	}
+
+	/**
+	 * @return the number of marketplaces that have answered, failed or timed out so far
+	 */
+	public synchronized int getAnsweredCount() {
+		return answered;
+	}
+
+	/**
+	 * @return the number of marketplaces that have failed or timed out so far
+	 */
+	public synchronized int getFailedCount() {
+		return problems.size();
+	}
+
+	public int getServiceCount() {
+		return services.size();
+	}
+
+	/**
+	 * @return a warning for every marketplace that failed or timed out, or an OK status if all of them answered
+	 */
+	public synchronized IStatus getStatus() {
+		if (problems.isEmpty()) {
+			return Status.OK_STATUS;
+		}
+		if (problems.size() == 1) {
+			return problems.get(0);
+		}
+		return new MultiStatus(MarketplaceClientCore.BUNDLE_ID, 0,
+				problems.toArray(new IStatus[problems.size()]), problems.get(0).getMessage(), null);
+	}
+
+	private synchronized void merge(int rank, IAsyncMarketplaceService service, ISearchResult result) {
+		answered++;
+		if (result == null) {
+			return;
+		}
+		for (INode node : result.getNodes()) {
+			Hit hit = new Hit(rank, service, node);
+			String key = computeKey(node);
+			Integer index = key == null ? null : hitIndexByKey.get(key);
+			if (index == null) {
+				if (key != null) {
+					hitIndexByKey.put(key, hits.size());
+				}
+				hits.add(hit);
+			} else if (hits.get(index).rank > rank) {
+				// the preferred marketplace's entry replaces the other one in place
+				hits.set(index, hit);
+			}
+		}
+	}
+
+	private synchronized void fail(IAsyncMarketplaceService service, Throwable ex) {
+		answered++;
+		if (ex instanceof CompletionException && ex.getCause() != null) {
+			ex = ex.getCause();
+		}
+		if (ex instanceof CancellationException) {
+			// timed out or canceled - timeouts are reported separately
+			return;
+		}
+		IStatus status;
+		if (ex instanceof CoreException) {
+			status = ((CoreException) ex).getStatus();
+		} else {
+			status = MarketplaceClientCore.computeStatus(ex, null);
+		}
+		addProblem(new MultiStatus(MarketplaceClientCore.BUNDLE_ID, 0, new IStatus[] { status },
+				NLS.bind(Messages.FederatedSearch_searchFailed, service.getBaseUrl(), status.getMessage()), null));
+	}
+
+	private synchronized void addProblem(IStatus status) {
+		if (!canceled) {
+			problems.add(status);
+		}
+	}
+
+	/**
+	 * Identify a solution across marketplaces by its update site and installable units.
+	 *
+	 * @return the key, or null if the node has nothing to install and can't be identified
+	 */
+	static String computeKey(INode node) {
+		String updateUrl = node.getUpdateurl();
+		IIus ius = node.getIus();
+		if (updateUrl == null || ius == null || ius.getIuElements().isEmpty()) {
+			return null;
+		}
+		updateUrl = updateUrl.trim().toLowerCase(Locale.ENGLISH);
+		while (updateUrl.endsWith("/")) { //$NON-NLS-1$
+			updateUrl = updateUrl.substring(0, updateUrl.length() - 1);
+		}
+		StringBuilder key = new StringBuilder(updateUrl);
+		TreeSet<String> iuIds = new TreeSet<>();
+		for (IIu iu : ius.getIuElements()) {
+			if (iu.getId() != null) {
+				iuIds.add(iu.getId());
+			}
+		}
+		for (String iuId : iuIds) {
+			key.append('|').append(iuId);
+		}
+		return key.toString();
+	}
+}
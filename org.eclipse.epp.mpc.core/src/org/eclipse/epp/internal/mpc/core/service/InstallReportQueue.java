@@ -0,0 +1,432 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.NameValuePair;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.message.BasicNameValuePair;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.RequestTemplate;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Delivers install success and error reports in the background, so provisioning never waits for the marketplace
+ * server. Reports submitted in quick succession are sent together in one batch. If the server can't be reached,
+ * delivery is retried with increasing delays. Pending reports can be {@link #save(File) saved} and
+ * {@link #load(File) restored} to be sent in a later session. If the queue has a {@link #setFile(File) file}, it is
+ * kept up to date whenever reports are submitted or delivered, so they aren't lost if the application crashes.
+ *
+ * @author agent
+ */
+public class InstallReportQueue {
+
+	private static final int FORMAT_VERSION = 1;
+
+	static final long BATCH_DELAY = TimeUnit.SECONDS.toMillis(2);
+
+	static final long INITIAL_RETRY_DELAY = TimeUnit.SECONDS.toMillis(30);
+
+	static final long MAX_RETRY_DELAY = TimeUnit.HOURS.toMillis(1);
+
+	static final long MAX_REPORT_AGE = TimeUnit.DAYS.toMillis(14);
+
+	static final int MAX_PENDING_REPORTS = 200;
+
+	/**
+	 * A single report, sent as a GET request or - if it has form parameters - as a form POST.
+	 */
+	public static final class Report {
+
+		private final URI uri;
+
+		private final List<NameValuePair> parameters;
+
+		private final long timestamp;
+
+		public Report(URI uri, List<NameValuePair> parameters) {
+			this(uri, parameters, System.currentTimeMillis());
+		}
+
+		Report(URI uri, List<NameValuePair> parameters, long timestamp) {
+			this.uri = uri;
+			this.parameters = parameters == null ? null : Collections.unmodifiableList(new ArrayList<>(parameters));
+			this.timestamp = timestamp;
+		}
+
+		public URI getUri() {
+			return uri;
+		}
+
+		public List<NameValuePair> getParameters() {
+			return parameters;
+		}
+
+		public long getTimestamp() {
+			return timestamp;
+		}
+
+		/**
+		 * Send this report to the server.
+		 *
+		 * @throws HttpResponseException
+		 *             if the server rejected the report
+		 * @throws IOException
+		 *             if the report could not be delivered
+		 */
+		public void send(HttpClientService client) throws IOException {
+			new RequestTemplate<Void>() {
+
+				@Override
+				protected HttpUriRequest createRequest(URI uri) {
+					if (parameters == null) {
+						return RequestBuilder.get(uri).build();
+					}
+					return RequestBuilder.post(uri)
+							.setEntity(new UrlEncodedFormEntity(parameters, StandardCharsets.UTF_8))
+							.build();
+				}
+
+				@Override
+				protected Void handleResponseStream(InputStream content, Charset charset) throws IOException {
+					// ignore
+					return null;
+				}
+			}.execute(client, uri);
+		}
+
+		@Override
+		public String toString() {
+			return uri.toString();
+		}
+	}
+
+	private final LinkedList<Report> pending = new LinkedList<>();
+
+	private final ScheduledExecutorService executor;
+
+	private HttpClientService httpClient;
+
+	private ScheduledFuture<?> scheduledDelivery;
+
+	private long retryDelay = INITIAL_RETRY_DELAY;
+
+	private boolean dirty;
+
+	private File file;
+
+	public InstallReportQueue() {
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "Marketplace install reporting"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+	}
+
+	public synchronized void setHttpClient(HttpClientService httpClient) {
+		this.httpClient = httpClient;
+		if (httpClient != null && !pending.isEmpty()) {
+			scheduleDelivery(BATCH_DELAY);
+		}
+	}
+
+	/**
+	 * Keep the pending reports in the given file, which is updated whenever reports are submitted or delivered.
+	 */
+	public synchronized void setFile(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Queue a report for delivery and save it to the queue's {@link #setFile(File) file}. Doesn't wait for the
+	 * delivery.
+	 */
+	public void submit(Report report) {
+		synchronized (this) {
+			pending.add(report);
+			while (pending.size() > MAX_PENDING_REPORTS) {
+				pending.removeFirst();
+			}
+			dirty = true;
+			if (scheduledDelivery == null || retryDelay == INITIAL_RETRY_DELAY) {
+				//batch up everything submitted in the next moments, but don't cut short a backoff after a failed delivery
+				scheduleDelivery(BATCH_DELAY);
+			}
+		}
+		saveToFile();
+	}
+
+	public synchronized int size() {
+		return pending.size();
+	}
+
+	public synchronized List<Report> getPendingReports() {
+		return new ArrayList<>(pending);
+	}
+
+	private synchronized void scheduleDelivery(long delay) {
+		if (executor.isShutdown()) {
+			return;
+		}
+		if (scheduledDelivery != null) {
+			if (scheduledDelivery.getDelay(TimeUnit.MILLISECONDS) <= delay) {
+				return;
+			}
+			scheduledDelivery.cancel(false);
+		}
+		scheduledDelivery = executor.schedule(this::deliver, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Send all pending reports, stopping at the first one that can't be delivered.
+	 */
+	void deliver() {
+		List<Report> batch;
+		HttpClientService client;
+		synchronized (this) {
+			scheduledDelivery = null;
+			removeExpiredReports();
+			batch = new ArrayList<>(pending);
+			client = httpClient;
+		}
+		if (batch.isEmpty()) {
+			return;
+		}
+		boolean failed = client == null;
+		for (Report report : batch) {
+			if (failed) {
+				break;
+			}
+			try {
+				send(client, report);
+			} catch (HttpResponseException | FileNotFoundException e) {
+				if (e instanceof HttpResponseException && ((HttpResponseException) e).getStatusCode() >= 500) {
+					failed = true;
+					break;
+				}
+				//rejected by the server - retrying won't help
+				MarketplaceClientCore.getLog()
+				.log(new Status(IStatus.INFO, MarketplaceClientCore.BUNDLE_ID,
+						NLS.bind(Messages.InstallReportQueue_reportRejected, report, e.getMessage())));
+			} catch (IOException e) {
+				//per bug 314028 logging connection problems is not useful.
+				failed = true;
+				break;
+			}
+			synchronized (this) {
+				pending.remove(report);
+				dirty = true;
+			}
+		}
+		synchronized (this) {
+			if (failed) {
+				scheduleDelivery(retryDelay);
+				retryDelay = Math.min(2 * retryDelay, MAX_RETRY_DELAY);
+			} else {
+				retryDelay = INITIAL_RETRY_DELAY;
+				if (!pending.isEmpty()) {
+					//submitted while we were busy
+					scheduleDelivery(BATCH_DELAY);
+				}
+			}
+		}
+		saveToFile();
+	}
+
+	protected void send(HttpClientService client, Report report) throws IOException {
+		report.send(client);
+	}
+
+	private void removeExpiredReports() {
+		long expired = System.currentTimeMillis() - MAX_REPORT_AGE;
+		if (pending.removeIf(report -> report.getTimestamp() < expired)) {
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Stop delivering reports. Reports that are still pending are kept, so they can be {@link #save(File) saved}.
+	 */
+	public void shutdown() {
+		synchronized (this) {
+			if (scheduledDelivery != null) {
+				scheduledDelivery.cancel(false);
+				scheduledDelivery = null;
+			}
+		}
+		executor.shutdown();
+	}
+
+	public synchronized void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(FORMAT_VERSION);
+		data.writeInt(pending.size());
+		for (Report report : pending) {
+			writeString(data, report.getUri().toString());
+			data.writeLong(report.getTimestamp());
+			List<NameValuePair> parameters = report.getParameters();
+			data.writeInt(parameters == null ? -1 : parameters.size());
+			if (parameters != null) {
+				for (NameValuePair parameter : parameters) {
+					writeString(data, parameter.getName());
+					writeString(data, parameter.getValue());
+				}
+			}
+		}
+		data.flush();
+		dirty = false;
+	}
+
+	/**
+	 * Add reports previously {@link #write(OutputStream) written} to the queue and schedule their delivery.
+	 *
+	 * @throws IOException
+	 *             if the stream could not be read or is in an unknown format. The queue is left unchanged in that case.
+	 */
+	public synchronized void read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		int version = data.readInt();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Unsupported report queue format " + version); //$NON-NLS-1$
+		}
+		int size = data.readInt();
+		List<Report> reports = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			URI uri;
+			try {
+				uri = new URI(readString(data));
+			} catch (URISyntaxException e) {
+				throw new IOException(e);
+			}
+			long timestamp = data.readLong();
+			int parameterCount = data.readInt();
+			List<NameValuePair> parameters = null;
+			if (parameterCount >= 0) {
+				parameters = new ArrayList<>(parameterCount);
+				for (int j = 0; j < parameterCount; j++) {
+					parameters.add(new BasicNameValuePair(readString(data), readString(data)));
+				}
+			}
+			reports.add(new Report(uri, parameters, timestamp));
+		}
+		pending.addAll(0, reports);
+		if (!pending.isEmpty()) {
+			scheduleDelivery(BATCH_DELAY);
+		}
+	}
+
+	/**
+	 * Restore reports from the given file, if it exists.
+	 */
+	public void load(File file) throws IOException {
+		if (!file.isFile()) {
+			return;
+		}
+		try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+			read(in);
+		}
+	}
+
+	/**
+	 * Save pending reports to the given file, or remove the file if there are none left.
+	 */
+	public synchronized void save(File file) throws IOException {
+		if (pending.isEmpty()) {
+			Files.deleteIfExists(file.toPath());
+			dirty = false;
+			return;
+		}
+		if (!dirty && file.isFile()) {
+			return;
+		}
+		File parent = file.getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Failed to create " + parent); //$NON-NLS-1$
+		}
+		File tempFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+			write(out);
+		}
+		Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private void saveToFile() {
+		File file;
+		synchronized (this) {
+			file = this.file;
+		}
+		if (file == null) {
+			return;
+		}
+		try {
+			save(file);
+		} catch (IOException e) {
+			MarketplaceClientCore.getLog()
+			.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+					NLS.bind(Messages.InstallReportQueue_saveError, file), e));
+		}
+	}
+
+	private static void writeString(DataOutputStream data, String value) throws IOException {
+		if (value == null) {
+			data.writeInt(-1);
+			return;
+		}
+		//error details can exceed the size limit of writeUTF
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		data.writeInt(bytes.length);
+		data.write(bytes);
+	}
+
+	private static String readString(DataInputStream data) throws IOException {
+		int length = data.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		data.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
 import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
@@ -42,12 +43,52 @@ import org.eclipse.userstorage.spi.Credentials;
 import org.eclipse.userstorage.spi.ICredentialsProvider;
 import org.eclipse.userstorage.spi.ISettings;
 import org.eclipse.userstorage.util.FileStorageCache;
+import org.eclipse.userstorage.util.NotFoundException;
 import org.eclipse.userstorage.util.Settings;
 import org.osgi.framework.BundleContext;
 
 @SuppressWarnings("restriction")
 public class MarketplaceStorageService implements IMarketplaceStorageService {
 
+	/**
+	 * Contents of a blob as last read from or written to the storage service, together with its version tag.
+	 */
+	public static final class CachedBlob {
+
+		private final String contents;
+
+		private final String eTag;
+
+		private final long timestamp;
+
+		private CachedBlob(String contents, String eTag) {
+			this.contents = contents;
+			this.eTag = eTag;
+			this.timestamp = System.currentTimeMillis();
+		}
+
+		/**
+		 * @return the blob's contents or null if the blob does not exist
+		 */
+		public String getContents() {
+			return contents;
+		}
+
+		public String getETag() {
+			return eTag;
+		}
+
+		private boolean isFresh() {
+			long age = System.currentTimeMillis() - timestamp;
+			return age >= 0 && age < BLOB_CACHE_MAX_AGE;
+		}
+	}
+
+	/**
+	 * Time during which a cached blob is used without checking with the storage service
+	 */
+	static final long BLOB_CACHE_MAX_AGE = TimeUnit.SECONDS.toMillis(60);
+
 	private static final String DEFAULT_STORAGE_SERVICE_NAME = Messages.MarketplaceStorageService_defaultStorageServiceName;
 
 	static final String DEFAULT_APPLICATION_TOKEN = "MZ04RMOpksKN5GpxKXafq2MSjSP"; //$NON-NLS-1$
@@ -70,6 +111,13 @@ public class MarketplaceStorageService implements IMarketplaceStorageService {
 
 	private EclipseOAuthCredentialsProvider credentialsProvider;
 
+	private final Map<String, CachedBlob> blobCache = new HashMap<>();
+
+	/**
+	 * The user the cached blobs belong to
+	 */
+	private String blobCacheUser;
+
 	@Override
 	public String getMarketplaceBaseUri() {
 		return marketplaceBaseUri;
@@ -90,6 +138,7 @@ public class MarketplaceStorageService implements IMarketplaceStorageService {
 			this.serviceUri = serviceUri;
 			storageFactory = null;
 			storage = null;
+			invalidateBlobs();
 		}
 	}
 
@@ -149,6 +198,7 @@ public class MarketplaceStorageService implements IMarketplaceStorageService {
 
 	public void setStorage(IStorage storage) {
 		this.storage = storage;
+		invalidateBlobs();
 	}
 
 	@Override
@@ -156,6 +206,83 @@ public class MarketplaceStorageService implements IMarketplaceStorageService {
 		return getStorage().getBlob(key);
 	}
 
+	/**
+	 * Read the contents of a blob, using the cached contents of the current user if they have been read or written
+	 * recently. Otherwise, the blob is revalidated with the storage service. The storage's file cache turns this into
+	 * a conditional request based on the blob's version tag, so an unchanged blob is not transferred again.
+	 *
+	 * @return the blob's contents and version tag, with null contents if the blob does not exist
+	 */
+	public CachedBlob readBlob(String key) throws IOException {
+		String user = getCurrentUser();
+		CachedBlob cached;
+		synchronized (blobCache) {
+			checkBlobCacheUser(user);
+			cached = blobCache.get(key);
+		}
+		if (cached != null && cached.isFresh()) {
+			return cached;
+		}
+		IBlob blob = getBlob(key);
+		String contents;
+		try {
+			contents = blob.getContentsUTF();
+		} catch (NotFoundException ex) {
+			contents = null;
+		}
+		String eTag = contents == null ? null : blob.getETag();
+		if (cached != null && eTag != null && eTag.equals(cached.getETag())) {
+			//not modified - keep the contents we already have
+			contents = cached.getContents();
+		}
+		return cacheBlob(user, key, contents, eTag);
+	}
+
+	/**
+	 * Remember the contents of a blob that has just been written to or deleted from the storage service.
+	 *
+	 * @param contents
+	 *            the written contents or null if the blob has been deleted
+	 * @param eTag
+	 *            the version tag of the written contents
+	 */
+	public CachedBlob blobWritten(String key, String contents, String eTag) {
+		return cacheBlob(getCurrentUser(), key, contents, contents == null ? null : eTag);
+	}
+
+	private CachedBlob cacheBlob(String user, String key, String contents, String eTag) {
+		CachedBlob cached = new CachedBlob(contents, eTag);
+		synchronized (blobCache) {
+			checkBlobCacheUser(user);
+			blobCache.put(key, cached);
+		}
+		return cached;
+	}
+
+	private void checkBlobCacheUser(String user) {
+		if (user == null ? blobCacheUser != null : !user.equals(blobCacheUser)) {
+			blobCache.clear();
+			blobCacheUser = user;
+		}
+	}
+
+	/**
+	 * Forget the cached contents of the given blob, so the next {@link #readBlob(String) read} goes to the storage
+	 * service.
+	 */
+	public void invalidateBlob(String key) {
+		synchronized (blobCache) {
+			blobCache.remove(key);
+		}
+	}
+
+	private void invalidateBlobs() {
+		synchronized (blobCache) {
+			blobCache.clear();
+			blobCacheUser = null;
+		}
+	}
+
 	@Override
 	public String getRegisteredUser() {
 		Credentials credentials = getStorageCredentials();
@@ -179,6 +306,7 @@ public class MarketplaceStorageService implements IMarketplaceStorageService {
 
 	private void notifyLoginChanged(String oldUser, String newUser) {
 		if ((newUser == null && oldUser != null) || (newUser != null && !newUser.equals(oldUser))) {
+			invalidateBlobs();
 			List<LoginListener> loginListeners = this.loginListeners;
 			if (loginListeners != null && !loginListeners.isEmpty()) {
 				for (LoginListener loginListener : loginListeners) {
@@ -18,6 +18,10 @@ class Messages extends NLS {
 	private static final String BUNDLE_NAME = "org.eclipse.epp.internal.mpc.core.service.messages"; //$NON-NLS-1$
 
 
+	public static String CachingMarketplaceService_localSearchFallback;
+
+	public static String DefaultCatalogService_usingCachedCatalogs;
+
 	public static String DefaultMarketplaceService_cannotCompleteRequest_reason;
 
 	public static String DefaultMarketplaceService_categoryNotFound;
@@ -63,6 +67,14 @@ class Messages extends NLS {
 	public static String DefaultMarketplaceService_UnsupportedSearchString;
 
 
+	public static String FederatedSearch_searchFailed;
+
+	public static String FederatedSearch_timedOut;
+
+	public static String InstallReportQueue_reportRejected;
+
+	public static String InstallReportQueue_saveError;
+
 	public static String MarketplaceStorageService_defaultStorageServiceName;
 
 
@@ -0,0 +1,561 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.eclipse.epp.internal.mpc.core.model.Category;
+import org.eclipse.epp.internal.mpc.core.model.Iu;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.Tag;
+import org.eclipse.epp.mpc.core.model.ICategories;
+import org.eclipse.epp.mpc.core.model.ICategory;
+import org.eclipse.epp.mpc.core.model.IIu;
+import org.eclipse.epp.mpc.core.model.IIus;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.IPlatforms;
+import org.eclipse.epp.mpc.core.model.ITag;
+import org.eclipse.epp.mpc.core.model.ITags;
+
+/**
+ * In-memory full-text index over all nodes seen by the client, so searches can be answered locally while the server
+ * is still working on them, or if it is slow or unreachable. Query terms are matched as prefixes of indexed words and
+ * all terms have to match.
+ * <p>
+ * The index keeps everything that a search result from the server holds for a node, so local hits can be displayed,
+ * filtered and installed like remote ones. It holds a limited number of nodes, dropping the ones that were added least
+ * recently. The index can be written to and restored from a compact binary form.
+ *
+ * @author agent
+ */
+public class NodeSearchIndex {
+
+	public static final int DEFAULT_MAX_ENTRIES = 5000;
+
+	private static final int FORMAT_VERSION = 2;
+
+	private static final int WEIGHT_NAME = 10;
+
+	private static final int WEIGHT_TAG = 5;
+
+	private static final int WEIGHT_CATEGORY = 3;
+
+	private static final int WEIGHT_DESCRIPTION = 2;
+
+	private static final int WEIGHT_OWNER = 2;
+
+	private static final int WEIGHT_IU = 1;
+
+	private final int maxEntries;
+
+	private final LinkedHashMap<String, Node> entries = new LinkedHashMap<>();
+
+	private final TreeMap<String, Map<String, Integer>> postings = new TreeMap<>();
+
+	private boolean dirty;
+
+	public NodeSearchIndex() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	public NodeSearchIndex(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * Add a node to the index, replacing any previously indexed version of it. Nodes without id or name (e.g. node
+	 * references that haven't been resolved) are ignored. If the index is full, the node that was added least recently
+	 * is dropped.
+	 */
+	public synchronized void add(INode node) {
+		if (node == null || node.getId() == null || node.getName() == null) {
+			return;
+		}
+		Node entry = copy(node);
+		remove(entry.getId());
+		put(entry);
+		while (entries.size() > maxEntries) {
+			remove(entries.keySet().iterator().next());
+		}
+		dirty = true;
+	}
+
+	public synchronized void remove(String nodeId) {
+		Node entry = entries.remove(nodeId);
+		if (entry == null) {
+			return;
+		}
+		for (String word : words(entry)) {
+			Map<String, Integer> nodeWeights = postings.get(word);
+			if (nodeWeights != null) {
+				nodeWeights.remove(nodeId);
+				if (nodeWeights.isEmpty()) {
+					postings.remove(word);
+				}
+			}
+		}
+		dirty = true;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * Find all indexed nodes matching the given query, best matches first.
+	 *
+	 * @param queryText
+	 *            the search terms
+	 * @param categoryId
+	 *            optional category the nodes have to belong to, or null
+	 * @param maxResults
+	 *            maximum number of returned nodes
+	 * @return new node instances holding the indexed information of the matching nodes
+	 */
+	public synchronized List<INode> search(String queryText, String categoryId, int maxResults) {
+		Set<String> terms = new HashSet<>();
+		tokenize(queryText, terms);
+		if (terms.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Map<String, Integer> scores = null;
+		for (String term : terms) {
+			Map<String, Integer> termScores = new HashMap<>();
+			SortedMap<String, Map<String, Integer>> matches = postings.subMap(term, term + Character.MAX_VALUE);
+			for (Map<String, Integer> nodeWeights : matches.values()) {
+				for (Map.Entry<String, Integer> nodeWeight : nodeWeights.entrySet()) {
+					String nodeId = nodeWeight.getKey();
+					if (scores != null && !scores.containsKey(nodeId)) {
+						continue;
+					}
+					Integer score = termScores.get(nodeId);
+					if (score == null || score < nodeWeight.getValue()) {
+						termScores.put(nodeId, nodeWeight.getValue());
+					}
+				}
+			}
+			if (scores != null) {
+				for (Map.Entry<String, Integer> termScore : termScores.entrySet()) {
+					termScore.setValue(termScore.getValue() + scores.get(termScore.getKey()));
+				}
+			}
+			scores = termScores;
+			if (scores.isEmpty()) {
+				return Collections.emptyList();
+			}
+		}
+		List<Map.Entry<String, Integer>> ranked = new ArrayList<>(scores.entrySet());
+		Collections.sort(ranked, (e1, e2) -> {
+			int result = e2.getValue().compareTo(e1.getValue());
+			if (result == 0) {
+				result = entries.get(e1.getKey()).getName().compareToIgnoreCase(entries.get(e2.getKey()).getName());
+			}
+			return result;
+		});
+		List<INode> result = new ArrayList<>();
+		for (Map.Entry<String, Integer> rankedEntry : ranked) {
+			Node entry = entries.get(rankedEntry.getKey());
+			if (categoryId != null && !hasCategory(entry, categoryId)) {
+				continue;
+			}
+			result.add(copy(entry));
+			if (result.size() >= maxResults) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	public synchronized void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(FORMAT_VERSION);
+		data.writeInt(entries.size());
+		for (Node entry : entries.values()) {
+			write(data, entry);
+		}
+		data.flush();
+		dirty = false;
+	}
+
+	/**
+	 * Replace the contents of this index with the contents previously {@link #write(OutputStream) written}.
+	 *
+	 * @throws IOException
+	 *             if the stream could not be read or is in an unknown format. The index is left unchanged in that case.
+	 */
+	public synchronized void read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		int version = data.readInt();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Unsupported index format " + version); //$NON-NLS-1$
+		}
+		int size = data.readInt();
+		if (size < 0) {
+			throw new IOException("Invalid index size " + size); //$NON-NLS-1$
+		}
+		Map<String, Node> readEntries = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			Node entry = readNode(data);
+			readEntries.remove(entry.getId());
+			readEntries.put(entry.getId(), entry);
+		}
+		entries.clear();
+		postings.clear();
+		int skip = readEntries.size() - maxEntries;
+		for (Node entry : readEntries.values()) {
+			if (skip-- > 0) {
+				continue;
+			}
+			put(entry);
+		}
+		dirty = false;
+	}
+
+	/**
+	 * Restore the index from the given file, if it exists.
+	 */
+	public void load(File file) throws IOException {
+		if (!file.isFile()) {
+			return;
+		}
+		try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+			read(in);
+		}
+	}
+
+	/**
+	 * Save the index to the given file if it has been modified since it was last read or written.
+	 */
+	public synchronized void save(File file) throws IOException {
+		if (!dirty) {
+			return;
+		}
+		File parent = file.getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+			throw new IOException("Failed to create " + parent); //$NON-NLS-1$
+		}
+		File tempFile = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+			write(out);
+		}
+		Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private void put(Node entry) {
+		entries.put(entry.getId(), entry);
+		index(entry);
+	}
+
+	private void index(Node entry) {
+		String id = entry.getId();
+		index(id, entry.getName(), WEIGHT_NAME);
+		index(id, entry.getShortdescription(), WEIGHT_DESCRIPTION);
+		index(id, entry.getOwner(), WEIGHT_OWNER);
+		for (Tag tag : entry.getTags().getTags()) {
+			index(id, tag.getName(), WEIGHT_TAG);
+		}
+		for (Category category : entry.getCategories().getCategory()) {
+			index(id, category.getName(), WEIGHT_CATEGORY);
+		}
+		for (IIu iu : entry.getIus().getIuElements()) {
+			index(id, iu.getId(), WEIGHT_IU);
+		}
+	}
+
+	private void index(String nodeId, String text, int weight) {
+		Set<String> words = new HashSet<>();
+		tokenize(text, words);
+		for (String word : words) {
+			Map<String, Integer> nodeWeights = postings.get(word);
+			if (nodeWeights == null) {
+				nodeWeights = new HashMap<>(4);
+				postings.put(word, nodeWeights);
+			}
+			Integer oldWeight = nodeWeights.get(nodeId);
+			if (oldWeight == null || oldWeight < weight) {
+				nodeWeights.put(nodeId, weight);
+			}
+		}
+	}
+
+	static void tokenize(String text, Set<String> words) {
+		if (text == null) {
+			return;
+		}
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (wordChar && start == -1) {
+				start = i;
+			} else if (!wordChar && start != -1) {
+				words.add(text.substring(start, i).toLowerCase(Locale.ENGLISH));
+				start = -1;
+			}
+		}
+	}
+
+	private static boolean hasCategory(Node entry, String categoryId) {
+		for (Category category : entry.getCategories().getCategory()) {
+			if (categoryId.equals(category.getId())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Copy everything a search result holds for a node. Indexed entries are never handed out, so callers can't modify
+	 * them.
+	 */
+	static Node copy(INode node) {
+		Node copy = new Node();
+		copy.setId(node.getId());
+		copy.setUrl(node.getUrl());
+		copy.setName(node.getName());
+		copy.setType(node.getType());
+		copy.setShortdescription(node.getShortdescription());
+		copy.setOwner(node.getOwner());
+		copy.setImage(node.getImage());
+		copy.setHomepageurl(node.getHomepageurl());
+		copy.setVersion(node.getVersion());
+		copy.setLicense(node.getLicense());
+		copy.setCompanyname(node.getCompanyname());
+		copy.setStatus(node.getStatus());
+		copy.setEclipseversion(node.getEclipseversion());
+		copy.setSupporturl(node.getSupporturl());
+		copy.setUpdateurl(node.getUpdateurl());
+		copy.setFoundationmember(node.getFoundationmember());
+		copy.setFavorited(node.getFavorited());
+		copy.setInstallsTotal(node.getInstallsTotal());
+		copy.setInstallsRecent(node.getInstallsRecent());
+		ITags tags = node.getTags();
+		if (tags != null && tags.getTags() != null) {
+			for (ITag tag : tags.getTags()) {
+				copy.getTags().getTags().add(tag(tag.getId(), tag.getName(), tag.getUrl()));
+			}
+		}
+		ICategories categories = node.getCategories();
+		if (categories != null && categories.getCategory() != null) {
+			for (ICategory category : categories.getCategory()) {
+				copy.getCategories()
+				.getCategory()
+				.add(category(category.getId(), category.getName(), category.getUrl()));
+			}
+		}
+		IIus ius = node.getIus();
+		if (ius != null && ius.getIuElements() != null) {
+			for (IIu iu : ius.getIuElements()) {
+				copy.getIus().getIuElements().add(new Iu(iu.getId(), iu.isOptional(), iu.isSelected()));
+			}
+		}
+		IPlatforms platforms = node.getPlatforms();
+		if (platforms != null && platforms.getPlatform() != null) {
+			copy.getPlatforms().getPlatform().addAll(platforms.getPlatform());
+		}
+		return copy;
+	}
+
+	private static Tag tag(String id, String name, String url) {
+		Tag tag = new Tag();
+		tag.setId(id);
+		tag.setName(name);
+		tag.setUrl(url);
+		return tag;
+	}
+
+	private static Category category(String id, String name, String url) {
+		Category category = new Category();
+		category.setId(id);
+		category.setName(name);
+		category.setUrl(url);
+		return category;
+	}
+
+	private static void write(DataOutputStream data, Node entry) throws IOException {
+		writeString(data, entry.getId());
+		writeString(data, entry.getUrl());
+		writeString(data, entry.getName());
+		writeString(data, entry.getType());
+		writeString(data, entry.getShortdescription());
+		writeString(data, entry.getOwner());
+		writeString(data, entry.getImage());
+		writeString(data, entry.getHomepageurl());
+		writeString(data, entry.getVersion());
+		writeString(data, entry.getLicense());
+		writeString(data, entry.getCompanyname());
+		writeString(data, entry.getStatus());
+		writeString(data, entry.getEclipseversion());
+		writeString(data, entry.getSupporturl());
+		writeString(data, entry.getUpdateurl());
+		writeInteger(data, entry.getFoundationmember() == null ? null : entry.getFoundationmember() ? 1 : 0);
+		writeInteger(data, entry.getFavorited());
+		writeInteger(data, entry.getInstallsTotal());
+		writeInteger(data, entry.getInstallsRecent());
+		List<Tag> tags = entry.getTags().getTags();
+		data.writeInt(tags.size());
+		for (Tag tag : tags) {
+			writeString(data, tag.getId());
+			writeString(data, tag.getName());
+			writeString(data, tag.getUrl());
+		}
+		List<Category> categories = entry.getCategories().getCategory();
+		data.writeInt(categories.size());
+		for (Category category : categories) {
+			writeString(data, category.getId());
+			writeString(data, category.getName());
+			writeString(data, category.getUrl());
+		}
+		List<IIu> ius = entry.getIus().getIuElements();
+		data.writeInt(ius.size());
+		for (IIu iu : ius) {
+			writeString(data, iu.getId());
+			data.writeBoolean(iu.isOptional());
+			data.writeBoolean(iu.isSelected());
+		}
+		List<String> platforms = entry.getPlatforms().getPlatform();
+		data.writeInt(platforms.size());
+		for (String platform : platforms) {
+			writeString(data, platform);
+		}
+	}
+
+	private static Node readNode(DataInputStream data) throws IOException {
+		Node node = new Node();
+		node.setId(readString(data));
+		node.setUrl(readString(data));
+		node.setName(readString(data));
+		node.setType(readString(data));
+		node.setShortdescription(readString(data));
+		node.setOwner(readString(data));
+		node.setImage(readString(data));
+		node.setHomepageurl(readString(data));
+		node.setVersion(readString(data));
+		node.setLicense(readString(data));
+		node.setCompanyname(readString(data));
+		node.setStatus(readString(data));
+		node.setEclipseversion(readString(data));
+		node.setSupporturl(readString(data));
+		node.setUpdateurl(readString(data));
+		Integer foundationmember = readInteger(data);
+		node.setFoundationmember(foundationmember == null ? null : foundationmember != 0);
+		node.setFavorited(readInteger(data));
+		node.setInstallsTotal(readInteger(data));
+		node.setInstallsRecent(readInteger(data));
+		for (int i = readCount(data); i > 0; i--) {
+			node.getTags().getTags().add(tag(readString(data), readString(data), readString(data)));
+		}
+		for (int i = readCount(data); i > 0; i--) {
+			node.getCategories().getCategory().add(category(readString(data), readString(data), readString(data)));
+		}
+		for (int i = readCount(data); i > 0; i--) {
+			node.getIus().getIuElements().add(new Iu(readString(data), data.readBoolean(), data.readBoolean()));
+		}
+		for (int i = readCount(data); i > 0; i--) {
+			node.getPlatforms().getPlatform().add(readString(data));
+		}
+		if (node.getId() == null || node.getName() == null) {
+			throw new IOException("Invalid index entry"); //$NON-NLS-1$
+		}
+		return node;
+	}
+
+	private static int readCount(DataInputStream data) throws IOException {
+		int count = data.readInt();
+		if (count < 0) {
+			throw new IOException("Invalid count " + count); //$NON-NLS-1$
+		}
+		return count;
+	}
+
+	/**
+	 * Write a string of any length. {@link DataOutputStream#writeUTF(String)} is limited to 64KB, which long
+	 * descriptions can exceed.
+	 */
+	private static void writeString(DataOutputStream data, String value) throws IOException {
+		if (value == null) {
+			data.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		data.writeInt(bytes.length);
+		data.write(bytes);
+	}
+
+	private static String readString(DataInputStream data) throws IOException {
+		int length = data.readInt();
+		if (length == -1) {
+			return null;
+		}
+		if (length < 0) {
+			throw new IOException("Invalid string length " + length); //$NON-NLS-1$
+		}
+		byte[] bytes = new byte[length];
+		data.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeInteger(DataOutputStream data, Integer value) throws IOException {
+		data.writeBoolean(value != null);
+		if (value != null) {
+			data.writeInt(value);
+		}
+	}
+
+	private static Integer readInteger(DataInputStream data) throws IOException {
+		return data.readBoolean() ? data.readInt() : null;
+	}
+
+	private static Set<String> words(Node entry) {
+		Set<String> words = new HashSet<>();
+		tokenize(entry.getName(), words);
+		tokenize(entry.getShortdescription(), words);
+		tokenize(entry.getOwner(), words);
+		for (Tag tag : entry.getTags().getTags()) {
+			tokenize(tag.getName(), words);
+		}
+		for (Category category : entry.getCategories().getCategory()) {
+			tokenize(category.getName(), words);
+		}
+		for (IIu iu : entry.getIus().getIuElements()) {
+			tokenize(iu.getId(), words);
+		}
+		return words;
+	}
+}
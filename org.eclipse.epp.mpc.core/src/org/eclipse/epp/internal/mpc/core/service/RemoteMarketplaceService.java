@@ -29,6 +29,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.util.CancelableInputStream;
 import org.eclipse.epp.internal.mpc.core.util.ServiceUtil;
 import org.eclipse.epp.internal.mpc.core.util.TransportFactory;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
@@ -161,8 +162,15 @@ public class RemoteMarketplaceService<T> {
 		try {
 			while (true) {
 				progress.setWorkRemaining(100);
+				if (progress.isCanceled()) {
+					throw new CoreException(Status.CANCEL_STATUS);
+				}
 				try {
 					InputStream in = transport.stream(location, progress.newChild(70));
+					if (in != null) {
+						//abandon download and parsing as soon as the request is canceled
+						in = new CancelableInputStream(in, progress);
+					}
 					try {
 						progress.setWorkRemaining(100);
 						progress.worked(30);
@@ -178,6 +186,9 @@ public class RemoteMarketplaceService<T> {
 						}
 					}
 				} catch (Exception e) {
+					if (e instanceof CoreException && ((CoreException) e).getStatus().getSeverity() == IStatus.CANCEL) {
+						throw (CoreException) e;
+					}
 					if (e.getCause() instanceof OperationCanceledException) {
 						throw new CoreException(Status.CANCEL_STATUS);
 					}
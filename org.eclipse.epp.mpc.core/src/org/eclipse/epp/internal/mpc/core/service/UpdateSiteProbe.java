@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.util.EntityUtils;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.ServiceLocator;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientTransport;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Permit;
+
+/**
+ * Computes a cheap fingerprint of a p2 update site from the metadata index files it serves, using HEAD requests for
+ * remote sites. As long as the fingerprint stays the same, the site's metadata can be assumed to be unchanged.
+ * <p>
+ * The fingerprint of a composite site only covers the composite index itself, not its children.
+ * <p>
+ * Requests are scheduled by the {@link IOTaskExecutor} with the priority of the calling thread.
+ *
+ * @author agent
+ */
+public class UpdateSiteProbe {
+
+	private static final String[] INDEX_FILES = { "p2.index", //$NON-NLS-1$
+			"content.jar", "content.xml.xz", "content.xml", //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$
+			"compositeContent.jar", "compositeContent.xml" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private final HttpClientService client;
+
+	private final IOTaskExecutor executor;
+
+	public UpdateSiteProbe() {
+		this(ServiceLocator.getInstance().getHttpClient());
+	}
+
+	public UpdateSiteProbe(HttpClientService client) {
+		this(client, IOTaskExecutor.getDefault());
+	}
+
+	public UpdateSiteProbe(HttpClientService client, IOTaskExecutor executor) {
+		this.client = client;
+		this.executor = executor;
+	}
+
+	/**
+	 * @see #computeFingerprint(URI, IProgressMonitor)
+	 */
+	public String computeFingerprint(URI site) {
+		return computeFingerprint(site, null);
+	}
+
+	/**
+	 * Compute the fingerprint of the given update site.
+	 *
+	 * @param monitor
+	 *            canceling it abandons requests that are still waiting to be scheduled, or null
+	 * @return the fingerprint, or null if the site can't be fingerprinted reliably, e.g. because the server doesn't
+	 *         provide any validators for its files, the site couldn't be reached or the monitor was canceled
+	 */
+	public String computeFingerprint(URI site, IProgressMonitor monitor) {
+		if (site.getQuery() != null || site.getFragment() != null) {
+			return null;
+		}
+		String scheme = site.getScheme();
+		boolean remote = "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme); //$NON-NLS-1$ //$NON-NLS-2$
+		if (!remote && !"file".equalsIgnoreCase(scheme)) { //$NON-NLS-1$
+			return null;
+		}
+		if (remote && client == null) {
+			return null;
+		}
+		URI base = site.toString().endsWith("/") ? site : URI.create(site.toString() + "/"); //$NON-NLS-1$ //$NON-NLS-2$
+		StringBuilder fingerprint = new StringBuilder();
+		try {
+			for (String indexFile : INDEX_FILES) {
+				URI location = base.resolve(indexFile);
+				String validator = remote ? probeRemote(location, monitor) : probeLocal(location);
+				if (validator == null) {
+					// can't tell if it changed
+					return null;
+				}
+				if (!validator.isEmpty()) {
+					fingerprint.append(indexFile).append('=').append(validator).append(';');
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			// let the caller do a full check
+			return null;
+		}
+		return fingerprint.length() == 0 ? null : fingerprint.toString();
+	}
+
+	/**
+	 * @return the validator of the given file, an empty string if it doesn't exist, or null if it has no validator
+	 */
+	private String probeRemote(URI location, IProgressMonitor monitor) throws IOException {
+		HttpUriRequest request = RequestBuilder.head(location).build();
+		request.setHeader(HttpHeaders.USER_AGENT, HttpClientTransport.USER_AGENT);
+		try (Permit permit = executor.acquire(IOTaskExecutor.getCurrentPriority(), location.getHost(), monitor)) {
+			return probeRemote(request);
+		}
+	}
+
+	private String probeRemote(HttpUriRequest request) throws IOException {
+		HttpResponse response = client.configureAndExecute(request);
+		try {
+			int statusCode = response.getStatusLine().getStatusCode();
+			if (statusCode == HttpStatus.SC_NOT_FOUND || statusCode == HttpStatus.SC_GONE) {
+				return ""; //$NON-NLS-1$
+			}
+			if (statusCode != HttpStatus.SC_OK) {
+				throw new IOException(response.getStatusLine().toString());
+			}
+			Header eTag = response.getFirstHeader(HttpHeaders.ETAG);
+			if (eTag != null) {
+				return eTag.getValue();
+			}
+			Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+			if (lastModified == null) {
+				return null;
+			}
+			Header contentLength = response.getFirstHeader(HttpHeaders.CONTENT_LENGTH);
+			return lastModified.getValue() + (contentLength == null ? "" : "/" + contentLength.getValue()); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			EntityUtils.consumeQuietly(response.getEntity());
+			if (response instanceof CloseableHttpResponse) {
+				((CloseableHttpResponse) response).close();
+			}
+		}
+	}
+
+	private static String probeLocal(URI location) {
+		File file = new File(location);
+		if (!file.isFile()) {
+			return ""; //$NON-NLS-1$
+		}
+		return file.lastModified() + "/" + file.length(); //$NON-NLS-1$
+	}
+}
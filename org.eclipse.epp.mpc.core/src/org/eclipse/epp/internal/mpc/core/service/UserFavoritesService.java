@@ -27,11 +27,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,12 +48,16 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
 import org.eclipse.epp.internal.mpc.core.model.FavoriteList;
+import org.eclipse.epp.internal.mpc.core.service.MarketplaceStorageService.CachedBlob;
 import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
 import org.eclipse.epp.internal.mpc.core.transport.httpclient.RequestTemplate;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Permit;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
 import org.eclipse.epp.mpc.core.model.IFavoriteList;
 import org.eclipse.epp.mpc.core.model.INode;
 import org.eclipse.epp.mpc.core.service.IMarketplaceService;
+import org.eclipse.epp.mpc.core.service.IMarketplaceStorageService;
 import org.eclipse.epp.mpc.core.service.IUserFavoritesService;
 import org.eclipse.epp.mpc.core.service.QueryHelper;
 import org.eclipse.epp.mpc.core.service.ServiceHelper;
@@ -127,6 +133,31 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 	private static final Pattern JSON_OWNER_PROFILE_URL_ATTRIBUTE_PATTERN = Pattern
 			.compile(String.format(JSON_ATTRIBUTE_REGEX, "html_profile_url"), Pattern.MULTILINE); //$NON-NLS-1$
 
+	/**
+	 * Returns the body of a paged list response's pagination info in its first match group
+	 */
+	private static final Pattern JSON_PAGINATION_PATTERN = Pattern.compile("\"pagination\"\\s*:\\s*\\{([^\\{\\}]*)\\}", //$NON-NLS-1$
+			Pattern.MULTILINE);
+
+	/**
+	 * Matches a single numeric attribute in a dict. Returns the attribute value in the first match group.
+	 */
+	private static final String JSON_NUMBER_ATTRIBUTE_REGEX = "\"" + TEMPLATE_VARIABLE //$NON-NLS-1$
+			+ "\"\\s*:\\s*\"?(\\d+)\"?\\s*(?=[,\\}]|$)"; //$NON-NLS-1$
+
+	private static final Pattern JSON_PAGE_ATTRIBUTE_PATTERN = Pattern
+			.compile(String.format(JSON_NUMBER_ATTRIBUTE_REGEX, "page"), Pattern.MULTILINE); //$NON-NLS-1$
+
+	private static final Pattern JSON_PAGE_SIZE_ATTRIBUTE_PATTERN = Pattern
+			.compile(String.format(JSON_NUMBER_ATTRIBUTE_REGEX, "pagesize"), Pattern.MULTILINE); //$NON-NLS-1$
+
+	private static final Pattern JSON_TOTAL_SIZE_ATTRIBUTE_PATTERN = Pattern
+			.compile(String.format(JSON_NUMBER_ATTRIBUTE_REGEX, "total_result_size"), Pattern.MULTILINE); //$NON-NLS-1$
+
+	private static final String PARAM_PAGE = "page"; //$NON-NLS-1$
+
+	private static final String PARAM_PAGE_SIZE = "pagesize"; //$NON-NLS-1$
+
 	public static final Pattern FAVORITES_URL_PATTERN = Pattern
 			.compile("^(?:https?:.*/)?user/([^/#?]+)(?:/favorites)?(?:[/#?].*)?$"); //$NON-NLS-1$
 
@@ -140,12 +171,61 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 
 	private final Set<String> favorites = new HashSet<>();
 
+	/**
+	 * A requested favorite state. Every request is a separate instance, so a node that has been toggled again while a
+	 * write was in progress isn't mistaken for the change that was written, even if it was set to the same state.
+	 */
+	private static final class FavoriteChange {
+
+		private final boolean favorite;
+
+		private FavoriteChange(boolean favorite) {
+			this.favorite = favorite;
+		}
+	}
+
+	/**
+	 * Local changes that haven't been written to the favorites blob yet, with the latest requested state per node
+	 */
+	private final Map<String, FavoriteChange> pendingChanges = new LinkedHashMap<>();
+
+	private final Object writeLock = new Object();
+
+	/**
+	 * Favorites as last read from or written to the favorites blob, or null if unknown
+	 */
+	private Set<String> remoteFavorites;
+
+	private String remoteETag;
+
 	private HttpClientService httpClient;
 
 	protected IBlob getFavoritesBlob() {
 		return getStorageService().getBlob(KEY);
 	}
 
+	/**
+	 * @return the storage service if it caches blob contents, null otherwise
+	 */
+	private MarketplaceStorageService getCachingStorageService() {
+		IMarketplaceStorageService storageService = getStorageService();
+		return storageService instanceof MarketplaceStorageService ? (MarketplaceStorageService) storageService : null;
+	}
+
+	private void favoritesBlobWritten(String favoritesData, String eTag) {
+		MarketplaceStorageService cachingStorageService = getCachingStorageService();
+		if (cachingStorageService != null) {
+			cachingStorageService.blobWritten(KEY, favoritesData, eTag);
+		}
+	}
+
+	private void invalidateFavoritesBlob() {
+		MarketplaceStorageService cachingStorageService = getCachingStorageService();
+		if (cachingStorageService != null) {
+			cachingStorageService.invalidateBlob(KEY);
+		}
+	}
+
 	@Override
 	public Integer getFavoriteCount(INode node) {
 		Integer favorited = node.getFavorited();
@@ -169,17 +249,25 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 //		throw new IOException("simulates favorites failure");
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.DefaultMarketplaceService_FavoritesRetrieve, 1000);
 		try {
-			String favoritesData = getFavoritesBlob().getContentsUTF();
+			MarketplaceStorageService cachingStorageService = getCachingStorageService();
+			if (cachingStorageService != null) {
+				CachedBlob blob = cachingStorageService.readBlob(KEY);
+				progress.worked(950);
+				if (blob.getContents() == null) {
+					//the user does not yet have favorites
+					return updateRemoteFavorites(new LinkedHashSet<>(), null);
+				}
+				Set<String> result = parseFavoritesBlobData(blob.getContents());
+				return updateRemoteFavorites(result, blob.getETag());
+			}
+			IBlob blob = getFavoritesBlob();
+			String favoritesData = blob.getContentsUTF();
 			progress.worked(950);//FIXME waiting for USS bug 488335 to have proper progress and cancelation
 			Set<String> result = parseFavoritesBlobData(favoritesData);
-			synchronized (this) {
-				favorites.clear();
-				favorites.addAll(result);
-			}
-			return result;
+			return updateRemoteFavorites(result, blob.getETag());
 		} catch (NotFoundException ex) {
 			//the user does not yet have favorites
-			return new LinkedHashSet<>();
+			return updateRemoteFavorites(new LinkedHashSet<>(), null);
 		} catch (OperationCanceledException ex) {
 			throw processProtocolException(ex);
 		} catch (ProtocolException ex) {
@@ -187,6 +275,32 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 		}
 	}
 
+	/**
+	 * Remember the remote state and update the local favorites from it. Local changes that haven't been written yet
+	 * are kept on top of the remote state.
+	 *
+	 * @return the updated local favorites
+	 */
+	private synchronized Set<String> updateRemoteFavorites(Set<String> remote, String eTag) {
+		remoteFavorites = new HashSet<>(remote);
+		remoteETag = eTag;
+		Set<String> result = new LinkedHashSet<>(remote);
+		applyChanges(result, pendingChanges);
+		favorites.clear();
+		favorites.addAll(result);
+		return result;
+	}
+
+	private static void applyChanges(Set<String> favoriteIds, Map<String, FavoriteChange> changes) {
+		for (Map.Entry<String, FavoriteChange> change : changes.entrySet()) {
+			if (change.getValue().favorite) {
+				favoriteIds.add(change.getKey());
+			} else {
+				favoriteIds.remove(change.getKey());
+			}
+		}
+	}
+
 	public List<INode> getLastFavorites() {
 		Set<String> favoriteIds = getLastFavoriteIds();
 		List<INode> favoriteNodes = toNodes(favoriteIds);
@@ -205,7 +319,8 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 	public List<IFavoriteList> getRandomFavoriteLists(IProgressMonitor monitor) throws IOException {
 		URI serviceUri = getStorageService().getServiceUri();
 		final URI randomFavoritesUri = serviceUri.resolve(RANDOM_FAVORITE_LISTS_ENDPOINT);
-		return new AbstractJSONListRequest<IFavoriteList>(randomFavoritesUri, JSON_FAVORITE_LISTS_PATTERN) {
+		AbstractJSONListRequest<IFavoriteList> request = new AbstractJSONListRequest<IFavoriteList>(randomFavoritesUri,
+				JSON_FAVORITE_LISTS_PATTERN) {
 
 			@Override
 			protected IFavoriteList parseListElement(String entryBody) {
@@ -236,7 +351,11 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 				return favoritesByUserId;
 			}
 
-		}.execute(httpClient, randomFavoritesUri);
+		};
+		try (Permit permit = IOTaskExecutor.getDefault().acquire(IOTaskExecutor.getCurrentPriority(),
+				randomFavoritesUri.getHost(), monitor)) {
+			return request.execute(httpClient, randomFavoritesUri);
+		}
 	}
 
 	private static String getAttribute(Pattern attributePattern, String attributeName, String entryBody) {
@@ -341,12 +460,22 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.UserFavoritesService_SettingUserFavorites, 1000);
 		String favoritesData = createFavoritesBlobData(nodes);
 		try {
+			IBlob blob = getFavoritesBlob();
 			if (favoritesData == null || "".equals(favoritesData)) { //$NON-NLS-1$
-				getFavoritesBlob().delete();
+				favoritesData = null;
+				blob.delete();
 			} else {
-				getFavoritesBlob().setContentsUTF(favoritesData);
+				blob.setContentsUTF(favoritesData);
 			}
 			progress.worked(900);//FIXME waiting for USS bug 488335 to have proper progress and cancelation
+			synchronized (this) {
+				remoteFavorites = new HashSet<>();
+				for (INode node : nodes) {
+					remoteFavorites.add(node.getId());
+				}
+				remoteETag = blob.getETag();
+			}
+			favoritesBlobWritten(favoritesData, blob.getETag());
 		} catch (OperationCanceledException ex) {
 			throw processProtocolException(ex);
 		} catch (ProtocolException ex) {
@@ -403,6 +532,14 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 		for (INode node : nodes) {
 			nodeIds.add(node.getId());
 		}
+		return joinFavoriteIds(nodeIds);
+	}
+
+	private static String joinFavoriteIds(Collection<String> favoriteIds) {
+		if (favoriteIds.isEmpty()) {
+			return null;
+		}
+		List<String> nodeIds = new ArrayList<>(favoriteIds);
 		Collections.sort(nodeIds);
 		StringBuilder builder = new StringBuilder();
 		boolean first = true;
@@ -437,40 +574,150 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 
 	private void alterFavorites(Collection<? extends INode> nodes, boolean favorite, IProgressMonitor monitor)
 			throws NotAuthorizedException, ConflictException, IOException {
-		SubMonitor progress = SubMonitor.convert(monitor, Messages.UserFavoritesService_SettingUserFavorites, 1000);
-		ConflictException conflictException = null;
-		for (int i = 0; i < RETRY_COUNT; i++) {
-			try {
-				progress.setWorkRemaining(1000);
-				doAlterFavorites(nodes, favorite, progress.newChild(800));
-				progress.done();
-				return;
-			} catch (ConflictException e) {
-				conflictException = e;
-			} catch (OperationCanceledException ex) {
-				throw processProtocolException(ex);
-			} catch (ProtocolException ex) {
-				throw processProtocolException(ex);
+		Map<String, FavoriteChange> changes = queueFavorites(nodes, favorite);
+		try {
+			flushFavorites(monitor);
+		} catch (IOException | RuntimeException ex) {
+			revertChanges(changes);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Record changes to the user's favorites without writing them yet. The local favorites reflect the changes right
+	 * away. They are written together with all other pending changes by the next
+	 * {@link #flushFavorites(IProgressMonitor)}, so toggling a node several times in a row only writes its final
+	 * state.
+	 */
+	public void queueFavorite(INode node, boolean favorite) {
+		queueFavorites(Collections.singleton(node), favorite);
+	}
+
+	private synchronized Map<String, FavoriteChange> queueFavorites(Collection<? extends INode> nodes,
+			boolean favorite) {
+		Map<String, FavoriteChange> changes = new LinkedHashMap<>();
+		for (INode node : nodes) {
+			String id = node.getId();
+			FavoriteChange change = new FavoriteChange(favorite);
+			changes.put(id, change);
+			pendingChanges.put(id, change);
+			if (favorite ? favorites.add(id) : favorites.remove(id)) {
+				didChangeFavorite(id, favorite);
 			}
 		}
-		if (conflictException != null) {
-			throw conflictException;
+		return changes;
+	}
+
+	public synchronized boolean hasPendingFavorites() {
+		return !pendingChanges.isEmpty();
+	}
+
+	/**
+	 * Drop the given changes unless they have been superseded by later ones, and restore the last known remote state
+	 * for the affected nodes.
+	 */
+	private synchronized void revertChanges(Map<String, FavoriteChange> changes) {
+		for (Map.Entry<String, FavoriteChange> change : changes.entrySet()) {
+			String id = change.getKey();
+			if (!pendingChanges.remove(id, change.getValue())) {
+				//changed again in the meantime or already written
+				continue;
+			}
+			boolean favorite = remoteFavorites == null ? !change.getValue().favorite : remoteFavorites.contains(id);
+			if (favorite ? favorites.add(id) : favorites.remove(id)) {
+				didChangeFavorite(id, favorite);
+			}
 		}
 	}
 
-	private void doAlterFavorites(Collection<? extends INode> nodes, boolean favorite, IProgressMonitor monitor)
-			throws ConflictException, IOException {
+	/**
+	 * Write all pending favorites changes in a single update of the favorites blob. If the last known state of the
+	 * blob is still current, this takes a single request. If the blob was changed elsewhere in the meantime, the
+	 * update is rejected based on its ETag, and the pending changes are merged into the current remote state and
+	 * written again.
+	 * <p>
+	 * If writing fails, the changes that were being written are dropped and the affected nodes are reset to their last
+	 * known remote state. Changes queued while the write was in progress are kept for the next flush.
+	 */
+	public void flushFavorites(IProgressMonitor monitor) throws NotAuthorizedException, ConflictException, IOException {
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.UserFavoritesService_SettingUserFavorites, 1000);
-		List<INode> favorites = getFavorites(progress.newChild(300));
-		for (INode node : nodes) {
-			INode currentFavorite = QueryHelper.findById(favorites, node);
-			if (currentFavorite != null && !favorite) {
-				favorites.remove(currentFavorite);
-			} else if (currentFavorite == null && favorite) {
-				favorites.add(node);
+		synchronized (writeLock) {
+			ConflictException conflictException = null;
+			Map<String, FavoriteChange> changes = null;
+			try {
+				for (int i = 0; i < RETRY_COUNT; i++) {
+					Set<String> base;
+					String eTag;
+					synchronized (this) {
+						if (pendingChanges.isEmpty()) {
+							//nothing to do or already written by a concurrent flush
+							progress.done();
+							return;
+						}
+						changes = new LinkedHashMap<>(pendingChanges);
+						base = remoteFavorites;
+						eTag = remoteETag;
+					}
+					progress.setWorkRemaining(1000);
+					try {
+						if (base == null || conflictException != null) {
+							//unknown or outdated remote state
+							getFavoriteIds(progress.newChild(300));
+							synchronized (this) {
+								base = remoteFavorites;
+								eTag = remoteETag;
+							}
+						}
+						Set<String> merged = new HashSet<>(base);
+						applyChanges(merged, changes);
+						if (!merged.equals(base)) {
+							eTag = writeFavoriteIds(merged, eTag, progress.newChild(700));
+						}
+						synchronized (this) {
+							remoteFavorites = merged;
+							remoteETag = eTag;
+							for (Map.Entry<String, FavoriteChange> change : changes.entrySet()) {
+								pendingChanges.remove(change.getKey(), change.getValue());
+							}
+						}
+						progress.done();
+						return;
+					} catch (ConflictException e) {
+						//the blob was changed elsewhere, so the cached version is outdated as well
+						invalidateFavoritesBlob();
+						conflictException = e;
+					} catch (OperationCanceledException ex) {
+						throw processProtocolException(ex);
+					} catch (ProtocolException ex) {
+						throw processProtocolException(ex);
+					}
+				}
+				throw conflictException;
+			} catch (IOException | RuntimeException ex) {
+				if (changes != null) {
+					//only drop what we tried to write - later changes get their own chance
+					revertChanges(changes);
+				}
+				throw ex;
 			}
 		}
-		setFavorites(favorites, progress.newChild(700));
+	}
+
+	private String writeFavoriteIds(Set<String> favoriteIds, String eTag, IProgressMonitor monitor)
+			throws IOException {
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.UserFavoritesService_SettingUserFavorites, 1000);
+		IBlob blob = getFavoritesBlob();
+		//only overwrite the state the changes were based on
+		blob.setETag(eTag);
+		String favoritesData = joinFavoriteIds(favoriteIds);
+		if (favoritesData == null) {
+			blob.delete();
+		} else {
+			blob.setContentsUTF(favoritesData);
+		}
+		progress.done();//FIXME waiting for USS bug 488335 to have proper progress and cancelation
+		favoritesBlobWritten(favoritesData, blob.getETag());
+		return blob.getETag();
 	}
 
 	@Override
@@ -509,23 +756,54 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 
 	@Override
 	public List<String> getFavoriteIds(final URI uri, IProgressMonitor monitor) throws IOException {
-		URI normalizedUri = normalizeURI(uri);
-		try {
-			return new AbstractJSONListRequest<String>(normalizedUri, JSON_MPC_FAVORITES_PATTERN) {
+		return getFavoriteIds(uri, null, monitor);
+	}
 
-				@Override
-				protected String parseListElement(String listElement) {
-					Matcher contentIdMatcher = JSON_CONTENT_ID_ATTRIBUTE_PATTERN.matcher(listElement);
-					if (contentIdMatcher.find()) {
-						return contentIdMatcher.group(2);
-					}
-					return null;
+	/**
+	 * Retrieve the favorite ids of the favorites list at the given uri. If the server delivers the list in pages, all
+	 * pages are retrieved one after the other, and the ids of each page are passed to the given consumer as soon as
+	 * the page has been read. This way, the caller can start processing the first entries of a long list while the
+	 * rest is still being retrieved.
+	 *
+	 * @param pageConsumer
+	 *            receives the new ids of each page, in list order and from the calling thread. May be null.
+	 * @return all ids of the list, without duplicates
+	 */
+	public List<String> getFavoriteIds(final URI uri, Consumer<List<String>> pageConsumer, IProgressMonitor monitor)
+			throws IOException {
+		URI normalizedUri = normalizeURI(uri);
+		List<String> favoriteIds = new ArrayList<>();
+		Set<String> seenIds = new HashSet<>();
+		URI pageUri = uri;
+		while (pageUri != null) {
+			if (monitor != null && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			FavoriteIdsRequest request = new FavoriteIdsRequest(normalizedUri, uri);
+			List<String> pageIds;
+			try (Permit permit = IOTaskExecutor.getDefault().acquire(IOTaskExecutor.getCurrentPriority(),
+					pageUri.getHost(), monitor)) {
+				pageIds = request.execute(httpClient, pageUri);
+			} catch (FileNotFoundException e) {
+				break;
+			}
+			List<String> newIds = new ArrayList<>(pageIds.size());
+			for (String id : pageIds) {
+				if (seenIds.add(id)) {
+					newIds.add(id);
 				}
-
-			}.execute(httpClient, uri);
-		} catch (FileNotFoundException e) {
-			return new ArrayList<>();
+			}
+			if (newIds.isEmpty()) {
+				//also guards against servers ignoring the page parameter
+				break;
+			}
+			favoriteIds.addAll(newIds);
+			if (pageConsumer != null) {
+				pageConsumer.accept(newIds);
+			}
+			pageUri = request.getNextPageUri(favoriteIds.size());
 		}
+		return favoriteIds;
 	}
 
 	private static ProtocolException malformedContentException(final URI endpoint, String body) {
@@ -660,6 +938,7 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 			if (!"".equals(body)) { //$NON-NLS-1$
 				Matcher matcher = listAttributePattern.matcher(body);
 				if (matcher.find()) {
+					handlePagination(body);
 					String listBody = matcher.group(1);
 					Matcher entryMatcher = JSON_LIST_OBJECTS_PATTERN.matcher(listBody);
 					while (entryMatcher.find()) {
@@ -676,6 +955,10 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 			return favoriteIds;
 		}
 
+		protected void handlePagination(String body) {
+			// ignore by default
+		}
+
 		protected abstract T parseListElement(String listElement);
 
 		@Override
@@ -687,6 +970,89 @@ public class UserFavoritesService extends AbstractDataStorageService implements
 		}
 	}
 
+	private static class FavoriteIdsRequest extends AbstractJSONListRequest<String> {
+
+		private final URI listUri;
+
+		private boolean paginated;
+
+		private int page;
+
+		private int pageSize;
+
+		private int totalSize;
+
+		/**
+		 * @param uri
+		 *            the uri reported in errors
+		 * @param listUri
+		 *            the uri of the list's first page, to which the parameters of the following pages are added
+		 */
+		private FavoriteIdsRequest(URI uri, URI listUri) {
+			super(uri, JSON_MPC_FAVORITES_PATTERN);
+			this.listUri = listUri;
+		}
+
+		@Override
+		protected String parseListElement(String listElement) {
+			Matcher contentIdMatcher = JSON_CONTENT_ID_ATTRIBUTE_PATTERN.matcher(listElement);
+			if (contentIdMatcher.find()) {
+				return contentIdMatcher.group(2);
+			}
+			return null;
+		}
+
+		@Override
+		protected void handlePagination(String body) {
+			Matcher paginationMatcher = JSON_PAGINATION_PATTERN.matcher(body);
+			if (paginationMatcher.find()) {
+				String pagination = paginationMatcher.group(1);
+				page = getNumberAttribute(JSON_PAGE_ATTRIBUTE_PATTERN, pagination);
+				pageSize = getNumberAttribute(JSON_PAGE_SIZE_ATTRIBUTE_PATTERN, pagination);
+				totalSize = getNumberAttribute(JSON_TOTAL_SIZE_ATTRIBUTE_PATTERN, pagination);
+				paginated = page >= 0 && pageSize > 0 && totalSize >= 0;
+			}
+		}
+
+		private static int getNumberAttribute(Pattern attributePattern, String body) {
+			Matcher matcher = attributePattern.matcher(body);
+			return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+		}
+
+		/**
+		 * The following page is the one after the page number reported by the server, so this works no matter if the
+		 * server counts pages from 0 or 1.
+		 *
+		 * @return the uri of the page following the one read by this request, or null if this was the last page or the
+		 *         response didn't contain pagination information
+		 */
+		URI getNextPageUri(int loadedCount) {
+			if (!paginated || totalSize <= loadedCount) {
+				return null;
+			}
+			StringBuilder query = new StringBuilder();
+			String rawQuery = listUri.getRawQuery();
+			if (rawQuery != null) {
+				for (String param : rawQuery.split("&")) { //$NON-NLS-1$
+					String name = param.split("=", 2)[0]; //$NON-NLS-1$
+					if (!"".equals(param) && !PARAM_PAGE.equals(name) && !PARAM_PAGE_SIZE.equals(name)) { //$NON-NLS-1$
+						query.append(param).append('&');
+					}
+				}
+			}
+			query.append(PARAM_PAGE).append('=').append(page + 1);
+			query.append('&').append(PARAM_PAGE_SIZE).append('=').append(pageSize);
+			String baseUri = listUri.toString();
+			int queryStart = baseUri.indexOf('?');
+			if (queryStart != -1) {
+				baseUri = baseUri.substring(0, queryStart);
+			} else if (listUri.getRawFragment() != null) {
+				baseUri = baseUri.substring(0, baseUri.indexOf('#'));
+			}
+			return URI.create(baseUri + '?' + query);
+		}
+	}
+
 	public void setHttpClient(HttpClientService httpClient) {
 		this.httpClient = httpClient;
 	}
@@ -32,9 +32,9 @@ public class CategoryContentHandler extends UnmarshalContentHandler {
 		if (localName.equals("category")) { //$NON-NLS-1$
 			model = new Category();
 
-			model.setId(attributes.getValue(NS_URI,"id")); //$NON-NLS-1$
-			model.setName(attributes.getValue(NS_URI,"name")); //$NON-NLS-1$
-			model.setUrl(attributes.getValue(NS_URI,"url")); //$NON-NLS-1$
+			model.setId(intern(attributes.getValue(NS_URI,"id"))); //$NON-NLS-1$
+			model.setName(intern(attributes.getValue(NS_URI,"name"))); //$NON-NLS-1$
+			model.setUrl(intern(attributes.getValue(NS_URI,"url"))); //$NON-NLS-1$
 			model.setCount(toInteger(attributes.getValue(NS_URI,"count"))); //$NON-NLS-1$
 		} else if (localName.equals("node")) { //$NON-NLS-1$
 			org.eclipse.epp.internal.mpc.core.service.xml.NodeContentHandler childHandler = new org.eclipse.epp.internal.mpc.core.service.xml.NodeContentHandler();
@@ -57,7 +57,7 @@ public class IuContentHandler extends UnmarshalContentHandler {
 	public boolean endElement(String uri, String localName) throws SAXException {
 		if (localName.equals("iu")) { //$NON-NLS-1$
 			if (content != null) {
-				model.setId(content.toString());
+				model.setId(intern(content.toString()));
 				if (parentModel instanceof Ius) {
 					((Ius) parentModel).getIuElements().add(model);
 				}
@@ -145,7 +145,7 @@ public class NodeContentHandler extends UnmarshalContentHandler {
 			capturingContent = false;
 		} else if (localName.equals("type")) { //$NON-NLS-1$
 			if (content != null) {
-				model.setType(content.toString());
+				model.setType(intern(content.toString()));
 				content = null;
 			}
 			capturingContent = false;
@@ -153,7 +153,7 @@ public class NodeContentHandler extends UnmarshalContentHandler {
 			// nothing to do
 		} else if (localName.equals("owner")) { //$NON-NLS-1$
 			if (content != null) {
-				model.setOwner(content.toString());
+				model.setOwner(intern(content.toString()));
 				content = null;
 			}
 			capturingContent = false;
@@ -207,43 +207,43 @@ public class NodeContentHandler extends UnmarshalContentHandler {
 			capturingContent = false;
 		} else if (localName.equals("version")) { //$NON-NLS-1$
 			if (content != null) {
-				model.setVersion(content.toString());
+				model.setVersion(intern(content.toString()));
 				content = null;
 			}
 			capturingContent = false;
 		} else if (localName.equals("license")) { //$NON-NLS-1$
 			if (content != null) {
-				model.setLicense(content.toString());
+				model.setLicense(intern(content.toString()));
 				content = null;
 			}
 			capturingContent = false;
 		} else if (localName.equals("companyname")) { //$NON-NLS-1$
 			if (content != null) {
-				model.setCompanyname(content.toString());
+				model.setCompanyname(intern(content.toString()));
 				content = null;
 			}
 			capturingContent = false;
 		} else if (localName.equals("status")) { //$NON-NLS-1$
 			if (content != null) {
-				model.setStatus(content.toString());
+				model.setStatus(intern(content.toString()));
 				content = null;
 			}
 			capturingContent = false;
 		} else if (localName.equals("eclipseversion")) { //$NON-NLS-1$
 			if (content != null) {
-				model.setEclipseversion(content.toString());
+				model.setEclipseversion(intern(content.toString()));
 				content = null;
 			}
 			capturingContent = false;
 		} else if (localName.equals("supporturl")) { //$NON-NLS-1$
 			if (content != null) {
-				model.setSupporturl(toUrlString(content.toString()));
+				model.setSupporturl(intern(toUrlString(content.toString())));
 				content = null;
 			}
 			capturingContent = false;
 		} else if (localName.equals("updateurl")) { //$NON-NLS-1$
 			if (content != null) {
-				model.setUpdateurl(toUrlString(content.toString()));
+				model.setUpdateurl(intern(toUrlString(content.toString())));
 				content = null;
 			}
 			capturingContent = false;
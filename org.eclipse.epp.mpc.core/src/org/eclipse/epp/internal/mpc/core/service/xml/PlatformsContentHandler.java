@@ -48,7 +48,7 @@ public class PlatformsContentHandler extends UnmarshalContentHandler {
 			return true;
 		} else if (localName.equals("platform")) { //$NON-NLS-1$
 			if (content != null) {
-				model.getPlatform().add(content.toString());
+				model.getPlatform().add(intern(content.toString()));
 				content = null;
 			}
 			capturingContent = false;
@@ -14,6 +14,7 @@ package org.eclipse.epp.internal.mpc.core.service.xml;
 
 import java.util.Date;
 
+import org.eclipse.epp.internal.mpc.core.util.StringInterner;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -74,6 +75,15 @@ public abstract class UnmarshalContentHandler {
 		this.parentHandler = parentHandler;
 	}
 
+	/**
+	 * Deduplicate values that repeat across nodes, so parsed and cached nodes share a single instance of each.
+	 *
+	 * @see StringInterner
+	 */
+	protected String intern(String string) {
+		return StringInterner.getDefault().intern(string);
+	}
+
 	protected String toUrlString(String string) {
 		if (string == null) {
 			return null;
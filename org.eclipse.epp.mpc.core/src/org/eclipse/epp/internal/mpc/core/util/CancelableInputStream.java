@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Input stream that stops reading as soon as the given monitor is canceled, so an obsolete download and everything
+ * consuming it (e.g. a parser) can be abandoned without waiting for the rest of the response.
+ * <p>
+ * Cancellation is signaled by an {@link IOException} caused by an {@link OperationCanceledException}.
+ *
+ * @author agent
+ */
+public class CancelableInputStream extends FilterInputStream {
+
+	private final IProgressMonitor monitor;
+
+	public CancelableInputStream(InputStream in, IProgressMonitor monitor) {
+		super(in);
+		this.monitor = monitor;
+	}
+
+	@Override
+	public int read() throws IOException {
+		checkCanceled();
+		return super.read();
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		checkCanceled();
+		return super.read(b, off, len);
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		checkCanceled();
+		return super.skip(n);
+	}
+
+	private void checkCanceled() throws IOException {
+		if (monitor.isCanceled()) {
+			InterruptedIOException canceled = new InterruptedIOException();
+			canceled.initCause(new OperationCanceledException());
+			throw canceled;
+		}
+	}
+}
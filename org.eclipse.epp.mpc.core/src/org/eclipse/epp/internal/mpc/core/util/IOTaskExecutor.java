@@ -0,0 +1,648 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Central scheduler for the client's network traffic. Asynchronous tasks like update site checks, install reports and
+ * resource downloads are {@link #execute(Priority, String, Runnable) executed} by it, and every request made through
+ * the {@link TransportFactory#createTransport() marketplace transport} {@link #acquire(Priority, String, IProgressMonitor)
+ * waits} for its turn here, too. Tasks run either on a bounded pool of platform threads or, on runtimes that support
+ * them and if {@link #MODE_PROPERTY configured}, on virtual threads.
+ * <p>
+ * Every task and request belongs to a {@link Priority priority class}. If there are more than can run at once, the
+ * queued ones are started by priority, so the user doesn't wait for background work that hasn't started yet. Waiting
+ * tasks gain priority over time, so background work isn't starved by a steady stream of interactive requests. Each
+ * class is limited to a share of the overall capacity and of each host's connections - {@link Priority#BACKGROUND
+ * background} work can never use more than half of them, leaving the rest for requests the user is waiting for.
+ * <p>
+ * The number of concurrent tasks per host is limited, so a burst of requests doesn't flood a single server. Tasks
+ * without a host only count against the overall limit.
+ * <p>
+ * The executor can be configured with the following system properties:
+ * <ul>
+ * <li>{@value #MODE_PROPERTY}: <code>platform</code> (default) or <code>virtual</code>. Falls back to platform threads
+ * if virtual threads aren't supported by the runtime.</li>
+ * <li>{@value #MAX_THREADS_PROPERTY}: number of tasks and requests running at the same time, which is also the size of
+ * the platform thread pool, defaults to {@value #DEFAULT_MAX_THREADS}</li>
+ * <li>{@value #MAX_PER_HOST_PROPERTY}: concurrent tasks per host, defaults to {@value #DEFAULT_MAX_PER_HOST}</li>
+ * </ul>
+ *
+ * @author agent
+ */
+public class IOTaskExecutor {
+
+	public static final String MODE_PROPERTY = "org.eclipse.epp.mpc.core.executor"; //$NON-NLS-1$
+
+	public static final String MAX_THREADS_PROPERTY = MODE_PROPERTY + ".maxThreads"; //$NON-NLS-1$
+
+	public static final String MAX_PER_HOST_PROPERTY = MODE_PROPERTY + ".maxPerHost"; //$NON-NLS-1$
+
+	public static final int DEFAULT_MAX_THREADS = 16;
+
+	public static final int DEFAULT_MAX_PER_HOST = 6;
+
+	/**
+	 * Time after which a waiting task overtakes newer tasks of the next higher priority class
+	 */
+	static final long AGING_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+	private static final long POLL_INTERVAL = 100;
+
+	public static enum Mode {
+		PLATFORM, VIRTUAL
+	}
+
+	public static enum Priority {
+		/**
+		 * Requests the user is waiting for, like searches or the details of a selected solution
+		 */
+		INTERACTIVE,
+		/**
+		 * Everything that isn't explicitly marked otherwise
+		 */
+		NORMAL,
+		/**
+		 * Work nobody is waiting for, like icon downloads, news and discovery lookups
+		 */
+		BACKGROUND
+	}
+
+	/**
+	 * A running slot acquired through {@link IOTaskExecutor#acquire(Priority, String, IProgressMonitor)}, which has to
+	 * be closed when the request is finished.
+	 */
+	public final class Permit implements AutoCloseable {
+
+		private Slot slot;
+
+		private Permit(Slot slot) {
+			this.slot = slot;
+		}
+
+		@Override
+		public void close() {
+			Slot held;
+			synchronized (this) {
+				held = slot;
+				slot = null;
+			}
+			if (held != null) {
+				if (currentSlot.get() == held) {
+					currentSlot.remove();
+				}
+				release(held);
+			}
+		}
+	}
+
+	private abstract class Slot {
+
+		private final Priority priority;
+
+		private final String host;
+
+		private final long queuedAt = clock.getAsLong();
+
+		private volatile boolean active;
+
+		private Slot(Priority priority, String host) {
+			this.priority = priority;
+			this.host = host;
+		}
+
+		/**
+		 * Lower ranks are started first. Within a class, tasks are started in order, and a task overtakes newer tasks of
+		 * the next higher class after waiting for {@link #AGING_INTERVAL}.
+		 */
+		private long rank() {
+			return queuedAt + priority.ordinal() * AGING_INTERVAL;
+		}
+
+		abstract void start();
+	}
+
+	private class Task extends Slot {
+
+		private final Runnable task;
+
+		private Task(Priority priority, String host, Runnable task) {
+			super(priority, host);
+			this.task = task;
+		}
+
+		@Override
+		void start() {
+			try {
+				executor.execute(this::run);
+			} catch (RejectedExecutionException e) {
+				// shut down while queued
+				release(this);
+			}
+		}
+
+		private void run() {
+			Priority previousPriority = setCurrentPriority(super.priority);
+			currentSlot.set(this);
+			try {
+				task.run();
+			} finally {
+				currentSlot.remove();
+				setCurrentPriority(previousPriority);
+				release(this);
+			}
+		}
+	}
+
+	private class Waiter extends Slot {
+
+		private final CountDownLatch granted = new CountDownLatch(1);
+
+		private Waiter(Priority priority, String host) {
+			super(priority, host);
+		}
+
+		@Override
+		void start() {
+			granted.countDown();
+		}
+	}
+
+	private static final ThreadLocal<Priority> currentPriority = new ThreadLocal<>();
+
+	private static final ThreadLocal<Slot> currentSlot = new ThreadLocal<>();
+
+	private static IOTaskExecutor defaultInstance;
+
+	private final Mode mode;
+
+	private final int maxConcurrent;
+
+	private final int maxPerHost;
+
+	private final LongSupplier clock;
+
+	private final ExecutorService executor;
+
+	private final Object lock = new Object();
+
+	private final List<Slot> queue = new ArrayList<>();
+
+	private final Map<String, int[]> hosts = new HashMap<>();
+
+	private final int[] limits = new int[Priority.values().length];
+
+	private final int[] running = new int[Priority.values().length];
+
+	private final int[] queued = new int[Priority.values().length];
+
+	private int totalRunning;
+
+	/**
+	 * @param mode
+	 *            the requested mode, falls back to {@link Mode#PLATFORM} if virtual threads aren't supported
+	 * @param maxThreads
+	 *            the maximum number of concurrently running tasks and platform threads
+	 * @param maxPerHost
+	 *            the maximum number of concurrent tasks per host
+	 */
+	public IOTaskExecutor(Mode mode, int maxThreads, int maxPerHost) {
+		this(mode, maxThreads, maxPerHost, System::nanoTime);
+	}
+
+	/**
+	 * @param clock
+	 *            the time in nanoseconds used to age waiting tasks
+	 * @see #IOTaskExecutor(Mode, int, int)
+	 */
+	public IOTaskExecutor(Mode mode, int maxThreads, int maxPerHost, LongSupplier clock) {
+		if (maxThreads <= 0 || maxPerHost <= 0) {
+			throw new IllegalArgumentException();
+		}
+		ExecutorService virtualExecutor = mode == Mode.VIRTUAL ? createVirtualThreadExecutor() : null;
+		if (virtualExecutor != null) {
+			this.mode = Mode.VIRTUAL;
+			this.executor = virtualExecutor;
+		} else {
+			this.mode = Mode.PLATFORM;
+			this.executor = createPlatformThreadExecutor(maxThreads);
+		}
+		this.maxConcurrent = maxThreads;
+		this.maxPerHost = maxPerHost;
+		this.clock = clock;
+		limits[Priority.INTERACTIVE.ordinal()] = maxThreads;
+		limits[Priority.NORMAL.ordinal()] = maxThreads;
+		limits[Priority.BACKGROUND.ordinal()] = Math.max(1, maxThreads / 2);
+	}
+
+	public static synchronized IOTaskExecutor getDefault() {
+		if (defaultInstance == null) {
+			String modeValue = System.getProperty(MODE_PROPERTY, Mode.PLATFORM.name());
+			Mode mode = Mode.PLATFORM;
+			try {
+				mode = Mode.valueOf(modeValue.trim().toUpperCase(Locale.ENGLISH));
+			} catch (IllegalArgumentException e) {
+				MarketplaceClientCore.getLog()
+				.log(new Status(IStatus.WARNING, MarketplaceClientCore.BUNDLE_ID,
+						NLS.bind(Messages.IOTaskExecutor_invalidMode, modeValue, MODE_PROPERTY)));
+			}
+			defaultInstance = new IOTaskExecutor(mode,
+					Math.max(1, Integer.getInteger(MAX_THREADS_PROPERTY, DEFAULT_MAX_THREADS)),
+					Math.max(1, Integer.getInteger(MAX_PER_HOST_PROPERTY, DEFAULT_MAX_PER_HOST)));
+		}
+		return defaultInstance;
+	}
+
+	private static ExecutorService createPlatformThreadExecutor(int maxThreads) {
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), r -> {
+					Thread thread = new Thread(r, "Marketplace I/O " + threadCount.incrementAndGet()); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * @return an executor starting a new virtual thread for each task, or null if not supported by this runtime
+	 */
+	private static ExecutorService createVirtualThreadExecutor() {
+		try {
+			// Java 21+, looked up reflectively to keep running on older runtimes
+			Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor"); //$NON-NLS-1$
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Get the priority of requests made by the current thread. Unless {@link #setCurrentPriority(Priority) set
+	 * explicitly}, it is derived from the priority of the current {@link Job}: {@link Job#INTERACTIVE interactive} jobs
+	 * make {@link Priority#INTERACTIVE interactive} requests, {@link Job#DECORATE decorate} and {@link Job#BUILD build}
+	 * jobs make {@link Priority#BACKGROUND background} requests. Tasks run by this executor have the priority they were
+	 * submitted with.
+	 */
+	public static Priority getCurrentPriority() {
+		Priority priority = currentPriority.get();
+		if (priority != null) {
+			return priority;
+		}
+		Job job = Job.getJobManager().currentJob();
+		if (job != null) {
+			switch (job.getPriority()) {
+			case Job.INTERACTIVE:
+				return Priority.INTERACTIVE;
+			case Job.BUILD:
+			case Job.DECORATE:
+				return Priority.BACKGROUND;
+			}
+		}
+		return Priority.NORMAL;
+	}
+
+	/**
+	 * Set the priority of requests made by the current thread. Callers should restore the previous value when they are
+	 * done:
+	 *
+	 * <pre>
+	 * Priority previous = IOTaskExecutor.setCurrentPriority(Priority.BACKGROUND);
+	 * try {
+	 * 	...
+	 * } finally {
+	 * 	IOTaskExecutor.setCurrentPriority(previous);
+	 * }
+	 * </pre>
+	 *
+	 * @param priority
+	 *            the new priority, or null to derive it from the current job again
+	 * @return the previously set priority, or null if there was none
+	 */
+	public static Priority setCurrentPriority(Priority priority) {
+		Priority previous = currentPriority.get();
+		if (priority == null) {
+			currentPriority.remove();
+		} else {
+			currentPriority.set(priority);
+		}
+		return previous;
+	}
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	public int getMaxPerHost() {
+		return maxPerHost;
+	}
+
+	/**
+	 * @return the number of tasks of the given class that can run at the same time
+	 */
+	public int getLimit(Priority priority) {
+		synchronized (lock) {
+			return limits[priority.ordinal()];
+		}
+	}
+
+	/**
+	 * Change the number of tasks of the given class that can run at the same time. The class gets the same share of
+	 * each host's connections.
+	 */
+	public void setLimit(Priority priority, int limit) {
+		if (limit <= 0 || limit > maxConcurrent) {
+			throw new IllegalArgumentException();
+		}
+		List<Slot> ready;
+		synchronized (lock) {
+			limits[priority.ordinal()] = limit;
+			ready = dispatch();
+		}
+		start(ready);
+	}
+
+	/**
+	 * @return the number of tasks and requests of the given class waiting for their turn
+	 */
+	public int getQueueDepth(Priority priority) {
+		synchronized (lock) {
+			return queued[priority.ordinal()];
+		}
+	}
+
+	/**
+	 * @return the number of tasks and requests of the given class that are currently running
+	 */
+	public int getRunningCount(Priority priority) {
+		synchronized (lock) {
+			return running[priority.ordinal()];
+		}
+	}
+
+	/**
+	 * Run the given task with the {@link #getCurrentPriority() current priority} and without a host limit.
+	 */
+	public <T> Future<T> submit(Callable<T> task) {
+		return submit((String) null, task);
+	}
+
+	/**
+	 * Run the given task with the {@link #getCurrentPriority() current priority} once there are less than
+	 * {@link #getMaxPerHost() the maximum number} of tasks running for its location's host.
+	 */
+	public <T> Future<T> submit(URI location, Callable<T> task) {
+		return submit(location == null ? null : location.getHost(), task);
+	}
+
+	/**
+	 * Run the given task with the {@link #getCurrentPriority() current priority} once there are less than
+	 * {@link #getMaxPerHost() the maximum number} of tasks running for the given host.
+	 *
+	 * @param host
+	 *            the host the task is talking to, or null if the task isn't limited
+	 */
+	public <T> Future<T> submit(String host, Callable<T> task) {
+		return submit(getCurrentPriority(), host, task);
+	}
+
+	/**
+	 * Run the given task with the given priority once there are less than {@link #getMaxPerHost() the maximum number}
+	 * of tasks running for the given host.
+	 *
+	 * @param host
+	 *            the host the task is talking to, or null if the task isn't limited
+	 */
+	public <T> Future<T> submit(Priority priority, String host, Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task);
+		execute(priority, host, future);
+		return future;
+	}
+
+	/**
+	 * Run the given task with the {@link #getCurrentPriority() current priority} once there are less than
+	 * {@link #getMaxPerHost() the maximum number} of tasks running for the given host.
+	 *
+	 * @param host
+	 *            the host the task is talking to, or null if the task isn't limited
+	 */
+	public void execute(String host, Runnable task) {
+		execute(getCurrentPriority(), host, task);
+	}
+
+	/**
+	 * Run the given task with the given priority once there are less than {@link #getMaxPerHost() the maximum number}
+	 * of tasks running for the given host.
+	 *
+	 * @param host
+	 *            the host the task is talking to, or null if the task isn't limited
+	 * @throws RejectedExecutionException
+	 *             if this executor has been shut down
+	 */
+	public void execute(Priority priority, String host, Runnable task) {
+		if (executor.isShutdown()) {
+			throw new RejectedExecutionException();
+		}
+		enqueue(new Task(priority, toKey(host), task));
+	}
+
+	/**
+	 * @return an executor running its tasks on this executor with the submitting thread's
+	 *         {@link #getCurrentPriority() priority}, limited for the given host
+	 */
+	public Executor forHost(final String host) {
+		return task -> execute(host, task);
+	}
+
+	/**
+	 * @return an executor running its tasks on this executor with the given priority, limited for the given host
+	 */
+	public Executor forHost(final Priority priority, final String host) {
+		return task -> execute(priority, host, task);
+	}
+
+	/**
+	 * Wait until a request to the given host can be made. This lets requests made on other threads, like the caller's
+	 * job, share the limits of this executor. The returned permit has to be closed once the request is complete.
+	 * <p>
+	 * If the current thread already holds a permit or is running a task of this executor, the request is considered
+	 * part of that and doesn't have to wait.
+	 *
+	 * @param host
+	 *            the host the request is made to, or null if the request isn't limited
+	 * @throws OperationCanceledException
+	 *             if the monitor is canceled or the thread is interrupted while waiting
+	 */
+	public Permit acquire(Priority priority, String host, IProgressMonitor monitor) {
+		Slot held = currentSlot.get();
+		if (held != null && held.active) {
+			return new Permit(null);
+		}
+		Waiter waiter = new Waiter(priority, toKey(host));
+		enqueue(waiter);
+		boolean canceled = false;
+		try {
+			while (!waiter.granted.await(POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+				if (monitor != null && monitor.isCanceled()) {
+					canceled = true;
+					break;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			canceled = true;
+		}
+		if (canceled) {
+			if (!cancel(waiter)) {
+				// granted in the meantime
+				release(waiter);
+			}
+			throw new OperationCanceledException();
+		}
+		currentSlot.set(waiter);
+		return new Permit(waiter);
+	}
+
+	/**
+	 * Release the threads of an executor that has been created explicitly. The {@link #getDefault() default executor}
+	 * is shared and must not be shut down.
+	 */
+	public void shutdown() {
+		if (this == defaultInstance) {
+			throw new IllegalStateException();
+		}
+		executor.shutdown();
+	}
+
+	private static String toKey(String host) {
+		return host == null ? null : host.toLowerCase(Locale.ENGLISH);
+	}
+
+	private void enqueue(Slot slot) {
+		List<Slot> ready;
+		synchronized (lock) {
+			queue.add(slot);
+			queued[slot.priority.ordinal()]++;
+			ready = dispatch();
+		}
+		start(ready);
+	}
+
+	private boolean cancel(Slot slot) {
+		synchronized (lock) {
+			if (queue.remove(slot)) {
+				queued[slot.priority.ordinal()]--;
+				return true;
+			}
+			return false;
+		}
+	}
+
+	private void release(Slot slot) {
+		List<Slot> ready;
+		synchronized (lock) {
+			slot.active = false;
+			running[slot.priority.ordinal()]--;
+			totalRunning--;
+			if (slot.host != null) {
+				int[] hostRunning = hosts.get(slot.host);
+				if (--hostRunning[0] == 0) {
+					hosts.remove(slot.host);
+				}
+			}
+			ready = dispatch();
+		}
+		start(ready);
+	}
+
+	/**
+	 * Take the next tasks that can run from the queue. Must be called while holding the lock.
+	 */
+	private List<Slot> dispatch() {
+		List<Slot> ready = null;
+		while (totalRunning < maxConcurrent && !queue.isEmpty()) {
+			Slot next = null;
+			for (Slot candidate : queue) {
+				if ((next == null || candidate.rank() < next.rank()) && canStart(candidate)) {
+					next = candidate;
+				}
+			}
+			if (next == null) {
+				break;
+			}
+			queue.remove(next);
+			next.active = true;
+			int priority = next.priority.ordinal();
+			queued[priority]--;
+			running[priority]++;
+			totalRunning++;
+			if (next.host != null) {
+				hosts.computeIfAbsent(next.host, k -> new int[1])[0]++;
+			}
+			if (ready == null) {
+				ready = new ArrayList<>();
+			}
+			ready.add(next);
+		}
+		return ready;
+	}
+
+	private boolean canStart(Slot slot) {
+		int priority = slot.priority.ordinal();
+		if (running[priority] >= limits[priority]) {
+			return false;
+		}
+		if (slot.host == null) {
+			return true;
+		}
+		int[] hostRunning = hosts.get(slot.host);
+		int hostLimit = Math.max(1, maxPerHost * limits[priority] / maxConcurrent);
+		return hostRunning == null || hostRunning[0] < hostLimit;
+	}
+
+	private static void start(List<Slot> ready) {
+		if (ready != null) {
+			for (Slot slot : ready) {
+				slot.start();
+			}
+		}
+	}
+}
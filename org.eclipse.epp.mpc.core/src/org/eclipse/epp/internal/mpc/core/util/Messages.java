@@ -25,6 +25,8 @@ class Messages extends NLS {
 
 	public static String FallbackTransportFactory_fallbackStream;
 
+	public static String IOTaskExecutor_invalidMode;
+
 	public static String ProxyAuthenticator_prompt;
 
 	public static String ProxyHelper_replacingAuthenticator;
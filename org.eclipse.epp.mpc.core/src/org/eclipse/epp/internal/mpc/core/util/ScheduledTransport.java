@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Permit;
+import org.eclipse.epp.mpc.core.service.ITransport;
+import org.eclipse.epp.mpc.core.service.ServiceUnavailableException;
+
+/**
+ * Transport that schedules its requests through an {@link IOTaskExecutor}, using the
+ * {@link IOTaskExecutor#getCurrentPriority() priority} of the requesting thread. A request counts as running until its
+ * response stream has been read completely or closed.
+ *
+ * @author agent
+ */
+public class ScheduledTransport implements ITransport {
+
+	private static class PermitInputStream extends FilterInputStream {
+
+		private final Permit permit;
+
+		private PermitInputStream(InputStream in, Permit permit) {
+			super(in);
+			this.permit = permit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int read = super.read();
+			if (read == -1) {
+				permit.close();
+			}
+			return read;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+			if (read == -1) {
+				permit.close();
+			}
+			return read;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				permit.close();
+			}
+		}
+	}
+
+	private final ITransport delegate;
+
+	private final IOTaskExecutor executor;
+
+	public ScheduledTransport(ITransport delegate) {
+		this(delegate, IOTaskExecutor.getDefault());
+	}
+
+	public ScheduledTransport(ITransport delegate, IOTaskExecutor executor) {
+		this.delegate = delegate;
+		this.executor = executor;
+	}
+
+	public ITransport getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public InputStream stream(URI location, IProgressMonitor monitor)
+			throws FileNotFoundException, ServiceUnavailableException, CoreException {
+		Permit permit;
+		try {
+			permit = executor.acquire(IOTaskExecutor.getCurrentPriority(), location.getHost(), monitor);
+		} catch (OperationCanceledException e) {
+			throw new CoreException(Status.CANCEL_STATUS);
+		}
+		InputStream stream = null;
+		try {
+			stream = delegate.stream(location, monitor);
+			return stream == null ? null : new PermitInputStream(stream, permit);
+		} finally {
+			if (stream == null) {
+				permit.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.epp.mpc.core.service.IMarketplaceService;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.util.tracker.ServiceTracker;
+import org.osgi.util.tracker.ServiceTrackerCustomizer;
+
+/**
+ * Indexes the services followed by a {@link ServiceTracker} by their {@link IMarketplaceService#BASE_URL marketplace
+ * url}. The index is maintained by the tracker's callbacks, so looking up a service by url neither iterates the
+ * tracked services nor takes any locks.
+ * <p>
+ * If several services are registered for the same url, the one with the highest service ranking is returned.
+ *
+ * @author agent
+ */
+public class ServiceIndex<T> implements ServiceTrackerCustomizer<T, T> {
+
+	private static final class Entry<T> {
+
+		private final ServiceReference<T> reference;
+
+		private final T service;
+
+		private Entry(ServiceReference<T> reference, T service) {
+			this.reference = reference;
+			this.service = service;
+		}
+	}
+
+	private final BundleContext context;
+
+	private final ServiceTrackerCustomizer<T, T> customizer;
+
+	private final ConcurrentMap<String, List<Entry<T>>> servicesByUrl = new ConcurrentHashMap<>();
+
+	private final Map<ServiceReference<T>, String> indexedUrls = new HashMap<>();
+
+	/**
+	 * @param context
+	 *            the context used to get and unget tracked services if no customizer is given
+	 * @param customizer
+	 *            customizer to which the tracker's callbacks are passed on, or null
+	 */
+	public ServiceIndex(BundleContext context, ServiceTrackerCustomizer<T, T> customizer) {
+		this.context = context;
+		this.customizer = customizer;
+	}
+
+	/**
+	 * @return the tracked service registered for the given url, or null if there is none
+	 */
+	public T getService(String baseUrl) {
+		List<Entry<T>> entries = servicesByUrl.get(baseUrl);
+		return entries == null || entries.isEmpty() ? null : entries.get(0).service;
+	}
+
+	@Override
+	public T addingService(ServiceReference<T> reference) {
+		T service = customizer == null ? context.getService(reference) : customizer.addingService(reference);
+		if (service != null) {
+			index(reference, service);
+		}
+		return service;
+	}
+
+	@Override
+	public void modifiedService(ServiceReference<T> reference, T service) {
+		unindex(reference);
+		index(reference, service);
+		if (customizer != null) {
+			customizer.modifiedService(reference, service);
+		}
+	}
+
+	@Override
+	public void removedService(ServiceReference<T> reference, T service) {
+		unindex(reference);
+		if (customizer == null) {
+			context.ungetService(reference);
+		} else {
+			customizer.removedService(reference, service);
+		}
+	}
+
+	private synchronized void index(ServiceReference<T> reference, T service) {
+		Object baseUrl = ServiceUtil.getOverridablePropertyValue(reference, IMarketplaceService.BASE_URL);
+		if (baseUrl == null) {
+			return;
+		}
+		String url = baseUrl.toString();
+		List<Entry<T>> entries = servicesByUrl.get(url);
+		List<Entry<T>> updated = entries == null ? new ArrayList<>(1) : new ArrayList<>(entries);
+		updated.add(new Entry<>(reference, service));
+		//highest ranking first
+		updated.sort((e1, e2) -> e2.reference.compareTo(e1.reference));
+		//readers only ever see complete, unmodifiable lists
+		servicesByUrl.put(url, Collections.unmodifiableList(updated));
+		indexedUrls.put(reference, url);
+	}
+
+	private synchronized void unindex(ServiceReference<T> reference) {
+		String url = indexedUrls.remove(reference);
+		if (url == null) {
+			return;
+		}
+		List<Entry<T>> entries = servicesByUrl.get(url);
+		if (entries == null) {
+			return;
+		}
+		List<Entry<T>> updated = new ArrayList<>(entries);
+		updated.removeIf(entry -> entry.reference.equals(reference));
+		if (updated.isEmpty()) {
+			servicesByUrl.remove(url);
+		} else {
+			servicesByUrl.put(url, Collections.unmodifiableList(updated));
+		}
+	}
+}
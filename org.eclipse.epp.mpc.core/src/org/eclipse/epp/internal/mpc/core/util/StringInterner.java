@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.core.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Deduplicates strings that occur over and over in marketplace responses, like tag names, platforms or update site
+ * urls, so all parsed and cached nodes share a single instance of each.
+ * <p>
+ * Unlike {@link String#intern()}, the interner only holds on to its strings weakly, so values nobody uses anymore can
+ * be collected. It is also bounded: once it holds the maximum number of strings, it starts over, so a flood of unique
+ * values can't make it grow indefinitely.
+ *
+ * @author agent
+ */
+public class StringInterner {
+
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	private static final StringInterner DEFAULT = new StringInterner(DEFAULT_MAX_SIZE);
+
+	private final int maxSize;
+
+	private final Map<String, WeakReference<String>> strings = new WeakHashMap<>();
+
+	public StringInterner(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * @return the interner shared by all marketplace services
+	 */
+	public static StringInterner getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * @return a string equal to the given one, which is the same instance for all equal strings interned before, or
+	 *         null if the given string is null
+	 */
+	public synchronized String intern(String value) {
+		if (value == null) {
+			return null;
+		}
+		WeakReference<String> reference = strings.get(value);
+		String interned = reference == null ? null : reference.get();
+		if (interned != null) {
+			return interned;
+		}
+		if (strings.size() >= maxSize) {
+			strings.clear();
+		}
+		strings.put(value, new WeakReference<>(value));
+		return value;
+	}
+
+	/**
+	 * @return the number of strings currently held by this interner
+	 */
+	public synchronized int size() {
+		return strings.size();
+	}
+}
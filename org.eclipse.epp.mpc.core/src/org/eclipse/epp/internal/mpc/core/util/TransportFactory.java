@@ -39,8 +39,11 @@ import org.eclipse.epp.mpc.core.service.ServiceHelper;
 import org.eclipse.epp.mpc.core.service.ServiceUnavailableException;
 import org.eclipse.osgi.util.NLS;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentConstants;
 import org.osgi.service.component.ComponentContext;
@@ -80,6 +83,22 @@ public abstract class TransportFactory implements ITransportFactory {
 
 	private static String lastFallbackTransport = null;
 
+	private static final Object transportCacheLock = new Object();
+
+	private static volatile org.eclipse.epp.mpc.core.service.ITransport cachedTransport;
+
+	private static int transportGeneration;
+
+	private static BundleContext transportListenerContext;
+
+	private static final ServiceListener transportServiceListener = new ServiceListener() {
+
+		@Override
+		public void serviceChanged(ServiceEvent event) {
+			invalidateTransport();
+		}
+	};
+
 	public static String computeDisabledTransportsFilter() {
 		BundleContext bundleContext = FrameworkUtil.getBundle(TransportFactory.class).getBundleContext();
 		String disabledTransportsStr = bundleContext.getProperty(DISABLED_TRANSPORTS_KEY);
@@ -235,9 +254,54 @@ public abstract class TransportFactory implements ITransportFactory {
 		return legacyTransportFactory;
 	}
 
+	/**
+	 * Create a transport for the preferred transport service. Requests made through the returned transport are
+	 * {@link ScheduledTransport scheduled} by the shared {@link IOTaskExecutor}.
+	 * <p>
+	 * The transport is looked up once and shared until the registered {@link ITransportFactory transport services}
+	 * change, so repeated calls neither query the service registry nor lock.
+	 */
 	public static org.eclipse.epp.mpc.core.service.ITransport createTransport() {
-		//search for registered factory service
+		org.eclipse.epp.mpc.core.service.ITransport transport = cachedTransport;
+		if (transport != null) {
+			return transport;
+		}
 		BundleContext context = FrameworkUtil.getBundle(TransportFactory.class).getBundleContext();
+		int generation;
+		synchronized (transportCacheLock) {
+			if (context != null && transportListenerContext != context) {
+				try {
+					context.addServiceListener(transportServiceListener,
+							"(" + Constants.OBJECTCLASS + "=" + ITransportFactory.class.getName() + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					transportListenerContext = context;
+				} catch (InvalidSyntaxException e) {
+					//impossible
+				}
+			}
+			generation = transportGeneration;
+		}
+		transport = lookupTransport(context);
+		synchronized (transportCacheLock) {
+			//don't cache the transport if the services changed while we were looking it up
+			if (transportListenerContext == context && transportGeneration == generation) {
+				cachedTransport = transport;
+			}
+		}
+		return transport;
+	}
+
+	/**
+	 * Forget the shared transport, so the next call to {@link #createTransport()} looks it up again.
+	 */
+	public static void invalidateTransport() {
+		synchronized (transportCacheLock) {
+			transportGeneration++;
+			cachedTransport = null;
+		}
+	}
+
+	private static org.eclipse.epp.mpc.core.service.ITransport lookupTransport(BundleContext context) {
+		//search for registered factory service
 		Collection<ServiceReference<ITransportFactory>> serviceReferences = getTransportServiceReferences(context);
 
 		MultiStatus serviceError = null;
@@ -257,7 +321,7 @@ public abstract class TransportFactory implements ITransportFactory {
 					}
 					org.eclipse.epp.mpc.core.service.ITransport transport = transportService.getTransport();
 					if (transport != null) {
-						return transport;
+						return new ScheduledTransport(transport);
 					}
 				} finally {
 					context.ungetService(serviceReference);
@@ -279,7 +343,7 @@ public abstract class TransportFactory implements ITransportFactory {
 					org.eclipse.epp.mpc.core.service.ITransport transport = factory.getTransport();
 					if (transport != null) {
 						logTransportServiceFallback(serviceError, defaultServiceReference, null, factory);
-						return transport;
+						return new ScheduledTransport(transport);
 					} else {
 						serviceError.add(new Status(IStatus.ERROR, MarketplaceClientCore.BUNDLE_ID,
 								NLS.bind(Messages.TransportFactory_LegacyFallbackCreationError,
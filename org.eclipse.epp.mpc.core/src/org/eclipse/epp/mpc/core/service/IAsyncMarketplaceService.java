@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.core.service;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.service.AbstractDataStorageService.NotAuthorizedException;
+import org.eclipse.epp.mpc.core.model.ICategory;
+import org.eclipse.epp.mpc.core.model.IFavoriteList;
+import org.eclipse.epp.mpc.core.model.IMarket;
+import org.eclipse.epp.mpc.core.model.INews;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+
+/**
+ * Asynchronous variant of an {@link IMarketplaceService}. Instead of blocking the calling thread, every request
+ * returns a {@link CompletableFuture} right away, so requests can be run side by side and combined without waiting for
+ * each of them in turn. An instance of this service can be retrieved through the {@link IMarketplaceServiceLocator}
+ * OSGi service.
+ * <p>
+ * The returned futures complete with the same results as the corresponding {@link IMarketplaceService} methods. If a
+ * request fails, its future completes exceptionally with the {@link CoreException} thrown by the marketplace service.
+ * Cancelling a future aborts the underlying request, including any download that is still in progress.
+ *
+ * @see IMarketplaceService
+ * @author agent
+ * @noextend This interface is not intended to be extended by clients.
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface IAsyncMarketplaceService {
+
+	/**
+	 * @return the marketplace service executing the requests of this service
+	 */
+	IMarketplaceService getMarketplaceService();
+
+	/**
+	 * @see IMarketplaceService#getBaseUrl()
+	 */
+	URL getBaseUrl();
+
+	/**
+	 * @see IMarketplaceService#listMarkets(IProgressMonitor)
+	 */
+	CompletableFuture<List<? extends IMarket>> listMarkets();
+
+	/**
+	 * @see IMarketplaceService#getMarket(IMarket, IProgressMonitor)
+	 */
+	CompletableFuture<IMarket> getMarket(IMarket market);
+
+	/**
+	 * @see IMarketplaceService#getCategory(ICategory, IProgressMonitor)
+	 */
+	CompletableFuture<ICategory> getCategory(ICategory category);
+
+	/**
+	 * @see IMarketplaceService#getNode(INode, IProgressMonitor)
+	 */
+	CompletableFuture<INode> getNode(INode node);
+
+	/**
+	 * @see IMarketplaceService#getNodes(Collection, IProgressMonitor)
+	 */
+	CompletableFuture<List<INode>> getNodes(Collection<? extends INode> nodes);
+
+	/**
+	 * @see IMarketplaceService#search(IMarket, ICategory, String, IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> search(IMarket market, ICategory category, String queryText);
+
+	/**
+	 * @see IMarketplaceService#tagged(String, IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> tagged(String tag);
+
+	/**
+	 * @see IMarketplaceService#tagged(List, IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> tagged(List<String> tags);
+
+	/**
+	 * @see IMarketplaceService#featured(IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> featured();
+
+	/**
+	 * @see IMarketplaceService#featured(IMarket, ICategory, IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> featured(IMarket market, ICategory category);
+
+	/**
+	 * @see IMarketplaceService#recent(IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> recent();
+
+	/**
+	 * @see IMarketplaceService#topFavorites(IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> topFavorites();
+
+	/**
+	 * @see IMarketplaceService#popular(IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> popular();
+
+	/**
+	 * @see IMarketplaceService#related(List, IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> related(List<? extends INode> basedOn);
+
+	/**
+	 * Completes exceptionally with a {@link NotAuthorizedException} if the user isn't logged in.
+	 *
+	 * @see IMarketplaceService#userFavorites(IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> userFavorites();
+
+	/**
+	 * @see IMarketplaceService#userFavorites(URI, IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> userFavorites(URI favoritesUri);
+
+	/**
+	 * @see IMarketplaceService#userFavoriteLists(IProgressMonitor)
+	 */
+	CompletableFuture<List<IFavoriteList>> userFavoriteLists();
+
+	/**
+	 * @see IMarketplaceService#nextPage(ISearchResult, IProgressMonitor)
+	 */
+	CompletableFuture<ISearchResult> nextPage(ISearchResult result);
+
+	/**
+	 * @see IMarketplaceService#news(IProgressMonitor)
+	 */
+	CompletableFuture<INews> news();
+}
@@ -196,6 +196,20 @@ public interface IMarketplaceService {
 	 */
 	ISearchResult userFavorites(IProgressMonitor monitor) throws CoreException, NotAuthorizedException;
 
+	/**
+	 * Find nodes favorited by the user, resolving only the first page of favorites. Use
+	 * {@link #nextPage(ISearchResult, IProgressMonitor)} to retrieve further favorites.
+	 *
+	 * @param pageSize
+	 *            the maximum number of favorites to resolve per page
+	 * @return the first page of the search result. The {@link ISearchResult#getMatchCount() match count} reflects the
+	 *         total number of favorites.
+	 * @throws CoreException
+	 * @throws NotAuthorizedException
+	 *             if the user isn't logged in
+	 */
+	ISearchResult userFavorites(int pageSize, IProgressMonitor monitor) throws CoreException, NotAuthorizedException;
+
 	/**
 	 * Set the favorite status of the given nodes for the current user.
 	 *
@@ -221,8 +235,40 @@ public interface IMarketplaceService {
 	 */
 	ISearchResult userFavorites(URI favoritesUri, IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Retrieve the favorite nodes for the given favorites uri, resolving only the first page of favorites. Use
+	 * {@link #nextPage(ISearchResult, IProgressMonitor)} to retrieve further favorites. The following pages are
+	 * resolved ahead in the background, so they are usually available right away.
+	 * <p>
+	 * If the list has been resolved completely before and hasn't changed since, the complete list is returned at once.
+	 *
+	 * @param favoritesUri
+	 *            a url pointing to a favorites list
+	 * @param pageSize
+	 *            the maximum number of favorites to resolve per page
+	 * @param monitor
+	 *            progress and cancellation
+	 * @return the first page of the search result. Until the last page, the {@link ISearchResult#getMatchCount()
+	 *         match count} reflects the total number of list entries.
+	 * @throws CoreException
+	 */
+	ISearchResult userFavorites(URI favoritesUri, int pageSize, IProgressMonitor monitor) throws CoreException;
+
 	List<IFavoriteList> userFavoriteLists(IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Retrieve the next page of results for a result previously returned by this service. Paging is supported for
+	 * {@link #search(IMarket, ICategory, String, IProgressMonitor) search}, {@link #tagged(String, IProgressMonitor)
+	 * tagged}, {@link #userFavorites(int, IProgressMonitor) paged favorites} and
+	 * {@link #userFavorites(URI, int, IProgressMonitor) paged favorites list} results, as well as for pages returned by
+	 * this method.
+	 *
+	 * @param result
+	 *            a result or page previously returned by this service
+	 * @return the next page of results, or null if the given result is the last page or doesn't support paging
+	 */
+	ISearchResult nextPage(ISearchResult result, IProgressMonitor monitor) throws CoreException;
+
 	/**
 	 * Get the news configuration for the marketplace
 	 *
@@ -89,6 +89,19 @@ public interface IMarketplaceServiceLocator {
 	 */
 	IMarketplaceService getMarketplaceService(String baseUrl);
 
+	/**
+	 * Same as {@link #getAsyncMarketplaceService(String) getAsyncMarketplaceService(DEFAULT_MARKETPLACE_URL)}
+	 *
+	 * @return an asynchronous marketplace service for the {@link #DEFAULT_MARKETPLACE_URL default marketplace url}
+	 */
+	IAsyncMarketplaceService getDefaultAsyncMarketplaceService();
+
+	/**
+	 * Get an asynchronous variant of the {@link #getMarketplaceService(String) marketplace service} for the given base
+	 * url.
+	 */
+	IAsyncMarketplaceService getAsyncMarketplaceService(String baseUrl);
+
 	/**
 	 * Get a catalog service for the default {@link #CATALOG_URL discovery url}.
 	 */
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.service.MarketplaceUnmarshaller;
+import org.eclipse.epp.internal.mpc.core.util.StringInterner;
+
+/**
+ * Measures the heap retained by parsed search results. The workload simulates a session browsing a large marketplace:
+ * several large listings, whose nodes share the same tags, categories, platforms, licenses and update sites, all kept
+ * in the cache at the same time.
+ * <p>
+ * This is a manual benchmark, which is compiled with the tests but not part of the test suites. Run it as a Java
+ * application. The results are written to the file given as the first argument, or to {@value #DEFAULT_REPORT}.
+ */
+public class NodeFootprintBenchmark {
+
+	private static final int LISTINGS = 10;
+
+	private static final int NODES_PER_LISTING = 500;
+
+	private static final int TAGS = 40;
+
+	private static final int CATEGORIES = 20;
+
+	private static final int UPDATE_SITES = 50;
+
+	private static final String DEFAULT_REPORT = "target/benchmarks/NodeFootprintBenchmark.txt"; //$NON-NLS-1$
+
+	public static void main(String[] args) throws Exception {
+		MarketplaceUnmarshaller unmarshaller = new MarketplaceUnmarshaller();
+		//warm up
+		parse(unmarshaller, 0);
+
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		List<Object> listings = new ArrayList<>();
+		long heapBefore = usedHeap(memory);
+		for (int i = 1; i <= LISTINGS; i++) {
+			listings.add(parse(unmarshaller, i));
+		}
+		long heapAfter = usedHeap(memory);
+
+		long perListing = (heapAfter - heapBefore) / LISTINGS;
+		String result = String.format("%d listings of %d nodes: %8d KB/listing %6d bytes/node %6d interned strings", //$NON-NLS-1$
+				listings.size(), NODES_PER_LISTING, perListing / 1024, perListing / NODES_PER_LISTING,
+				StringInterner.getDefault().size());
+		writeReport(new File(args.length > 0 ? args[0] : DEFAULT_REPORT), Collections.singletonList(result));
+	}
+
+	private static void writeReport(File report, List<String> results) throws Exception {
+		File dir = report.getAbsoluteFile().getParentFile();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IllegalStateException("Failed to create " + dir); //$NON-NLS-1$
+		}
+		Files.write(report.toPath(), results);
+	}
+
+	private static long usedHeap(MemoryMXBean memory) throws InterruptedException {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	private static Object parse(MarketplaceUnmarshaller unmarshaller, int listing) throws Exception {
+		byte[] content = createListing(listing).getBytes(StandardCharsets.UTF_8);
+		return unmarshaller.unmarshal(new ByteArrayInputStream(content), Object.class, new NullProgressMonitor());
+	}
+
+	private static String createListing(int listing) {
+		StringBuilder xml = new StringBuilder();
+		xml.append("<marketplace><search term='test' url='https://marketplace.example.org/search' count='") //$NON-NLS-1$
+		.append(NODES_PER_LISTING)
+		.append("'>"); //$NON-NLS-1$
+		for (int i = 0; i < NODES_PER_LISTING; i++) {
+			int id = listing * NODES_PER_LISTING + i;
+			xml.append("<node id='").append(id).append("' name='Solution ").append(id) //$NON-NLS-1$ //$NON-NLS-2$
+			.append("' url='https://marketplace.example.org/content/solution-").append(id).append("'>"); //$NON-NLS-1$ //$NON-NLS-2$
+			xml.append("<type>resource</type>"); //$NON-NLS-1$
+			xml.append("<categories>"); //$NON-NLS-1$
+			for (int c = 0; c < 3; c++) {
+				int category = (id + c) % CATEGORIES;
+				xml.append("<category id='").append(category).append("' name='Category ").append(category) //$NON-NLS-1$ //$NON-NLS-2$
+				.append("' url='https://marketplace.example.org/category/").append(category).append("'/>"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			xml.append("</categories>"); //$NON-NLS-1$
+			xml.append("<tags>"); //$NON-NLS-1$
+			for (int t = 0; t < 5; t++) {
+				int tag = (id * 7 + t) % TAGS;
+				xml.append("<tag id='").append(tag).append("' name='tag").append(tag) //$NON-NLS-1$ //$NON-NLS-2$
+				.append("' url='https://marketplace.example.org/tags/tag").append(tag).append("'/>"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			xml.append("</tags>"); //$NON-NLS-1$
+			xml.append("<owner>Owner ").append(id % 100).append("</owner>"); //$NON-NLS-1$ //$NON-NLS-2$
+			xml.append("<shortdescription>Short description of solution ").append(id).append("</shortdescription>"); //$NON-NLS-1$ //$NON-NLS-2$
+			xml.append("<version>1.").append(id % 10).append(".0</version>"); //$NON-NLS-1$ //$NON-NLS-2$
+			xml.append("<license>EPL 2.0</license>"); //$NON-NLS-1$
+			xml.append("<companyname>Company ").append(id % 100).append("</companyname>"); //$NON-NLS-1$ //$NON-NLS-2$
+			xml.append("<status>Production/Stable</status>"); //$NON-NLS-1$
+			xml.append("<eclipseversion>4.6-4.20</eclipseversion>"); //$NON-NLS-1$
+			int site = id % UPDATE_SITES;
+			xml.append("<updateurl>https://updates.example.org/site").append(site).append("/</updateurl>"); //$NON-NLS-1$ //$NON-NLS-2$
+			xml.append("<ius>"); //$NON-NLS-1$
+			for (int u = 0; u < 3; u++) {
+				xml.append("<iu>org.example.site").append(site).append(".feature").append(u).append("</iu>"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			xml.append("</ius>"); //$NON-NLS-1$
+			xml.append("<platforms><platform>Windows</platform><platform>Mac</platform>" //$NON-NLS-1$
+					+ "<platform>Linux/GTK</platform></platforms>"); //$NON-NLS-1$
+			xml.append("</node>"); //$NON-NLS-1$
+		}
+		xml.append("</search></marketplace>"); //$NON-NLS-1$
+		return xml.toString();
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Mode;
+
+/**
+ * Compares throughput, thread count and heap usage of the previous per-use thread pools with the shared
+ * {@link IOTaskExecutor} in both of its modes. The workload simulates concurrent update checks: several batches of
+ * blocking requests spread over a few hosts, submitted at the same time.
+ * <p>
+ * The per-use pools run up to {@value #POOL_SIZE} tasks per batch, so they get a shared executor with the same overall
+ * thread budget and no host limit to compare against. The runs with the executor's default limits show the throughput
+ * traded for a bounded number of threads and connections per host.
+ * <p>
+ * This is a manual benchmark, which is compiled with the tests but not part of the test suites. Run it as a Java
+ * application. The results are written to the file given as the first argument, or to {@value #DEFAULT_REPORT}.
+ */
+public class IOTaskExecutorBenchmark {
+
+	private static final int BATCHES = 8;
+
+	private static final int TASKS_PER_BATCH = 50;
+
+	private static final int HOSTS = 5;
+
+	private static final long LATENCY = 20;
+
+	private static final int POOL_SIZE = 10;
+
+	private static final String DEFAULT_REPORT = "target/benchmarks/IOTaskExecutorBenchmark.txt"; //$NON-NLS-1$
+
+	private interface Scenario {
+		void run() throws Exception;
+	}
+
+	public static void main(String[] args) throws Exception {
+		int budget = BATCHES * POOL_SIZE;
+		//warm up
+		runBatchesOnSharedExecutor(Mode.PLATFORM, budget, budget);
+
+		List<String> results = new ArrayList<>();
+		results.add(measure("per-use fixed pools", IOTaskExecutorBenchmark::runBatchesOnDedicatedPools)); //$NON-NLS-1$
+		results.add(measure("shared, same budget", //$NON-NLS-1$
+				() -> runBatchesOnSharedExecutor(Mode.PLATFORM, budget, budget)));
+		results.add(measure("shared platform threads", () -> runBatchesOnSharedExecutor(Mode.PLATFORM, //$NON-NLS-1$
+				IOTaskExecutor.DEFAULT_MAX_THREADS, IOTaskExecutor.DEFAULT_MAX_PER_HOST)));
+		results.add(measure("shared virtual threads", () -> runBatchesOnSharedExecutor(Mode.VIRTUAL, //$NON-NLS-1$
+				IOTaskExecutor.DEFAULT_MAX_THREADS, IOTaskExecutor.DEFAULT_MAX_PER_HOST)));
+		writeReport(new File(args.length > 0 ? args[0] : DEFAULT_REPORT), results);
+	}
+
+	private static void writeReport(File report, List<String> results) throws Exception {
+		File dir = report.getAbsoluteFile().getParentFile();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IllegalStateException("Failed to create " + dir); //$NON-NLS-1$
+		}
+		Files.write(report.toPath(), results);
+	}
+
+	private static String measure(String name, Scenario scenario) throws Exception {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		System.gc();
+		long heapBefore = memory.getHeapMemoryUsage().getUsed();
+		int threadsBefore = threads.getThreadCount();
+		threads.resetPeakThreadCount();
+		long start = System.nanoTime();
+		scenario.run();
+		long millis = (System.nanoTime() - start) / 1000000;
+		long heapAfter = memory.getHeapMemoryUsage().getUsed();
+		int tasks = BATCHES * TASKS_PER_BATCH;
+		return String.format("%-24s %6d ms %8.1f tasks/s %4d extra threads %8d KB heap", name, millis, //$NON-NLS-1$
+				tasks * 1000d / Math.max(1, millis), threads.getPeakThreadCount() - threadsBefore,
+				(heapAfter - heapBefore) / 1024);
+	}
+
+	/**
+	 * Like the previous ConcurrentTaskManager: a new pool of up to {@value #POOL_SIZE} threads for each batch.
+	 */
+	private static void runBatchesOnDedicatedPools() throws Exception {
+		List<ExecutorService> pools = new ArrayList<>();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int batch = 0; batch < BATCHES; batch++) {
+			ExecutorService pool = Executors.newFixedThreadPool(Math.min(TASKS_PER_BATCH, POOL_SIZE));
+			pools.add(pool);
+			for (int i = 0; i < TASKS_PER_BATCH; i++) {
+				futures.add(pool.submit(task()));
+			}
+		}
+		await(futures);
+		for (ExecutorService pool : pools) {
+			pool.shutdown();
+		}
+	}
+
+	private static void runBatchesOnSharedExecutor(Mode mode, int maxThreads, int maxPerHost) throws Exception {
+		IOTaskExecutor executor = new IOTaskExecutor(mode, maxThreads, maxPerHost);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int batch = 0; batch < BATCHES; batch++) {
+				for (int i = 0; i < TASKS_PER_BATCH; i++) {
+					futures.add(executor.submit("host" + (i % HOSTS) + ".example.org", task())); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+			await(futures);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static Callable<byte[]> task() {
+		return () -> {
+			//blocking request returning a small response
+			Thread.sleep(LATENCY);
+			return new byte[4096];
+		};
+	}
+
+	private static void await(List<Future<?>> futures) throws Exception {
+		for (Future<?> future : futures) {
+			future.get();
+		}
+	}
+}
@@ -12,11 +12,26 @@
  *******************************************************************************/
 package org.eclipse.epp.mpc.tests;
 
+import org.eclipse.epp.mpc.tests.service.AsyncMarketplaceServiceTest;
+import org.eclipse.epp.mpc.tests.service.CatalogCacheTest;
 import org.eclipse.epp.mpc.tests.service.CatalogServiceTest;
 import org.eclipse.epp.mpc.tests.service.DefaultMarketplaceServiceTest;
+import org.eclipse.epp.mpc.tests.service.FavoriteIdsPagingTest;
+import org.eclipse.epp.mpc.tests.service.FavoriteListResolutionTest;
+import org.eclipse.epp.mpc.tests.service.FederatedSearchTest;
+import org.eclipse.epp.mpc.tests.service.InstallReportQueueTest;
+import org.eclipse.epp.mpc.tests.service.MarketplaceStorageServiceBlobCacheTest;
+import org.eclipse.epp.mpc.tests.service.NodeSearchIndexTest;
+import org.eclipse.epp.mpc.tests.service.SearchResultPagingTest;
 import org.eclipse.epp.mpc.tests.service.SolutionCompatibilityFilterTest;
+import org.eclipse.epp.mpc.tests.service.UpdateSiteProbeTest;
+import org.eclipse.epp.mpc.tests.service.UserFavoritesWriteBehindTest;
 import org.eclipse.epp.mpc.tests.service.xml.UnmarshallerTest;
+import org.eclipse.epp.mpc.tests.util.CancelableInputStreamTest;
+import org.eclipse.epp.mpc.tests.util.IOTaskExecutorTest;
 import org.eclipse.epp.mpc.tests.util.ProxyConfigurationTest;
+import org.eclipse.epp.mpc.tests.util.ServiceIndexTest;
+import org.eclipse.epp.mpc.tests.util.StringInternerTest;
 import org.eclipse.epp.mpc.tests.util.TextUtilTest;
 import org.eclipse.epp.mpc.tests.util.TransportFactoryTest;
 import org.junit.runner.RunWith;
@@ -30,10 +45,25 @@ import org.junit.runners.Suite.SuiteClasses;
 	ProxyConfigurationTest.class, //
 	UnmarshallerTest.class, //
 	TextUtilTest.class, //
+	CancelableInputStreamTest.class, //
+	NodeSearchIndexTest.class, //
+	SearchResultPagingTest.class, //
+	InstallReportQueueTest.class, //
+	FavoriteListResolutionTest.class, //
+	FavoriteIdsPagingTest.class, //
+	MarketplaceStorageServiceBlobCacheTest.class, //
+	UserFavoritesWriteBehindTest.class, //
 	TransportFactoryTest.class, //
 	CatalogServiceTest.class, //
 	DefaultMarketplaceServiceTest.class, //
-	SolutionCompatibilityFilterTest.class
+	SolutionCompatibilityFilterTest.class, //
+	UpdateSiteProbeTest.class, //
+	AsyncMarketplaceServiceTest.class, //
+	IOTaskExecutorTest.class, //
+	FederatedSearchTest.class, //
+	CatalogCacheTest.class, //
+	ServiceIndexTest.class, //
+	StringInternerTest.class
 })
 public class RestTests {
 }
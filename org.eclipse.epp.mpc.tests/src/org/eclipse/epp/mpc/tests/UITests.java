@@ -15,8 +15,20 @@ package org.eclipse.epp.mpc.tests;
 import org.eclipse.epp.mpc.tests.ui.catalog.CatalogDescriptorTest;
 import org.eclipse.epp.mpc.tests.ui.catalog.MarketplaceInfoSerializationTest;
 import org.eclipse.epp.mpc.tests.ui.catalog.MarketplaceInfoTest;
+import org.eclipse.epp.mpc.tests.ui.catalog.PreWarmCacheTest;
+import org.eclipse.epp.mpc.tests.ui.catalog.ResourceProviderSchedulingTest;
+import org.eclipse.epp.mpc.tests.ui.catalog.UpdateCheckScheduleTest;
+import org.eclipse.epp.mpc.tests.ui.catalog.UpdateSiteCacheTest;
+import org.eclipse.epp.mpc.tests.ui.discovery.TagDiscoveryCacheTest;
+import org.eclipse.epp.mpc.tests.ui.operations.ConcurrentRepositoryTaskTest;
+import org.eclipse.epp.mpc.tests.ui.operations.ConcurrentResolutionTest;
+import org.eclipse.epp.mpc.tests.ui.operations.RepositoryLeaseManagerTest;
 import org.eclipse.epp.mpc.tests.ui.wizard.MarketplaceUrlHandlerTest;
 import org.eclipse.epp.mpc.tests.ui.wizard.SelectionModelStateSerializerTest;
+import org.eclipse.epp.mpc.tests.ui.wizard.SpeculativeResolverTest;
+import org.eclipse.epp.mpc.tests.ui.wizard.TypeAheadSearchTest;
+import org.eclipse.epp.mpc.tests.ui.wizard.WizardBootstrapTest;
+import org.eclipse.epp.mpc.tests.ui.wizard.WizardSessionCacheTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite.SuiteClasses;
 
@@ -29,7 +41,19 @@ import org.junit.runners.Suite.SuiteClasses;
 	MarketplaceUrlHandlerTest.class, //
 	MarketplaceInfoTest.class, //
 	MarketplaceInfoSerializationTest.class, //
-	CatalogDescriptorTest.class //
+	CatalogDescriptorTest.class, //
+	ConcurrentResolutionTest.class, //
+	ConcurrentRepositoryTaskTest.class, //
+	RepositoryLeaseManagerTest.class, //
+	UpdateSiteCacheTest.class, //
+	UpdateCheckScheduleTest.class, //
+	ResourceProviderSchedulingTest.class, //
+	TagDiscoveryCacheTest.class, //
+	TypeAheadSearchTest.class, //
+	SpeculativeResolverTest.class, //
+	WizardBootstrapTest.class, //
+	PreWarmCacheTest.class, //
+	WizardSessionCacheTest.class //
 
 })
 public class UITests {
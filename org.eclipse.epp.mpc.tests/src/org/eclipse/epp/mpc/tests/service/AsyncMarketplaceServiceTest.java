@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.model.News;
+import org.eclipse.epp.internal.mpc.core.service.AsyncMarketplaceService;
+import org.eclipse.epp.mpc.core.model.INews;
+import org.eclipse.epp.mpc.core.service.IMarketplaceService;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncMarketplaceServiceTest {
+
+	private IMarketplaceService service;
+
+	@Before
+	public void setUp() {
+		service = mock(IMarketplaceService.class);
+	}
+
+	@Test
+	public void testResult() throws Exception {
+		News news = new News();
+		when(service.news(any(IProgressMonitor.class))).thenReturn(news);
+		AsyncMarketplaceService asyncService = new AsyncMarketplaceService(service);
+		assertSame(news, asyncService.news().get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testFailure() throws Exception {
+		CoreException failure = new CoreException(new Status(IStatus.ERROR, "test", "offline"));
+		when(service.news(any(IProgressMonitor.class))).thenThrow(failure);
+		AsyncMarketplaceService asyncService = new AsyncMarketplaceService(service);
+		try {
+			asyncService.news().get(5, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException e) {
+			assertSame(failure, e.getCause());
+		}
+	}
+
+	@Test
+	public void testCancelAbortsRequest() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch aborted = new CountDownLatch(1);
+		when(service.news(any(IProgressMonitor.class))).thenAnswer(invocation -> {
+			IProgressMonitor monitor = (IProgressMonitor) invocation.getArguments()[0];
+			started.countDown();
+			while (!monitor.isCanceled()) {
+				Thread.sleep(10);
+			}
+			aborted.countDown();
+			throw new CoreException(Status.CANCEL_STATUS);
+		});
+		AsyncMarketplaceService asyncService = new AsyncMarketplaceService(service);
+		CompletableFuture<INews> news = asyncService.news();
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		news.cancel(true);
+		assertTrue(aborted.await(5, TimeUnit.SECONDS));
+		try {
+			news.get();
+			fail();
+		} catch (CancellationException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testCancelBeforeStart() throws Exception {
+		final List<Runnable> queued = new ArrayList<>();
+		AsyncMarketplaceService asyncService = new AsyncMarketplaceService(service, queued::add);
+		CompletableFuture<INews> news = asyncService.news();
+		news.cancel(true);
+		for (Runnable runnable : queued) {
+			runnable.run();
+		}
+		assertTrue(news.isCancelled());
+		verify(service, never()).news(any(IProgressMonitor.class));
+	}
+}
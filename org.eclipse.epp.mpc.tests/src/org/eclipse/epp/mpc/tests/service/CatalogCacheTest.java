@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.epp.internal.mpc.core.service.CatalogCache;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.mpc.core.service.ITransport;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CatalogCacheTest {
+
+	private static final URI LOCATION = URI.create("https://marketplace.example.org/catalogs/api/p");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static byte[] bytes(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testPersistentCache() throws Exception {
+		File dir = folder.newFolder("cache");
+		ITransport transport = (location, monitor) -> new ByteArrayInputStream(bytes("catalogs"));
+		CatalogCache cache = new CatalogCache(dir, null, transport);
+		assertNull(cache.getCached(LOCATION));
+		assertArrayEquals(bytes("catalogs"), cache.fetch(LOCATION, new NullProgressMonitor()));
+
+		CatalogCache restored = new CatalogCache(dir, null, transport);
+		restored.load();
+		assertArrayEquals(bytes("catalogs"), restored.getCached(LOCATION));
+		assertNull(restored.getCached(URI.create("https://marketplace.example.org/other")));
+
+		restored.remove(LOCATION);
+		CatalogCache removed = new CatalogCache(dir, null, transport);
+		removed.load();
+		assertNull(removed.getCached(LOCATION));
+	}
+
+	@Test
+	public void testRevalidation() throws Exception {
+		final List<HttpUriRequest> requests = new ArrayList<>();
+		final List<HttpResponse> responses = new ArrayList<>();
+		HttpClientService client = mock(HttpClientService.class);
+		when(client.configureAndExecute(any(HttpUriRequest.class))).thenAnswer(invocation -> {
+			requests.add((HttpUriRequest) invocation.getArguments()[0]);
+			return responses.remove(0);
+		});
+
+		File dir = folder.newFolder("cache");
+		CatalogCache cache = new CatalogCache(dir, client, null);
+		BasicHttpResponse ok = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+		ok.setHeader(HttpHeaders.ETAG, "\"v1\"");
+		ok.setEntity(new ByteArrayEntity(bytes("catalogs")));
+		responses.add(ok);
+		assertArrayEquals(bytes("catalogs"), cache.fetch(LOCATION, new NullProgressMonitor()));
+		assertNull(requests.get(0).getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+
+		// revalidated in the next session
+		cache = new CatalogCache(dir, client, null);
+		cache.load();
+		responses.add(new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_NOT_MODIFIED, "Not Modified"));
+		assertArrayEquals(bytes("catalogs"), cache.fetch(LOCATION, new NullProgressMonitor()));
+		assertEquals("\"v1\"", requests.get(1).getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue());
+
+		BasicHttpResponse changed = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+		changed.setHeader(HttpHeaders.ETAG, "\"v2\"");
+		changed.setEntity(new ByteArrayEntity(bytes("changed catalogs")));
+		responses.add(changed);
+		assertArrayEquals(bytes("changed catalogs"), cache.fetch(LOCATION, new NullProgressMonitor()));
+		assertArrayEquals(bytes("changed catalogs"), cache.getCached(LOCATION));
+	}
+
+	@Test
+	public void testCanceledFetch() throws Exception {
+		final NullProgressMonitor monitor = new NullProgressMonitor();
+		ITransport transport = (location, m) -> new ByteArrayInputStream(bytes("catalogs")) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				monitor.setCanceled(true);
+				return super.read(b, off, len);
+			}
+		};
+		CatalogCache cache = new CatalogCache(folder.newFolder("cache"), null, transport);
+		try {
+			cache.fetch(LOCATION, monitor);
+			fail();
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		assertNull(cache.getCached(LOCATION));
+	}
+
+	@Test
+	public void testPrune() throws Exception {
+		File dir = folder.newFolder("cache");
+		URI image = URI.create("https://marketplace.example.org/image.png");
+		ITransport transport = (location, monitor) -> new ByteArrayInputStream(bytes(location.toString()));
+		AtomicLong clock = new AtomicLong();
+		CatalogCache cache = new CatalogCache(dir, null, transport, IOTaskExecutor.getDefault(), clock::get);
+		cache.fetch(LOCATION, new NullProgressMonitor());
+		cache.fetch(image, new NullProgressMonitor());
+
+		clock.set(CatalogCache.DEFAULT_MAX_AGE);
+		assertNotNull(cache.getCached(LOCATION));
+		clock.set(CatalogCache.DEFAULT_MAX_AGE + 1);
+		cache.prune(CatalogCache.DEFAULT_MAX_AGE);
+		assertNotNull(cache.getCached(LOCATION));
+		assertNull(cache.getCached(image));
+
+		// last use is remembered in the next session
+		clock.set(2 * CatalogCache.DEFAULT_MAX_AGE + 2);
+		CatalogCache restored = new CatalogCache(dir, null, transport, IOTaskExecutor.getDefault(), clock::get);
+		restored.load();
+		restored.prune(CatalogCache.DEFAULT_MAX_AGE);
+		assertNull(restored.getCached(LOCATION));
+		assertEquals(0, dir.listFiles((d, name) -> name.endsWith(".dat")).length);
+	}
+}
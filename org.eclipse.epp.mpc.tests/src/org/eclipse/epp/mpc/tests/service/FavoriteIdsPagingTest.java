@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.service.UserFavoritesService;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
+import org.eclipse.epp.mpc.core.service.IMarketplaceStorageService;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FavoriteIdsPagingTest {
+
+	private static final String LIST_URI = "https://api.example.org/marketplace/favorites/?name=alice";
+
+	private final Map<String, String> pages = new HashMap<>();
+
+	private final List<String> requestedUris = new ArrayList<>();
+
+	private UserFavoritesService service;
+
+	@Before
+	public void setUp() throws Exception {
+		HttpClientService client = mock(HttpClientService.class);
+		when(client.configureRequest(any(HttpUriRequest.class)))
+		.thenAnswer(invocation -> invocation.getArguments()[0]);
+		when(client.execute(any(HttpUriRequest.class))).thenAnswer(invocation -> {
+			String uri = ((HttpUriRequest) invocation.getArguments()[0]).getURI().toString();
+			requestedUris.add(uri);
+			String body = pages.get(uri);
+			if (body == null) {
+				return new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_NOT_FOUND, "Not Found");
+			}
+			BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+			response.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+			return response;
+		});
+		IMarketplaceStorageService storageService = mock(IMarketplaceStorageService.class);
+		when(storageService.getMarketplaceBaseUri()).thenReturn("https://marketplace.example.org");
+		when(storageService.getServiceUri()).thenReturn(URI.create("https://api.example.org/"));
+
+		service = new UserFavoritesService();
+		service.setHttpClient(client);
+		service.setStorageService(storageService);
+	}
+
+	@Test
+	public void testZeroBasedPages() throws Exception {
+		pages.put(LIST_URI, page(0, 2, 5, "1", "2"));
+		pages.put(LIST_URI + "&page=1&pagesize=2", page(1, 2, 5, "3", "4"));
+		pages.put(LIST_URI + "&page=2&pagesize=2", page(2, 2, 5, "5"));
+
+		List<List<String>> receivedPages = new ArrayList<>();
+		List<String> ids = service.getFavoriteIds(URI.create(LIST_URI), receivedPages::add,
+				new NullProgressMonitor());
+		assertEquals(Arrays.asList("1", "2", "3", "4", "5"), ids);
+		assertEquals(Arrays.asList(Arrays.asList("1", "2"), Arrays.asList("3", "4"), Arrays.asList("5")),
+				receivedPages);
+		assertEquals(Arrays.asList(LIST_URI, LIST_URI + "&page=1&pagesize=2", LIST_URI + "&page=2&pagesize=2"),
+				requestedUris);
+	}
+
+	@Test
+	public void testOneBasedPages() throws Exception {
+		pages.put(LIST_URI, page(1, 2, 3, "1", "2"));
+		pages.put(LIST_URI + "&page=2&pagesize=2", page(2, 2, 3, "3"));
+
+		List<String> ids = service.getFavoriteIds(URI.create(LIST_URI), null, new NullProgressMonitor());
+		assertEquals(Arrays.asList("1", "2", "3"), ids);
+		assertEquals(2, requestedUris.size());
+	}
+
+	@Test
+	public void testExplicitPageIsReplaced() throws Exception {
+		String firstPage = LIST_URI + "&page=0&pagesize=1";
+		pages.put(firstPage, page(0, 1, 2, "1"));
+		pages.put(LIST_URI + "&page=1&pagesize=1", page(1, 1, 2, "2"));
+
+		List<String> ids = service.getFavoriteIds(URI.create(firstPage), null, new NullProgressMonitor());
+		assertEquals(Arrays.asList("1", "2"), ids);
+		assertEquals(firstPage, requestedUris.get(0));
+	}
+
+	@Test
+	public void testUnpaginatedList() throws Exception {
+		pages.put(LIST_URI, "{\"mpc_favorites\":[{\"content_id\":\"1\"},{\"content_id\":\"2\"}],\"count\":\"2\"}");
+
+		List<String> ids = service.getFavoriteIds(URI.create(LIST_URI), null, new NullProgressMonitor());
+		assertEquals(Arrays.asList("1", "2"), ids);
+		assertEquals(Arrays.asList(LIST_URI), requestedUris);
+	}
+
+	private static String page(int page, int pageSize, int totalSize, String... ids) {
+		StringBuilder body = new StringBuilder("{\"mpc_favorites\":[");
+		for (int i = 0; i < ids.length; i++) {
+			if (i > 0) {
+				body.append(',');
+			}
+			body.append("{\"content_id\":\"").append(ids[i]).append("\"}");
+		}
+		body.append("],\"pagination\":{\"page\":").append(page).append(",\"pagesize\":").append(pageSize)
+		.append(",\"total_result_size\":").append(totalSize).append("}}");
+		return body.toString();
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.service.FavoriteListResolution;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.junit.Test;
+
+public class FavoriteListResolutionTest {
+
+	@Test
+	public void testChunksInListOrder() throws Exception {
+		FavoriteListResolution resolution = new FavoriteListResolution((chunk, monitor) -> new ArrayList<>(chunk), 4);
+		resolution.addIds(Arrays.asList("1", "2", "3"));
+		assertEquals(0, resolution.getChunkCount());
+		resolution.addIds(Arrays.asList("4", "5", "6", "7", "8", "9", "10"));
+		assertEquals(2, resolution.getChunkCount());
+		resolution.complete();
+		assertEquals(3, resolution.getChunkCount());
+		assertEquals(10, resolution.getIdCount());
+
+		assertEquals(Arrays.asList("1", "2", "3", "4"), ids(resolution.getChunk(0, null)));
+		assertEquals(Arrays.asList("5", "6", "7", "8"), ids(resolution.getChunk(1, null)));
+		assertEquals(Arrays.asList("9", "10"), ids(resolution.getChunk(2, null)));
+	}
+
+	@Test
+	public void testBoundedConcurrency() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		FavoriteListResolution resolution = new FavoriteListResolution((chunk, monitor) -> {
+			int current = running.incrementAndGet();
+			maxRunning.accumulateAndGet(current, Math::max);
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				throw new CoreException(Status.CANCEL_STATUS);
+			} finally {
+				running.decrementAndGet();
+			}
+			return new ArrayList<>(chunk);
+		}, 1);
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 3 * FavoriteListResolution.MAX_CONCURRENT_CHUNKS; i++) {
+			ids.add(String.valueOf(i));
+		}
+		resolution.addIds(ids);
+		resolution.complete();
+		for (int i = 0; i < resolution.getChunkCount(); i++) {
+			assertEquals(ids.get(i), resolution.getChunk(i, null).get(0).getId());
+		}
+		assertTrue(maxRunning.get() > 1);
+		assertTrue(maxRunning.get() <= FavoriteListResolution.MAX_CONCURRENT_CHUNKS);
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger resolved = new AtomicInteger();
+		FavoriteListResolution resolution = new FavoriteListResolution((chunk, monitor) -> {
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new CoreException(Status.CANCEL_STATUS);
+			}
+			resolved.incrementAndGet();
+			return new ArrayList<>(chunk);
+		}, 1);
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 2 * FavoriteListResolution.MAX_CONCURRENT_CHUNKS; i++) {
+			ids.add(String.valueOf(i));
+		}
+		resolution.addIds(ids);
+		resolution.complete();
+
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			resolution.getChunk(0, monitor);
+			fail("Expected cancellation");
+		} catch (CoreException e) {
+			assertEquals(IStatus.CANCEL, e.getStatus().getSeverity());
+		}
+		release.countDown();
+		Thread.sleep(500);
+		//only chunks that were already running got resolved
+		assertTrue(resolved.get() <= FavoriteListResolution.MAX_CONCURRENT_CHUNKS);
+	}
+
+	@Test
+	public void testFailedChunk() throws Exception {
+		CoreException failure = new CoreException(new Status(IStatus.ERROR, "test", "failed"));
+		FavoriteListResolution resolution = new FavoriteListResolution((chunk, monitor) -> {
+			if (chunk.get(0).getId().equals("2")) {
+				throw failure;
+			}
+			return new ArrayList<>(chunk);
+		}, 1);
+		resolution.addIds(Arrays.asList("1", "2", "3"));
+		resolution.complete();
+		assertEquals(Arrays.asList("1"), ids(resolution.getChunk(0, null)));
+		try {
+			resolution.getChunk(1, null);
+			fail("Expected failure");
+		} catch (CoreException e) {
+			assertSame(failure, e);
+		}
+		assertEquals(Arrays.asList("3"), ids(resolution.getChunk(2, null)));
+	}
+
+	private static List<String> ids(List<INode> nodes) {
+		List<String> ids = new ArrayList<>();
+		for (INode node : nodes) {
+			ids.add(node.getId());
+		}
+		return ids;
+	}
+}
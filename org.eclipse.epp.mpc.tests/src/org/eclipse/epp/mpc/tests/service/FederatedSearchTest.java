@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.model.Iu;
+import org.eclipse.epp.internal.mpc.core.model.Ius;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.SearchResult;
+import org.eclipse.epp.internal.mpc.core.service.FederatedSearch;
+import org.eclipse.epp.internal.mpc.core.service.FederatedSearch.Hit;
+import org.eclipse.epp.mpc.core.model.IIu;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.eclipse.epp.mpc.core.service.IAsyncMarketplaceService;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FederatedSearchTest {
+
+	private IAsyncMarketplaceService first;
+
+	private IAsyncMarketplaceService second;
+
+	private CompletableFuture<ISearchResult> firstResult;
+
+	private CompletableFuture<ISearchResult> secondResult;
+
+	@Before
+	public void setUp() throws Exception {
+		firstResult = new CompletableFuture<>();
+		secondResult = new CompletableFuture<>();
+		first = mockService("https://marketplace.example.org", firstResult);
+		second = mockService("https://other.example.org", secondResult);
+	}
+
+	private static IAsyncMarketplaceService mockService(String url, CompletableFuture<ISearchResult> result)
+			throws Exception {
+		IAsyncMarketplaceService service = mock(IAsyncMarketplaceService.class);
+		when(service.getBaseUrl()).thenReturn(new URL(url));
+		when(service.search(null, null, "test")).thenReturn(result);
+		return service;
+	}
+
+	private static Node node(String id, String updateUrl, String... ius) {
+		Node node = new Node();
+		node.setId(id);
+		node.setUpdateurl(updateUrl);
+		List<IIu> iuElements = new ArrayList<>();
+		for (String iu : ius) {
+			iuElements.add(new Iu(iu));
+		}
+		Ius iusElement = new Ius();
+		iusElement.setIuElements(iuElements);
+		node.setIus(iusElement);
+		return node;
+	}
+
+	private static SearchResult result(Node... nodes) {
+		SearchResult result = new SearchResult();
+		result.setNodes(Arrays.asList(nodes));
+		result.setMatchCount(nodes.length);
+		return result;
+	}
+
+	@Test
+	public void testMergeAsAnswered() throws Exception {
+		FederatedSearch search = new FederatedSearch(Arrays.asList(first, second), 5000);
+		CompletableFuture<List<Hit>> hits = search.search("test", null);
+
+		secondResult.complete(result(node("2", "https://other.example.org/update", "org.example.other")));
+		assertFalse(hits.isDone());
+		assertEquals(1, search.getAnsweredCount());
+		assertEquals(1, search.getHits().size());
+
+		firstResult.complete(result(node("1", "https://marketplace.example.org/update", "org.example.one")));
+		List<Hit> merged = hits.get(5, TimeUnit.SECONDS);
+		assertEquals(2, merged.size());
+		assertEquals("2", merged.get(0).getNode().getId());
+		assertEquals("1", merged.get(1).getNode().getId());
+		assertTrue(search.getStatus().isOK());
+	}
+
+	@Test
+	public void testPreferredMarketplaceWinsDuplicate() throws Exception {
+		FederatedSearch search = new FederatedSearch(Arrays.asList(first, second), 5000);
+		CompletableFuture<List<Hit>> hits = search.search("test", null);
+
+		secondResult.complete(result(node("other", "https://example.org/update/", "b", "a"),
+				node("unique", "https://example.org/unique", "c")));
+		firstResult.complete(result(node("preferred", "HTTPS://example.org/update", "a", "b")));
+
+		List<Hit> merged = hits.get(5, TimeUnit.SECONDS);
+		assertEquals(2, merged.size());
+		assertEquals("preferred", merged.get(0).getNode().getId());
+		assertSame(first, merged.get(0).getService());
+		assertEquals("unique", merged.get(1).getNode().getId());
+	}
+
+	@Test
+	public void testNodesWithoutIusAreNotMerged() throws Exception {
+		FederatedSearch search = new FederatedSearch(Arrays.asList(first, second), 5000);
+		CompletableFuture<List<Hit>> hits = search.search("test", null);
+
+		firstResult.complete(result(node("1", null)));
+		secondResult.complete(result(node("2", null)));
+
+		assertEquals(2, hits.get(5, TimeUnit.SECONDS).size());
+	}
+
+	@Test
+	public void testFailureKeepsOtherResults() throws Exception {
+		FederatedSearch search = new FederatedSearch(Arrays.asList(first, second), 5000);
+		CompletableFuture<List<Hit>> hits = search.search("test", null);
+
+		firstResult.completeExceptionally(new CoreException(new Status(IStatus.ERROR, "test", "offline")));
+		secondResult.complete(result(node("2", "https://other.example.org/update", "org.example.other")));
+
+		assertEquals(1, hits.get(5, TimeUnit.SECONDS).size());
+		assertEquals(1, search.getFailedCount());
+		assertFalse(search.getStatus().isOK());
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		FederatedSearch search = new FederatedSearch(Arrays.asList(first, second), 200);
+		CompletableFuture<List<Hit>> hits = search.search("test", null);
+
+		firstResult.complete(result(node("1", "https://marketplace.example.org/update", "org.example.one")));
+
+		List<Hit> merged = hits.get(5, TimeUnit.SECONDS);
+		assertEquals(1, merged.size());
+		assertTrue(secondResult.isCancelled());
+		assertEquals(2, search.getAnsweredCount());
+		assertEquals(1, search.getFailedCount());
+		assertEquals(IStatus.WARNING, search.getStatus().getSeverity());
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		FederatedSearch search = new FederatedSearch(Arrays.asList(first, second), 5000);
+		CompletableFuture<List<Hit>> hits = search.search("test", null);
+
+		firstResult.complete(result(node("1", "https://marketplace.example.org/update", "org.example.one")));
+		search.cancel();
+
+		assertEquals(1, hits.get(5, TimeUnit.SECONDS).size());
+		assertTrue(secondResult.isCancelled());
+		assertTrue(search.getStatus().isOK());
+	}
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.NameValuePair;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.message.BasicNameValuePair;
+import org.eclipse.epp.internal.mpc.core.service.InstallReportQueue;
+import org.eclipse.epp.internal.mpc.core.service.InstallReportQueue.Report;
+import org.eclipse.epp.internal.mpc.core.transport.httpclient.HttpClientService;
+import org.junit.After;
+import org.junit.Test;
+
+public class InstallReportQueueTest {
+
+	private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+	private RecordingQueue queue;
+
+	@After
+	public void tearDown() {
+		if (queue != null) {
+			queue.shutdown();
+		}
+	}
+
+	@Test
+	public void testBatchedDelivery() throws Exception {
+		queue = new RecordingQueue(null);
+		queue.setHttpClient(new HttpClientService());
+		queue.submit(successReport("1"));
+		queue.submit(successReport("2"));
+		queue.submit(errorReport("3"));
+
+		waitUntilEmpty(queue);
+		assertEquals(Arrays.asList("1", "2", "3"), queue.getSentNodes());
+	}
+
+	@Test
+	public void testConnectionProblemKeepsReports() throws Exception {
+		queue = new RecordingQueue(new ConnectException());
+		queue.setHttpClient(new HttpClientService());
+		queue.submit(successReport("1"));
+		queue.submit(successReport("2"));
+
+		waitForAttempts(queue, 1);
+		assertEquals(2, queue.size());
+		assertEquals(1, queue.getAttempts());
+	}
+
+	@Test
+	public void testRejectedReportIsDropped() throws Exception {
+		queue = new RecordingQueue(new HttpResponseException(400, "Bad Request"));
+		queue.setHttpClient(new HttpClientService());
+		queue.submit(successReport("1"));
+		queue.submit(successReport("2"));
+
+		waitUntilEmpty(queue);
+		assertEquals(2, queue.getAttempts());
+	}
+
+	@Test
+	public void testNoDeliveryWithoutClient() throws Exception {
+		queue = new RecordingQueue(null);
+		queue.submit(successReport("1"));
+		Thread.sleep(3000);
+		assertEquals(1, queue.size());
+		assertEquals(0, queue.getAttempts());
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		queue = new RecordingQueue(null);
+		queue.shutdown();
+		char[] details = new char[100000];
+		Arrays.fill(details, 'x');
+		queue.submit(successReport("1"));
+		queue.submit(new Report(URI.create("http://marketplace.eclipse.org/install/error/report"),
+				Arrays.<NameValuePair> asList(new BasicNameValuePair("node", "2"),
+						new BasicNameValuePair("detailedMessage", new String(details)),
+						new BasicNameValuePair("statusMessage", null))));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		queue.write(out);
+
+		InstallReportQueue restored = new InstallReportQueue();
+		restored.shutdown();
+		restored.read(new ByteArrayInputStream(out.toByteArray()));
+		List<Report> reports = restored.getPendingReports();
+		assertEquals(2, reports.size());
+		assertEquals(URI.create("http://marketplace.eclipse.org/node/1/success"), reports.get(0).getUri());
+		assertNull(reports.get(0).getParameters());
+		assertEquals(queue.getPendingReports().get(0).getTimestamp(), reports.get(0).getTimestamp());
+		List<NameValuePair> parameters = reports.get(1).getParameters();
+		assertEquals(3, parameters.size());
+		assertEquals("2", parameters.get(0).getValue());
+		assertEquals(details.length, parameters.get(1).getValue().length());
+		assertNull(parameters.get(2).getValue());
+	}
+
+	@Test
+	public void testSavedOnSubmit() throws Exception {
+		File file = File.createTempFile("installreports", ".dat");
+		try {
+			queue = new RecordingQueue(new ConnectException());
+			queue.setFile(file);
+			queue.submit(successReport("1"));
+			queue.submit(errorReport("2"));
+
+			//e.g. after a crash
+			InstallReportQueue restored = new InstallReportQueue();
+			restored.shutdown();
+			restored.load(file);
+			assertEquals(2, restored.size());
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static Report successReport(String nodeId) {
+		return new Report(URI.create("http://marketplace.eclipse.org/node/" + nodeId + "/success"), null);
+	}
+
+	private static Report errorReport(String nodeId) {
+		return new Report(URI.create("http://marketplace.eclipse.org/install/error/report"),
+				Collections.<NameValuePair> singletonList(new BasicNameValuePair("node", nodeId)));
+	}
+
+	private static void waitUntilEmpty(InstallReportQueue queue) throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (queue.size() > 0 && System.currentTimeMillis() < end) {
+			Thread.sleep(50);
+		}
+		assertEquals(0, queue.size());
+	}
+
+	private static void waitForAttempts(RecordingQueue queue, int attempts) throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (queue.getAttempts() < attempts && System.currentTimeMillis() < end) {
+			Thread.sleep(50);
+		}
+		//give the queue a moment to process the outcome
+		Thread.sleep(200);
+		assertTrue(queue.getAttempts() >= attempts);
+	}
+
+	private static class RecordingQueue extends InstallReportQueue {
+
+		private final IOException failure;
+
+		private final List<String> sentNodes = Collections.synchronizedList(new ArrayList<>());
+
+		private volatile int attempts;
+
+		public RecordingQueue(IOException failure) {
+			this.failure = failure;
+		}
+
+		@Override
+		protected void send(HttpClientService client, Report report) throws IOException {
+			attempts++;
+			if (failure != null) {
+				throw failure;
+			}
+			String path = report.getUri().getPath();
+			if (report.getParameters() == null) {
+				sentNodes.add(path.split("/")[2]);
+			} else {
+				sentNodes.add(report.getParameters().get(0).getValue());
+			}
+		}
+
+		public List<String> getSentNodes() {
+			return new ArrayList<>(sentNodes);
+		}
+
+		public int getAttempts() {
+			return attempts;
+		}
+	}
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.epp.internal.mpc.core.service.MarketplaceStorageService;
+import org.eclipse.epp.internal.mpc.core.service.MarketplaceStorageService.CachedBlob;
+import org.eclipse.userstorage.IBlob;
+import org.eclipse.userstorage.IStorage;
+import org.eclipse.userstorage.IStorageService;
+import org.eclipse.userstorage.spi.Credentials;
+import org.eclipse.userstorage.spi.ICredentialsProvider;
+import org.eclipse.userstorage.util.NotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MarketplaceStorageServiceBlobCacheTest {
+
+	private static final String KEY = "test_blob";
+
+	private MarketplaceStorageService storageService;
+
+	private IStorage storage;
+
+	private IBlob blob;
+
+	private ICredentialsProvider credentialsProvider;
+
+	@Before
+	public void setUp() {
+		blob = mock(IBlob.class);
+		credentialsProvider = mock(ICredentialsProvider.class);
+		storage = mock(IStorage.class);
+		when(storage.getBlob(KEY)).thenReturn(blob);
+		when(storage.getCredentialsProvider()).thenReturn(credentialsProvider);
+		storageService = new MarketplaceStorageService();
+		storageService.setStorage(storage);
+	}
+
+	@Test
+	public void testRepeatedReadUsesCache() throws Exception {
+		when(blob.getContentsUTF()).thenReturn("1,2,3");
+		when(blob.getETag()).thenReturn("v1");
+
+		CachedBlob first = storageService.readBlob(KEY);
+		CachedBlob second = storageService.readBlob(KEY);
+		assertEquals("1,2,3", first.getContents());
+		assertEquals("v1", first.getETag());
+		assertSame(first, second);
+		verify(blob, times(1)).getContentsUTF();
+	}
+
+	@Test
+	public void testInvalidatedBlobIsRevalidated() throws Exception {
+		when(blob.getContentsUTF()).thenReturn("1,2,3");
+		when(blob.getETag()).thenReturn("v1");
+		storageService.readBlob(KEY);
+
+		storageService.invalidateBlob(KEY);
+		when(blob.getContentsUTF()).thenReturn("1,2,3,4");
+		when(blob.getETag()).thenReturn("v2");
+		CachedBlob revalidated = storageService.readBlob(KEY);
+		assertEquals("1,2,3,4", revalidated.getContents());
+		assertEquals("v2", revalidated.getETag());
+		verify(blob, times(2)).getContentsUTF();
+	}
+
+	@Test
+	public void testMissingBlob() throws Exception {
+		when(blob.getContentsUTF()).thenThrow(mock(NotFoundException.class));
+
+		CachedBlob missing = storageService.readBlob(KEY);
+		assertNull(missing.getContents());
+		assertNull(missing.getETag());
+		storageService.readBlob(KEY);
+		verify(blob, times(1)).getContentsUTF();
+	}
+
+	@Test
+	public void testWrittenBlobIsCached() throws Exception {
+		storageService.blobWritten(KEY, "4,5", "v3");
+
+		CachedBlob cached = storageService.readBlob(KEY);
+		assertEquals("4,5", cached.getContents());
+		assertEquals("v3", cached.getETag());
+		verify(blob, times(0)).getContentsUTF();
+	}
+
+	@Test
+	public void testUserChangeInvalidatesCache() throws Exception {
+		when(blob.getContentsUTF()).thenReturn("1,2,3");
+		when(blob.getETag()).thenReturn("v1");
+		login("alice");
+		storageService.readBlob(KEY);
+
+		login("bob");
+		when(blob.getContentsUTF()).thenReturn("7");
+		when(blob.getETag()).thenReturn("v7");
+		CachedBlob otherUser = storageService.readBlob(KEY);
+		assertEquals("7", otherUser.getContents());
+		verify(blob, times(2)).getContentsUTF();
+	}
+
+	private void login(String user) {
+		when(credentialsProvider.hasCredentials(any(IStorageService.class))).thenReturn(true);
+		when(credentialsProvider.getCredentials(any(IStorageService.class)))
+		.thenReturn(new Credentials(user, "secret"));
+	}
+}
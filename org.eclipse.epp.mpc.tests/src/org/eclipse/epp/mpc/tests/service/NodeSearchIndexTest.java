@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.epp.internal.mpc.core.model.Categories;
+import org.eclipse.epp.internal.mpc.core.model.Category;
+import org.eclipse.epp.internal.mpc.core.model.Iu;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.Tag;
+import org.eclipse.epp.internal.mpc.core.model.Tags;
+import org.eclipse.epp.internal.mpc.core.service.NodeSearchIndex;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NodeSearchIndexTest {
+
+	private NodeSearchIndex index;
+
+	@Before
+	public void setUp() {
+		index = new NodeSearchIndex();
+		index.add(node("1", "Subversive - SVN Team Provider", "Team support for Subversion", "svn", "10"));
+		index.add(node("2", "EGit - Git Integration for Eclipse", "Git team provider", "git", "10"));
+		index.add(node("3", "Spring Tools", "Tooling for Spring Boot applications", "spring", "20"));
+	}
+
+	@Test
+	public void testPrefixMatch() {
+		assertIds(index.search("subv", null, 10), "1");
+		assertIds(index.search("Spr", null, 10), "3");
+	}
+
+	@Test
+	public void testAllTermsMustMatch() {
+		assertIds(index.search("team git", null, 10), "2");
+		assertIds(index.search("team spring", null, 10));
+	}
+
+	@Test
+	public void testNameRanksHigherThanDescription() {
+		index.add(node("4", "Mylyn", "Task-focused interface with Git connector", null, "10"));
+		assertIds(index.search("git", null, 10), "2", "4");
+		assertIds(index.search("git", null, 1), "2");
+	}
+
+	@Test
+	public void testCategoryFilter() {
+		assertIds(index.search("provider", "10", 10), "1", "2");
+		assertIds(index.search("provider", "20", 10));
+	}
+
+	@Test
+	public void testReplaceAndRemove() {
+		index.add(node("1", "Subclipse", "Another SVN provider", "svn", "10"));
+		assertIds(index.search("subversive", null, 10));
+		assertIds(index.search("subclipse", null, 10), "1");
+		index.remove("1");
+		assertIds(index.search("svn", null, 10));
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	public void testIgnoresUnresolvedNodes() {
+		Node node = new Node();
+		node.setId("6");
+		index.add(node);
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		assertTrue(index.isDirty());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		index.write(out);
+		assertFalse(index.isDirty());
+
+		NodeSearchIndex restored = new NodeSearchIndex();
+		restored.read(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(3, restored.size());
+		assertIds(restored.search("git", "10", 10), "2");
+		INode node = restored.search("spring", null, 10).get(0);
+		assertEquals("Spring Tools", node.getName());
+		assertEquals("Tooling for Spring Boot applications", node.getShortdescription());
+	}
+
+	@Test
+	public void testRestoresCompleteNodes() throws IOException {
+		Node node = node("4", "Subclipse", "Another SVN provider", "svn", "10");
+		node.setUpdateurl("https://subclipse.github.io/updates/");
+		node.setLicense("EPL");
+		node.setInstallsTotal(42);
+		node.getIus().getIuElements().add(new Iu("org.tigris.subversion.subclipse", false, true));
+		node.getPlatforms().getPlatform().add("Linux/GTK");
+		StringBuilder description = new StringBuilder();
+		while (description.length() < 70000) {
+			description.append("Subversion team provider ");
+		}
+		node.setShortdescription(description.toString());
+		index.add(node);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		index.write(out);
+		NodeSearchIndex restored = new NodeSearchIndex();
+		restored.read(new ByteArrayInputStream(out.toByteArray()));
+
+		INode restoredNode = restored.search("subclipse", "10", 10).get(0);
+		assertEquals(description.toString(), restoredNode.getShortdescription());
+		assertEquals("https://subclipse.github.io/updates/", restoredNode.getUpdateurl());
+		assertEquals("EPL", restoredNode.getLicense());
+		assertEquals(Integer.valueOf(42), restoredNode.getInstallsTotal());
+		assertEquals("svn", restoredNode.getTags().getTags().get(0).getName());
+		assertEquals("10", restoredNode.getCategories().getCategory().get(0).getId());
+		assertEquals(1, restoredNode.getIus().getIuElements().size());
+		assertEquals("org.tigris.subversion.subclipse", restoredNode.getIus().getIuElements().get(0).getId());
+		assertTrue(restoredNode.getIus().getIuElements().get(0).isSelected());
+		assertEquals(Collections.singletonList("Linux/GTK"), restoredNode.getPlatforms().getPlatform());
+	}
+
+	@Test
+	public void testResultsAreCopies() {
+		INode node = index.search("spring", null, 10).get(0);
+		node.getTags().getTags().clear();
+		assertIds(index.search("spring", null, 10), "3");
+		assertEquals(1, index.search("spring", null, 10).get(0).getTags().getTags().size());
+	}
+
+	@Test
+	public void testDropsLeastRecentlyAddedNodes() {
+		NodeSearchIndex smallIndex = new NodeSearchIndex(2);
+		smallIndex.add(node("1", "Subversive - SVN Team Provider", "Team support for Subversion", "svn", "10"));
+		smallIndex.add(node("2", "EGit - Git Integration for Eclipse", "Git team provider", "git", "10"));
+		smallIndex.add(node("1", "Subversive - SVN Team Provider", "Team support for Subversion", "svn", "10"));
+		smallIndex.add(node("3", "Spring Tools", "Tooling for Spring Boot applications", "spring", "20"));
+		assertEquals(2, smallIndex.size());
+		assertIds(smallIndex.search("team", null, 10), "1");
+		assertIds(smallIndex.search("spring", null, 10), "3");
+	}
+
+	private static void assertIds(List<INode> nodes, String... ids) {
+		List<String> actualIds = new ArrayList<>();
+		for (INode node : nodes) {
+			actualIds.add(node.getId());
+		}
+		List<String> expectedIds = new ArrayList<>();
+		for (String id : ids) {
+			expectedIds.add(id);
+		}
+		assertEquals(expectedIds, actualIds);
+	}
+
+	private static Node node(String id, String name, String description, String tag, String categoryId) {
+		Node node = new Node();
+		node.setId(id);
+		node.setName(name);
+		node.setShortdescription(description);
+		if (tag != null) {
+			Tag nodeTag = new Tag();
+			nodeTag.setName(tag);
+			Tags tags = new Tags();
+			tags.getTags().add(nodeTag);
+			node.setTags(tags);
+		}
+		Category category = new Category();
+		category.setId(categoryId);
+		category.setName("Category " + categoryId);
+		Categories categories = new Categories();
+		categories.getCategory().add(category);
+		node.setCategories(categories);
+		return node;
+	}
+}
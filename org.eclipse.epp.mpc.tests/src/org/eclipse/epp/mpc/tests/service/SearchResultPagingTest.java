@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.model.Market;
+import org.eclipse.epp.internal.mpc.core.model.Marketplace;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.Search;
+import org.eclipse.epp.internal.mpc.core.model.SearchResult;
+import org.eclipse.epp.internal.mpc.core.service.DefaultMarketplaceService;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SearchResultPagingTest {
+
+	private static final String SEARCH_URL = DefaultMarketplaceService.API_SEARCH_URI_FULL + "foo";
+
+	private static final String TAGGED_URL = DefaultMarketplaceService.API_FREETAGGING_URI + "foo/"
+			+ DefaultMarketplaceService.API_URI_SUFFIX;
+
+	private final Map<String, Marketplace> responses = new HashMap<>();
+
+	private final List<String> requestedUrls = new ArrayList<>();
+
+	private DefaultMarketplaceService marketplaceService;
+
+	@Before
+	public void setUp() throws Exception {
+		marketplaceService = new DefaultMarketplaceService(new URL("https://marketplace.example.org")) {
+			@Override
+			protected Marketplace processRequest(String relativeUrl, IProgressMonitor monitor) throws CoreException {
+				requestedUrls.add(relativeUrl);
+				Marketplace response = responses.get(relativeUrl);
+				if (response == null) {
+					throw new AssertionError("Unexpected request " + relativeUrl);
+				}
+				return response;
+			}
+		};
+	}
+
+	@Test
+	public void testNextPageIsRequestedOnDemand() throws Exception {
+		responses.put(SEARCH_URL, page(5, "1", "2"));
+		responses.put(SEARCH_URL + "?page=1", page(5, "3", "4"));
+		responses.put(SEARCH_URL + "?page=2", page(5, "5"));
+
+		ISearchResult result = marketplaceService.search(null, null, "foo", new NullProgressMonitor());
+		assertEquals(Arrays.asList("1", "2"), getIds(result));
+		assertEquals(Integer.valueOf(5), result.getMatchCount());
+		assertTrue(((SearchResult) result).hasNextPage());
+		assertEquals(Arrays.asList(SEARCH_URL), requestedUrls);
+
+		result = marketplaceService.nextPage(result, new NullProgressMonitor());
+		assertEquals(Arrays.asList("3", "4"), getIds(result));
+		assertTrue(((SearchResult) result).hasNextPage());
+
+		result = marketplaceService.nextPage(result, new NullProgressMonitor());
+		assertEquals(Arrays.asList("5"), getIds(result));
+		assertFalse(((SearchResult) result).hasNextPage());
+		assertEquals(Arrays.asList(SEARCH_URL, SEARCH_URL + "?page=1", SEARCH_URL + "?page=2"), requestedUrls);
+
+		assertNull(marketplaceService.nextPage(result, new NullProgressMonitor()));
+		assertEquals(3, requestedUrls.size());
+	}
+
+	@Test
+	public void testPageIsAddedToFilters() throws Exception {
+		Market market = new Market();
+		market.setId("31");
+		String filteredUrl = SEARCH_URL + "?filters=tid:31";
+		responses.put(filteredUrl, page(2, "1"));
+		responses.put(filteredUrl + "&page=1", page(2, "2"));
+
+		ISearchResult result = marketplaceService.search(market, null, "foo", new NullProgressMonitor());
+		result = marketplaceService.nextPage(result, new NullProgressMonitor());
+		assertEquals(Arrays.asList("2"), getIds(result));
+		assertEquals(Arrays.asList(filteredUrl, filteredUrl + "&page=1"), requestedUrls);
+	}
+
+	@Test
+	public void testTaggedIsPaged() throws Exception {
+		responses.put(TAGGED_URL, page(2, "1"));
+		responses.put(TAGGED_URL + "?page=1", page(2, "2"));
+
+		ISearchResult result = marketplaceService.tagged("foo", new NullProgressMonitor());
+		assertTrue(((SearchResult) result).hasNextPage());
+		result = marketplaceService.nextPage(result, new NullProgressMonitor());
+		assertEquals(Arrays.asList("2"), getIds(result));
+		assertFalse(((SearchResult) result).hasNextPage());
+	}
+
+	@Test
+	public void testCompleteResultIsNotPaged() throws Exception {
+		responses.put(SEARCH_URL, page(2, "1", "2"));
+
+		ISearchResult result = marketplaceService.search(null, null, "foo", new NullProgressMonitor());
+		assertFalse(((SearchResult) result).hasNextPage());
+		assertNull(marketplaceService.nextPage(result, new NullProgressMonitor()));
+		assertEquals(1, requestedUrls.size());
+	}
+
+	@Test
+	public void testEmptyPageEndsPaging() throws Exception {
+		// the match count is only an estimate, so don't keep asking for more if a page comes back empty
+		responses.put(SEARCH_URL, page(10, "1"));
+		responses.put(SEARCH_URL + "?page=1", page(10));
+
+		ISearchResult result = marketplaceService.search(null, null, "foo", new NullProgressMonitor());
+		result = marketplaceService.nextPage(result, new NullProgressMonitor());
+		assertTrue(result.getNodes().isEmpty());
+		assertFalse(((SearchResult) result).hasNextPage());
+	}
+
+	private static Marketplace page(int count, String... ids) {
+		List<Node> nodes = new ArrayList<>();
+		for (String id : ids) {
+			Node node = new Node();
+			node.setId(id);
+			node.setName("Node " + id);
+			nodes.add(node);
+		}
+		Search search = new Search();
+		search.setCount(count);
+		search.setNode(nodes);
+		Marketplace marketplace = new Marketplace();
+		marketplace.setSearch(search);
+		return marketplace;
+	}
+
+	private static List<String> getIds(ISearchResult result) {
+		List<String> ids = new ArrayList<>();
+		for (INode node : result.getNodes()) {
+			ids.add(node.getId());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.epp.internal.mpc.core.service.UpdateSiteProbe;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class UpdateSiteProbeTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final UpdateSiteProbe probe = new UpdateSiteProbe(null);
+
+	@Test
+	public void testUnchangedSite() throws Exception {
+		File site = folder.newFolder("site");
+		write(new File(site, "content.jar"), "content");
+		write(new File(site, "artifacts.jar"), "artifacts");
+
+		String fingerprint = probe.computeFingerprint(site.toURI());
+		assertNotNull(fingerprint);
+		assertEquals(fingerprint, probe.computeFingerprint(site.toURI()));
+	}
+
+	@Test
+	public void testChangedSite() throws Exception {
+		File site = folder.newFolder("site");
+		File content = new File(site, "content.jar");
+		write(content, "content");
+		String fingerprint = probe.computeFingerprint(site.toURI());
+
+		write(content, "changed content");
+		content.setLastModified(content.lastModified() + 2000);
+		assertNotEquals(fingerprint, probe.computeFingerprint(site.toURI()));
+	}
+
+	@Test
+	public void testEmptySite() throws Exception {
+		File site = folder.newFolder("site");
+		assertNull(probe.computeFingerprint(site.toURI()));
+	}
+
+	@Test
+	public void testUnsupportedSites() throws Exception {
+		// no http client available
+		assertNull(probe.computeFingerprint(URI.create("https://example.org/updates")));
+		assertNull(probe.computeFingerprint(URI.create("jar:file:/tmp/site.zip!/")));
+	}
+
+	private static void write(File file, String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
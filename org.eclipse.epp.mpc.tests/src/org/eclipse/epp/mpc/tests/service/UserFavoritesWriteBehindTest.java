@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.service.UserFavoritesService;
+import org.eclipse.epp.mpc.core.service.QueryHelper;
+import org.eclipse.userstorage.IBlob;
+import org.eclipse.userstorage.util.ConflictException;
+import org.eclipse.userstorage.util.NotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UserFavoritesWriteBehindTest {
+
+	private UserFavoritesService service;
+
+	private String remoteContents;
+
+	private int remoteVersion;
+
+	/**
+	 * The ETag the next write is based on, as set on the blob by the service
+	 */
+	private String writeETag;
+
+	private final List<String> writes = new ArrayList<>();
+
+	private IOException writeFailure;
+
+	@Before
+	public void setUp() throws Exception {
+		final IBlob blob = mock(IBlob.class);
+		when(blob.getContentsUTF()).thenAnswer(invocation -> {
+			if (remoteContents == null) {
+				throw mock(NotFoundException.class);
+			}
+			writeETag = remoteETag();
+			return remoteContents;
+		});
+		when(blob.getETag()).thenAnswer(invocation -> writeETag);
+		doAnswer(invocation -> {
+			writeETag = (String) invocation.getArguments()[0];
+			return null;
+		}).when(blob).setETag(anyString());
+		doAnswer(invocation -> {
+			if (writeFailure != null) {
+				throw writeFailure;
+			}
+			if (remoteContents != null && !remoteETag().equals(writeETag)) {
+				throw mock(ConflictException.class);
+			}
+			remoteContents = (String) invocation.getArguments()[0];
+			remoteVersion++;
+			writeETag = remoteETag();
+			writes.add(remoteContents);
+			return true;
+		}).when(blob).setContentsUTF(anyString());
+
+		service = new UserFavoritesService() {
+			@Override
+			protected IBlob getFavoritesBlob() {
+				return blob;
+			}
+		};
+		remoteContents = "1";
+		remoteVersion = 1;
+		service.getFavoriteIds(new NullProgressMonitor());
+	}
+
+	private String remoteETag() {
+		return "v" + remoteVersion;
+	}
+
+	@Test
+	public void testTogglesAreWrittenOnce() throws Exception {
+		service.queueFavorite(QueryHelper.nodeById("2"), true);
+		service.queueFavorite(QueryHelper.nodeById("3"), true);
+		service.queueFavorite(QueryHelper.nodeById("2"), false);
+		service.queueFavorite(QueryHelper.nodeById("1"), false);
+		assertEquals(new HashSet<>(Arrays.asList("3")), service.getLastFavoriteIds());
+		assertTrue(service.hasPendingFavorites());
+		assertTrue(writes.isEmpty());
+
+		service.flushFavorites(new NullProgressMonitor());
+		assertEquals(Arrays.asList("3"), writes);
+		assertFalse(service.hasPendingFavorites());
+
+		//nothing left to write
+		service.flushFavorites(new NullProgressMonitor());
+		assertEquals(1, writes.size());
+	}
+
+	@Test
+	public void testConflictIsMergedWithRemoteChanges() throws Exception {
+		//changed from another workspace since we last read it
+		remoteContents = "1,4";
+		remoteVersion++;
+
+		service.queueFavorite(QueryHelper.nodeById("2"), true);
+		service.queueFavorite(QueryHelper.nodeById("1"), false);
+		service.flushFavorites(new NullProgressMonitor());
+		assertEquals(Arrays.asList("2,4"), writes);
+		assertEquals(new HashSet<>(Arrays.asList("2", "4")), service.getLastFavoriteIds());
+		assertFalse(service.hasPendingFavorites());
+	}
+
+	@Test
+	public void testFailedWriteRestoresFavorites() throws Exception {
+		writeFailure = new IOException("simulated write failure");
+		try {
+			service.setFavorite(QueryHelper.nodeById("2"), true, new NullProgressMonitor());
+			fail();
+		} catch (IOException ex) {
+			//expected
+		}
+		assertEquals(new HashSet<>(Arrays.asList("1")), service.getLastFavoriteIds());
+		assertFalse(service.hasPendingFavorites());
+
+		service.queueFavorite(QueryHelper.nodeById("1"), false);
+		assertTrue(service.getLastFavoriteIds().isEmpty());
+		try {
+			service.flushFavorites(new NullProgressMonitor());
+			fail();
+		} catch (IOException ex) {
+			//expected
+		}
+		assertEquals(new HashSet<>(Arrays.asList("1")), service.getLastFavoriteIds());
+		assertFalse(service.hasPendingFavorites());
+		assertEquals("1", remoteContents);
+	}
+}
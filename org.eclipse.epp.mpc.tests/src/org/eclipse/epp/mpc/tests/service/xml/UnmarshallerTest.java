@@ -18,7 +18,9 @@ import static org.hamcrest.Matchers.containsString;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -402,6 +404,29 @@ public class UnmarshallerTest {
 		assertEquals("http://marketplace.eclipse.org/category/free-tagging/mylyn", tag.getUrl());
 	}
 
+	@Test
+	public void sharedValues() throws Exception {
+		ITag tag = ((Marketplace) processResource("resources/node.xml")).getNode().get(0).getTags().getTags().get(3);
+		ITag otherTag = ((Marketplace) processResource("resources/node.xml")).getNode()
+				.get(0)
+				.getTags()
+				.getTags()
+				.get(3);
+		assertNotSame(tag, otherTag);
+		assertSame(tag.getName(), otherTag.getName());
+		assertSame(tag.getUrl(), otherTag.getUrl());
+
+		INode node = ((Marketplace) processResource("resources/recent.xml")).getRecent().getNode().get(0);
+		INode other = ((Marketplace) processResource("resources/recent.xml")).getRecent().getNode().get(0);
+		assertNotSame(node, other);
+		assertSame(node.getCategories().getCategory().get(0).getName(),
+				other.getCategories().getCategory().get(0).getName());
+		assertSame(node.getIus().getIuElements().get(0).getId(), other.getIus().getIuElements().get(0).getId());
+		assertSame(node.getPlatforms().getPlatform().get(0), other.getPlatforms().getPlatform().get(0));
+		assertSame(node.getLicense(), other.getLicense());
+		assertSame(node.getUpdateurl(), other.getUpdateurl());
+	}
+
 	@Test
 	public void marketplaceCatalogs() throws IOException, UnmarshalException {
 		Object model = processResource("resources/catalogs.xml");
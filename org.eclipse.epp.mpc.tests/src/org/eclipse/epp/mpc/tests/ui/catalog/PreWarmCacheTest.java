@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.catalog;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.epp.internal.mpc.core.model.Catalog;
+import org.eclipse.epp.internal.mpc.core.model.Market;
+import org.eclipse.epp.internal.mpc.core.model.News;
+import org.eclipse.epp.internal.mpc.ui.catalog.PreWarmCache;
+import org.eclipse.epp.mpc.core.model.ICatalog;
+import org.eclipse.epp.mpc.core.model.IMarket;
+import org.junit.Test;
+
+public class PreWarmCacheTest {
+
+	private static final String MARKETPLACE_URL = "https://marketplace.example.org";
+
+	@Test
+	public void testFreshResults() {
+		PreWarmCache cache = new PreWarmCache(60 * 1000);
+		List<ICatalog> catalogs = Collections.<ICatalog> singletonList(new Catalog());
+		List<IMarket> markets = Collections.<IMarket> singletonList(new Market());
+		News news = new News();
+		cache.putCatalogs(catalogs);
+		cache.putMarketplace(MARKETPLACE_URL, markets, news);
+
+		assertSame(catalogs, cache.getCatalogs());
+		assertSame(markets, cache.getMarkets(MARKETPLACE_URL));
+		assertSame(news, cache.getNews(MARKETPLACE_URL));
+		assertNull(cache.getMarkets("https://other.example.org"));
+	}
+
+	@Test
+	public void testExpiredResults() throws Exception {
+		PreWarmCache cache = new PreWarmCache(50);
+		cache.putCatalogs(Collections.<ICatalog> singletonList(new Catalog()));
+		cache.putMarketplace(MARKETPLACE_URL, Collections.<IMarket> singletonList(new Market()), new News());
+		Thread.sleep(200);
+
+		assertNull(cache.getCatalogs());
+		assertNull(cache.getMarkets(MARKETPLACE_URL));
+		assertNull(cache.getNews(MARKETPLACE_URL));
+	}
+
+	@Test
+	public void testClear() {
+		PreWarmCache cache = new PreWarmCache(60 * 1000);
+		cache.putCatalogs(Collections.<ICatalog> singletonList(new Catalog()));
+		cache.putMarketplace(MARKETPLACE_URL, Collections.<IMarket> singletonList(new Market()), new News());
+		cache.clear();
+
+		assertNull(cache.getCatalogs());
+		assertNull(cache.getMarkets(MARKETPLACE_URL));
+	}
+}
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.epp.internal.mpc.ui.catalog.ResourceProvider;
+import org.eclipse.epp.internal.mpc.ui.catalog.ResourceProvider.ResourceFuture;
+import org.eclipse.epp.mpc.core.service.ITransport;
+import org.eclipse.epp.mpc.core.service.ITransportFactory;
+import org.eclipse.epp.mpc.core.service.ServiceHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.Constants;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceRegistration;
+
+public class ResourceProviderSchedulingTest {
+
+	private static final String BASE_URL = "https://icons.example.org/";
+
+	/**
+	 * Blocking downloads use a host of their own, so they don't use up the connections to {@link #BASE_URL}
+	 */
+	private static final String BLOCKER_BASE_URL = "https://slow.example.org/";
+
+	/**
+	 * Number of downloads the resource provider runs at the same time
+	 */
+	private static final int WORKERS = 4;
+
+	private final List<String> downloaded = Collections.synchronizedList(new ArrayList<>());
+
+	private final Map<String, CountDownLatch> gates = new ConcurrentHashMap<>();
+
+	private ServiceRegistration<ITransportFactory> registration;
+
+	private ResourceProvider resourceProvider;
+
+	@Before
+	public void setUp() throws Exception {
+		final ITransport transport = new ITransport() {
+
+			public InputStream stream(URI location, IProgressMonitor monitor) {
+				String name = location.getPath().substring(1);
+				CountDownLatch gate = gates.get(name);
+				if (gate != null) {
+					try {
+						gate.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				downloaded.add(name);
+				return new ByteArrayInputStream(name.getBytes(StandardCharsets.UTF_8));
+			}
+		};
+		registration = FrameworkUtil.getBundle(ResourceProviderSchedulingTest.class)
+				.getBundleContext()
+				.registerService(ITransportFactory.class, () -> transport,
+						new Hashtable<>(Collections.singletonMap(Constants.SERVICE_RANKING, Integer.MAX_VALUE)));
+		assertTrue(ServiceHelper.getTransportFactory().getTransport() == transport);
+		resourceProvider = new ResourceProvider();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (CountDownLatch gate : gates.values()) {
+			gate.countDown();
+		}
+		resourceProvider.dispose();
+		registration.unregister();
+	}
+
+	@Test
+	public void testExplicitThenVisibleThenDeferred() throws Exception {
+		CountDownLatch release = occupyWorkers();
+		ResourceFuture deferred1 = resourceProvider.scheduleResource("test", BASE_URL + "deferred1");
+		ResourceFuture deferred2 = resourceProvider.scheduleResource("test", BASE_URL + "deferred2");
+		ResourceFuture visible = resourceProvider.scheduleResource("test", BASE_URL + "visible");
+		resourceProvider.setVisibleResources(Collections.singleton(BASE_URL + "visible"));
+		ResourceFuture explicit = resourceProvider.retrieveResource("test", BASE_URL + "explicit");
+
+		release.countDown();
+		awaitAll(deferred1, deferred2, visible, explicit);
+		assertEquals(Arrays.asList("explicit", "visible", "deferred1", "deferred2"), downloadedAfterBlockers());
+	}
+
+	@Test
+	public void testNewQueryOvertakesPreviousDeferred() throws Exception {
+		CountDownLatch release = occupyWorkers();
+		ResourceFuture previous1 = resourceProvider.scheduleResource("test", BASE_URL + "previous1");
+		ResourceFuture previous2 = resourceProvider.scheduleResource("test", BASE_URL + "previous2");
+		resourceProvider.deprioritizeDeferredResources();
+		ResourceFuture current = resourceProvider.scheduleResource("test", BASE_URL + "current");
+
+		release.countDown();
+		awaitAll(previous1, previous2, current);
+		assertEquals(Arrays.asList("current", "previous1", "previous2"), downloadedAfterBlockers());
+	}
+
+	@Test
+	public void testRequestPromotesDeferred() throws Exception {
+		CountDownLatch release = occupyWorkers();
+		ResourceFuture deferred1 = resourceProvider.scheduleResource("test", BASE_URL + "deferred1");
+		ResourceFuture deferred2 = resourceProvider.scheduleResource("test", BASE_URL + "deferred2");
+		assertTrue(deferred2 == resourceProvider.retrieveResource("test", BASE_URL + "deferred2"));
+
+		release.countDown();
+		awaitAll(deferred1, deferred2);
+		assertEquals(Arrays.asList("deferred2", "deferred1"), downloadedAfterBlockers());
+	}
+
+	@Test
+	public void testSupersededDeferredAreCanceled() throws Exception {
+		CountDownLatch release = occupyWorkers();
+		ResourceFuture superseded = resourceProvider.scheduleResource("test", BASE_URL + "superseded");
+		ResourceFuture visible = resourceProvider.scheduleResource("test", BASE_URL + "visible");
+		ResourceFuture retained = resourceProvider.scheduleResource("test", BASE_URL + "retained");
+		ResourceFuture explicit = resourceProvider.retrieveResource("test", BASE_URL + "explicit");
+		resourceProvider.setVisibleResources(Collections.singleton(BASE_URL + "visible"));
+		resourceProvider.retainDeferredResources(Collections.singleton(BASE_URL + "retained"));
+
+		assertTrue(superseded.isCancelled());
+		assertFalse(resourceProvider.containsResource(BASE_URL + "superseded"));
+
+		release.countDown();
+		awaitAll(visible, retained, explicit);
+		assertEquals(Arrays.asList("explicit", "visible", "retained"), downloadedAfterBlockers());
+
+		// requested again later on, so it has to be downloaded after all
+		ResourceFuture requestedAgain = resourceProvider.retrieveResource("test", BASE_URL + "superseded");
+		awaitAll(requestedAgain);
+		assertTrue(downloaded.contains("superseded"));
+	}
+
+	/**
+	 * Block all download workers, so the following requests queue up. Releasing the returned latch frees a single
+	 * worker, which then downloads the queued resources one by one, in the order the scheduler picks them.
+	 */
+	private CountDownLatch occupyWorkers() throws Exception {
+		CountDownLatch first = null;
+		for (int i = 0; i < WORKERS; i++) {
+			CountDownLatch gate = new CountDownLatch(1);
+			if (first == null) {
+				first = gate;
+			}
+			gates.put("blocker" + i, gate);
+			resourceProvider.retrieveResource("test", BLOCKER_BASE_URL + "blocker" + i);
+		}
+		return first;
+	}
+
+	private List<String> downloadedAfterBlockers() {
+		List<String> result = new ArrayList<>();
+		synchronized (downloaded) {
+			for (String name : downloaded) {
+				if (!name.startsWith("blocker")) {
+					result.add(name);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void awaitAll(ResourceFuture... futures) throws Exception {
+		for (ResourceFuture future : futures) {
+			assertNotNull(future.get(10, TimeUnit.SECONDS));
+		}
+	}
+}
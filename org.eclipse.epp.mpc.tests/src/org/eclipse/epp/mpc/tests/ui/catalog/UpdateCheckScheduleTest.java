@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.epp.internal.mpc.ui.catalog.UpdateCheckSchedule;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.preference.PreferenceStore;
+import org.junit.Test;
+
+public class UpdateCheckScheduleTest {
+
+	@Test
+	public void testBackOffWhileUnchanged() {
+		UpdateCheckSchedule schedule = new UpdateCheckSchedule(10, 50);
+		assertTrue(schedule.checked(""));
+		assertEquals(10, schedule.getInterval());
+		assertFalse(schedule.checked(""));
+		assertEquals(20, schedule.getInterval());
+		assertFalse(schedule.checked(""));
+		assertEquals(40, schedule.getInterval());
+		assertFalse(schedule.checked(""));
+		assertEquals(50, schedule.getInterval());
+		assertFalse(schedule.checked(""));
+		assertEquals(50, schedule.getInterval());
+	}
+
+	@Test
+	public void testResetOnChange() {
+		UpdateCheckSchedule schedule = new UpdateCheckSchedule(10, 50);
+		schedule.checked("");
+		schedule.checked("");
+		assertEquals(20, schedule.getInterval());
+		assertTrue(schedule.checked("1234"));
+		assertEquals(10, schedule.getInterval());
+		assertFalse(schedule.checked("1234"));
+		assertTrue(schedule.checked(""));
+		assertEquals(10, schedule.getInterval());
+	}
+
+	@Test
+	public void testBackOffOnFailure() {
+		UpdateCheckSchedule schedule = new UpdateCheckSchedule(10, 50);
+		schedule.failed();
+		assertEquals(20, schedule.getInterval());
+		// a failure doesn't count as a change
+		assertTrue(schedule.checked("1234"));
+		schedule.failed();
+		assertFalse(schedule.checked("1234"));
+		assertEquals(40, schedule.getInterval());
+	}
+
+	@Test
+	public void testRestoredSchedule() {
+		IPreferenceStore preferences = new PreferenceStore();
+		AtomicLong clock = new AtomicLong(1000);
+		UpdateCheckSchedule schedule = new UpdateCheckSchedule(preferences, 10, 50, clock::get);
+		assertTrue(schedule.checked("1234"));
+		assertFalse(schedule.checked("1234"));
+		assertEquals(20, schedule.getInterval());
+
+		// next session
+		schedule = new UpdateCheckSchedule(preferences, 10, 50, clock::get);
+		assertEquals(20, schedule.getInterval());
+		// already announced in the last session
+		assertFalse(schedule.checked("1234"));
+		assertEquals(40, schedule.getInterval());
+		assertTrue(schedule.checked("12345"));
+	}
+
+	@Test
+	public void testDelayAcrossSessions() {
+		IPreferenceStore preferences = new PreferenceStore();
+		AtomicLong clock = new AtomicLong(1000);
+		UpdateCheckSchedule schedule = new UpdateCheckSchedule(preferences, 10, 50, clock::get);
+		assertEquals(0, schedule.getDelay());
+		schedule.failed();
+		assertEquals(20, schedule.getDelay());
+
+		clock.set(1005);
+		schedule = new UpdateCheckSchedule(preferences, 10, 50, clock::get);
+		assertEquals(15, schedule.getDelay());
+		clock.set(2000);
+		assertEquals(0, schedule.getDelay());
+	}
+}
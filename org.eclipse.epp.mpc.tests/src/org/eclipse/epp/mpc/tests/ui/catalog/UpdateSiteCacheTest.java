@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.epp.internal.mpc.ui.catalog.UpdateSiteCache;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class UpdateSiteCacheTest {
+
+	private static final URI SITE = URI.create("https://example.org/updates/");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testUnchangedFingerprint() throws Exception {
+		File file = new File(folder.getRoot(), "updateSites.properties");
+		UpdateSiteCache cache = new UpdateSiteCache(file);
+		cache.put(SITE, "content.jar=\"abc\";", versions());
+		cache.save();
+
+		UpdateSiteCache restored = new UpdateSiteCache(file);
+		assertEquals(versions(), restored.get(SITE, "content.jar=\"abc\";"));
+	}
+
+	@Test
+	public void testChangedFingerprint() throws Exception {
+		UpdateSiteCache cache = new UpdateSiteCache(new File(folder.getRoot(), "updateSites.properties"));
+		cache.put(SITE, "content.jar=\"abc\";", versions());
+		assertNull(cache.get(SITE, "content.jar=\"def\";"));
+		assertNull(cache.get(SITE, null));
+	}
+
+	@Test
+	public void testNoFingerprint() throws Exception {
+		UpdateSiteCache cache = new UpdateSiteCache(new File(folder.getRoot(), "updateSites.properties"));
+		cache.put(SITE, "content.jar=\"abc\";", versions());
+		cache.put(SITE, null, versions());
+		assertNull(cache.get(SITE, "content.jar=\"abc\";"));
+	}
+
+	@Test
+	public void testRecentResult() throws Exception {
+		UpdateSiteCache cache = new UpdateSiteCache(new File(folder.getRoot(), "updateSites.properties"));
+		assertNull(cache.getRecent(SITE));
+		cache.put(SITE, "content.jar=\"abc\";", versions());
+		assertEquals(versions(), cache.getRecent(SITE));
+	}
+
+	private static Map<String, Version> versions() {
+		Map<String, Version> versions = new HashMap<>();
+		versions.put("org.example.feature.group", Version.create("1.2.3.v20180101"));
+		versions.put("org.example.extras.feature.group", Version.create("2.0.0"));
+		return versions;
+	}
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.model.Node;
+import org.eclipse.epp.internal.mpc.core.model.SearchResult;
+import org.eclipse.epp.internal.mpc.core.model.Tag;
+import org.eclipse.epp.internal.mpc.core.model.Tags;
+import org.eclipse.epp.internal.mpc.ui.discovery.TagDiscoveryCache;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.service.IMarketplaceService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+public class TagDiscoveryCacheTest {
+
+	private static final String SUPPORTED_TAG = "fileExtension_foo";
+
+	private static final String UNSUPPORTED_TAG = "fileExtension_bar";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private IMarketplaceService marketplaceService;
+
+	private File file;
+
+	private Node node;
+
+	@Before
+	public void setUp() throws Exception {
+		file = new File(folder.getRoot(), "discoveryTags.properties");
+		node = new Node();
+		node.setId("1234");
+		node.setName("Foo Tools");
+		Tag tag = new Tag();
+		tag.setName(SUPPORTED_TAG);
+		Tags tags = new Tags();
+		tags.getTags().add(tag);
+		node.setTags(tags);
+
+		SearchResult result = new SearchResult();
+		result.setNodes(Collections.singletonList(node));
+		marketplaceService = mock(IMarketplaceService.class);
+		doReturn(new URL("https://marketplace.eclipse.org")).when(marketplaceService).getBaseUrl();
+		doReturn(result).when(marketplaceService).tagged(anyListOf(String.class), any(IProgressMonitor.class));
+		doReturn(Collections.singletonList(node)).when(marketplaceService)
+		.getNodes(anyCollectionOf(INode.class), any(IProgressMonitor.class));
+	}
+
+	@Test
+	public void testResultsAreCached() throws Exception {
+		TagDiscoveryCache cache = new TagDiscoveryCache(file, () -> marketplaceService, 0);
+		Map<String, List<INode>> result = cache.lookup(Arrays.asList(SUPPORTED_TAG, UNSUPPORTED_TAG),
+				new NullProgressMonitor());
+		assertEquals(Collections.singletonList(node), result.get(SUPPORTED_TAG));
+		assertTrue(result.get(UNSUPPORTED_TAG).isEmpty());
+
+		result = cache.lookup(Arrays.asList(SUPPORTED_TAG, UNSUPPORTED_TAG), new NullProgressMonitor());
+		assertEquals(Collections.singletonList(node), result.get(SUPPORTED_TAG));
+		assertTrue(result.get(UNSUPPORTED_TAG).isEmpty());
+		verify(marketplaceService, times(1)).tagged(anyListOf(String.class), any(IProgressMonitor.class));
+		assertEquals(1, cache.getQueryCount());
+	}
+
+	@Test
+	public void testResultsArePersisted() throws Exception {
+		new TagDiscoveryCache(file, () -> marketplaceService, 0)
+		.lookup(Arrays.asList(SUPPORTED_TAG, UNSUPPORTED_TAG), new NullProgressMonitor());
+
+		TagDiscoveryCache cache = new TagDiscoveryCache(file, () -> marketplaceService, 0);
+		assertTrue(cache.lookup(Collections.singleton(UNSUPPORTED_TAG), new NullProgressMonitor())
+				.get(UNSUPPORTED_TAG)
+				.isEmpty());
+		assertEquals(0, cache.getQueryCount());
+
+		// positive results are resolved by id
+		Map<String, List<INode>> result = cache.lookup(Collections.singleton(SUPPORTED_TAG),
+				new NullProgressMonitor());
+		assertEquals(Collections.singletonList(node), result.get(SUPPORTED_TAG));
+		verify(marketplaceService, times(1)).tagged(anyListOf(String.class), any(IProgressMonitor.class));
+		verify(marketplaceService, times(1)).getNodes(anyCollectionOf(INode.class), any(IProgressMonitor.class));
+	}
+
+	@Test
+	public void testConcurrentLookupsAreBatched() throws Exception {
+		TagDiscoveryCache cache = new TagDiscoveryCache(file, () -> marketplaceService, 500);
+		CompletableFuture<Map<String, List<INode>>> first = CompletableFuture.supplyAsync(
+				() -> lookup(cache, SUPPORTED_TAG));
+		Thread.sleep(100);
+		Map<String, List<INode>> second = lookup(cache, UNSUPPORTED_TAG);
+		assertEquals(Collections.singletonList(node), first.get().get(SUPPORTED_TAG));
+		assertTrue(second.get(UNSUPPORTED_TAG).isEmpty());
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<String>> tags = ArgumentCaptor.forClass(List.class);
+		verify(marketplaceService, times(1)).tagged(tags.capture(), any(IProgressMonitor.class));
+		assertEquals(new HashSet<>(Arrays.asList(SUPPORTED_TAG, UNSUPPORTED_TAG)), new HashSet<>(tags.getValue()));
+		verify(marketplaceService, never()).getNodes(anyCollectionOf(INode.class), any(IProgressMonitor.class));
+	}
+
+	@Test
+	public void testCanceledLookupDoesNotCancelBatch() throws Exception {
+		TagDiscoveryCache cache = new TagDiscoveryCache(file, () -> marketplaceService, 500);
+		NullProgressMonitor canceledMonitor = new NullProgressMonitor();
+		CompletableFuture<Map<String, List<INode>>> first = CompletableFuture.supplyAsync(
+				() -> lookup(cache, SUPPORTED_TAG, canceledMonitor));
+		Thread.sleep(100);
+		CompletableFuture<Map<String, List<INode>>> second = CompletableFuture.supplyAsync(
+				() -> lookup(cache, UNSUPPORTED_TAG, new NullProgressMonitor()));
+		Thread.sleep(100);
+		canceledMonitor.setCanceled(true);
+		try {
+			first.get();
+			fail("Expected cancellation");
+		} catch (ExecutionException e) {
+			assertEquals(IStatus.CANCEL, ((CoreException) e.getCause().getCause()).getStatus().getSeverity());
+		}
+		assertTrue(second.get().get(UNSUPPORTED_TAG).isEmpty());
+		verify(marketplaceService, times(1)).tagged(anyListOf(String.class), any(IProgressMonitor.class));
+	}
+
+	@Test
+	public void testUntaggedResultsAreQueriedPerTag() throws Exception {
+		node.setTags(null);
+		doAnswer(invocation -> {
+			List<?> tags = (List<?>) invocation.getArguments()[0];
+			SearchResult result = new SearchResult();
+			result.setNodes(tags.contains(SUPPORTED_TAG) ? Collections.singletonList(node) : Collections.emptyList());
+			return result;
+		}).when(marketplaceService).tagged(anyListOf(String.class), any(IProgressMonitor.class));
+
+		TagDiscoveryCache cache = new TagDiscoveryCache(file, () -> marketplaceService, 0);
+		Map<String, List<INode>> result = cache.lookup(Arrays.asList(SUPPORTED_TAG, UNSUPPORTED_TAG),
+				new NullProgressMonitor());
+		assertEquals(Collections.singletonList(node), result.get(SUPPORTED_TAG));
+		assertTrue(result.get(UNSUPPORTED_TAG).isEmpty());
+		verify(marketplaceService, times(3)).tagged(anyListOf(String.class), any(IProgressMonitor.class));
+		assertEquals(3, cache.getQueryCount());
+	}
+
+	@Test
+	public void testMarketplacesDoNotShareResults() throws Exception {
+		IMarketplaceService otherMarketplaceService = mock(IMarketplaceService.class);
+		doReturn(new URL("https://marketplace.example.org/")).when(otherMarketplaceService).getBaseUrl();
+		doReturn(new SearchResult()).when(otherMarketplaceService)
+		.tagged(anyListOf(String.class), any(IProgressMonitor.class));
+
+		AtomicReference<IMarketplaceService> currentService = new AtomicReference<>(marketplaceService);
+		TagDiscoveryCache cache = new TagDiscoveryCache(file, currentService::get, 0);
+		assertEquals(Collections.singletonList(node), lookup(cache, SUPPORTED_TAG).get(SUPPORTED_TAG));
+
+		currentService.set(otherMarketplaceService);
+		assertTrue(lookup(cache, SUPPORTED_TAG).get(SUPPORTED_TAG).isEmpty());
+		verify(otherMarketplaceService, times(1)).tagged(anyListOf(String.class), any(IProgressMonitor.class));
+
+		// both results are kept side by side
+		currentService.set(marketplaceService);
+		assertEquals(Collections.singletonList(node), lookup(cache, SUPPORTED_TAG).get(SUPPORTED_TAG));
+		assertEquals(2, cache.getQueryCount());
+
+		// ...and persisted separately
+		cache = new TagDiscoveryCache(file, () -> otherMarketplaceService, 0);
+		assertTrue(lookup(cache, SUPPORTED_TAG).get(SUPPORTED_TAG).isEmpty());
+		assertEquals(0, cache.getQueryCount());
+	}
+
+	@Test
+	public void testEntriesWithoutMarketplaceAreIgnored() throws Exception {
+		Properties properties = new Properties();
+		properties.setProperty(SUPPORTED_TAG, System.currentTimeMillis() + ";");
+		try (OutputStream out = new FileOutputStream(file)) {
+			properties.store(out, null);
+		}
+
+		TagDiscoveryCache cache = new TagDiscoveryCache(file, () -> marketplaceService, 0);
+		assertEquals(Collections.singletonList(node), lookup(cache, SUPPORTED_TAG).get(SUPPORTED_TAG));
+		assertEquals(1, cache.getQueryCount());
+	}
+
+	private static Map<String, List<INode>> lookup(TagDiscoveryCache cache, String tag) {
+		return lookup(cache, tag, new NullProgressMonitor());
+	}
+
+	private static Map<String, List<INode>> lookup(TagDiscoveryCache cache, String tag, IProgressMonitor monitor) {
+		try {
+			return cache.lookup(Collections.singleton(tag), monitor);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Priority;
+import org.eclipse.epp.internal.mpc.ui.operations.AbstractProvisioningOperation;
+import org.eclipse.equinox.internal.p2.discovery.model.CatalogItem;
+import org.eclipse.equinox.p2.core.ProvisionException;
+import org.junit.Test;
+
+public class ConcurrentRepositoryTaskTest {
+
+	private static final URI FIRST = URI.create("https://one.example.org/repository");
+
+	private static final URI SECOND = URI.create("https://two.example.org/repository");
+
+	private static final URI THIRD = URI.create("https://three.example.org/repository");
+
+	/**
+	 * Exposes {@link AbstractProvisioningOperation#runConcurrently} for testing
+	 */
+	private static class TestOperation extends AbstractProvisioningOperation {
+
+		interface Task<T> {
+			T run(URI repository, IProgressMonitor monitor) throws Exception;
+		}
+
+		public TestOperation() {
+			super(Collections.singletonList(new CatalogItem()));
+		}
+
+		public <T> List<T> run(Collection<URI> repositories, Task<T> task, IProgressMonitor monitor,
+				Map<URI, Throwable> failures) {
+			return runConcurrently(repositories, Function.identity(), task::run, SubMonitor.convert(monitor),
+					failures);
+		}
+
+		@Override
+		public void run(IProgressMonitor monitor) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	@Test
+	public void testRepositoriesAreLoadedConcurrently() throws Exception {
+		CountDownLatch allRunning = new CountDownLatch(3);
+		Map<URI, Throwable> failures = new LinkedHashMap<>();
+		List<String> results = new TestOperation().run(Arrays.asList(FIRST, SECOND, THIRD), (repository, monitor) -> {
+			allRunning.countDown();
+			if (!allRunning.await(10, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Not run concurrently");
+			}
+			return repository.getHost();
+		}, new NullProgressMonitor(), failures);
+		assertEquals(Arrays.asList("one.example.org", "two.example.org", "three.example.org"), results);
+		assertTrue(failures.isEmpty());
+	}
+
+	@Test
+	public void testFailureDoesNotAffectOthers() throws Exception {
+		ProvisionException failure = new ProvisionException("simulated failure");
+		Map<URI, Throwable> failures = new LinkedHashMap<>();
+		List<String> results = new TestOperation().run(Arrays.asList(FIRST, SECOND, THIRD), (repository, monitor) -> {
+			if (repository == SECOND) {
+				throw failure;
+			}
+			return repository.getHost();
+		}, new NullProgressMonitor(), failures);
+		assertEquals(Arrays.asList("one.example.org", "three.example.org"), results);
+		assertEquals(Collections.singletonMap(SECOND, failure), failures);
+	}
+
+	@Test
+	public void testCancellationStopsAllTasks() throws Exception {
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		CountDownLatch allRunning = new CountDownLatch(3);
+		CountDownLatch allCanceled = new CountDownLatch(3);
+		new Thread(() -> {
+			try {
+				if (allRunning.await(10, TimeUnit.SECONDS)) {
+					monitor.setCanceled(true);
+				}
+			} catch (InterruptedException e) {
+				// test fails below
+			}
+		}).start();
+		try {
+			new TestOperation().run(Arrays.asList(FIRST, SECOND, THIRD), (repository, taskMonitor) -> {
+				allRunning.countDown();
+				long timeout = System.currentTimeMillis() + 10000;
+				while (!taskMonitor.isCanceled() && System.currentTimeMillis() < timeout) {
+					Thread.sleep(10);
+				}
+				if (taskMonitor.isCanceled()) {
+					allCanceled.countDown();
+				}
+				return null;
+			}, monitor, new LinkedHashMap<>());
+			fail("Expected cancellation");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		assertTrue(allCanceled.await(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testTasksRunWithCallerPriority() throws Exception {
+		Priority previousPriority = IOTaskExecutor.setCurrentPriority(Priority.BACKGROUND);
+		try {
+			List<Priority> results = new TestOperation().run(Arrays.asList(FIRST, SECOND),
+					(repository, monitor) -> IOTaskExecutor.getCurrentPriority(), new NullProgressMonitor(),
+					new LinkedHashMap<>());
+			assertEquals(Arrays.asList(Priority.BACKGROUND, Priority.BACKGROUND), results);
+		} finally {
+			IOTaskExecutor.setCurrentPriority(previousPriority);
+		}
+	}
+
+	@Test
+	public void testSameHostIsLimited() throws Exception {
+		int maxPerHost = IOTaskExecutor.getDefault().getMaxPerHost();
+		List<URI> repositories = new ArrayList<>();
+		for (int i = 0; i < maxPerHost + 2; i++) {
+			repositories.add(URI.create("https://one.example.org/repository" + i));
+		}
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		List<URI> results = new TestOperation().run(repositories, (repository, monitor) -> {
+			int current = running.incrementAndGet();
+			maxRunning.accumulateAndGet(current, Math::max);
+			try {
+				Thread.sleep(50);
+			} finally {
+				running.decrementAndGet();
+			}
+			return repository;
+		}, new NullProgressMonitor(), new LinkedHashMap<>());
+		assertEquals(repositories, results);
+		assertTrue(maxRunning.get() <= maxPerHost);
+	}
+}
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.ui.operations.ConcurrentResolution;
+import org.junit.Test;
+
+public class ConcurrentResolutionTest {
+
+	private static final String FAILED = "failed";
+
+	@Test
+	public void testPreferredCandidateWins() throws Exception {
+		CountDownLatch lessPreferredDone = new CountDownLatch(1);
+		ConcurrentResolution<String> resolution = new ConcurrentResolution<>(ConcurrentResolutionTest::isAcceptable, 2);
+		resolution.add(monitor -> {
+			// succeed only after the less preferred candidate succeeded
+			try {
+				lessPreferredDone.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new OperationCanceledException();
+			}
+			return "selected";
+		}).add(monitor -> {
+			lessPreferredDone.countDown();
+			return "all";
+		});
+		assertEquals("selected", resolution.run(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testFallbackToLessPreferredCandidate() throws Exception {
+		ConcurrentResolution<String> resolution = new ConcurrentResolution<>(ConcurrentResolutionTest::isAcceptable, 2);
+		resolution.add(monitor -> FAILED).add(monitor -> "all");
+		assertEquals("all", resolution.run(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testNoAcceptableCandidate() throws Exception {
+		ConcurrentResolution<String> resolution = new ConcurrentResolution<>(result -> false, 2);
+		resolution.add(monitor -> "selected").add(monitor -> "all");
+		assertEquals("all", resolution.run(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testLosersAreCanceled() throws Exception {
+		AtomicBoolean loserCanceled = new AtomicBoolean();
+		AtomicBoolean notStartedRun = new AtomicBoolean();
+		CountDownLatch loserStarted = new CountDownLatch(1);
+		ConcurrentResolution<String> resolution = new ConcurrentResolution<>(ConcurrentResolutionTest::isAcceptable, 2);
+		resolution.add(monitor -> {
+			// only win once the loser is running
+			try {
+				loserStarted.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new OperationCanceledException();
+			}
+			return "selected";
+		}).add(monitor -> {
+			loserStarted.countDown();
+			loserCanceled.set(waitForCancel(monitor));
+			return FAILED;
+		}).add(monitor -> {
+			notStartedRun.set(true);
+			return FAILED;
+		});
+		assertEquals("selected", resolution.run(new NullProgressMonitor()));
+		Thread.sleep(500);
+		assertTrue(loserCanceled.get());
+		assertFalse(notStartedRun.get());
+	}
+
+	@Test
+	public void testBoundedConcurrency() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		ConcurrentResolution<String> resolution = new ConcurrentResolution<>(ConcurrentResolutionTest::isAcceptable, 2);
+		for (int i = 0; i < 5; i++) {
+			resolution.add(monitor -> {
+				int current = running.incrementAndGet();
+				maxRunning.accumulateAndGet(current, Math::max);
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					throw new OperationCanceledException();
+				} finally {
+					running.decrementAndGet();
+				}
+				return FAILED;
+			});
+		}
+		assertEquals(FAILED, resolution.run(new NullProgressMonitor()));
+		assertEquals(2, maxRunning.get());
+	}
+
+	@Test
+	public void testFailureOfPreferredCandidate() throws Exception {
+		CoreException failure = new CoreException(new Status(IStatus.ERROR, "test", FAILED));
+		ConcurrentResolution<String> resolution = new ConcurrentResolution<>(ConcurrentResolutionTest::isAcceptable, 2);
+		resolution.add(monitor -> {
+			throw failure;
+		}).add(monitor -> "all");
+		try {
+			resolution.run(new NullProgressMonitor());
+			fail("Expected failure");
+		} catch (CoreException e) {
+			assertSame(failure, e);
+		}
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean candidateCanceled = new AtomicBoolean();
+		ConcurrentResolution<String> resolution = new ConcurrentResolution<>(ConcurrentResolutionTest::isAcceptable, 2);
+		resolution.add(monitor -> {
+			started.countDown();
+			candidateCanceled.set(waitForCancel(monitor));
+			return FAILED;
+		});
+		NullProgressMonitor monitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				// cancel as soon as the candidate is running
+				return started.getCount() == 0;
+			}
+		};
+		try {
+			resolution.run(monitor);
+			fail("Expected cancellation");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		Thread.sleep(500);
+		assertTrue(candidateCanceled.get());
+	}
+
+	@Test
+	public void testMemoryBoundConcurrency() {
+		assertEquals(1, ConcurrentResolution.computeMemoryBoundConcurrency(1));
+		int concurrency = ConcurrentResolution.computeMemoryBoundConcurrency(3);
+		assertTrue(concurrency >= 1 && concurrency <= 3);
+	}
+
+	private static boolean isAcceptable(String result) {
+		return !FAILED.equals(result);
+	}
+
+	private static boolean waitForCancel(IProgressMonitor monitor) {
+		for (int i = 0; i < 100; i++) {
+			if (monitor.isCanceled()) {
+				return true;
+			}
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				return monitor.isCanceled();
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.ui.operations.RepositoryLeaseManager;
+import org.eclipse.epp.internal.mpc.ui.operations.RepositoryLeaseManager.Statistics;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactRepositoryManager;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepositoryManager;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RepositoryLeaseManagerTest {
+
+	private static final URI LOCATION = URI.create("https://example.org/updates");
+
+	private IMetadataRepositoryManager metadataRepositoryManager;
+
+	private IArtifactRepositoryManager artifactRepositoryManager;
+
+	@Before
+	public void setUp() {
+		metadataRepositoryManager = mock(IMetadataRepositoryManager.class);
+		artifactRepositoryManager = mock(IArtifactRepositoryManager.class);
+	}
+
+	@Test
+	public void testUnknownRepositoryIsRemoved() {
+		RepositoryLeaseManager leaseManager = new RepositoryLeaseManager(metadataRepositoryManager,
+				artifactRepositoryManager, 0);
+		leaseManager.acquire(LOCATION);
+		verify(artifactRepositoryManager).addRepository(LOCATION);
+		verify(metadataRepositoryManager).addRepository(LOCATION);
+		assertTrue(leaseManager.isLeased(LOCATION));
+
+		leaseManager.release(LOCATION);
+		verify(metadataRepositoryManager).removeRepository(LOCATION);
+		verify(artifactRepositoryManager).removeRepository(LOCATION);
+		assertFalse(leaseManager.isLeased(LOCATION));
+	}
+
+	@Test
+	public void testKnownRepositoriesAreRestored() {
+		when(metadataRepositoryManager.contains(LOCATION)).thenReturn(true);
+		when(metadataRepositoryManager.isEnabled(LOCATION)).thenReturn(true);
+		when(artifactRepositoryManager.contains(LOCATION)).thenReturn(true);
+		when(artifactRepositoryManager.isEnabled(LOCATION)).thenReturn(false);
+		RepositoryLeaseManager leaseManager = new RepositoryLeaseManager(metadataRepositoryManager,
+				artifactRepositoryManager, 0);
+		leaseManager.acquire(LOCATION);
+		leaseManager.release(LOCATION);
+		verify(metadataRepositoryManager, never()).removeRepository(LOCATION);
+		verify(metadataRepositoryManager, never()).setEnabled(any(URI.class), anyBoolean());
+		verify(artifactRepositoryManager, never()).removeRepository(LOCATION);
+		verify(artifactRepositoryManager).setEnabled(LOCATION, false);
+	}
+
+	@Test
+	public void testLeasesAreCounted() {
+		RepositoryLeaseManager leaseManager = new RepositoryLeaseManager(metadataRepositoryManager,
+				artifactRepositoryManager, 0);
+		leaseManager.acquire(LOCATION);
+		leaseManager.acquire(LOCATION);
+		verify(metadataRepositoryManager, times(1)).addRepository(LOCATION);
+
+		leaseManager.release(LOCATION);
+		verify(metadataRepositoryManager, never()).removeRepository(LOCATION);
+		leaseManager.release(LOCATION);
+		verify(metadataRepositoryManager).removeRepository(LOCATION);
+
+		Statistics statistics = leaseManager.getStatistics();
+		assertEquals(2, statistics.getLeases());
+		assertEquals(1, statistics.getWarmLeases());
+	}
+
+	@Test
+	public void testGracePeriod() throws Exception {
+		RepositoryLeaseManager leaseManager = new RepositoryLeaseManager(metadataRepositoryManager,
+				artifactRepositoryManager, 60 * 1000);
+		leaseManager.acquire(LOCATION);
+		leaseManager.release(LOCATION);
+		//leased again within the grace period
+		leaseManager.acquire(LOCATION);
+		runReleaseJobs(leaseManager);
+		verify(metadataRepositoryManager, never()).removeRepository(LOCATION);
+		verify(metadataRepositoryManager, times(1)).addRepository(LOCATION);
+		assertEquals(1, leaseManager.getStatistics().getWarmLeases());
+
+		leaseManager.release(LOCATION);
+		assertTrue(leaseManager.isLeased(LOCATION));
+		verify(metadataRepositoryManager, never()).removeRepository(LOCATION);
+		runReleaseJobs(leaseManager);
+		verify(metadataRepositoryManager).removeRepository(LOCATION);
+		assertFalse(leaseManager.isLeased(LOCATION));
+	}
+
+	@Test
+	public void testImmediateRelease() {
+		RepositoryLeaseManager leaseManager = new RepositoryLeaseManager(metadataRepositoryManager,
+				artifactRepositoryManager, 60 * 1000);
+		leaseManager.acquire(LOCATION);
+		leaseManager.release(LOCATION, true);
+		verify(metadataRepositoryManager).removeRepository(LOCATION);
+	}
+
+	@Test
+	public void testLoadedRepositoryIsReused() throws Exception {
+		IMetadataRepository repository = mock(IMetadataRepository.class);
+		when(metadataRepositoryManager.loadRepository(any(URI.class), any(IProgressMonitor.class)))
+		.thenReturn(repository);
+		RepositoryLeaseManager leaseManager = new RepositoryLeaseManager(metadataRepositoryManager,
+				artifactRepositoryManager, 60 * 1000);
+		leaseManager.acquire(LOCATION);
+		assertSame(repository, leaseManager.loadMetadataRepository(LOCATION, new NullProgressMonitor()));
+		leaseManager.release(LOCATION);
+
+		leaseManager.acquire(LOCATION);
+		assertSame(repository, leaseManager.loadMetadataRepository(LOCATION, new NullProgressMonitor()));
+		verify(metadataRepositoryManager, times(1)).loadRepository(any(URI.class), any(IProgressMonitor.class));
+
+		Statistics statistics = leaseManager.getStatistics();
+		assertEquals(2, statistics.getLoads());
+		assertEquals(1, statistics.getLoadHits());
+		leaseManager.releaseAll();
+		verify(metadataRepositoryManager).removeRepository(LOCATION);
+	}
+
+	@Test
+	public void testKeep() {
+		RepositoryLeaseManager leaseManager = new RepositoryLeaseManager(metadataRepositoryManager,
+				artifactRepositoryManager, 0);
+		leaseManager.acquire(LOCATION);
+		leaseManager.keep(LOCATION);
+		leaseManager.release(LOCATION);
+		leaseManager.releaseAll();
+		verify(metadataRepositoryManager, never()).removeRepository(LOCATION);
+		assertFalse(leaseManager.isLeased(LOCATION));
+	}
+
+	/**
+	 * Run pending releases now instead of waiting for the grace period to pass
+	 */
+	private static void runReleaseJobs(RepositoryLeaseManager leaseManager) throws InterruptedException {
+		Job.getJobManager().wakeUp(leaseManager);
+		Job.getJobManager().join(leaseManager, null);
+	}
+}
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.wizard;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.ui.operations.ProfileChangeOperationComputer;
+import org.eclipse.epp.internal.mpc.ui.wizards.SpeculativeResolver;
+import org.eclipse.equinox.p2.operations.ProfileChangeOperation;
+import org.junit.After;
+import org.junit.Test;
+
+public class SpeculativeResolverTest {
+
+	private static final long DELAY = 50;
+
+	private SpeculativeResolver resolver;
+
+	@After
+	public void tearDown() {
+		if (resolver != null) {
+			resolver.discard();
+		}
+	}
+
+	@Test
+	public void testResolutionIsTakenOver() throws Exception {
+		ProfileChangeOperationComputer computer = mockComputer("a");
+		resolver = new SpeculativeResolver(() -> true, () -> computer, DELAY);
+		resolver.selectionChanged();
+		verify(computer, timeout(10000)).run(any(IProgressMonitor.class));
+
+		assertTrue(resolver.take("a") == computer);
+		assertTrue(resolver.join(new NullProgressMonitor()));
+		verify(computer).setInteractive(false);
+	}
+
+	@Test
+	public void testTakeStartsPendingResolution() throws Exception {
+		ProfileChangeOperationComputer computer = mockComputer("a");
+		//the selection would have to settle for much longer than the test runs
+		resolver = new SpeculativeResolver(() -> true, () -> computer, 60000);
+		resolver.selectionChanged();
+
+		assertTrue(resolver.take("a") == computer);
+		assertTrue(resolver.join(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testOtherKeyIsNotTakenOver() throws Exception {
+		ProfileChangeOperationComputer computer = mockComputer("a");
+		resolver = new SpeculativeResolver(() -> true, () -> computer, DELAY);
+		resolver.selectionChanged();
+
+		assertNull(resolver.take("b"));
+		assertFalse(resolver.join(new NullProgressMonitor()));
+		//discarded resolutions are taken only once
+		assertNull(resolver.take("a"));
+	}
+
+	@Test
+	public void testSelectionChangeCancelsResolution() throws Exception {
+		ProfileChangeOperationComputer first = mockComputer("a");
+		CountDownLatch firstStarted = new CountDownLatch(1);
+		CountDownLatch firstCanceled = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			firstStarted.countDown();
+			waitForCancel((IProgressMonitor) invocation.getArguments()[0], firstCanceled);
+			return null;
+		}).when(first).run(any(IProgressMonitor.class));
+		ProfileChangeOperationComputer second = mockComputer("b");
+		Iterator<ProfileChangeOperationComputer> computers = Arrays.asList(first, second).iterator();
+		resolver = new SpeculativeResolver(() -> true, computers::next, DELAY);
+
+		resolver.selectionChanged();
+		assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+		resolver.selectionChanged();
+		assertTrue(firstCanceled.await(10, TimeUnit.SECONDS));
+		verify(first, timeout(10000)).getAddedRepositoryLocations();
+
+		assertTrue(resolver.take("b") == second);
+		assertTrue(resolver.join(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testProfileChangeDuringResolutionIsDetected() throws Exception {
+		ProfileChangeOperationComputer computer = mockComputer("a");
+		//something else got installed while resolving
+		when(computer.computeResolutionKey()).thenReturn("a", "changed");
+		resolver = new SpeculativeResolver(() -> true, () -> computer, DELAY);
+		resolver.selectionChanged();
+
+		assertTrue(resolver.take("a") == computer);
+		assertFalse(resolver.join(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testFailedResolutionHasToBeRepeated() throws Exception {
+		ProfileChangeOperationComputer computer = mockComputer("a");
+		when(computer.getOperation()).thenReturn(null);
+		resolver = new SpeculativeResolver(() -> true, () -> computer, DELAY);
+		resolver.selectionChanged();
+
+		assertTrue(resolver.take("a") == computer);
+		assertFalse(resolver.join(new NullProgressMonitor()));
+	}
+
+	@Test
+	public void testUnviableSelectionIsNotResolved() throws Exception {
+		ProfileChangeOperationComputer computer = mockComputer("a");
+		resolver = new SpeculativeResolver(() -> false, () -> computer, DELAY);
+		resolver.selectionChanged();
+
+		assertNull(resolver.take("a"));
+		Thread.sleep(2 * DELAY);
+		verify(computer, never()).run(any(IProgressMonitor.class));
+	}
+
+	@Test
+	public void testCanceledJoinStopsResolution() throws Exception {
+		ProfileChangeOperationComputer computer = mockComputer("a");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch canceled = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			started.countDown();
+			waitForCancel((IProgressMonitor) invocation.getArguments()[0], canceled);
+			return null;
+		}).when(computer).run(any(IProgressMonitor.class));
+		resolver = new SpeculativeResolver(() -> true, () -> computer, DELAY);
+		resolver.selectionChanged();
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+
+		assertTrue(resolver.take("a") == computer);
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			resolver.join(monitor);
+			fail("Expected cancellation");
+		} catch (InterruptedException e) {
+			// expected
+		}
+		assertTrue(canceled.await(10, TimeUnit.SECONDS));
+	}
+
+	private static ProfileChangeOperationComputer mockComputer(Object key) {
+		ProfileChangeOperationComputer computer = mock(ProfileChangeOperationComputer.class);
+		when(computer.computeResolutionKey()).thenReturn(key);
+		when(computer.getOperation()).thenReturn(mock(ProfileChangeOperation.class));
+		return computer;
+	}
+
+	private static void waitForCancel(IProgressMonitor monitor, CountDownLatch canceled) {
+		long timeout = System.currentTimeMillis() + 10000;
+		while (!monitor.isCanceled() && System.currentTimeMillis() < timeout) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		if (monitor.isCanceled()) {
+			canceled.countDown();
+		}
+	}
+}
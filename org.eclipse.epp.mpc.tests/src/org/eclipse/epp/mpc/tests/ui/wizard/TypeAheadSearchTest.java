@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.wizard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.ui.wizards.TypeAheadSearch;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TypeAheadSearchTest {
+
+	private Display display;
+
+	private TypeAheadSearch typeAheadSearch;
+
+	private final List<String> applied = Collections.synchronizedList(new ArrayList<>());
+
+	@Before
+	public void setUp() {
+		display = Display.getCurrent();
+		assertNotNull("Test must run in the UI thread", display);
+		typeAheadSearch = new TypeAheadSearch(display);
+	}
+
+	@After
+	public void tearDown() {
+		typeAheadSearch.cancel();
+	}
+
+	@Test
+	public void testSearchStartsOnceTypingPauses() throws Exception {
+		List<String> started = new ArrayList<>();
+		for (String text : Arrays.asList("f", "fo", "foo")) {
+			typeAheadSearch.schedule(() -> started.add(text));
+		}
+		assertTrue(started.isEmpty());
+
+		waitUntil(() -> !started.isEmpty());
+		// give the replaced searches a chance to show up if they haven't been skipped
+		spin(2 * TypeAheadSearch.DEBOUNCE_DELAY);
+		assertEquals(Arrays.asList("foo"), started);
+		assertEquals(2, typeAheadSearch.getDebouncedCount());
+	}
+
+	@Test
+	public void testSupersededSearchIsCanceled() throws Exception {
+		CountDownLatch firstStarted = new CountDownLatch(1);
+		CountDownLatch firstCanceled = new CountDownLatch(1);
+		typeAheadSearch.run("first", monitor -> {
+			firstStarted.countDown();
+			return waitForCancel(monitor, firstCanceled);
+		}, () -> applied.add("first"));
+		assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+
+		typeAheadSearch.run("second", monitor -> Status.OK_STATUS, () -> applied.add("second"));
+		assertTrue(firstCanceled.await(10, TimeUnit.SECONDS));
+
+		waitUntil(() -> typeAheadSearch.getAppliedCount() == 1);
+		assertEquals(Arrays.asList("second"), applied);
+		assertEquals(1, typeAheadSearch.getSupersededCount());
+	}
+
+	@Test
+	public void testOnlyLatestResultIsApplied() throws Exception {
+		// the first search ignores cancellation and finishes after it has been replaced
+		CountDownLatch firstStarted = new CountDownLatch(1);
+		CountDownLatch releaseFirst = new CountDownLatch(1);
+		CountDownLatch firstDone = new CountDownLatch(1);
+		typeAheadSearch.run("first", monitor -> {
+			firstStarted.countDown();
+			try {
+				releaseFirst.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				firstDone.countDown();
+			}
+			return Status.OK_STATUS;
+		}, () -> applied.add("first"));
+		assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+		CountDownLatch releaseSecond = new CountDownLatch(1);
+		typeAheadSearch.run("second", monitor -> {
+			try {
+				releaseSecond.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return Status.OK_STATUS;
+		}, () -> applied.add("second"));
+
+		releaseFirst.countDown();
+		assertTrue(firstDone.await(10, TimeUnit.SECONDS));
+		releaseSecond.countDown();
+		waitUntil(() -> typeAheadSearch.getAppliedCount() == 1);
+		spin(100);
+		assertEquals(Arrays.asList("second"), applied);
+	}
+
+	@Test
+	public void testCanceledSearchIsNotApplied() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch canceled = new CountDownLatch(1);
+		typeAheadSearch.run("foo", monitor -> {
+			started.countDown();
+			return waitForCancel(monitor, canceled);
+		}, () -> applied.add("foo"));
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+
+		// e.g. an explicit query replaces the type-ahead search
+		typeAheadSearch.cancel();
+		assertTrue(canceled.await(10, TimeUnit.SECONDS));
+		spin(100);
+		assertTrue(applied.isEmpty());
+		assertEquals(0, typeAheadSearch.getAppliedCount());
+	}
+
+	@Test
+	public void testCancelBeforeTypingPauses() throws Exception {
+		List<String> started = new ArrayList<>();
+		typeAheadSearch.schedule(() -> started.add("foo"));
+		typeAheadSearch.cancel();
+		spin(2 * TypeAheadSearch.DEBOUNCE_DELAY);
+		assertTrue(started.isEmpty());
+		assertEquals(1, typeAheadSearch.getDebouncedCount());
+	}
+
+	private static IStatus waitForCancel(IProgressMonitor monitor, CountDownLatch canceled) {
+		long timeout = System.currentTimeMillis() + 10000;
+		while (!monitor.isCanceled() && System.currentTimeMillis() < timeout) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		if (monitor.isCanceled()) {
+			canceled.countDown();
+			return Status.CANCEL_STATUS;
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Process UI events until the given condition holds, since results are applied in the UI thread.
+	 */
+	private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 10000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > timeout) {
+				fail("Timed out waiting for search");
+			}
+			if (!display.readAndDispatch()) {
+				Thread.sleep(10);
+			}
+		}
+	}
+
+	private void spin(long millis) throws InterruptedException {
+		long end = System.currentTimeMillis() + millis;
+		waitUntil(() -> System.currentTimeMillis() >= end);
+	}
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.wizard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.ui.wizards.WizardBootstrap;
+import org.eclipse.epp.internal.mpc.ui.wizards.WizardBootstrap.Phase;
+import org.eclipse.jface.operation.IRunnableContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WizardBootstrapTest {
+
+	private static final IRunnableContext CONTEXT = (fork, cancelable, runnable) -> runnable
+			.run(new NullProgressMonitor());
+
+	private WizardBootstrap bootstrap;
+
+	@Before
+	public void setUp() {
+		bootstrap = new WizardBootstrap();
+	}
+
+	@After
+	public void tearDown() {
+		bootstrap.cancel();
+	}
+
+	@Test
+	public void testPhasesRunConcurrently() throws Exception {
+		final CountDownLatch running = new CountDownLatch(2);
+		WizardBootstrap.Task<Boolean> task = monitor -> {
+			running.countDown();
+			return running.await(5, TimeUnit.SECONDS);
+		};
+		bootstrap.start(Phase.NEWS, task);
+		bootstrap.start(Phase.MARKETS, task);
+		assertTrue(bootstrap.<Boolean> await(Phase.NEWS, CONTEXT));
+		assertTrue(bootstrap.<Boolean> await(Phase.MARKETS, CONTEXT));
+	}
+
+	@Test
+	public void testDependentPhaseWaits() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final CompletableFuture<String> markets = bootstrap.start(Phase.MARKETS, monitor -> {
+			release.await();
+			return "markets";
+		});
+		CompletableFuture<String> content = bootstrap.start(Phase.CONTENT, monitor -> markets.getNow(null) + " content",
+				markets);
+		Thread.sleep(200);
+		assertFalse(content.isDone());
+		release.countDown();
+		assertEquals("markets content", bootstrap.await(Phase.CONTENT, CONTEXT));
+	}
+
+	@Test
+	public void testDependentPhaseRunsAfterFailure() throws Exception {
+		CompletableFuture<String> markets = bootstrap.start(Phase.MARKETS, monitor -> {
+			throw new IOException("offline");
+		});
+		bootstrap.start(Phase.CONTENT, monitor -> markets.isCompletedExceptionally() ? "fallback" : "prefetched",
+				markets);
+		assertEquals("fallback", bootstrap.await(Phase.CONTENT, CONTEXT));
+	}
+
+	@Test
+	public void testFailure() throws Exception {
+		final IOException failure = new IOException("offline");
+		bootstrap.start(Phase.NEWS, monitor -> {
+			throw failure;
+		});
+		try {
+			bootstrap.await(Phase.NEWS, CONTEXT);
+			fail();
+		} catch (InvocationTargetException e) {
+			assertSame(failure, e.getCause());
+		}
+	}
+
+	@Test
+	public void testCancelledWait() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch cancelled = new CountDownLatch(1);
+		bootstrap.start(Phase.CATALOGS, monitor -> {
+			started.countDown();
+			while (!monitor.isCanceled()) {
+				Thread.sleep(10);
+			}
+			cancelled.countDown();
+			return null;
+		});
+		IRunnableContext cancellingContext = (fork, cancelable, runnable) -> {
+			// a phase that hasn't started yet is skipped instead
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			IProgressMonitor monitor = new NullProgressMonitor();
+			monitor.setCanceled(true);
+			runnable.run(monitor);
+		};
+		try {
+			bootstrap.await(Phase.CATALOGS, cancellingContext);
+			fail();
+		} catch (InterruptedException e) {
+			// expected
+		}
+		assertTrue(bootstrap.isCancelled());
+		assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testCompletedPhaseDoesNotWait() throws Exception {
+		CompletableFuture<String> news = bootstrap.start(Phase.NEWS, monitor -> "news");
+		news.get(5, TimeUnit.SECONDS);
+		IRunnableContext failingContext = (fork, cancelable, runnable) -> fail();
+		assertEquals("news", bootstrap.await(Phase.NEWS, failingContext));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testStartTwice() {
+		bootstrap.start(Phase.NEWS, monitor -> null);
+		bootstrap.start(Phase.NEWS, monitor -> null);
+	}
+}
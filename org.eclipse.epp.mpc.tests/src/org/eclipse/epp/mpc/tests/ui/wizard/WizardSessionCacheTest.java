@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.ui.wizard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCatalog;
+import org.eclipse.epp.internal.mpc.ui.wizards.WizardSessionCache;
+import org.eclipse.epp.internal.mpc.ui.wizards.WizardSessionCache.Session;
+import org.eclipse.epp.mpc.ui.CatalogDescriptor;
+import org.eclipse.equinox.internal.p2.discovery.model.CatalogItem;
+import org.eclipse.swt.graphics.Point;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WizardSessionCacheTest {
+
+	private CatalogDescriptor catalogDescriptor;
+
+	@Before
+	public void setUp() throws Exception {
+		catalogDescriptor = new CatalogDescriptor();
+		catalogDescriptor.setUrl(new URL("https://marketplace.example.org"));
+	}
+
+	@Test
+	public void testRetainAndTake() {
+		WizardSessionCache cache = new WizardSessionCache(60 * 1000, 10);
+		MarketplaceCatalog catalog = createCatalog(3);
+		assertTrue(cache.retain(catalogDescriptor, catalog, new Point(0, 42)));
+
+		Session session = cache.take();
+		assertNotNull(session);
+		assertSame(catalog, session.getCatalog());
+		assertSame(catalogDescriptor, session.getCatalogDescriptor());
+		assertEquals(new Point(0, 42), session.getScrollOrigin());
+		assertNull(cache.take());
+	}
+
+	@Test
+	public void testBudget() {
+		WizardSessionCache cache = new WizardSessionCache(60 * 1000, 10);
+		assertFalse(cache.retain(catalogDescriptor, createCatalog(11), null));
+		assertFalse(cache.retain(catalogDescriptor, createCatalog(0), null));
+		assertNull(cache.take());
+	}
+
+	@Test
+	public void testReplace() {
+		WizardSessionCache cache = new WizardSessionCache(60 * 1000, 10);
+		cache.retain(catalogDescriptor, createCatalog(1), null);
+		MarketplaceCatalog catalog = createCatalog(2);
+		cache.retain(catalogDescriptor, catalog, null);
+		assertSame(catalog, cache.take().getCatalog());
+	}
+
+	@Test
+	public void testExpired() {
+		AtomicLong time = new AtomicLong();
+		WizardSessionCache cache = new WizardSessionCache(50, 10, time::get);
+		cache.retain(catalogDescriptor, createCatalog(1), null);
+		time.set(51);
+		assertNull(cache.take());
+	}
+
+	@Test
+	public void testEvictExpired() {
+		AtomicLong time = new AtomicLong();
+		WizardSessionCache cache = new WizardSessionCache(50, 10, time::get);
+		MarketplaceCatalog catalog = createCatalog(1);
+		cache.retain(catalogDescriptor, catalog, null);
+		time.set(50);
+		cache.evictExpired();
+		assertSame(catalog, cache.take().getCatalog());
+
+		cache.retain(catalogDescriptor, catalog, null);
+		time.set(101);
+		cache.evictExpired();
+		//gone, even if it wouldn't have expired by the time it's taken
+		time.set(50);
+		assertNull(cache.take());
+	}
+
+	private static MarketplaceCatalog createCatalog(int size) {
+		MarketplaceCatalog catalog = new MarketplaceCatalog();
+		for (int i = 0; i < size; i++) {
+			CatalogItem item = new CatalogItem();
+			item.setId(String.valueOf(i));
+			catalog.getItems().add(item);
+		}
+		return catalog;
+	}
+}
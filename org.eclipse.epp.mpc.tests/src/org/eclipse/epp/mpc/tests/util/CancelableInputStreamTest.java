@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.epp.internal.mpc.core.util.CancelableInputStream;
+import org.junit.Test;
+
+public class CancelableInputStreamTest {
+
+	@Test
+	public void testReadStopsWhenCanceled() throws Exception {
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		try (InputStream in = new CancelableInputStream(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }),
+				monitor)) {
+			assertEquals(1, in.read());
+			byte[] buffer = new byte[1];
+			assertEquals(1, in.read(buffer, 0, 1));
+			assertEquals(2, buffer[0]);
+
+			monitor.setCanceled(true);
+			assertCanceled(() -> in.read());
+			assertCanceled(() -> in.read(buffer, 0, 1));
+			assertCanceled(() -> in.skip(1));
+		}
+	}
+
+	private static interface StreamOperation {
+		void run() throws IOException;
+	}
+
+	private static void assertCanceled(StreamOperation operation) {
+		try {
+			operation.run();
+			fail("Expected cancellation");
+		} catch (IOException e) {
+			assertTrue(e.getCause() instanceof OperationCanceledException);
+		}
+	}
+}
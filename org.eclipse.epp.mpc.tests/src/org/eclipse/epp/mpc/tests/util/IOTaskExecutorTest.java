@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Mode;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Permit;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Priority;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IOTaskExecutorTest {
+
+	private IOTaskExecutor executor;
+
+	@Before
+	public void setUp() {
+		executor = new IOTaskExecutor(Mode.PLATFORM, 8, 2);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void testHostLimit() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		Callable<Integer> task = () -> {
+			int current = running.incrementAndGet();
+			maxRunning.accumulateAndGet(current, Math::max);
+			try {
+				Thread.sleep(50);
+			} finally {
+				running.decrementAndGet();
+			}
+			return current;
+		};
+		List<Future<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			futures.add(executor.submit(new URI("https://marketplace.example.org/node/" + i), task));
+		}
+		for (Future<Integer> future : futures) {
+			future.get(5, TimeUnit.SECONDS);
+		}
+		assertEquals(2, maxRunning.get());
+	}
+
+	@Test
+	public void testHostsAreIndependent() throws Exception {
+		CountDownLatch allRunning = new CountDownLatch(4);
+		Callable<Boolean> task = () -> {
+			allRunning.countDown();
+			return allRunning.await(5, TimeUnit.SECONDS);
+		};
+		List<Future<Boolean>> futures = new ArrayList<>();
+		futures.add(executor.submit("one.example.org", task));
+		futures.add(executor.submit("one.example.org", task));
+		futures.add(executor.submit("two.example.org", task));
+		futures.add(executor.submit((String) null, task));
+		for (Future<Boolean> future : futures) {
+			assertTrue(future.get(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void testCancelledWhileQueued() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger executed = new AtomicInteger();
+		Callable<Object> blocking = () -> release.await(5, TimeUnit.SECONDS);
+		Future<?> first = executor.submit("one.example.org", blocking);
+		Future<?> second = executor.submit("one.example.org", blocking);
+		Future<?> queued = executor.submit("one.example.org", executed::incrementAndGet);
+		queued.cancel(false);
+		release.countDown();
+		first.get(5, TimeUnit.SECONDS);
+		second.get(5, TimeUnit.SECONDS);
+		Future<?> next = executor.submit("one.example.org", executed::incrementAndGet);
+		next.get(5, TimeUnit.SECONDS);
+		assertEquals(1, executed.get());
+	}
+
+	@Test
+	public void testInteractiveOvertakesQueuedBackground() throws Exception {
+		IOTaskExecutor singleExecutor = new IOTaskExecutor(Mode.PLATFORM, 1, 1);
+		try {
+			CountDownLatch release = new CountDownLatch(1);
+			List<String> order = Collections.synchronizedList(new ArrayList<>());
+			singleExecutor.submit(Priority.NORMAL, null, () -> release.await(5, TimeUnit.SECONDS));
+			Future<?> background = singleExecutor.submit(Priority.BACKGROUND, null, () -> order.add("background"));
+			Future<?> interactive = singleExecutor.submit(Priority.INTERACTIVE, null, () -> order.add("interactive"));
+			assertEquals(1, singleExecutor.getQueueDepth(Priority.BACKGROUND));
+			assertEquals(1, singleExecutor.getQueueDepth(Priority.INTERACTIVE));
+			release.countDown();
+			background.get(5, TimeUnit.SECONDS);
+			interactive.get(5, TimeUnit.SECONDS);
+			assertEquals(Arrays.asList("interactive", "background"), order);
+		} finally {
+			singleExecutor.shutdown();
+		}
+	}
+
+	@Test
+	public void testWaitingBackgroundTaskIsNotStarved() throws Exception {
+		AtomicLong time = new AtomicLong();
+		IOTaskExecutor singleExecutor = new IOTaskExecutor(Mode.PLATFORM, 1, 1, time::get);
+		try {
+			CountDownLatch release = new CountDownLatch(1);
+			List<String> order = Collections.synchronizedList(new ArrayList<>());
+			singleExecutor.submit(Priority.NORMAL, null, () -> release.await(10, TimeUnit.SECONDS));
+			Future<?> background = singleExecutor.submit(Priority.BACKGROUND, null, () -> order.add("background"));
+			//waited for longer than two aging intervals
+			time.set(TimeUnit.MILLISECONDS.toNanos(2500));
+			Future<?> interactive = singleExecutor.submit(Priority.INTERACTIVE, null, () -> order.add("interactive"));
+			release.countDown();
+			background.get(5, TimeUnit.SECONDS);
+			interactive.get(5, TimeUnit.SECONDS);
+			assertEquals(Arrays.asList("background", "interactive"), order);
+		} finally {
+			singleExecutor.shutdown();
+		}
+	}
+
+	@Test
+	public void testBackgroundLimit() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(Priority.BACKGROUND, null, () -> release.await(10, TimeUnit.SECONDS)));
+			}
+			// capacity is left for interactive work
+			assertEquals("done",
+					executor.submit(Priority.INTERACTIVE, null, () -> "done").get(5, TimeUnit.SECONDS));
+			assertEquals(executor.getLimit(Priority.BACKGROUND), executor.getRunningCount(Priority.BACKGROUND));
+			assertEquals(8 - executor.getLimit(Priority.BACKGROUND), executor.getQueueDepth(Priority.BACKGROUND));
+		} finally {
+			release.countDown();
+		}
+		for (Future<?> future : futures) {
+			future.get(5, TimeUnit.SECONDS);
+		}
+		assertEquals(0, executor.getQueueDepth(Priority.BACKGROUND));
+	}
+
+	@Test
+	public void testTaskPriority() throws Exception {
+		assertEquals(Priority.BACKGROUND, executor
+				.submit(Priority.BACKGROUND, null, IOTaskExecutor::getCurrentPriority)
+				.get(5, TimeUnit.SECONDS));
+		Priority previous = IOTaskExecutor.setCurrentPriority(Priority.INTERACTIVE);
+		try {
+			assertEquals(Priority.INTERACTIVE,
+					executor.submit("one.example.org", IOTaskExecutor::getCurrentPriority).get(5, TimeUnit.SECONDS));
+		} finally {
+			IOTaskExecutor.setCurrentPriority(previous);
+		}
+	}
+
+	@Test
+	public void testPermitsShareHostLimit() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Future<?> blocking;
+		Future<String> queued;
+		try (Permit permit = executor.acquire(Priority.NORMAL, "one.example.org", null)) {
+			blocking = executor.submit(Priority.NORMAL, "one.example.org", () -> release.await(5, TimeUnit.SECONDS));
+			queued = executor.submit(Priority.NORMAL, "one.example.org", () -> {
+				// requests made by a running task are part of it
+				try (Permit nested = executor.acquire(Priority.NORMAL, "one.example.org", null)) {
+					return "done";
+				}
+			});
+			assertEquals(1, executor.getQueueDepth(Priority.NORMAL));
+		}
+		assertEquals("done", queued.get(5, TimeUnit.SECONDS));
+		release.countDown();
+		blocking.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void testCancelledWhileWaitingForPermit() throws Exception {
+		CountDownLatch release = new CountDownLatch(2);
+		Future<?> first = executor.submit("one.example.org", () -> release.await(5, TimeUnit.SECONDS));
+		Future<?> second = executor.submit("one.example.org", () -> release.await(5, TimeUnit.SECONDS));
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			executor.acquire(Priority.INTERACTIVE, "one.example.org", monitor);
+			fail();
+		} catch (OperationCanceledException e) {
+			// expected
+		} finally {
+			release.countDown();
+			release.countDown();
+		}
+		first.get(5, TimeUnit.SECONDS);
+		second.get(5, TimeUnit.SECONDS);
+		assertEquals(0, executor.getQueueDepth(Priority.INTERACTIVE));
+		executor.acquire(Priority.INTERACTIVE, "one.example.org", monitor).close();
+	}
+
+	@Test
+	public void testVirtualThreadFallback() throws Exception {
+		IOTaskExecutor virtualExecutor = new IOTaskExecutor(Mode.VIRTUAL, 8, 2);
+		try {
+			boolean supported = Runtime.version().feature() >= 21;
+			assertEquals(supported ? Mode.VIRTUAL : Mode.PLATFORM, virtualExecutor.getMode());
+			assertEquals("done", virtualExecutor.submit("one.example.org", () -> "done").get(5, TimeUnit.SECONDS));
+		} finally {
+			virtualExecutor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.epp.internal.mpc.core.util.ServiceIndex;
+import org.eclipse.epp.mpc.core.service.IMarketplaceService;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+
+public class ServiceIndexTest {
+
+	private BundleContext context;
+
+	private final Map<ServiceReference<Object>, Integer> rankings = new HashMap<>();
+
+	@Before
+	public void setUp() {
+		context = mock(BundleContext.class);
+	}
+
+	private ServiceReference<Object> register(String baseUrl, int ranking, Object service) {
+		@SuppressWarnings("unchecked")
+		ServiceReference<Object> reference = mock(ServiceReference.class);
+		when(reference.getProperty(IMarketplaceService.BASE_URL)).thenReturn(baseUrl);
+		when(reference.compareTo(any())).thenAnswer(invocation -> {
+			Object other = invocation.getArguments()[0];
+			return Integer.compare(rankings.get(reference), rankings.get(other));
+		});
+		rankings.put(reference, ranking);
+		when(context.getService(reference)).thenReturn(service);
+		return reference;
+	}
+
+	@Test
+	public void testLookupByUrl() {
+		ServiceIndex<Object> index = new ServiceIndex<>(context, null);
+		Object first = new Object();
+		Object second = new Object();
+		ServiceReference<Object> firstReference = register("https://marketplace.example.org", 0, first);
+		index.addingService(firstReference);
+		index.addingService(register("https://other.example.org", 0, second));
+
+		assertSame(first, index.getService("https://marketplace.example.org"));
+		assertSame(second, index.getService("https://other.example.org"));
+		assertNull(index.getService("https://unknown.example.org"));
+
+		index.removedService(firstReference, first);
+		assertNull(index.getService("https://marketplace.example.org"));
+		verify(context).ungetService(firstReference);
+	}
+
+	@Test
+	public void testHighestRankingWins() {
+		ServiceIndex<Object> index = new ServiceIndex<>(context, null);
+		Object low = new Object();
+		Object high = new Object();
+		ServiceReference<Object> lowReference = register("https://marketplace.example.org", 0, low);
+		ServiceReference<Object> highReference = register("https://marketplace.example.org", 10, high);
+		index.addingService(lowReference);
+		index.addingService(highReference);
+		assertSame(high, index.getService("https://marketplace.example.org"));
+
+		index.removedService(highReference, high);
+		assertSame(low, index.getService("https://marketplace.example.org"));
+	}
+
+	@Test
+	public void testModifiedUrl() {
+		ServiceIndex<Object> index = new ServiceIndex<>(context, null);
+		Object service = new Object();
+		ServiceReference<Object> reference = register("https://marketplace.example.org", 0, service);
+		index.addingService(reference);
+
+		when(reference.getProperty(IMarketplaceService.BASE_URL)).thenReturn("https://other.example.org");
+		index.modifiedService(reference, service);
+		assertNull(index.getService("https://marketplace.example.org"));
+		assertSame(service, index.getService("https://other.example.org"));
+	}
+}
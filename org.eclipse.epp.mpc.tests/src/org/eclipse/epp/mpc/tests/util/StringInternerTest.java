@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.mpc.tests.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.epp.internal.mpc.core.util.StringInterner;
+import org.junit.Test;
+
+public class StringInternerTest {
+
+	@Test
+	public void testIntern() {
+		StringInterner interner = new StringInterner(100);
+		String value = new String("Linux/GTK");
+		String copy = new String("Linux/GTK");
+		assertNotSame(value, copy);
+
+		assertSame(value, interner.intern(value));
+		assertSame(value, interner.intern(copy));
+		assertNull(interner.intern(null));
+		assertEquals(1, interner.size());
+	}
+
+	@Test
+	public void testBounded() {
+		StringInterner interner = new StringInterner(10);
+		String[] values = new String[25];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = interner.intern("value" + i);
+			assertTrue(interner.size() <= 10);
+		}
+		// still working after starting over
+		assertSame(values[24], interner.intern(new String("value24")));
+	}
+}
@@ -30,6 +30,14 @@ public class MarketplaceClientDebug {
 
 	public static final String DROP_ADAPTER_DEBUG_OPTION = DEBUG_OPTION + "/dnd"; //$NON-NLS-1$
 
+	public static final String SEARCH_DEBUG_OPTION = DEBUG_OPTION + "/search"; //$NON-NLS-1$
+
+	public static final String REPOSITORIES_DEBUG_OPTION = DEBUG_OPTION + "/repositories"; //$NON-NLS-1$
+
+	public static final String UPDATES_DEBUG_OPTION = DEBUG_OPTION + "/updates"; //$NON-NLS-1$
+
+	public static final String STARTUP_DEBUG_OPTION = DEBUG_OPTION + "/startup"; //$NON-NLS-1$
+
 	public static boolean DEBUG = false;
 
 	private static DebugTrace debugTrace;
@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IBundleGroup;
 import org.eclipse.core.runtime.IBundleGroupProvider;
 import org.eclipse.core.runtime.ILog;
@@ -25,6 +26,8 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.preferences.IPreferencesService;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.eclipse.core.runtime.preferences.InstanceScope;
@@ -259,6 +262,26 @@ public class MarketplaceClientUi {
 		}
 	}
 
+	/**
+	 * Check if the IDE is busy building or running user jobs, or shutting down, so background work can be postponed.
+	 */
+	public static boolean isWorkbenchBusy() {
+		if (!PlatformUI.isWorkbenchRunning() || PlatformUI.getWorkbench().isClosing()) {
+			return true;
+		}
+		IJobManager jobManager = Job.getJobManager();
+		if (jobManager.find(ResourcesPlugin.FAMILY_AUTO_BUILD).length > 0
+				|| jobManager.find(ResourcesPlugin.FAMILY_MANUAL_BUILD).length > 0) {
+			return true;
+		}
+		for (Job other : jobManager.find(null)) {
+			if (other.isUser() && other.getState() == Job.RUNNING) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public static boolean useNativeBorders() {
 		IPreferencesService service = Platform.getPreferencesService();
 		return service.getBoolean(BUNDLE_ID, "native-borders", true,
@@ -15,6 +15,8 @@ package org.eclipse.epp.internal.mpc.ui;
 import static org.eclipse.jface.resource.ResourceLocator.imageDescriptorFromBundle;
 
 import org.eclipse.epp.internal.mpc.ui.catalog.ResourceProvider;
+import org.eclipse.epp.internal.mpc.ui.operations.RepositoryLeaseManager;
+import org.eclipse.epp.internal.mpc.ui.wizards.WizardSessionCache;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.resource.ImageDescriptor;
@@ -121,6 +123,9 @@ public class MarketplaceClientUiResources {
 
 	@Deactivate
 	protected void deactivate(ComponentContext context) throws Exception {
+		//don't leave any temporarily added repositories behind
+		RepositoryLeaseManager.shutdown();
+		WizardSessionCache.getInstance().clear();
 		synchronized (MarketplaceClientUiResources.class) {
 			if (instance == this) {
 				instance = null;
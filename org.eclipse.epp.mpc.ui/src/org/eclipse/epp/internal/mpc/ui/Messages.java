@@ -97,6 +97,10 @@ public class Messages extends NLS {
 	public static String MissingNatureDetector_enable;
 	public static String MissingNatureDetector_linkToPreferences;
 
+	public static String TagDiscoveryCache_LoadError;
+
+	public static String TagDiscoveryCache_lookupJobName;
+
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
@@ -38,6 +38,8 @@ import org.eclipse.osgi.util.NLS;
 
 public class FavoritesDiscoveryStrategy extends MarketplaceDiscoveryStrategy {
 
+	private static final int FAVORITES_PAGE_SIZE = 25;
+
 	private String favoritesReference;
 
 	public FavoritesDiscoveryStrategy(CatalogDescriptor catalogDescriptor) {
@@ -79,7 +81,7 @@ public class FavoritesDiscoveryStrategy extends MarketplaceDiscoveryStrategy {
 		}
 		try {
 			URI uri = URLUtil.toURI(favoritesReference);
-			return marketplaceService.userFavorites(uri, monitor);
+			return marketplaceService.userFavorites(uri, FAVORITES_PAGE_SIZE, monitor);
 		} catch (CoreException ex) {
 			//if we don't want an error dialog to pop up for discovery errors, we have
 			//to handle errors here...
@@ -119,10 +121,22 @@ public class FavoritesDiscoveryStrategy extends MarketplaceDiscoveryStrategy {
 			addFavoriteListEntries(catalogCategory, monitor);
 		} else {
 			super.handleSearchResult(catalogCategory, result, monitor);
-			for (CatalogItem catalogItem : items) {
-				if (catalogItem instanceof MarketplaceNodeCatalogItem) {
-					catalogItem.setSelected(true);
-				}
+			selectNodeItems(items);
+		}
+	}
+
+	@Override
+	public void loadMore(UserActionCatalogItem loadMoreItem, IProgressMonitor monitor) throws CoreException {
+		int loadedCount = items.size();
+		super.loadMore(loadMoreItem, monitor);
+		//pages are appended, so only new items are selected and the user's choices for previous items are kept
+		selectNodeItems(items.subList(Math.min(loadedCount, items.size()), items.size()));
+	}
+
+	private static void selectNodeItems(List<CatalogItem> items) {
+		for (CatalogItem catalogItem : items) {
+			if (catalogItem instanceof MarketplaceNodeCatalogItem) {
+				catalogItem.setSelected(true);
 			}
 		}
 	}
@@ -161,7 +175,7 @@ public class FavoritesDiscoveryStrategy extends MarketplaceDiscoveryStrategy {
 			String iconUrl = favoriteList.getIcon();
 			if (iconUrl != null) {
 				if (!source.getResourceProvider().containsResource(iconUrl)) {
-					cacheResource(source.getResourceProvider(), item, iconUrl);
+					cacheResource(source.getResourceProvider(), item, iconUrl, true);
 				}
 				createIcon(item, favoriteList);
 			}
@@ -31,15 +31,20 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.service.UpdateSiteProbe;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Priority;
+import org.eclipse.epp.internal.mpc.ui.CatalogRegistry;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCategory.Contents;
-import org.eclipse.epp.internal.mpc.ui.operations.RepositoryTransactionHelper;
+import org.eclipse.epp.internal.mpc.ui.operations.RepositoryLeaseManager;
 import org.eclipse.epp.internal.mpc.ui.util.ConcurrentTaskManager;
 import org.eclipse.epp.mpc.core.model.ICategory;
 import org.eclipse.epp.mpc.core.model.IMarket;
 import org.eclipse.epp.mpc.core.model.INews;
 import org.eclipse.epp.mpc.core.model.INode;
 import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.eclipse.epp.mpc.ui.CatalogDescriptor;
 import org.eclipse.equinox.internal.p2.discovery.AbstractDiscoveryStrategy;
 import org.eclipse.equinox.internal.p2.discovery.Catalog;
 import org.eclipse.equinox.internal.p2.discovery.DiscoveryCore;
@@ -50,14 +55,10 @@ import org.eclipse.equinox.internal.p2.discovery.model.Tag;
 import org.eclipse.equinox.p2.core.ProvisionException;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
 import org.eclipse.equinox.p2.metadata.Version;
-import org.eclipse.equinox.p2.operations.ProvisioningSession;
 import org.eclipse.equinox.p2.query.IQuery;
 import org.eclipse.equinox.p2.query.IQueryResult;
 import org.eclipse.equinox.p2.query.QueryUtil;
-import org.eclipse.equinox.p2.repository.artifact.IArtifactRepositoryManager;
 import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
-import org.eclipse.equinox.p2.repository.metadata.IMetadataRepositoryManager;
-import org.eclipse.equinox.p2.ui.ProvisioningUI;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -72,6 +73,10 @@ public class MarketplaceCatalog extends Catalog {
 
 	private List<MarketplaceNodeCatalogItem> availableUpdates = new ArrayList<>();
 
+	private final Object updateLock = new Object();
+
+	private final Object discoveryLock = new Object();
+
 	private interface DiscoveryOperation {
 		public void run(MarketplaceDiscoveryStrategy strategy, IProgressMonitor monitor) throws CoreException;
 	}
@@ -82,6 +87,62 @@ public class MarketplaceCatalog extends Catalog {
 				false, monitor);
 	}
 
+	/**
+	 * Show the solutions matching the query that are known locally, while the
+	 * {@link #performQuery(IMarket, ICategory, String, IProgressMonitor) actual query} is still running. The current
+	 * contents are kept if nothing is found.
+	 *
+	 * @return true if the contents have been replaced with local hits
+	 * @see MarketplaceDiscoveryStrategy#performLocalQuery(IMarket, ICategory, String, IProgressMonitor)
+	 */
+	public boolean performLocalQuery(final IMarket market, final ICategory category, final String queryText,
+			IProgressMonitor monitor) {
+		final boolean[] found = new boolean[1];
+		IStatus status = performDiscovery((strategy, monitor1) -> {
+			if (strategy.performLocalQuery(market, category, queryText, monitor1)) {
+				found[0] = true;
+			}
+		}, false, false, monitor);
+		return found[0] && status.getSeverity() != IStatus.CANCEL;
+	}
+
+	/**
+	 * Search all {@link CatalogRegistry registered} marketplaces for the given text at once. The contents are updated
+	 * with the results merged so far as each marketplace answers.
+	 *
+	 * @param resultsChanged
+	 *            run whenever the contents have been updated with a partial result, or null
+	 * @see MarketplaceDiscoveryStrategy#performFederatedQuery(String, List, Runnable, IProgressMonitor)
+	 */
+	public IStatus performFederatedQuery(final String queryText, final Runnable resultsChanged,
+			IProgressMonitor monitor) {
+		final List<CatalogDescriptor> catalogDescriptors = CatalogRegistry.getInstance().getCatalogDescriptors();
+		return performDiscovery((strategy, monitor1) -> strategy.performFederatedQuery(queryText, catalogDescriptors,
+				() -> updatePartialResult(strategy, resultsChanged, monitor1), monitor1), false, monitor);
+	}
+
+	/**
+	 * Show the partial result a strategy has collected so far, unless the query has been canceled in the meantime.
+	 */
+	private void updatePartialResult(MarketplaceDiscoveryStrategy strategy, Runnable resultsChanged,
+			IProgressMonitor monitor) {
+		synchronized (updateLock) {
+			if (monitor.isCanceled()) {
+				return;
+			}
+			//the strategy keeps adding to its lists, so the catalog gets its own copies
+			List<CatalogCategory> categories = new ArrayList<>(strategy.getCategories());
+			for (CatalogCategory catalogCategory : categories) {
+				catalogCategory.getItems().clear();
+			}
+			update(categories, new ArrayList<>(strategy.getItems()), new ArrayList<>(strategy.getCertifications()),
+					new ArrayList<>(strategy.getTags()));
+		}
+		if (resultsChanged != null) {
+			resultsChanged.run();
+		}
+	}
+
 	public IStatus tagged(final String tag, IProgressMonitor monitor) {
 		return performDiscovery((strategy, monitor1) -> strategy.tagged(tag, monitor1), false, monitor);
 	}
@@ -140,8 +201,53 @@ public class MarketplaceCatalog extends Catalog {
 		return performDiscovery((strategy, monitor1) -> strategy.performNodeQuery(monitor1, nodes), false, monitor);
 	}
 
+	/**
+	 * Replace the given {@link UserActionCatalogItem.UserAction#LOAD_MORE load more} item with the next page of its
+	 * result. If the catalog contents have been replaced in the meantime, the loaded page is discarded.
+	 *
+	 * @param loadMoreItem
+	 *            the item representing the remaining result
+	 * @param monitor
+	 *            the progress monitor
+	 * @return the query status, or {@link Status#CANCEL_STATUS} if the page was discarded
+	 */
+	public IStatus loadMore(final UserActionCatalogItem loadMoreItem, IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceCatalog_queryingMarketplace, 100);
+
+		// keep everything we have so far and append to it
+		List<CatalogItem> items = new ArrayList<>(getItems());
+		items.remove(loadMoreItem);
+		List<CatalogCategory> categories = new ArrayList<>(getCategories());
+		List<Certification> certifications = new ArrayList<>(getCertifications());
+		List<Tag> tags = new ArrayList<>(getTags());
+		progress.worked(1);
+
+		try {
+			IStatus status = runDiscoveryOperation((strategy, monitor1) -> strategy.loadMore(loadMoreItem, monitor1),
+					items, categories, certifications, tags, progress.newChild(98));
+			synchronized (updateLock) {
+				if (progress.isCanceled() || !getItems().contains(loadMoreItem)) {
+					return Status.CANCEL_STATUS;
+				}
+				for (CatalogCategory catalogCategory : categories) {
+					catalogCategory.getItems().clear();
+				}
+				update(categories, items, certifications, tags);
+			}
+			progress.worked(1);
+			return status;
+		} finally {
+			progress.done();
+		}
+	}
+
+	/**
+	 * Check the update sites of the installed items for updates. The update sites are queried with
+	 * {@link Priority#BACKGROUND background} priority, so they don't hold up the queries the user is waiting for.
+	 */
 	public IStatus checkForUpdates(final IProgressMonitor monitor) {
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceCatalog_checkingForUpdates, 10000000);
+		Priority previousPriority = IOTaskExecutor.setCurrentPriority(Priority.BACKGROUND);
 		try {
 			Map<String, IInstallableUnit> installedIUs = calculateInstalledIUs(progress.newChild(100000));
 			List<MarketplaceNodeCatalogItem> updateCheckNeeded = new ArrayList<>();
@@ -176,6 +282,7 @@ public class MarketplaceCatalog extends Catalog {
 
 			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
 		} finally {
+			IOTaskExecutor.setCurrentPriority(previousPriority);
 			monitor.done();
 		}
 	}
@@ -298,19 +405,14 @@ public class MarketplaceCatalog extends Catalog {
 			return Status.OK_STATUS;
 		}
 
-		ConcurrentTaskManager executor = new ConcurrentTaskManager(installedCatalogItemsByUpdateUri.size(),
-				Messages.MarketplaceCatalog_checkingForUpdates);
+		ConcurrentTaskManager executor = new ConcurrentTaskManager(Messages.MarketplaceCatalog_checkingForUpdates);
 
-		ProvisioningSession session = ProvisioningUI.getDefaultUI().getSession();
-		IMetadataRepositoryManager metadataRepositoryManager = (IMetadataRepositoryManager) session
-				.getProvisioningAgent()
-				.getService(IMetadataRepositoryManager.SERVICE_NAME);
-		IArtifactRepositoryManager artifactRepositoryManager = (IArtifactRepositoryManager) session
-				.getProvisioningAgent()
-				.getService(IArtifactRepositoryManager.SERVICE_NAME);
-
-		try (RepositoryTransactionHelper repositories = new RepositoryTransactionHelper(metadataRepositoryManager,
-				artifactRepositoryManager)) {
+		// keep the update sites around for a while, so a subsequent install doesn't have to add and load them again
+		RepositoryLeaseManager repositories = RepositoryLeaseManager.getDefault();
+		// sites that didn't change since the last check don't need to be loaded at all
+		UpdateSiteProbe probe = new UpdateSiteProbe();
+		UpdateSiteCache updateSiteCache = UpdateSiteCache.getInstance();
+		try {
 			final IProgressMonitor pm = new NullProgressMonitor() {
 				@Override
 				public boolean isCanceled() {
@@ -321,43 +423,57 @@ public class MarketplaceCatalog extends Catalog {
 				final URI uri = entry.getKey();
 				final List<MarketplaceNodeCatalogItem> catalogItemsThisSite = entry.getValue();
 
-				//bug 560062 - add both artifact and metadata repo in case something breaks before we can clean up
-				repositories.addRepository(uri);
-
-				executor.submit(() -> {
+				executor.submit(uri, () -> {
+					//each task releases its own lease, so tasks still running after we stop waiting don't leak them
+					boolean leased = false;
 					try {
 						for (MarketplaceNodeCatalogItem item1 : catalogItemsThisSite) {
 							if (Boolean.TRUE.equals(item1.getAvailable())) {
 								item1.setAvailable(null);
 							}
 						}
-						//bug 560062 - to be safe load the artifact repo as well, even though we don't need it here - and do it first because
-						//it's better to have artifact without meta than the other way around.
-						//see comments in RepositoryTransactionHelper.RepositoryTracker.init() for why we fully load artifact repos as well.
-						//TODO this needs a closer look - can we do without this without retriggering bug 560062? It's a serious performance killer...
-						artifactRepositoryManager.loadRepository(uri, pm);
-						if (pm.isCanceled()) {
-							return;
-						}
-						IMetadataRepository repository = metadataRepositoryManager.loadRepository(uri, pm);
-						if (pm.isCanceled()) {
-							return;
+						Map<String, Version> siteIuVersionById = updateSiteCache.getRecent(uri);
+						String fingerprint = null;
+						if (siteIuVersionById == null) {
+							fingerprint = probe.computeFingerprint(uri, pm);
+							siteIuVersionById = updateSiteCache.get(uri, fingerprint);
 						}
+						if (siteIuVersionById == null) {
+							//bug 560062 - add both artifact and metadata repo in case something breaks before we can clean up
+							repositories.acquire(uri);
+							leased = true;
+
+							//bug 560062 - to be safe load the artifact repo as well, even though we don't need it here - and do it first because
+							//it's better to have artifact without meta than the other way around.
+							//see comments in RepositoryLeaseManager.revert() for why we fully load artifact repos as well.
+							//TODO this needs a closer look - can we do without this without retriggering bug 560062? It's a serious performance killer...
+							repositories.loadArtifactRepository(uri, pm);
+							if (pm.isCanceled()) {
+								return;
+							}
+							IMetadataRepository repository = repositories.loadMetadataRepository(uri, pm);
+							if (pm.isCanceled()) {
+								return;
+							}
 
-						IQuery<IInstallableUnit> query = QueryUtil.createMatchQuery( //
-								"id ~= /*.feature.group/ && " + //$NON-NLS-1$
-								"properties['org.eclipse.equinox.p2.type.group'] == true ");//$NON-NLS-1$
-						IQueryResult<IInstallableUnit> result = repository.query(query, pm);
-
-						// compute highest version for all available IUs.
-						Map<String, Version> repositoryIuVersionById = new HashMap<>();
-						for (IInstallableUnit iu : result) {
-							String key1 = createRepositoryIuKey(uri.toString(), iu.getId());
-							Version version = iu.getVersion();
-							Version priorVersion = repositoryIuVersionById.put(key1, version);
-							if (priorVersion != null && priorVersion.compareTo(version) > 0) {
-								repositoryIuVersionById.put(key1, priorVersion);
+							IQuery<IInstallableUnit> query = QueryUtil.createMatchQuery( //
+									"id ~= /*.feature.group/ && " + //$NON-NLS-1$
+									"properties['org.eclipse.equinox.p2.type.group'] == true ");//$NON-NLS-1$
+							IQueryResult<IInstallableUnit> result = repository.query(query, pm);
+
+							// compute highest version for all available IUs.
+							siteIuVersionById = new HashMap<>();
+							for (IInstallableUnit iu : result) {
+								Version version = iu.getVersion();
+								Version priorVersion = siteIuVersionById.put(iu.getId(), version);
+								if (priorVersion != null && priorVersion.compareTo(version) > 0) {
+									siteIuVersionById.put(iu.getId(), priorVersion);
+								}
+							}
+							if (pm.isCanceled()) {
+								return;
 							}
+							updateSiteCache.put(uri, fingerprint, siteIuVersionById);
 						}
 
 						for (MarketplaceNodeCatalogItem item2 : catalogItemsThisSite) {
@@ -365,7 +481,7 @@ public class MarketplaceCatalog extends Catalog {
 									.getInstallableUnitItems();
 							for (MarketplaceNodeInstallableUnitItem iuItem : installableUnitItems) {
 								String key2 = createRepositoryIuKey(uri.toString(), iuItem.getId());
-								Version availableVersion = repositoryIuVersionById.get(key2);
+								Version availableVersion = siteIuVersionById.get(iuItem.getId());
 								MarketplaceCatalog.this.repositoryIuVersionById.put(key2, availableVersion);
 								if (availableVersion != null) {
 									item2.setAvailable(true);
@@ -386,6 +502,10 @@ public class MarketplaceCatalog extends Catalog {
 						MarketplaceClientUi.getLog().log(errorStatus);
 					} catch (OperationCanceledException e2) {
 						// nothing to do
+					} finally {
+						if (leased) {
+							repositories.release(uri);
+						}
 					}
 				});
 			}
@@ -397,6 +517,7 @@ public class MarketplaceCatalog extends Catalog {
 			}
 			return Status.OK_STATUS;
 		} finally {
+			updateSiteCache.save();
 			executor.shutdownNow();
 		}
 	}
@@ -429,7 +550,11 @@ public class MarketplaceCatalog extends Catalog {
 	@Override
 	public IStatus performDiscovery(IProgressMonitor monitor) {
 		SubMonitor progress = SubMonitor.convert(monitor, 200000);
-		IStatus status = super.performDiscovery(progress.newChild(100000));
+		IStatus status;
+		// full discovery rewires the strategies just like our own operations, e.g. a background loadMore()
+		synchronized (discoveryLock) {
+			status = super.performDiscovery(progress.newChild(100000));
+		}
 
 		//check for updates
 		if (status.getSeverity() < IStatus.ERROR) {
@@ -470,6 +595,11 @@ public class MarketplaceCatalog extends Catalog {
 	}
 
 	protected IStatus performDiscovery(DiscoveryOperation operation, boolean refresh, IProgressMonitor monitor) {
+		return performDiscovery(operation, refresh, true, monitor);
+	}
+
+	private IStatus performDiscovery(DiscoveryOperation operation, boolean refresh, boolean updateIfEmpty,
+			IProgressMonitor monitor) {
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceCatalog_queryingMarketplace, 100);
 
 		// reset, keeping no items but the same tags, categories and certifications
@@ -477,17 +607,26 @@ public class MarketplaceCatalog extends Catalog {
 		List<CatalogCategory> categories = new ArrayList<>(getCategories());
 		List<Certification> certifications = new ArrayList<>(getCertifications());
 		List<Tag> tags = new ArrayList<>(getTags());
-		if (!refresh) {
-			for (CatalogCategory catalogCategory : categories) {
-				catalogCategory.getItems().clear();
-			}
-		}
 		progress.worked(1);
 
 		try {
 			IStatus status = runDiscoveryOperation(operation, items, categories, certifications, tags,
 					progress.newChild(98));
-			update(categories, items, certifications, tags);
+			synchronized (updateLock) {
+				if (progress.isCanceled()) {
+					// superseded or aborted - keep showing the previous result instead of a partial one
+					return Status.CANCEL_STATUS;
+				}
+				if (!updateIfEmpty && items.isEmpty()) {
+					return status;
+				}
+				if (!refresh) {
+					for (CatalogCategory catalogCategory : categories) {
+						catalogCategory.getItems().clear();
+					}
+				}
+				update(categories, items, certifications, tags);
+			}
 			progress.worked(1);
 			return status;
 		} finally {
@@ -508,54 +647,58 @@ public class MarketplaceCatalog extends Catalog {
 		final int strategyTicks = 100;
 		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceCatalog_queryingMarketplace,
 				strategyTicks * strategyCount);
-		try {
-			for (AbstractDiscoveryStrategy discoveryStrategy : getDiscoveryStrategies()) {
-				if (progress.isCanceled()) {
-					status.add(Status.CANCEL_STATUS);
-					break;
-				}
-				if (discoveryStrategy instanceof MarketplaceDiscoveryStrategy) {
-					List<CatalogCategory> oldCategories = discoveryStrategy.getCategories();
-					List<CatalogItem> oldItems = discoveryStrategy.getItems();
-					List<Certification> oldCertifications = discoveryStrategy.getCertifications();
-					List<Tag> oldTags = discoveryStrategy.getTags();
-
-					discoveryStrategy.setCategories(categories);
-					discoveryStrategy.setItems(items);
-					discoveryStrategy.setCertifications(certifications);
-					discoveryStrategy.setTags(tags);
-					try {
-						MarketplaceDiscoveryStrategy marketplaceStrategy = (MarketplaceDiscoveryStrategy) discoveryStrategy;
-						operation.run(marketplaceStrategy, progress.newChild(strategyTicks));
-
-					} catch (CoreException e) {
-						IStatus error = MarketplaceClientCore.computeWellknownProblemStatus(e);
-						if (error == null) {
-							error = new Status(e.getStatus().getSeverity(), DiscoveryCore.ID_PLUGIN, NLS.bind(
-									Messages.MarketplaceCatalog_failedWithError, discoveryStrategy.getClass()
-									.getSimpleName()), e);
-						}
-						status.add(error);
-					} finally {
-						// remove everything from strategy again, so it can't accidentally mess with the results later
-						discoveryStrategy.setCategories(oldCategories);
-						discoveryStrategy.setItems(oldItems);
-						discoveryStrategy.setCertifications(oldCertifications);
-						discoveryStrategy.setTags(oldTags);
-
-						// make sure strategy didn't misbehave
-						if (items.contains(null)) {
-							while (items.remove(null)) {
+		// strategies are temporarily rewired to the operation's result lists, so operations can't overlap.
+		// Background queries are canceled before a new one starts, so this usually doesn't wait long.
+		synchronized (discoveryLock) {
+			try {
+				for (AbstractDiscoveryStrategy discoveryStrategy : getDiscoveryStrategies()) {
+					if (progress.isCanceled()) {
+						status.add(Status.CANCEL_STATUS);
+						break;
+					}
+					if (discoveryStrategy instanceof MarketplaceDiscoveryStrategy) {
+						List<CatalogCategory> oldCategories = discoveryStrategy.getCategories();
+						List<CatalogItem> oldItems = discoveryStrategy.getItems();
+						List<Certification> oldCertifications = discoveryStrategy.getCertifications();
+						List<Tag> oldTags = discoveryStrategy.getTags();
+
+						discoveryStrategy.setCategories(categories);
+						discoveryStrategy.setItems(items);
+						discoveryStrategy.setCertifications(certifications);
+						discoveryStrategy.setTags(tags);
+						try {
+							MarketplaceDiscoveryStrategy marketplaceStrategy = (MarketplaceDiscoveryStrategy) discoveryStrategy;
+							operation.run(marketplaceStrategy, progress.newChild(strategyTicks));
+
+						} catch (CoreException e) {
+							IStatus error = MarketplaceClientCore.computeWellknownProblemStatus(e);
+							if (error == null) {
+								error = new Status(e.getStatus().getSeverity(), DiscoveryCore.ID_PLUGIN, NLS.bind(
+										Messages.MarketplaceCatalog_failedWithError, discoveryStrategy.getClass()
+										.getSimpleName()), e);
 							}
-							IStatus error = new Status(IStatus.WARNING, DiscoveryCore.ID_PLUGIN,
-									NLS.bind(Messages.MarketplaceCatalog_addedNullEntry, discoveryStrategy.getClass().getSimpleName()));
 							status.add(error);
+						} finally {
+							// remove everything from strategy again, so it can't accidentally mess with the results later
+							discoveryStrategy.setCategories(oldCategories);
+							discoveryStrategy.setItems(oldItems);
+							discoveryStrategy.setCertifications(oldCertifications);
+							discoveryStrategy.setTags(oldTags);
+
+							// make sure strategy didn't misbehave
+							if (items.contains(null)) {
+								while (items.remove(null)) {
+								}
+								IStatus error = new Status(IStatus.WARNING, DiscoveryCore.ID_PLUGIN,
+										NLS.bind(Messages.MarketplaceCatalog_addedNullEntry, discoveryStrategy.getClass().getSimpleName()));
+								status.add(error);
+							}
 						}
 					}
 				}
+			} finally {
+				monitor.done();
 			}
-		} finally {
-			monitor.done();
 		}
 		return computeStatus(status);
 	}
@@ -17,16 +17,23 @@ package org.eclipse.epp.internal.mpc.ui.catalog;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -43,7 +50,11 @@ import org.eclipse.epp.internal.mpc.core.model.Identifiable;
 import org.eclipse.epp.internal.mpc.core.model.Node;
 import org.eclipse.epp.internal.mpc.core.model.SearchResult;
 import org.eclipse.epp.internal.mpc.core.service.AbstractDataStorageService.NotAuthorizedException;
+import org.eclipse.epp.internal.mpc.core.service.AsyncMarketplaceService;
+import org.eclipse.epp.internal.mpc.core.service.CachingMarketplaceService;
 import org.eclipse.epp.internal.mpc.core.service.DefaultMarketplaceService;
+import org.eclipse.epp.internal.mpc.core.service.FederatedSearch;
+import org.eclipse.epp.internal.mpc.core.service.FederatedSearch.Hit;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCategory.Contents;
@@ -57,6 +68,7 @@ import org.eclipse.epp.mpc.core.model.IMarket;
 import org.eclipse.epp.mpc.core.model.INews;
 import org.eclipse.epp.mpc.core.model.INode;
 import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.eclipse.epp.mpc.core.service.IAsyncMarketplaceService;
 import org.eclipse.epp.mpc.core.service.IMarketplaceService;
 import org.eclipse.epp.mpc.core.service.IMarketplaceServiceLocator;
 import org.eclipse.epp.mpc.core.service.IMarketplaceStorageService;
@@ -87,6 +99,8 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
 	private static final Pattern BREAK_PATTERN = Pattern.compile("<!--\\s*break\\s*-->"); //$NON-NLS-1$
 
+	private static final int FAVORITES_PAGE_SIZE = 50;
+
 	protected final CatalogDescriptor catalogDescriptor;
 
 	protected final IMarketplaceService marketplaceService;
@@ -103,6 +117,8 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
 	private final String nodeContentUrlPrefix;
 
+	private volatile List<? extends IMarket> prefetchedMarkets;
+
 	public MarketplaceDiscoveryStrategy(CatalogDescriptor catalogDescriptor) {
 		if (catalogDescriptor == null) {
 			throw new IllegalArgumentException();
@@ -140,6 +156,33 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
 	@Override
 	public void dispose() {
+		removeLoginListeners();
+		if (source != null) {
+			source.dispose();
+			source = null;
+		}
+		if (marketplaceInfo != null) {
+			saveMarketplaceInfo();
+			marketplaceInfo = null;
+		}
+		super.dispose();
+	}
+
+	/**
+	 * Detach this strategy from the wizard it has been used with, so its discovered content can be kept for another
+	 * wizard later on. Unlike {@link #dispose()}, the strategy remains usable after this.
+	 */
+	public synchronized void suspend() {
+		removeLoginListeners();
+		setShellProvider(null);
+		// might have changed until the strategy is used again
+		featureIUById = null;
+		if (marketplaceInfo != null) {
+			saveMarketplaceInfo();
+		}
+	}
+
+	private void removeLoginListeners() {
 		List<LoginListener> loginListeners = this.loginListeners;
 		this.loginListeners = null;
 		if (loginListeners != null) {
@@ -151,32 +194,27 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 				}
 			}
 		}
-		if (source != null) {
-			source.dispose();
-			source = null;
-		}
-		if (marketplaceInfo != null) {
-			final MarketplaceInfo fMarketplaceInfo = marketplaceInfo;
-			new Job(Messages.MarketplaceDiscoveryStrategy_saveMarketplaceInfoJobName) {
+	}
 
-				{
-					setSystem(true);
-					setPriority(SHORT);
-					setUser(false);
-				}
-				@Override
-				protected IStatus run(IProgressMonitor monitor) {
-					try {
-						fMarketplaceInfo.save();
-					} catch (Exception e) {
-						return MarketplaceClientCore.computeStatus(e, Messages.MarketplaceDiscoveryStrategy_failedToSaveMarketplaceInfo);
-					}
-					return Status.OK_STATUS;
+	private void saveMarketplaceInfo() {
+		final MarketplaceInfo fMarketplaceInfo = marketplaceInfo;
+		new Job(Messages.MarketplaceDiscoveryStrategy_saveMarketplaceInfoJobName) {
+
+			{
+				setSystem(true);
+				setPriority(SHORT);
+				setUser(false);
+			}
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					fMarketplaceInfo.save();
+				} catch (Exception e) {
+					return MarketplaceClientCore.computeStatus(e, Messages.MarketplaceDiscoveryStrategy_failedToSaveMarketplaceInfo);
 				}
-			}.schedule();
-			marketplaceInfo = null;
-		}
-		super.dispose();
+				return Status.OK_STATUS;
+			}
+		}.schedule();
 	}
 
 	public synchronized void addLoginListener(LoginListener loginListener) {
@@ -251,6 +289,11 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
 	protected void handleSearchResult(MarketplaceCategory catalogCategory, ISearchResult result,
 			final IProgressMonitor monitor) {
+		handleSearchResult(catalogCategory, result, false, monitor);
+	}
+
+	private void handleSearchResult(MarketplaceCategory catalogCategory, ISearchResult result, boolean nextPage,
+			final IProgressMonitor monitor) {
 		List<CatalogItem> items = getItems();
 		if (items != null && !result.getNodes().isEmpty()) {
 			int nodeWork = 1000;
@@ -276,7 +319,13 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 						MarketplaceClientCore.error(Messages.MarketplaceDiscoveryStrategy_FavoritesRetrieveError, e1);
 					}
 				}
+				Set<String> existingIds = nextPage ? getItemIds(catalogCategory) : Collections.<String> emptySet();
 				for (final INode node : result.getNodes()) {
+					if (existingIds.contains(node.getId())) {
+						// results shifted on the server between page requests
+						progress.worked(nodeWork);
+						continue;
+					}
 					CatalogItem catalogItem = createCatalogItem(node, catalogCategory.getId(), userFavoritesSupported,
 							progress.newChild(nodeWork));
 					items.add(catalogItem);
@@ -284,9 +333,14 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 			} finally {
 				progress.done();
 			}
-			if (result.getMatchCount() != null) {
+			if (result instanceof SearchResult && ((SearchResult) result).hasNextPage()) {
+				if (result.getMatchCount() != null) {
+					catalogCategory.setMatchCount(result.getMatchCount());
+				}
+				addLoadMoreItem(catalogCategory, result);
+			} else if (result.getMatchCount() != null) {
 				catalogCategory.setMatchCount(result.getMatchCount());
-				if (result.getMatchCount() > result.getNodes().size()) {
+				if (!nextPage && result.getMatchCount() > result.getNodes().size()) {
 					// add an item here to indicate that the search matched more items than were returned by the server
 					addCatalogItem(catalogCategory);
 				}
@@ -294,12 +348,27 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 		}
 	}
 
+	private Set<String> getItemIds(MarketplaceCategory catalogCategory) {
+		Set<String> ids = new HashSet<>();
+		for (CatalogItem item : getItems()) {
+			if (item.getId() != null && catalogCategory.getId().equals(item.getCategoryId())) {
+				ids.add(item.getId());
+			}
+		}
+		return ids;
+	}
+
 	protected CatalogItem createCatalogItem(final INode node, String categoryId, boolean userFavoritesSupported,
 			IProgressMonitor monitor) {
+		return createCatalogItem(node, catalogDescriptor.getUrl(), categoryId, userFavoritesSupported, monitor);
+	}
+
+	private CatalogItem createCatalogItem(final INode node, URL marketplaceUrl, String categoryId,
+			boolean userFavoritesSupported, IProgressMonitor monitor) {
 		String id = node.getId();
 		try {
 			final MarketplaceNodeCatalogItem catalogItem = new MarketplaceNodeCatalogItem();
-			catalogItem.setMarketplaceUrl(catalogDescriptor.getUrl());
+			catalogItem.setMarketplaceUrl(marketplaceUrl);
 			catalogItem.setId(id);
 			catalogItem.setName(getCatalogItemName(node));
 			catalogItem.setCategoryId(categoryId);
@@ -362,7 +431,7 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 			}
 			if (node.getImage() != null) {
 				if (!source.getResourceProvider().containsResource(node.getImage())) {
-					cacheResource(source.getResourceProvider(), catalogItem, node.getImage());
+					cacheResource(source.getResourceProvider(), catalogItem, node.getImage(), true);
 				}
 				createIcon(catalogItem, node);
 			}
@@ -375,7 +444,7 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
 				if (node.getScreenshot() != null) {
 					if (!source.getResourceProvider().containsResource(node.getScreenshot())) {
-						cacheResource(source.getResourceProvider(), catalogItem, node.getScreenshot());
+						cacheResource(source.getResourceProvider(), catalogItem, node.getScreenshot(), true);
 					}
 					overview.setScreenshot(node.getScreenshot());
 				}
@@ -396,10 +465,25 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
 	public static void cacheResource(ResourceProvider resourceProvider, CatalogItem catalogItem,
 			String resource) {
-		if (!resourceProvider.containsResource(resource)) {
+		cacheResource(resourceProvider, catalogItem, resource, false);
+	}
+
+	/**
+	 * Retrieve the given resource for the catalog item. Deferred resources are only downloaded once all explicitly
+	 * requested and visible resources have been retrieved, and might get cancelled if they are no longer needed.
+	 *
+	 * @see ResourceProvider#scheduleResource(String, String)
+	 */
+	public static void cacheResource(ResourceProvider resourceProvider, CatalogItem catalogItem, String resource,
+			boolean deferred) {
+		if (!deferred || !resourceProvider.containsResource(resource)) {
 			String requestSource = NLS.bind(Messages.MarketplaceDiscoveryStrategy_requestSource, catalogItem.getName(), catalogItem.getId());
 			try {
-				resourceProvider.retrieveResource(requestSource, resource);
+				if (deferred) {
+					resourceProvider.scheduleResource(requestSource, resource);
+				} else {
+					resourceProvider.retrieveResource(requestSource, resource);
+				}
 			} catch (URISyntaxException e) {
 				MarketplaceClientUi.log(IStatus.WARNING, Messages.MarketplaceDiscoveryStrategy_badUri,
 						catalogItem.getName(),
@@ -423,7 +507,7 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 		List<CatalogItem> items = getItems();
 		if (items != null && !items.isEmpty()) {
 			CatalogItem catalogItem = items.get(items.size() - 1);
-			if (catalogItem.getData() != catalogDescriptor) {
+			if (catalogItem.getData() != catalogDescriptor && !isLoadMoreItem(catalogItem)) {
 				addCatalogItem(catalogCategory);
 			}
 		}
@@ -469,6 +553,44 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 		return catalogItem;
 	}
 
+	private UserActionCatalogItem addLoadMoreItem(MarketplaceCategory catalogCategory, ISearchResult result) {
+		UserActionCatalogItem catalogItem = new UserActionCatalogItem();
+		catalogItem.setUserAction(UserAction.LOAD_MORE);
+		catalogItem.setSource(source);
+		catalogItem.setData(result);
+		catalogItem.setId(catalogDescriptor.getUrl().toString() + "#" + UserAction.LOAD_MORE.name()); //$NON-NLS-1$
+		catalogItem.setCategoryId(catalogCategory.getId());
+		items.add(catalogItem);
+		return catalogItem;
+	}
+
+	private static boolean isLoadMoreItem(CatalogItem item) {
+		return item instanceof UserActionCatalogItem
+				&& ((UserActionCatalogItem) item).getUserAction() == UserAction.LOAD_MORE;
+	}
+
+	/**
+	 * Append the next page of the result represented by the given {@link UserAction#LOAD_MORE load more} item. The
+	 * item itself is expected to have been removed from the items already.
+	 */
+	public void loadMore(UserActionCatalogItem loadMoreItem, IProgressMonitor monitor) throws CoreException {
+		if (loadMoreItem.getSource() != source || !(loadMoreItem.getData() instanceof ISearchResult)) {
+			return;
+		}
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceDiscoveryStrategy_searchingMarketplace,
+				1001);
+		try {
+			MarketplaceCategory catalogCategory = findMarketplaceCategory(progress.newChild(1));
+			ISearchResult result = marketplaceService.nextPage((ISearchResult) loadMoreItem.getData(),
+					progress.newChild(500));
+			if (result != null) {
+				handleSearchResult(catalogCategory, result, true, progress.newChild(500));
+			}
+		} finally {
+			progress.done();
+		}
+	}
+
 	private static void createIcon(CatalogItem catalogItem, final INode node) {
 		Icon icon = new Icon();
 		// don't know the size
@@ -508,6 +630,7 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 				totalWork);
 		try {
 			ISearchResult result;
+			ISearchResult localResult = null;
 			MarketplaceCategory catalogCategory = findMarketplaceCategory(progress.newChild(1));
 			catalogCategory.setContents(Contents.QUERY);
 
@@ -537,11 +660,13 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 					throw new CoreException(MarketplaceClientCore.computeStatus(ex, Messages.MarketplaceDiscoveryStrategy_unknownFilter));
 				}
 				progress.setWorkRemaining(totalWork - 1);
+				localResult = searchLocal(resolvedMarket, resolvedCategory, queryText);
 				result = marketplaceService.search(resolvedMarket, resolvedCategory, queryText, progress.newChild(500));
 			}
 
-			handleSearchResult(catalogCategory, result, progress.newChild(500));
-			if (result.getNodes().isEmpty()) {
+			handleSearchResult(catalogCategory, result, progress.newChild(400));
+			int mergedCount = mergeLocalResult(catalogCategory, localResult, progress.newChild(100));
+			if (result.getNodes().isEmpty() && mergedCount == 0) {
 				catalogCategory.setMatchCount(0);
 				addCatalogItem(catalogCategory);
 			}
@@ -550,6 +675,215 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 		}
 	}
 
+	/**
+	 * Search the solutions this strategy's marketplace has returned before, without contacting the server. This
+	 * answers within milliseconds, so the hits can be shown while the
+	 * {@link #performQuery(IMarket, ICategory, String, IProgressMonitor) actual query} is still running. The actual
+	 * query merges them with the server's result.
+	 *
+	 * @return true if any solutions were found
+	 */
+	public boolean performLocalQuery(IMarket market, ICategory category, String queryText, IProgressMonitor monitor)
+			throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceDiscoveryStrategy_searchingMarketplace,
+				100);
+		try {
+			ISearchResult result = searchLocal(market, category, queryText);
+			if (result == null) {
+				return false;
+			}
+			MarketplaceCategory catalogCategory = findMarketplaceCategory(progress.newChild(1));
+			catalogCategory.setContents(Contents.QUERY);
+			SubMonitor itemProgress = progress.newChild(99).setWorkRemaining(result.getNodes().size());
+			List<CatalogItem> items = getItems();
+			for (INode node : result.getNodes()) {
+				CatalogItem catalogItem = createCatalogItem(node, catalogCategory.getId(), false,
+						itemProgress.newChild(1));
+				if (catalogItem != null) {
+					items.add(catalogItem);
+				}
+			}
+			catalogCategory.setMatchCount(result.getNodes().size());
+			return true;
+		} finally {
+			progress.done();
+		}
+	}
+
+	private ISearchResult searchLocal(IMarket market, ICategory category, String queryText) {
+		if (!(marketplaceService instanceof CachingMarketplaceService)) {
+			return null;
+		}
+		//the index only knows about categories, so it can't answer queries restricted to a market alone. Categories
+		//that still need to be resolved can't be matched either.
+		if ((market != null && category == null) || (category != null && category.getId() == null)) {
+			return null;
+		}
+		ISearchResult result = ((CachingMarketplaceService) marketplaceService).searchLocal(category, queryText);
+		return result == null || result.getNodes().isEmpty() ? null : result;
+	}
+
+	/**
+	 * Add the local hits the server didn't return, right after the solutions it did return.
+	 *
+	 * @return the number of added solutions
+	 */
+	private int mergeLocalResult(MarketplaceCategory catalogCategory, ISearchResult localResult,
+			IProgressMonitor monitor) {
+		List<CatalogItem> items = getItems();
+		if (localResult == null || items == null) {
+			return 0;
+		}
+		SubMonitor progress = SubMonitor.convert(monitor, localResult.getNodes().size());
+		Set<String> existingIds = getItemIds(catalogCategory);
+		int insertIndex = items.size();
+		for (int i = items.size() - 1; i >= 0; i--) {
+			CatalogItem item = items.get(i);
+			if (item.getData() instanceof INode && catalogCategory.getId().equals(item.getCategoryId())) {
+				insertIndex = i + 1;
+				break;
+			}
+		}
+		int mergedCount = 0;
+		for (INode node : localResult.getNodes()) {
+			if (existingIds.contains(node.getId())) {
+				progress.worked(1);
+				continue;
+			}
+			CatalogItem catalogItem = createCatalogItem(node, catalogCategory.getId(), false, progress.newChild(1));
+			if (catalogItem != null) {
+				items.add(insertIndex++, catalogItem);
+				mergedCount++;
+			}
+		}
+		if (mergedCount > 0) {
+			catalogCategory.setMatchCount(catalogCategory.getMatchCount() + mergedCount);
+		}
+		return mergedCount;
+	}
+
+	/**
+	 * Search this strategy's marketplace and all other given marketplaces at once. Solutions that are listed on more
+	 * than one marketplace are only shown once, preferring the entry from this strategy's marketplace. Marketplaces
+	 * that fail or don't answer in time are logged and left out of the result.
+	 * <p>
+	 * Every time another marketplace has answered, the items are replaced with the hits merged so far and the given
+	 * listener is notified, so the merged result can be shown before the slowest marketplace has answered.
+	 *
+	 * @param resultsChanged
+	 *            run on the calling thread whenever the items have been updated with a partial result, or null
+	 * @see FederatedSearch
+	 */
+	public void performFederatedQuery(String queryText, List<CatalogDescriptor> catalogDescriptors,
+			Runnable resultsChanged, IProgressMonitor monitor) throws CoreException {
+		final int totalWork = 1001;
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.MarketplaceDiscoveryStrategy_searchingMarketplace,
+				totalWork);
+		try {
+			MarketplaceCategory catalogCategory = findMarketplaceCategory(progress.newChild(1));
+			catalogCategory.setContents(Contents.QUERY);
+
+			List<IAsyncMarketplaceService> services = new ArrayList<>();
+			services.add(new AsyncMarketplaceService(marketplaceService));
+			String ownUrl = catalogDescriptor.getUrl().toExternalForm();
+			IMarketplaceServiceLocator serviceLocator = ServiceLocator.getCompatibilityLocator();
+			for (CatalogDescriptor descriptor : catalogDescriptors) {
+				String url = descriptor.getUrl().toExternalForm();
+				if (!url.equals(ownUrl)) {
+					services.add(serviceLocator.getAsyncMarketplaceService(url));
+				}
+			}
+			FederatedSearch search = new FederatedSearch(services, FederatedSearch.DEFAULT_TIMEOUT);
+			//merged hits are turned into items on this thread, the listener only wakes it up
+			Semaphore changed = new Semaphore(0);
+			CompletableFuture<List<Hit>> result = search.search(queryText, s -> changed.release());
+			Map<INode, CatalogItem> hitItems = new IdentityHashMap<>();
+			List<Hit> hits = awaitFederatedSearch(search, result, changed, partialHits -> {
+				if (resultsChanged != null) {
+					setFederatedHits(partialHits, catalogCategory, hitItems, null);
+					resultsChanged.run();
+				}
+			}, progress.newChild(500));
+
+			IStatus status = search.getStatus();
+			if (!status.isOK()) {
+				if (hits.isEmpty() && search.getFailedCount() == search.getServiceCount()) {
+					// no marketplace answered at all
+					throw new CoreException(status);
+				}
+				MarketplaceClientUi.getLog().log(status);
+			}
+
+			setFederatedHits(hits, catalogCategory, hitItems, progress.newChild(500));
+			if (hits.isEmpty()) {
+				addCatalogItem(catalogCategory);
+			}
+		} finally {
+			progress.done();
+		}
+	}
+
+	/**
+	 * Replace the items of previously set hits with items for the given hits. Items of hits that are still part of the
+	 * result are reused.
+	 */
+	private void setFederatedHits(List<Hit> hits, MarketplaceCategory catalogCategory,
+			Map<INode, CatalogItem> hitItems, IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, hits.size());
+		List<CatalogItem> items = getItems();
+		items.removeAll(hitItems.values());
+		Map<INode, CatalogItem> previousItems = new IdentityHashMap<>(hitItems);
+		hitItems.clear();
+		for (Hit hit : hits) {
+			CatalogItem catalogItem = previousItems.get(hit.getNode());
+			if (catalogItem == null) {
+				catalogItem = createCatalogItem(hit.getNode(), hit.getBaseUrl(), catalogCategory.getId(), false,
+						progress.newChild(1));
+			} else {
+				progress.worked(1);
+			}
+			if (catalogItem != null) {
+				hitItems.put(hit.getNode(), catalogItem);
+				items.add(catalogItem);
+			}
+		}
+		catalogCategory.setMatchCount(hits.size());
+	}
+
+	private static List<Hit> awaitFederatedSearch(FederatedSearch search, CompletableFuture<List<Hit>> result,
+			Semaphore changed, Consumer<List<Hit>> partialResults, SubMonitor progress) throws CoreException {
+		int serviceCount = search.getServiceCount();
+		progress.setWorkRemaining(serviceCount);
+		int answered = 0;
+		try {
+			while (!result.isDone()) {
+				if (progress.isCanceled()) {
+					search.cancel();
+					throw new CoreException(Status.CANCEL_STATUS);
+				}
+				if (!changed.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+					continue;
+				}
+				changed.drainPermits();
+				int nowAnswered = search.getAnsweredCount();
+				if (nowAnswered != answered && nowAnswered < serviceCount) {
+					progress.worked(nowAnswered - answered);
+					answered = nowAnswered;
+					progress.subTask(NLS.bind(Messages.MarketplaceDiscoveryStrategy_searchingMarketplaces, answered,
+							serviceCount));
+					partialResults.accept(search.getHits());
+				}
+			}
+			return result.get();
+		} catch (InterruptedException e) {
+			search.cancel();
+			throw new CoreException(Status.CANCEL_STATUS);
+		} catch (ExecutionException e) {
+			throw new CoreException(MarketplaceClientCore.computeStatus(e.getCause(),
+					Messages.MarketplaceDiscoveryStrategy_searchingMarketplace));
+		}
+	}
+
 	private static ICategory resolveCategory(ICategory category, List<? extends IMarket> markets)
 			throws IllegalArgumentException, NoSuchElementException {
 		if (category != null && category.getId() == null) {
@@ -691,9 +1025,10 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 					if (promptLogin) {
 						IMarketplaceStorageService storageService = userFavoritesService.getStorageService();
 						result = storageService
-								.runWithLogin(() -> marketplaceService.userFavorites(progress.newChild(500)));
+								.runWithLogin(() -> marketplaceService.userFavorites(FAVORITES_PAGE_SIZE,
+										progress.newChild(500)));
 					} else {
-						result = marketplaceService.userFavorites(progress.newChild(500));
+						result = marketplaceService.userFavorites(FAVORITES_PAGE_SIZE, progress.newChild(500));
 					}
 					if (result.getNodes().isEmpty()) {
 						catalogCategory = addPopularItems(progress.newChild(500));
@@ -914,7 +1249,10 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 			}
 
 			if (catalogCategory == null) {
-				List<? extends IMarket> markets = marketplaceService.listMarkets(progress.newChild(10000));
+				List<? extends IMarket> markets = prefetchedMarkets;
+				if (markets == null) {
+					markets = marketplaceService.listMarkets(progress.newChild(10000));
+				}
 
 				// marketplace has markets and categories, however a node and/or category can appear in multiple
 				// markets.  This doesn't match well with discovery's concept of a category.  Discovery requires all
@@ -934,6 +1272,14 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 		return catalogCategory;
 	}
 
+	/**
+	 * Provide the markets of this strategy's marketplace if they have already been retrieved, so the next discovery
+	 * doesn't need to request them again.
+	 */
+	public void setPrefetchedMarkets(List<? extends IMarket> markets) {
+		this.prefetchedMarkets = markets;
+	}
+
 	public INews performNewsDiscovery(IProgressMonitor monitor) throws CoreException {
 		return marketplaceService.news(monitor);
 	}
@@ -966,6 +1312,10 @@ public class MarketplaceDiscoveryStrategy extends AbstractDiscoveryStrategy {
 		return marketplaceService;
 	}
 
+	public CatalogDescriptor getCatalogDescriptor() {
+		return catalogDescriptor;
+	}
+
 	protected MarketplaceCatalogSource getCatalogSource() {
 		return source;
 	}
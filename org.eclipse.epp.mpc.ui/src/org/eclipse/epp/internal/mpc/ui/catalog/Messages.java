@@ -89,6 +89,8 @@ class Messages extends NLS {
 
 	public static String MarketplaceDiscoveryStrategy_searchingMarketplace;
 
+	public static String MarketplaceDiscoveryStrategy_searchingMarketplaces;
+
 	public static String MarketplaceDiscoveryStrategy_sendingErrorNotification;
 
 	public static String MarketplaceDiscoveryStrategy_unidentifiableItem;
@@ -105,9 +107,17 @@ class Messages extends NLS {
 
 	public static String ResourceProvider_FailedCreatingTempDir;
 
-	public static String ResourceProvider_retrievingResource;
+	public static String UpdateNotifier_checkFailed;
+
+	public static String UpdateNotifier_checkingForUpdates;
+
+	public static String UpdateNotifier_saveScheduleFailed;
+
+	public static String UpdateNotifier_showUpdates;
+
+	public static String UpdateNotifier_updatesAvailable;
 
-	public static String ResourceProvider_waitingForDownload;
+	public static String UpdateSiteCache_LoadError;
 	
 	static {
 		// initialize resource bundle
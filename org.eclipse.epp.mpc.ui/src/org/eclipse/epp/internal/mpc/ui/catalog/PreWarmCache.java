@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.catalog;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.epp.mpc.core.model.ICatalog;
+import org.eclipse.epp.mpc.core.model.IMarket;
+import org.eclipse.epp.mpc.core.model.INews;
+
+/**
+ * Holds the results of the last {@link PreWarmer pre-warm} for the wizard to start with. Results are only handed out
+ * while they are younger than the cache's maximum age.
+ *
+ * @author agent
+ */
+public class PreWarmCache {
+
+	static final long MAX_AGE = 60 * 60 * 1000;
+
+	private static final PreWarmCache instance = new PreWarmCache(MAX_AGE);
+
+	private static class MarketplaceEntry {
+
+		private final List<? extends IMarket> markets;
+
+		private final INews news;
+
+		private final long timestamp = System.currentTimeMillis();
+
+		private MarketplaceEntry(List<? extends IMarket> markets, INews news) {
+			this.markets = markets;
+			this.news = news;
+		}
+	}
+
+	private final long maxAge;
+
+	private List<? extends ICatalog> catalogs;
+
+	private long catalogsTimestamp;
+
+	private final Map<String, MarketplaceEntry> marketplaces = new HashMap<>();
+
+	public PreWarmCache(long maxAge) {
+		this.maxAge = maxAge;
+	}
+
+	public static PreWarmCache getInstance() {
+		return instance;
+	}
+
+	public synchronized void putCatalogs(List<? extends ICatalog> catalogs) {
+		this.catalogs = catalogs;
+		this.catalogsTimestamp = System.currentTimeMillis();
+	}
+
+	/**
+	 * @return the pre-warmed catalogs, or null if there are none or they are too old
+	 */
+	public synchronized List<? extends ICatalog> getCatalogs() {
+		return isFresh(catalogsTimestamp) ? catalogs : null;
+	}
+
+	public synchronized void putMarketplace(String marketplaceUrl, List<? extends IMarket> markets, INews news) {
+		marketplaces.put(marketplaceUrl, new MarketplaceEntry(markets, news));
+	}
+
+	/**
+	 * @return the pre-warmed markets of the given marketplace, or null if there are none or they are too old
+	 */
+	public synchronized List<? extends IMarket> getMarkets(String marketplaceUrl) {
+		MarketplaceEntry entry = getMarketplace(marketplaceUrl);
+		return entry == null ? null : entry.markets;
+	}
+
+	/**
+	 * @return the pre-warmed news of the given marketplace, or null if there are none or they are too old
+	 */
+	public synchronized INews getNews(String marketplaceUrl) {
+		MarketplaceEntry entry = getMarketplace(marketplaceUrl);
+		return entry == null ? null : entry.news;
+	}
+
+	private MarketplaceEntry getMarketplace(String marketplaceUrl) {
+		MarketplaceEntry entry = marketplaces.get(marketplaceUrl);
+		if (entry != null && !isFresh(entry.timestamp)) {
+			marketplaces.remove(marketplaceUrl);
+			return null;
+		}
+		return entry;
+	}
+
+	public synchronized void clear() {
+		catalogs = null;
+		catalogsTimestamp = 0;
+		marketplaces.clear();
+	}
+
+	private boolean isFresh(long timestamp) {
+		return System.currentTimeMillis() - timestamp <= maxAge;
+	}
+}
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.catalog;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Priority;
+import org.eclipse.epp.internal.mpc.ui.catalog.ResourceProvider.ResourceFuture;
+
+/**
+ * Schedules resource downloads for a {@link ResourceProvider} on a small number of workers. Explicit requests are
+ * served first, followed by deferred requests for resources that are currently visible, followed by all other deferred
+ * requests, newest generation first. Deferred requests that are neither visible nor retained can be cancelled.
+ * <p>
+ * Downloads run on the shared {@link IOTaskExecutor}, subject to its per-host limit. Deferred downloads run as
+ * {@link Priority#BACKGROUND background} tasks, so they don't hold up requests the user is waiting for. A worker doesn't
+ * occupy a thread while its next download is waiting for its turn.
+ *
+ * @author agent
+ */
+final class ResourceDownloadScheduler {
+
+	static final int MAX_CONCURRENT_DOWNLOADS = 4;
+
+	static final class PendingDownload {
+
+		final ResourceFuture future;
+
+		final String requestSource;
+
+		final String resourceName;
+
+		final URI resourceUrl;
+
+		final IProgressMonitor monitor = new NullProgressMonitor();
+
+		boolean deferred;
+
+		long generation;
+
+		long sequence;
+
+		PendingDownload(ResourceFuture future, String requestSource, String resourceName, URI resourceUrl,
+				boolean deferred) {
+			this.future = future;
+			this.requestSource = requestSource;
+			this.resourceName = resourceName;
+			this.resourceUrl = resourceUrl;
+			this.deferred = deferred;
+		}
+	}
+
+	private final ResourceProvider resourceProvider;
+
+	private final IOTaskExecutor executor;
+
+	private final List<PendingDownload> pending = new LinkedList<>();
+
+	private final Set<PendingDownload> running = new HashSet<>();
+
+	private Set<String> visibleResources = Collections.emptySet();
+
+	private long generation;
+
+	private long sequence;
+
+	private int workers;
+
+	ResourceDownloadScheduler(ResourceProvider resourceProvider) {
+		this(resourceProvider, IOTaskExecutor.getDefault());
+	}
+
+	ResourceDownloadScheduler(ResourceProvider resourceProvider, IOTaskExecutor executor) {
+		this.resourceProvider = resourceProvider;
+		this.executor = executor;
+	}
+
+	void schedule(PendingDownload download) {
+		synchronized (this) {
+			download.generation = generation;
+			download.sequence = sequence++;
+			pending.add(download);
+			if (workers >= MAX_CONCURRENT_DOWNLOADS) {
+				return;
+			}
+			workers++;
+		}
+		runNext(null);
+	}
+
+	/**
+	 * Continue a worker with the next pending download, or end it if there is none.
+	 */
+	private void runNext(PendingDownload finished) {
+		final PendingDownload download = next(finished);
+		if (download == null) {
+			return;
+		}
+		// nobody is waiting for deferred downloads yet
+		Priority priority = download.deferred ? Priority.BACKGROUND : Priority.NORMAL;
+		executor.execute(priority, download.resourceUrl.getHost(), () -> {
+			try {
+				if (!download.monitor.isCanceled()) {
+					resourceProvider.download(download);
+				}
+			} finally {
+				runNext(download);
+			}
+		});
+	}
+
+	/**
+	 * Turn a pending deferred download into an explicit one, e.g. because someone is actively waiting for it now.
+	 */
+	synchronized void promote(String resourceName) {
+		for (PendingDownload download : pending) {
+			if (download.resourceName.equals(resourceName)) {
+				download.deferred = false;
+			}
+		}
+	}
+
+	synchronized void setVisible(Collection<String> resourceNames) {
+		visibleResources = new HashSet<>(resourceNames);
+	}
+
+	/**
+	 * Start a new generation of deferred downloads. Deferred downloads scheduled after this call take precedence over
+	 * older ones.
+	 */
+	synchronized void newGeneration() {
+		generation++;
+	}
+
+	/**
+	 * Cancel all deferred downloads that are neither visible nor contained in the given set of resources.
+	 *
+	 * @return the cancelled downloads
+	 */
+	synchronized List<PendingDownload> cancelDeferred(Collection<String> retainedResources) {
+		List<PendingDownload> cancelled = new ArrayList<>();
+		for (Iterator<PendingDownload> i = pending.iterator(); i.hasNext();) {
+			PendingDownload download = i.next();
+			if (isCancellable(download, retainedResources)) {
+				i.remove();
+				cancelled.add(download);
+			}
+		}
+		for (PendingDownload download : running) {
+			if (isCancellable(download, retainedResources)) {
+				download.monitor.setCanceled(true);
+				cancelled.add(download);
+			}
+		}
+		return cancelled;
+	}
+
+	synchronized List<PendingDownload> cancelAll() {
+		List<PendingDownload> cancelled = new ArrayList<>(pending);
+		pending.clear();
+		for (PendingDownload download : running) {
+			download.monitor.setCanceled(true);
+			cancelled.add(download);
+		}
+		return cancelled;
+	}
+
+	private boolean isCancellable(PendingDownload download, Collection<String> retainedResources) {
+		return download.deferred && !visibleResources.contains(download.resourceName)
+				&& !retainedResources.contains(download.resourceName);
+	}
+
+	private synchronized PendingDownload next(PendingDownload finished) {
+		if (finished != null) {
+			running.remove(finished);
+		}
+		PendingDownload next = null;
+		for (PendingDownload download : pending) {
+			if (next == null || compare(download, next) < 0) {
+				next = download;
+			}
+		}
+		if (next == null) {
+			workers--;
+			return null;
+		}
+		pending.remove(next);
+		running.add(next);
+		return next;
+	}
+
+	private int compare(PendingDownload d1, PendingDownload d2) {
+		int rank = Integer.compare(rank(d1), rank(d2));
+		if (rank != 0) {
+			return rank;
+		}
+		int generation = Long.compare(d2.generation, d1.generation);
+		if (generation != 0) {
+			return generation;
+		}
+		return Long.compare(d1.sequence, d2.sequence);
+	}
+
+	private int rank(PendingDownload download) {
+		if (!download.deferred) {
+			return 0;
+		}
+		return visibleResources.contains(download.resourceName) ? 1 : 2;
+	}
+}
@@ -24,7 +24,11 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -33,14 +37,13 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.epp.internal.mpc.core.util.TransportFactory;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
+import org.eclipse.epp.internal.mpc.ui.catalog.ResourceDownloadScheduler.PendingDownload;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -61,8 +64,10 @@ public class ResourceProvider {
 
 		private final FutureTask<URL> delegate;
 
+		private final List<Runnable> doneListeners = new ArrayList<>();
+
 		ResourceFuture(final File dir, final String resourceName) {
-			delegate = new FutureTask<>(() -> {
+			delegate = new FutureTask<URL>(() -> {
 				if (input == null) {
 					throw new IllegalStateException();
 				}
@@ -104,7 +109,41 @@ public class ResourceProvider {
 					}
 				}
 				return outputURL;
-			});
+			}) {
+				@Override
+				protected void done() {
+					notifyDone();
+				}
+			};
+		}
+
+		/**
+		 * Run the given listener as soon as the resource is retrieved or the retrieval has failed or has been
+		 * cancelled. If that is already the case, the listener is run right away.
+		 */
+		public void whenDone(Runnable listener) {
+			synchronized (doneListeners) {
+				if (!isDone()) {
+					doneListeners.add(listener);
+					return;
+				}
+			}
+			listener.run();
+		}
+
+		private void notifyDone() {
+			List<Runnable> listeners;
+			synchronized (doneListeners) {
+				listeners = new ArrayList<>(doneListeners);
+				doneListeners.clear();
+			}
+			for (Runnable listener : listeners) {
+				try {
+					listener.run();
+				} catch (RuntimeException e) {
+					MarketplaceClientUi.error(e);
+				}
+			}
 		}
 
 		@Override
@@ -175,6 +214,8 @@ public class ResourceProvider {
 				}
 			} catch (InterruptedException e) {
 				return null;
+			} catch (CancellationException e) {
+				return null;
 			}
 		}
 
@@ -195,6 +236,8 @@ public class ResourceProvider {
 
 	private final Map<String, ResourceFuture> resources = new ConcurrentHashMap<>();
 
+	private final ResourceDownloadScheduler scheduler = new ResourceDownloadScheduler(this);
+
 	public synchronized void init() throws IOException {
 		if (dir != null) {
 			return;
@@ -284,6 +327,22 @@ public class ResourceProvider {
 
 	public ResourceFuture retrieveResource(final String requestSource, final String resourceName, final URI resourceUrl)
 			throws IOException {
+		return retrieveResource(requestSource, resourceName, resourceUrl, false);
+	}
+
+	/**
+	 * Like {@link #retrieveResource(String, String)}, but the download is deferred until all explicitly requested and
+	 * all {@link #setVisibleResources(Collection) visible} resources have been retrieved. Deferred downloads can be
+	 * cancelled by {@link #retainDeferredResources(Collection)} if they are no longer needed.
+	 */
+	public ResourceFuture scheduleResource(String requestSource, String resourceUrl)
+			throws IOException, URISyntaxException {
+		URI resourceUri = URLUtil.toURI(resourceUrl);
+		return retrieveResource(requestSource, resourceUrl, resourceUri, true);
+	}
+
+	private ResourceFuture retrieveResource(final String requestSource, final String resourceName,
+			final URI resourceUrl, boolean deferred) throws IOException {
 		ResourceFuture resourceFuture;
 		boolean retrieve = false;
 		synchronized (this) {
@@ -294,42 +353,66 @@ public class ResourceProvider {
 			}
 		}
 		if (retrieve) {
-			final ResourceFuture finalResourceFuture = resourceFuture;
-			new Job(Messages.ResourceProvider_retrievingResource) {
+			scheduler.schedule(new PendingDownload(resourceFuture, requestSource, resourceName, resourceUrl, deferred));
+		} else if (!deferred && !resourceFuture.isDone()) {
+			scheduler.promote(resourceName);
+		}
+		return resourceFuture;
+	}
 
-				{
-					setPriority(INTERACTIVE);
-					setUser(false);
-					setSystem(true);
-				}
+	void download(PendingDownload download) {
+		//closing the stream releases the host's download slot, even if the resource has been retrieved otherwise
+		try (InputStream in = TransportFactory.createTransport().stream(download.resourceUrl, download.monitor)) {
+			download.future.retrieve(in);
+		} catch (FileNotFoundException e) {
+			//MarketplaceClientUi.error(NLS.bind(Messages.AbstractResourceRunnable_resourceNotFound, new Object[] { catalogItem.getName(),
+			//catalogItem.getId(), resourceUrl }), e);
+		} catch (IOException e) {
+			if (e.getCause() instanceof OperationCanceledException || download.monitor.isCanceled()) {
+				// canceled, nothing we want to do here
+			} else {
+				MarketplaceClientUi.log(IStatus.WARNING, Messages.ResourceProvider_downloadError,
+						download.requestSource, download.resourceUrl, e);
+			}
+		} catch (CoreException e) {
+			MarketplaceClientUi.log(IStatus.WARNING, Messages.ResourceProvider_downloadError, download.requestSource,
+					download.resourceUrl, e);
+		}
+	}
 
-				@Override
-				protected IStatus run(IProgressMonitor monitor) {
-					try {
-						InputStream in = TransportFactory.createTransport().stream(resourceUrl, monitor);
-						finalResourceFuture.retrieve(in);
-					} catch (FileNotFoundException e) {
-						//MarketplaceClientUi.error(NLS.bind(Messages.AbstractResourceRunnable_resourceNotFound, new Object[] { catalogItem.getName(),
-						//catalogItem.getId(), resourceUrl }), e);
-					} catch (IOException e) {
-						if (e.getCause() instanceof OperationCanceledException) {
-							// canceled, nothing we want to do here
-						} else {
-							MarketplaceClientUi.log(IStatus.WARNING, Messages.ResourceProvider_downloadError, requestSource,
-									resourceUrl, e);
-						}
-					} catch (CoreException e) {
-						MarketplaceClientUi.log(IStatus.WARNING, Messages.ResourceProvider_downloadError, requestSource,
-								resourceUrl, e);
-					}
-					return Status.OK_STATUS;
-				}
-			}.schedule();
+	/**
+	 * Set the resources that are currently visible to the user. Deferred downloads for these resources are retrieved
+	 * before all other deferred downloads and are never cancelled.
+	 */
+	public void setVisibleResources(Collection<String> resourceNames) {
+		scheduler.setVisible(resourceNames);
+	}
+
+	/**
+	 * Give precedence to deferred downloads scheduled from now on over all currently pending deferred downloads, e.g.
+	 * because a new query replaces the current result.
+	 */
+	public void deprioritizeDeferredResources() {
+		scheduler.newGeneration();
+	}
+
+	/**
+	 * Cancel all pending deferred downloads that are neither visible nor contained in the given resources. Cancelled
+	 * resources are unregistered, so they will be retrieved again if requested later on.
+	 */
+	public void retainDeferredResources(Collection<String> resourceNames) {
+		cancel(scheduler.cancelDeferred(resourceNames));
+	}
+
+	private void cancel(List<PendingDownload> cancelled) {
+		for (PendingDownload download : cancelled) {
+			resources.remove(download.resourceName, download.future);
+			download.future.cancel(false);
 		}
-		return resourceFuture;
 	}
 
 	public void dispose() {
+		cancel(scheduler.cancelAll());
 		File dir;
 		synchronized (this) {
 			dir = this.dir;
@@ -357,19 +440,8 @@ public class ResourceProvider {
 			if (fallbackResource != null) {
 				receiver.setResource(fallbackResource);
 			}
-			new Job(Messages.ResourceProvider_waitingForDownload) {
-
-				{
-					setPriority(INTERACTIVE);
-					setUser(false);
-					setSystem(true);
-				}
-
-				@Override
-				protected IStatus run(IProgressMonitor monitor) {
-					return setResource(receiver, resourcePath, resource);
-				}
-			}.schedule();
+			// no need to block a thread while waiting
+			resource.whenDone(() -> setResource(receiver, resourcePath, resource));
 		} else if (fallbackResource != null) {
 			receiver.setResource(fallbackResource);
 		}
@@ -387,6 +459,8 @@ public class ResourceProvider {
 			return Status.CANCEL_STATUS;
 		} catch (ExecutionException e) {
 			// already logged during download
+		} catch (CancellationException e) {
+			// download is no longer needed
 		}
 		return Status.OK_STATUS;
 	}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.catalog;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+/**
+ * Adaptive schedule for background update checks. The check interval starts at a minimum and is doubled up to a
+ * maximum every time a check finds the same updates as the previous one or fails, and reset to the minimum as soon as
+ * the available updates change.
+ * <p>
+ * The time of the last check, the current interval and the updates found last are kept in the given preferences, so
+ * the schedule continues where it left off after a restart, and updates that have already been announced aren't
+ * announced again.
+ *
+ * @author agent
+ */
+public class UpdateCheckSchedule {
+
+	static final long MIN_INTERVAL = 4 * 60 * 60 * 1000;
+
+	static final long MAX_INTERVAL = 7 * 24 * 60 * 60 * 1000;
+
+	static final String LAST_CHECK_PROPERTY = UpdateNotifier.ENABLEMENT_PROPERTY + ".lastCheck"; //$NON-NLS-1$
+
+	static final String INTERVAL_PROPERTY = UpdateNotifier.ENABLEMENT_PROPERTY + ".interval"; //$NON-NLS-1$
+
+	static final String LAST_RESULT_PROPERTY = UpdateNotifier.ENABLEMENT_PROPERTY + ".lastResult"; //$NON-NLS-1$
+
+	private final IPreferenceStore preferences;
+
+	private final long minInterval;
+
+	private final long maxInterval;
+
+	private final LongSupplier clock;
+
+	private long interval;
+
+	private long lastCheck;
+
+	private String lastResult;
+
+	public UpdateCheckSchedule(IPreferenceStore preferences) {
+		this(preferences, MIN_INTERVAL, MAX_INTERVAL, System::currentTimeMillis);
+	}
+
+	public UpdateCheckSchedule(long minInterval, long maxInterval) {
+		this(null, minInterval, maxInterval, System::currentTimeMillis);
+	}
+
+	/**
+	 * @param preferences
+	 *            the preferences the schedule is kept in, or null to keep it in memory only
+	 */
+	public UpdateCheckSchedule(IPreferenceStore preferences, long minInterval, long maxInterval, LongSupplier clock) {
+		this.preferences = preferences;
+		this.minInterval = minInterval;
+		this.maxInterval = Math.max(minInterval, maxInterval);
+		this.clock = clock;
+		this.interval = minInterval;
+		if (preferences != null) {
+			long storedInterval = preferences.getLong(INTERVAL_PROPERTY);
+			if (storedInterval > 0) {
+				interval = Math.max(this.minInterval, Math.min(this.maxInterval, storedInterval));
+			}
+			lastCheck = preferences.getLong(LAST_CHECK_PROPERTY);
+			if (preferences.contains(LAST_RESULT_PROPERTY)) {
+				lastResult = preferences.getString(LAST_RESULT_PROPERTY);
+			}
+		}
+	}
+
+	/**
+	 * @return the check interval
+	 */
+	public synchronized long getInterval() {
+		return interval;
+	}
+
+	/**
+	 * @return the delay until the next check is due, 0 if it is overdue or there hasn't been a check yet
+	 */
+	public synchronized long getDelay() {
+		if (lastCheck <= 0) {
+			return 0;
+		}
+		long elapsed = clock.getAsLong() - lastCheck;
+		if (elapsed < 0) {
+			//clock was turned back
+			return interval;
+		}
+		return Math.max(0, interval - elapsed);
+	}
+
+	/**
+	 * Record the result of a successful check.
+	 *
+	 * @param result
+	 *            a key identifying the available updates, empty if there are none
+	 * @return true if the available updates changed since the last check, including checks of earlier sessions
+	 */
+	public synchronized boolean checked(String result) {
+		boolean changed = lastResult == null || !Objects.equals(result, lastResult);
+		lastResult = result;
+		interval = changed ? minInterval : backOff();
+		lastCheck = clock.getAsLong();
+		store();
+		return changed;
+	}
+
+	/**
+	 * Record a failed check.
+	 */
+	public synchronized void failed() {
+		interval = backOff();
+		lastCheck = clock.getAsLong();
+		store();
+	}
+
+	private long backOff() {
+		return interval >= maxInterval / 2 ? maxInterval : interval * 2;
+	}
+
+	private void store() {
+		if (preferences == null) {
+			return;
+		}
+		//not using setValue() - this is internal state nobody needs to be notified about
+		preferences.putValue(LAST_CHECK_PROPERTY, String.valueOf(lastCheck));
+		preferences.putValue(INTERVAL_PROPERTY, String.valueOf(interval));
+		if (lastResult != null) {
+			preferences.putValue(LAST_RESULT_PROPERTY, lastResult);
+		}
+	}
+}
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.catalog;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.ui.CatalogRegistry;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientDebug;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUiResources;
+import org.eclipse.epp.mpc.ui.CatalogDescriptor;
+import org.eclipse.epp.mpc.ui.IMarketplaceClientService;
+import org.eclipse.epp.mpc.ui.MarketplaceClient;
+import org.eclipse.equinox.internal.p2.discovery.DiscoveryCore;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.preference.IPersistentPreferenceStore;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.IStartup;
+import org.eclipse.ui.progress.IProgressConstants;
+
+/**
+ * Periodically checks installed marketplace solutions for updates in the background and notifies the user when new
+ * updates become available. Checks run at low priority on an {@link UpdateCheckSchedule adaptive schedule} and are
+ * postponed while the IDE is busy building or running user jobs.
+ * <p>
+ * Checked update sites are recorded in the {@link UpdateSiteCache}, so a subsequent update check in the wizard doesn't
+ * have to check them again.
+ *
+ * @author agent
+ */
+public class UpdateNotifier implements IStartup, IPropertyChangeListener {
+
+	public static final String ENABLEMENT_PROPERTY = "org.eclipse.epp.mpc.updatecheck"; //$NON-NLS-1$
+
+	static final long STARTUP_DELAY = 5 * 60 * 1000;
+
+	static final long BUSY_DELAY = 10 * 60 * 1000;
+
+	private IPreferenceStore preferenceStore;
+
+	private UpdateCheckSchedule schedule;
+
+	private UpdateCheckJob job;
+
+	private class UpdateCheckJob extends Job {
+
+		private volatile boolean stopped;
+
+		public UpdateCheckJob() {
+			super(Messages.UpdateNotifier_checkingForUpdates);
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == UpdateNotifier.this;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (stopped) {
+				return Status.CANCEL_STATUS;
+			}
+			if (MarketplaceClientUi.isWorkbenchBusy()) {
+				trace("IDE busy, postponing update check"); //$NON-NLS-1$
+				reschedule(BUSY_DELAY);
+				return Status.OK_STATUS;
+			}
+			try {
+				List<MarketplaceNodeCatalogItem> updates = new ArrayList<>();
+				IStatus status = checkForUpdates(updates, monitor);
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				if (status.getSeverity() >= IStatus.ERROR) {
+					schedule.failed();
+					trace("Update check failed: {0}", status); //$NON-NLS-1$
+				} else if (schedule.checked(computeUpdatesKey(updates)) && !updates.isEmpty()) {
+					notifyUpdates(updates);
+				}
+			} catch (RuntimeException ex) {
+				schedule.failed();
+				MarketplaceClientUi.log(IStatus.WARNING, Messages.UpdateNotifier_checkFailed, ex);
+			}
+			savePreferences();
+			trace("Next update check in {0} minutes", schedule.getInterval() / (60 * 1000)); //$NON-NLS-1$
+			reschedule(schedule.getInterval());
+			return Status.OK_STATUS;
+		}
+
+		private void reschedule(long delay) {
+			if (!stopped) {
+				schedule(delay);
+			}
+		}
+	}
+
+	@Override
+	public void earlyStartup() {
+		preferenceStore = MarketplaceClientUiResources.getInstance().getPreferenceStore();
+		schedule = new UpdateCheckSchedule(preferenceStore);
+		preferenceStore.addPropertyChangeListener(this);
+		if (preferenceStore.getBoolean(ENABLEMENT_PROPERTY)) {
+			start();
+		}
+	}
+
+	@Override
+	public void propertyChange(PropertyChangeEvent event) {
+		if (ENABLEMENT_PROPERTY.equals(event.getProperty())) {
+			boolean enabled;
+			if (event.getNewValue() instanceof String) {
+				enabled = Boolean.parseBoolean((String) event.getNewValue());
+			} else {
+				enabled = Boolean.TRUE.equals(event.getNewValue());
+			}
+			if (enabled) {
+				start();
+			} else {
+				stop();
+			}
+		}
+	}
+
+	/**
+	 * Start checking when the next check is due according to the schedule of the previous sessions, but not before the
+	 * startup has settled.
+	 */
+	private synchronized void start() {
+		if (job == null) {
+			long delay = Math.max(STARTUP_DELAY, schedule.getDelay());
+			trace("Next update check in {0} minutes", delay / (60 * 1000)); //$NON-NLS-1$
+			job = new UpdateCheckJob();
+			job.schedule(delay);
+		}
+	}
+
+	private synchronized void stop() {
+		if (job != null) {
+			job.stopped = true;
+			job.cancel();
+			job = null;
+		}
+	}
+
+	private void savePreferences() {
+		if (preferenceStore instanceof IPersistentPreferenceStore) {
+			try {
+				((IPersistentPreferenceStore) preferenceStore).save();
+			} catch (IOException ex) {
+				MarketplaceClientUi.log(IStatus.WARNING, Messages.UpdateNotifier_saveScheduleFailed, ex);
+			}
+		}
+	}
+
+	private static IStatus checkForUpdates(List<MarketplaceNodeCatalogItem> updates, IProgressMonitor monitor) {
+		List<CatalogDescriptor> catalogDescriptors = CatalogRegistry.getInstance().getCatalogDescriptors();
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.UpdateNotifier_checkingForUpdates,
+				catalogDescriptors.size() * 100);
+		IStatus status = Status.OK_STATUS;
+		for (CatalogDescriptor catalogDescriptor : catalogDescriptors) {
+			if (progress.isCanceled()) {
+				break;
+			}
+			MarketplaceCatalog catalog = new MarketplaceCatalog();
+			catalog.setEnvironment(DiscoveryCore.createEnvironment());
+			catalog.setVerifyUpdateSiteAvailability(false);
+			catalog.getDiscoveryStrategies().add(new MarketplaceDiscoveryStrategy(catalogDescriptor));
+			try {
+				IStatus installedStatus = catalog.installed(progress.newChild(50));
+				if (installedStatus.getSeverity() >= IStatus.ERROR) {
+					status = installedStatus;
+					continue;
+				}
+				IStatus updateStatus = catalog.checkForUpdates(progress.newChild(50));
+				if (updateStatus.getSeverity() >= IStatus.ERROR) {
+					status = updateStatus;
+				}
+				updates.addAll(catalog.getAvailableUpdates());
+			} finally {
+				catalog.dispose();
+			}
+		}
+		return status;
+	}
+
+	private static String computeUpdatesKey(List<MarketplaceNodeCatalogItem> updates) {
+		Set<String> ids = new TreeSet<>();
+		for (MarketplaceNodeCatalogItem item : updates) {
+			ids.add(item.getId());
+		}
+		return String.join(",", ids); //$NON-NLS-1$
+	}
+
+	private static void notifyUpdates(List<MarketplaceNodeCatalogItem> updates) {
+		// keep a finished job around, so the notification shows up in the progress area until it's handled
+		Job notification = new Job(NLS.bind(Messages.UpdateNotifier_updatesAvailable, updates.size())) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				return MarketplaceClientUi.newStatus(IStatus.INFO, getName());
+			}
+		};
+		notification.setProperty(IProgressConstants.KEEP_PROPERTY, Boolean.TRUE);
+		notification.setProperty(IProgressConstants.ACTION_PROPERTY, new Action(Messages.UpdateNotifier_showUpdates) {
+			@Override
+			public void run() {
+				IMarketplaceClientService clientService = MarketplaceClient.getMarketplaceClientService();
+				clientService.openInstalled(clientService.newConfiguration());
+			}
+		});
+		notification.setPriority(Job.DECORATE);
+		notification.schedule();
+	}
+
+	private static void trace(String message, Object... parameters) {
+		if (MarketplaceClientDebug.DEBUG) {
+			MarketplaceClientDebug.trace(MarketplaceClientDebug.UPDATES_DEBUG_OPTION, message, parameters);
+		}
+	}
+}
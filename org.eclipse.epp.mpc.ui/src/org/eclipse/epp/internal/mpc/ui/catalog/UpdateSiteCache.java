@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.catalog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Persistent cache of update check results per update site. Every entry records the site's fingerprint at the time of
+ * the check and the highest version of each feature group found on the site. The result can be reused as long as the
+ * fingerprint is unchanged, but not longer than {@link #MAX_AGE}, which bounds how long changes the fingerprint can't
+ * see - e.g. in the children of a composite site - can go unnoticed.
+ *
+ * @author agent
+ */
+public class UpdateSiteCache {
+
+	static final long MAX_AGE = 24 * 60 * 60 * 1000;
+
+	static final long RECENT_AGE = 60 * 60 * 1000;
+
+	private static final String PERSISTENT_FILE = "updateSites.properties"; //$NON-NLS-1$
+
+	private static final String FINGERPRINT_PREFIX = "fingerprint."; //$NON-NLS-1$
+
+	private static final String CHECKED_PREFIX = "checked."; //$NON-NLS-1$
+
+	private static final String VERSIONS_PREFIX = "versions."; //$NON-NLS-1$
+
+	private static UpdateSiteCache instance;
+
+	private final File file;
+
+	private final Properties properties = new Properties();
+
+	private boolean dirty;
+
+	public UpdateSiteCache(File file) {
+		this.file = file;
+		load();
+	}
+
+	public static synchronized UpdateSiteCache getInstance() {
+		if (instance == null) {
+			Bundle bundle = Platform.getBundle(MarketplaceClientUi.BUNDLE_ID);
+			BundleContext bundleContext = bundle == null ? null : bundle.getBundleContext();
+			instance = new UpdateSiteCache(bundleContext == null ? null : bundleContext.getDataFile(PERSISTENT_FILE));
+		}
+		return instance;
+	}
+
+	/**
+	 * Get the cached highest feature versions of the given site, if the site had the given fingerprint at the last
+	 * check and that check isn't too old.
+	 *
+	 * @return the highest version by feature group id, or null if the site has to be checked
+	 */
+	public synchronized Map<String, Version> get(URI site, String fingerprint) {
+		if (fingerprint == null) {
+			return null;
+		}
+		String key = site.toString();
+		if (!fingerprint.equals(properties.getProperty(FINGERPRINT_PREFIX + key))) {
+			return null;
+		}
+		return get(key, MAX_AGE);
+	}
+
+	/**
+	 * Get the cached highest feature versions of the given site if it has been checked within the last
+	 * {@link #RECENT_AGE}, e.g. by a background update check, without verifying its fingerprint.
+	 *
+	 * @return the highest version by feature group id, or null if there is no recent result
+	 */
+	public synchronized Map<String, Version> getRecent(URI site) {
+		String key = site.toString();
+		if (properties.getProperty(FINGERPRINT_PREFIX + key) == null) {
+			return null;
+		}
+		return get(key, RECENT_AGE);
+	}
+
+	private Map<String, Version> get(String key, long maxAge) {
+		try {
+			long checked = Long.parseLong(properties.getProperty(CHECKED_PREFIX + key, "0")); //$NON-NLS-1$
+			if (System.currentTimeMillis() - checked > maxAge) {
+				return null;
+			}
+			String versions = properties.getProperty(VERSIONS_PREFIX + key, ""); //$NON-NLS-1$
+			if (versions.isEmpty()) {
+				return Collections.emptyMap();
+			}
+			Map<String, Version> versionsById = new HashMap<>();
+			for (String entry : versions.split(",")) { //$NON-NLS-1$
+				int separator = entry.indexOf('=');
+				versionsById.put(entry.substring(0, separator), Version.create(entry.substring(separator + 1)));
+			}
+			return versionsById;
+		} catch (RuntimeException e) {
+			// broken entry, check again
+			remove(key);
+			return null;
+		}
+	}
+
+	/**
+	 * Record the result of a full check of the given site. Without a fingerprint, any previous result is discarded.
+	 */
+	public synchronized void put(URI site, String fingerprint, Map<String, Version> versionsById) {
+		String key = site.toString();
+		if (fingerprint == null) {
+			remove(key);
+			return;
+		}
+		StringBuilder versions = new StringBuilder();
+		for (Map.Entry<String, Version> entry : versionsById.entrySet()) {
+			if (versions.length() > 0) {
+				versions.append(',');
+			}
+			versions.append(entry.getKey()).append('=').append(entry.getValue());
+		}
+		properties.setProperty(FINGERPRINT_PREFIX + key, fingerprint);
+		properties.setProperty(CHECKED_PREFIX + key, String.valueOf(System.currentTimeMillis()));
+		properties.setProperty(VERSIONS_PREFIX + key, versions.toString());
+		dirty = true;
+	}
+
+	private void remove(String key) {
+		if (properties.remove(FINGERPRINT_PREFIX + key) != null) {
+			properties.remove(CHECKED_PREFIX + key);
+			properties.remove(VERSIONS_PREFIX + key);
+			dirty = true;
+		}
+	}
+
+	private void load() {
+		if (file == null || !file.isFile()) {
+			return;
+		}
+		try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+			properties.load(in);
+		} catch (IOException | IllegalArgumentException e) {
+			// start over
+			MarketplaceClientUi.log(IStatus.WARNING, Messages.UpdateSiteCache_LoadError, e);
+			properties.clear();
+			file.delete();
+		}
+	}
+
+	/**
+	 * Write the cache to disk if it has been changed.
+	 */
+	public synchronized void save() {
+		if (!dirty || file == null) {
+			return;
+		}
+		File container = file.getParentFile();
+		if (container != null && !container.exists()) {
+			container.mkdirs();
+		}
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+			properties.store(out, null);
+			dirty = false;
+		} catch (IOException e) {
+			// fail safe
+			MarketplaceClientUi.error(e);
+		}
+	}
+}
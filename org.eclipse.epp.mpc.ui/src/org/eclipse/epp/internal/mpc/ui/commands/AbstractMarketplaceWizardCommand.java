@@ -15,25 +15,38 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.ui.commands;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.ByteArrayInputStream;
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Set;
 
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.commands.IHandler;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.service.CatalogCache;
+import org.eclipse.epp.internal.mpc.core.service.DefaultCatalogService;
+import org.eclipse.epp.internal.mpc.core.util.URLUtil;
 import org.eclipse.epp.internal.mpc.ui.CatalogRegistry;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUiResources;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCatalog;
+import org.eclipse.epp.internal.mpc.ui.catalog.PreWarmCache;
 import org.eclipse.epp.internal.mpc.ui.catalog.ResourceProvider;
 import org.eclipse.epp.internal.mpc.ui.wizards.AbstractMarketplaceWizardDialog;
 import org.eclipse.epp.internal.mpc.ui.wizards.MarketplaceCatalogConfiguration;
+import org.eclipse.epp.internal.mpc.ui.wizards.MarketplaceWizard;
+import org.eclipse.epp.internal.mpc.ui.wizards.WizardBootstrap;
+import org.eclipse.epp.internal.mpc.ui.wizards.WizardBootstrap.Phase;
 import org.eclipse.epp.mpc.core.model.ICatalog;
 import org.eclipse.epp.mpc.core.service.ICatalogService;
 import org.eclipse.epp.mpc.core.service.ServiceHelper;
@@ -42,6 +55,7 @@ import org.eclipse.epp.mpc.ui.IMarketplaceClientConfiguration;
 import org.eclipse.epp.mpc.ui.MarketplaceUrlHandler;
 import org.eclipse.equinox.internal.p2.discovery.DiscoveryCore;
 import org.eclipse.equinox.internal.p2.ui.discovery.wizards.DiscoveryWizard;
+import org.eclipse.jface.operation.IRunnableContext;
 import org.eclipse.jface.wizard.WizardDialog;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.PlatformUI;
@@ -57,24 +71,64 @@ public abstract class AbstractMarketplaceWizardCommand extends AbstractHandler i
 
 	private CatalogDescriptor selectedCatalogDescriptor;
 
+	private WizardBootstrap bootstrap;
+
+	/**
+	 * Set if the wizard starts with the catalogs cached from an earlier session, which still need to be refreshed
+	 */
+	private volatile List<? extends ICatalog> cachedCatalogs;
+
 	@Override
 	public Object execute(ExecutionEvent event) throws ExecutionException {
-		final MarketplaceCatalog catalog = createCatalog();
-		if (catalog == null)
-		{
-			return null;//errors have already been logged, just return
-		}
-		MarketplaceCatalogConfiguration configuration = createConfiguration(catalog, event);
-		if (configuration == null)
-		{
-			return null;//errors have already been logged, just return
+		bootstrap = new WizardBootstrap();
+		try {
+			if (catalogDescriptors == null || catalogDescriptors.isEmpty()) {
+				startCatalogs(bootstrap);
+			}
+			final MarketplaceCatalog catalog = createCatalog();
+			if (catalog == null)
+			{
+				bootstrap.cancel();
+				return null;//errors have already been logged, just return
+			}
+			MarketplaceCatalogConfiguration configuration = createConfiguration(catalog, event);
+			if (configuration == null)
+			{
+				bootstrap.cancel();
+				return null;//errors have already been logged, just return
+			}
+			DiscoveryWizard wizard = createWizard(catalog, configuration, event);
+			if (wizard instanceof MarketplaceWizard) {
+				((MarketplaceWizard) wizard).setBootstrap(bootstrap);
+			}
+			openWizardDialog(wizard, event);
+		} finally {
+			bootstrap = null;
 		}
-		DiscoveryWizard wizard = createWizard(catalog, configuration, event);
-		openWizardDialog(wizard, event);
 
 		return null;
 	}
 
+	private void startCatalogs(WizardBootstrap bootstrap) {
+		cachedCatalogs = null;
+		bootstrap.start(Phase.CATALOGS, monitor -> {
+			List<? extends ICatalog> catalogs = PreWarmCache.getInstance().getCatalogs();
+			if (catalogs != null) {
+				return catalogs;
+			}
+			ICatalogService catalogService = ServiceHelper.getMarketplaceServiceLocator().getCatalogService();
+			if (catalogService instanceof DefaultCatalogService) {
+				// start right away with the catalogs from the last session and refresh them once they are registered
+				catalogs = ((DefaultCatalogService) catalogService).getCachedCatalogs();
+				if (catalogs != null) {
+					cachedCatalogs = catalogs;
+					return catalogs;
+				}
+			}
+			return catalogService.listCatalogs(monitor);
+		});
+	}
+
 	protected MarketplaceCatalog createCatalog() {
 		final MarketplaceCatalog catalog = new MarketplaceCatalog();
 
@@ -160,51 +214,37 @@ public abstract class AbstractMarketplaceWizardCommand extends AbstractHandler i
 	}
 
 	public IStatus installRemoteCatalogs() {
-		try {
-			final AtomicReference<List<? extends ICatalog>> result = new AtomicReference<>();
+		WizardBootstrap bootstrap = this.bootstrap;
+		if (bootstrap == null) {
+			bootstrap = new WizardBootstrap();
+			startCatalogs(bootstrap);
+			return installRemoteCatalogs(bootstrap);
+		}
+		return installRemoteCatalogs(bootstrap);
+	}
 
-			PlatformUI.getWorkbench().getProgressService().busyCursorWhile(monitor -> {
-				try {
-					ICatalogService catalogService = ServiceHelper.getMarketplaceServiceLocator().getCatalogService();
-					final List<? extends ICatalog> catalogs = catalogService.listCatalogs(monitor);
-					result.set(catalogs);
-				} catch (CoreException e) {
-					if (e.getStatus().getSeverity() == IStatus.CANCEL) {
-						throw new InterruptedException();
-					}
-					throw new InvocationTargetException(e);
-				}
-			});
+	private IStatus installRemoteCatalogs(WizardBootstrap bootstrap) {
+		try {
+			IRunnableContext busyCursor = (fork, cancelable, runnable) -> PlatformUI.getWorkbench()
+					.getProgressService()
+					.busyCursorWhile(runnable);
+			final List<? extends ICatalog> catalogs = bootstrap.await(Phase.CATALOGS, busyCursor);
 
-			List<? extends ICatalog> catalogs = result.get();
+			// cached images can be shown right away
+			provideCachedBranding(catalogs);
+			// other images aren't needed right away - the wizard shows them once they are available
+			bootstrap.start(Phase.BRANDING, monitor -> {
+				retrieveBranding(catalogs, monitor);
+				return null;
+			}, bootstrap.getPhase(Phase.CATALOGS));
 			for (ICatalog catalog : catalogs) {
-				ResourceProvider resourceProvider = MarketplaceClientUiResources.getInstance().getResourceProvider();
-				String catalogName = catalog.getName();
-				String requestSource = NLS.bind(Messages.MarketplaceWizardCommand_requestCatalog, catalogName,
-						catalog.getId());
-				String catalogImageUrl = catalog.getImageUrl();
-				if (catalogImageUrl != null) {
-					try {
-						resourceProvider.retrieveResource(requestSource, catalogImageUrl);
-					} catch (Exception e) {
-						MarketplaceClientUi.log(IStatus.WARNING,
-								Messages.MarketplaceWizardCommand_FailedRetrievingCatalogImage, catalogName,
-								catalogImageUrl, e);
-					}
-				}
-				if (catalog.getBranding() != null && catalog.getBranding().getWizardIcon() != null) {
-					String wizardIconUrl = catalog.getBranding().getWizardIcon();
-					try {
-						resourceProvider.retrieveResource(requestSource, wizardIconUrl);
-					} catch (Exception e) {
-						MarketplaceClientUi.log(IStatus.WARNING,
-								Messages.MarketplaceWizardCommand_FailedRetrievingCatalogWizardIcon, catalogName,
-								wizardIconUrl, e);
-					}
-				}
 				CatalogDescriptor descriptor = new CatalogDescriptor(catalog);
 				registerOrOverrideCatalog(descriptor);
 			}
+			if (catalogs == cachedCatalogs) {
+				cachedCatalogs = null;
+				scheduleCatalogRefresh(catalogs);
+			}
 		} catch (InterruptedException ie) {
 			if (ie.getMessage() == null || "".equals(ie.getMessage())) {
 				InterruptedException ie1 = new InterruptedException("Operation cancelled");
@@ -224,7 +264,155 @@ public abstract class AbstractMarketplaceWizardCommand extends AbstractHandler i
 		return Status.OK_STATUS;
 	}
 
-	private void registerOrOverrideCatalog(CatalogDescriptor descriptor) {
+	/**
+	 * Refresh the cached catalogs the wizard has been started with in the background. Changed and new catalogs are
+	 * registered in place of the cached ones, and catalogs that are gone are unregistered, so the next wizard starts
+	 * with the current catalogs.
+	 */
+	private static void scheduleCatalogRefresh(final List<? extends ICatalog> cachedCatalogs) {
+		Job refreshJob = new Job(Messages.MarketplaceWizardCommand_refreshCatalogsJobName) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				SubMonitor progress = SubMonitor.convert(monitor, 100);
+				List<? extends ICatalog> catalogs;
+				try {
+					catalogs = ServiceHelper.getMarketplaceServiceLocator()
+							.getCatalogService()
+							.listCatalogs(progress.newChild(50));
+				} catch (CoreException e) {
+					return e.getStatus().getSeverity() == IStatus.CANCEL ? Status.CANCEL_STATUS
+							: MarketplaceClientCore.computeStatus(e,
+									Messages.MarketplaceWizardCommand_refreshCatalogsFailed);
+				}
+				PreWarmCache.getInstance().putCatalogs(catalogs);
+				reconcileCatalogs(cachedCatalogs, catalogs);
+				retrieveBranding(catalogs, progress.newChild(50));
+				return Status.OK_STATUS;
+			}
+		};
+		refreshJob.setSystem(true);
+		refreshJob.setPriority(Job.DECORATE);
+		refreshJob.schedule();
+	}
+
+	private static void reconcileCatalogs(List<? extends ICatalog> cachedCatalogs, List<? extends ICatalog> catalogs) {
+		Set<String> catalogUrls = new HashSet<>();
+		for (ICatalog catalog : catalogs) {
+			try {
+				registerOrOverrideCatalog(new CatalogDescriptor(catalog));
+				catalogUrls.add(catalog.getUrl());
+			} catch (MalformedURLException e) {
+				MarketplaceClientUi.log(IStatus.WARNING, Messages.MarketplaceWizardCommand_invalidCatalogUrl,
+						catalog.getName(), catalog.getUrl(), e);
+			}
+		}
+		CatalogRegistry catalogRegistry = CatalogRegistry.getInstance();
+		for (ICatalog cachedCatalog : cachedCatalogs) {
+			if (!catalogUrls.contains(cachedCatalog.getUrl())) {
+				CatalogDescriptor descriptor = catalogRegistry.findCatalogDescriptor(cachedCatalog.getUrl());
+				if (descriptor != null) {
+					catalogRegistry.unregister(descriptor);
+				}
+			}
+		}
+	}
+
+	private static CatalogCache getCatalogCache() {
+		ICatalogService catalogService = ServiceHelper.getMarketplaceServiceLocator().getCatalogService();
+		return catalogService instanceof DefaultCatalogService ? ((DefaultCatalogService) catalogService).getCache()
+				: null;
+	}
+
+	/**
+	 * Provide the catalog images cached in an earlier session without contacting the server.
+	 */
+	private static void provideCachedBranding(List<? extends ICatalog> catalogs) {
+		CatalogCache catalogCache = getCatalogCache();
+		if (catalogCache == null) {
+			return;
+		}
+		ResourceProvider resourceProvider = MarketplaceClientUiResources.getInstance().getResourceProvider();
+		for (ICatalog catalog : catalogs) {
+			for (String imageUrl : getBrandingImages(catalog)) {
+				if (resourceProvider.containsResource(imageUrl)) {
+					continue;
+				}
+				try {
+					byte[] cached = catalogCache.getCached(URLUtil.toURI(imageUrl));
+					if (cached != null) {
+						resourceProvider.registerResource(imageUrl).retrieve(new ByteArrayInputStream(cached));
+					}
+				} catch (Exception e) {
+					// retrieved from the server later
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieve the catalog images that aren't available yet. Cached images are revalidated for the next session, and
+	 * cached images that haven't been used for a long time, like those of catalogs that are gone, are removed.
+	 */
+	private static void retrieveBranding(List<? extends ICatalog> catalogs, IProgressMonitor monitor) {
+		CatalogCache catalogCache = getCatalogCache();
+		ResourceProvider resourceProvider = MarketplaceClientUiResources.getInstance().getResourceProvider();
+		for (ICatalog catalog : catalogs) {
+			if (monitor.isCanceled()) {
+				return;
+			}
+			String catalogName = catalog.getName();
+			String requestSource = NLS.bind(Messages.MarketplaceWizardCommand_requestCatalog, catalogName,
+					catalog.getId());
+			String catalogImageUrl = catalog.getImageUrl();
+			if (catalogImageUrl != null) {
+				try {
+					retrieveBrandingImage(catalogCache, resourceProvider, requestSource, catalogImageUrl, monitor);
+				} catch (Exception e) {
+					MarketplaceClientUi.log(IStatus.WARNING,
+							Messages.MarketplaceWizardCommand_FailedRetrievingCatalogImage, catalogName,
+							catalogImageUrl, e);
+				}
+			}
+			if (catalog.getBranding() != null && catalog.getBranding().getWizardIcon() != null) {
+				String wizardIconUrl = catalog.getBranding().getWizardIcon();
+				try {
+					retrieveBrandingImage(catalogCache, resourceProvider, requestSource, wizardIconUrl, monitor);
+				} catch (Exception e) {
+					MarketplaceClientUi.log(IStatus.WARNING,
+							Messages.MarketplaceWizardCommand_FailedRetrievingCatalogWizardIcon, catalogName,
+							wizardIconUrl, e);
+				}
+			}
+		}
+		if (catalogCache != null) {
+			catalogCache.prune(CatalogCache.DEFAULT_MAX_AGE);
+		}
+	}
+
+	private static void retrieveBrandingImage(CatalogCache catalogCache, ResourceProvider resourceProvider,
+			String requestSource, String imageUrl, IProgressMonitor monitor) throws Exception {
+		if (catalogCache == null) {
+			resourceProvider.retrieveResource(requestSource, imageUrl);
+			return;
+		}
+		byte[] image = catalogCache.fetch(URLUtil.toURI(imageUrl), monitor);
+		if (!resourceProvider.containsResource(imageUrl)) {
+			resourceProvider.registerResource(imageUrl).retrieve(new ByteArrayInputStream(image));
+		}
+	}
+
+	private static List<String> getBrandingImages(ICatalog catalog) {
+		List<String> images = new ArrayList<>(2);
+		if (catalog.getImageUrl() != null) {
+			images.add(catalog.getImageUrl());
+		}
+		if (catalog.getBranding() != null && catalog.getBranding().getWizardIcon() != null) {
+			images.add(catalog.getBranding().getWizardIcon());
+		}
+		return images;
+	}
+
+	private static void registerOrOverrideCatalog(CatalogDescriptor descriptor) {
 		CatalogRegistry catalogRegistry = CatalogRegistry.getInstance();
 		List<CatalogDescriptor> descriptors = catalogRegistry.getCatalogDescriptors();
 		for (CatalogDescriptor catalogDescriptor : descriptors) {
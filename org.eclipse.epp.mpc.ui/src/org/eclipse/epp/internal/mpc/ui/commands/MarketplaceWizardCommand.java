@@ -32,6 +32,7 @@ import org.eclipse.epp.internal.mpc.ui.wizards.MarketplaceFilter;
 import org.eclipse.epp.internal.mpc.ui.wizards.MarketplaceWizard;
 import org.eclipse.epp.internal.mpc.ui.wizards.MarketplaceWizard.WizardState;
 import org.eclipse.epp.internal.mpc.ui.wizards.MarketplaceWizardDialog;
+import org.eclipse.epp.internal.mpc.ui.wizards.WizardSessionCache;
 import org.eclipse.epp.mpc.core.model.ICategory;
 import org.eclipse.epp.mpc.core.model.IMarket;
 import org.eclipse.epp.mpc.ui.IMarketplaceClientConfiguration;
@@ -58,6 +59,17 @@ public class MarketplaceWizardCommand extends AbstractMarketplaceWizardCommand i
 
 	private WizardState wizardDialogState;
 
+	private WizardSessionCache.Session restoredSession;
+
+	@Override
+	protected MarketplaceCatalog createCatalog() {
+		restoredSession = WizardSessionCache.getInstance().take();
+		if (restoredSession != null) {
+			return restoredSession.getCatalog();
+		}
+		return super.createCatalog();
+	}
+
 	@Override
 	protected MarketplaceCatalogConfiguration createConfiguration(final MarketplaceCatalog catalog,
 			ExecutionEvent event) {
@@ -131,6 +143,10 @@ public class MarketplaceWizardCommand extends AbstractMarketplaceWizardCommand i
 			MarketplaceCatalogConfiguration configuration, ExecutionEvent event) {
 		MarketplaceWizard wizard = new MarketplaceWizard(catalog, configuration);
 		wizard.setInitialState(wizardDialogState);
+		if (restoredSession != null && restoredSession.getCatalog() == catalog) {
+			wizard.setRestoredSession(restoredSession);
+		}
+		restoredSession = null;
 		wizard.setWindowTitle(Messages.MarketplaceWizardCommand_eclipseMarketplace);
 		String trigger = event.getParameter(TRIGGER_PARAMETER);
 		wizard.setTrigger(trigger);
@@ -34,8 +34,14 @@ class Messages extends NLS {
 
 	public static String MarketplaceWizardCommand_FailedRetrievingCatalogWizardIcon;
 
+	public static String MarketplaceWizardCommand_invalidCatalogUrl;
+
 	public static String MarketplaceWizardCommand_noRemoteCatalogs;
 
+	public static String MarketplaceWizardCommand_refreshCatalogsFailed;
+
+	public static String MarketplaceWizardCommand_refreshCatalogsJobName;
+
 	public static String MarketplaceWizardCommand_requestCatalog;
 	static {
 		// initialize resource bundle
@@ -16,9 +16,11 @@ package org.eclipse.epp.internal.mpc.ui.discovery;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -26,18 +28,12 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
 import org.eclipse.epp.internal.mpc.ui.Messages;
 import org.eclipse.epp.mpc.core.model.INode;
-import org.eclipse.epp.mpc.core.model.ISearchResult;
 import org.eclipse.epp.mpc.core.model.ITag;
-import org.eclipse.epp.mpc.core.service.IMarketplaceService;
-import org.eclipse.epp.mpc.core.service.IMarketplaceServiceLocator;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorDescriptor;
 import org.eclipse.ui.IEditorRegistry;
 import org.eclipse.ui.progress.UIJob;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.FrameworkUtil;
-import org.osgi.framework.ServiceReference;
 
 final class DiscoverFileSupportJob extends Job {
 	private final Display display;
@@ -59,20 +55,6 @@ final class DiscoverFileSupportJob extends Job {
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
-		BundleContext bundleContext = FrameworkUtil.getBundle(getClass()).getBundleContext();
-		ServiceReference<IMarketplaceServiceLocator> locatorReference = bundleContext
-				.getServiceReference(IMarketplaceServiceLocator.class);
-		IMarketplaceServiceLocator locator = bundleContext.getService(locatorReference);
-		IMarketplaceService marketplaceService = locator
-				.getDefaultMarketplaceService();
-		try {
-			return run(marketplaceService, monitor);
-		} finally {
-			bundleContext.ungetService(locatorReference);
-		}
-	}
-
-	private IStatus run(IMarketplaceService marketplaceService, IProgressMonitor monitor) {
 		final List<String> fileExtensions = getFileExtensions(fileName);
 		final List<String> fileExtensionTags = new ArrayList<>();
 
@@ -82,9 +64,19 @@ final class DiscoverFileSupportJob extends Job {
 
 		final List<? extends INode> nodes;
 		try {
-			ISearchResult searchResult = marketplaceService.tagged(fileExtensionTags, monitor);
-			nodes = orderNodesByTagSubExtensionCount(searchResult.getNodes(), fileExtensionTags);
+			// repeated lookups for the same file type are answered from the discovery cache
+			Map<String, List<INode>> nodesByTag = TagDiscoveryCache.getDefault().lookup(fileExtensionTags, monitor);
+			Map<String, INode> uniqueNodes = new LinkedHashMap<>();
+			for (List<INode> tagNodes : nodesByTag.values()) {
+				for (INode node : tagNodes) {
+					uniqueNodes.putIfAbsent(node.getId() == null ? node.getUrl() : node.getId(), node);
+				}
+			}
+			nodes = orderNodesByTagSubExtensionCount(new ArrayList<>(uniqueNodes.values()), fileExtensionTags);
 		} catch (Exception ex) {
+			if (ex instanceof CoreException && ((CoreException) ex).getStatus().getSeverity() == IStatus.CANCEL) {
+				return Status.CANCEL_STATUS;
+			}
 			IStatus status = new Status(IStatus.ERROR, MarketplaceClientUi.BUNDLE_ID,
 					NLS.bind(Messages.DiscoverFileSupportJob_discoveryFailed, getFileExtensionLabel(fileName)), ex);
 			// Do not return this status as it would show an error, e.g. when the user is currently offline
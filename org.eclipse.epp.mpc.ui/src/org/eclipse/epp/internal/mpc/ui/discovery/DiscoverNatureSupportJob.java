@@ -12,8 +12,12 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.ui.discovery;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -23,38 +27,39 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
 import org.eclipse.epp.internal.mpc.ui.Messages;
 import org.eclipse.epp.mpc.core.model.INode;
-import org.eclipse.epp.mpc.core.model.ISearchResult;
-import org.eclipse.epp.mpc.core.service.IMarketplaceService;
-import org.eclipse.epp.mpc.core.service.IMarketplaceServiceLocator;
 import org.eclipse.osgi.util.NLS;
-import org.osgi.framework.BundleContext;
-import org.osgi.framework.FrameworkUtil;
-import org.osgi.framework.ServiceReference;
 
 final class DiscoverNatureSupportJob extends Job {
-	private final String natureId;
+	private final Set<String> natureIds;
 
-	private List<? extends INode> nodes;
+	private final Map<String, Collection<INode>> candidates = new HashMap<>();
 
-	DiscoverNatureSupportJob(String natureId) {
-		super(NLS.bind(Messages.MissingNatureDetector_jobName, natureId));
-		this.natureId = natureId;
+	DiscoverNatureSupportJob(Set<String> natureIds) {
+		super(NLS.bind(Messages.MissingNatureDetector_jobName, String.join(", ", natureIds))); //$NON-NLS-1$
+		this.natureIds = natureIds;
 	}
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
-		BundleContext bundleContext = FrameworkUtil.getBundle(this.getClass()).getBundleContext();
-		ServiceReference<IMarketplaceServiceLocator> locatorReference = bundleContext
-				.getServiceReference(IMarketplaceServiceLocator.class);
-		IMarketplaceServiceLocator locator = bundleContext.getService(locatorReference);
-		IMarketplaceService marketplaceService = locator.getDefaultMarketplaceService();
-		String fileExtensionTag = "nature_" + natureId; //$NON-NLS-1$]
+		Map<String, String> natureIdsByTag = new HashMap<>();
+		for (String natureId : natureIds) {
+			natureIdsByTag.put("nature_" + natureId, natureId); //$NON-NLS-1$
+		}
 		try {
-			ISearchResult searchResult = marketplaceService.tagged(fileExtensionTag, monitor);
-			nodes = searchResult.getNodes();
+			// concurrent lookups for other projects are combined into a single request
+			Map<String, List<INode>> nodesByTag = TagDiscoveryCache.getDefault()
+					.lookup(new ArrayList<>(natureIdsByTag.keySet()), monitor);
+			for (Map.Entry<String, List<INode>> entry : nodesByTag.entrySet()) {
+				if (!entry.getValue().isEmpty()) {
+					candidates.put(natureIdsByTag.get(entry.getKey()), entry.getValue());
+				}
+			}
 		} catch (CoreException ex) {
+			if (ex.getStatus().getSeverity() == IStatus.CANCEL) {
+				return Status.CANCEL_STATUS;
+			}
 			IStatus status = new Status(IStatus.ERROR, MarketplaceClientUi.BUNDLE_ID,
-					NLS.bind(Messages.LookupByNatureJob_discoveryFailed, natureId), ex);
+					NLS.bind(Messages.LookupByNatureJob_discoveryFailed, String.join(", ", natureIds)), ex); //$NON-NLS-1$
 			MarketplaceClientUi.getLog().log(status);
 			// Do not return this status as it would show an error
 			return Status.CANCEL_STATUS;
@@ -62,11 +67,11 @@ final class DiscoverNatureSupportJob extends Job {
 		return Status.OK_STATUS;
 	}
 
-	public Collection<INode> getCandidates() {
-		return (List<INode>) this.nodes;
+	public Map<String, Collection<INode>> getCandidates() {
+		return candidates;
 	}
 
-	public String getNatureId() {
-		return natureId;
+	public Set<String> getNatureIds() {
+		return natureIds;
 	}
-}
\ No newline at end of file
+}
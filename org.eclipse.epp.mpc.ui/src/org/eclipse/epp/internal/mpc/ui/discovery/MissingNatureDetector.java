@@ -53,10 +53,8 @@ public class MissingNatureDetector implements IStartup, IPropertyChangeListener
 		try {
 			CollectMissingNaturesVisitor visitor = new CollectMissingNaturesVisitor();
 			event.getDelta().accept(visitor);
-			for (String natureId : visitor.getMissingNatures()) {
-				triggerNatureLookup(natureId);
-			}
 			if (!visitor.getMissingNatures().isEmpty()) {
+				triggerNatureLookup(visitor.getMissingNatures());
 				showProposalsIfReady();
 			}
 		} catch (CoreException e) {
@@ -71,12 +69,15 @@ public class MissingNatureDetector implements IStartup, IPropertyChangeListener
 		super();
 	}
 
-	private void triggerNatureLookup(final String natureId) {
+	private void triggerNatureLookup(Collection<String> missingNatures) {
 		synchronized (lookupJobs) {
-			if (detectedNatures.contains(natureId)) {
+			Set<String> natureIds = new HashSet<>(missingNatures);
+			natureIds.removeAll(detectedNatures);
+			if (natureIds.isEmpty()) {
 				return;
 			} else {
-				DiscoverNatureSupportJob mpcJob = new DiscoverNatureSupportJob(natureId);
+				// look up all natures of this change at once, the discovery cache takes care of batching and repeated lookups
+				DiscoverNatureSupportJob mpcJob = new DiscoverNatureSupportJob(natureIds);
 				mpcJob.setSystem(false);
 				mpcJob.setUser(false);
 				mpcJob.setJobGroup(allJobs);
@@ -103,10 +104,7 @@ public class MissingNatureDetector implements IStartup, IPropertyChangeListener
 			}
 			candidates = new HashMap<>();
 			for (DiscoverNatureSupportJob lookupJob : lookupJobs) {
-				Collection<INode> entryCandidates = lookupJob.getCandidates();
-				if (entryCandidates != null && !entryCandidates.isEmpty()) {
-					candidates.put(lookupJob.getNatureId(), entryCandidates);
-				}
+				candidates.putAll(lookupJob.getCandidates());
 			}
 			lookupJobs.clear();
 		}
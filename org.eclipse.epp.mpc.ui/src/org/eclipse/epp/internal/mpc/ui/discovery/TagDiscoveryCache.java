@@ -0,0 +1,487 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.discovery;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Priority;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
+import org.eclipse.epp.internal.mpc.ui.Messages;
+import org.eclipse.epp.mpc.core.model.INode;
+import org.eclipse.epp.mpc.core.model.ITag;
+import org.eclipse.epp.mpc.core.service.IMarketplaceService;
+import org.eclipse.epp.mpc.core.service.QueryHelper;
+import org.eclipse.epp.mpc.core.service.ServiceHelper;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Caches the marketplace solutions found for discovery tags like <code>nature_*</code> and
+ * <code>fileExtension_*</code>. Lookups that arrive within a short {@link #BATCH_WINDOW window} are combined into a
+ * single tag query, and both positive and negative results are persisted with a time to live, so projects and files
+ * without marketplace support don't cause the same queries again and again.
+ * <p>
+ * Results are kept per marketplace, so switching to another marketplace doesn't show the solutions found on the
+ * previous one.
+ * <p>
+ * Positive results are persisted as node ids and resolved again on first use in a new session.
+ * <p>
+ * A batch is queried in the background and keeps running as long as any of its lookups is waiting for it, so
+ * canceling one lookup doesn't cancel the others that joined its batch.
+ *
+ * @author agent
+ */
+public class TagDiscoveryCache {
+
+	static final long BATCH_WINDOW = 500;
+
+	static final long POSITIVE_TTL = 7 * 24 * 60 * 60 * 1000;
+
+	static final long NEGATIVE_TTL = 24 * 60 * 60 * 1000;
+
+	private static final String PERSISTENT_FILE = "discoveryTags.properties"; //$NON-NLS-1$
+
+	private static TagDiscoveryCache instance;
+
+	private static final class Entry {
+
+		private final long timestamp;
+
+		private final List<String> nodeIds;
+
+		private List<INode> nodes;
+
+		private Entry(long timestamp, List<String> nodeIds, List<INode> nodes) {
+			this.timestamp = timestamp;
+			this.nodeIds = nodeIds;
+			this.nodes = nodes;
+		}
+
+		private boolean isExpired(long now) {
+			return now - timestamp > (nodeIds.isEmpty() ? NEGATIVE_TTL : POSITIVE_TTL);
+		}
+	}
+
+	private final class Batch extends Job {
+
+		private final IMarketplaceService service;
+
+		private final String marketplace;
+
+		private final Set<String> queryTags = new LinkedHashSet<>();
+
+		private final Set<String> resolveTags = new LinkedHashSet<>();
+
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		private CoreException error;
+
+		/**
+		 * Number of lookups still waiting for this batch
+		 */
+		private int waiting;
+
+		private Batch(IMarketplaceService service, String marketplace) {
+			super(Messages.TagDiscoveryCache_lookupJobName);
+			this.service = service;
+			this.marketplace = marketplace;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			synchronized (TagDiscoveryCache.this) {
+				if (pendingBatch == this) {
+					pendingBatch = null;
+				}
+			}
+			// discovery runs in the background, nobody should have to wait for it
+			Priority previousPriority = IOTaskExecutor.setCurrentPriority(Priority.BACKGROUND);
+			try {
+				checkCanceled(monitor);
+				query(this, monitor);
+			} catch (CoreException e) {
+				error = e;
+			} finally {
+				IOTaskExecutor.setCurrentPriority(previousPriority);
+				done.countDown();
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+	}
+
+	private final File file;
+
+	private final Supplier<IMarketplaceService> marketplaceService;
+
+	private final long batchWindow;
+
+	/**
+	 * Cache entries by marketplace and tag, see {@link #getKey(String, String)}
+	 */
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	private Batch pendingBatch;
+
+	private int queryCount;
+
+	public TagDiscoveryCache(File file, Supplier<IMarketplaceService> marketplaceService, long batchWindow) {
+		this.file = file;
+		this.marketplaceService = marketplaceService;
+		this.batchWindow = batchWindow;
+		load();
+	}
+
+	public static synchronized TagDiscoveryCache getDefault() {
+		if (instance == null) {
+			Bundle bundle = Platform.getBundle(MarketplaceClientUi.BUNDLE_ID);
+			BundleContext bundleContext = bundle == null ? null : bundle.getBundleContext();
+			instance = new TagDiscoveryCache(bundleContext == null ? null : bundleContext.getDataFile(PERSISTENT_FILE),
+					() -> ServiceHelper.getMarketplaceServiceLocator().getDefaultMarketplaceService(), BATCH_WINDOW);
+		}
+		return instance;
+	}
+
+	/**
+	 * Find the marketplace solutions tagged with each of the given tags.
+	 *
+	 * @return the found nodes by tag, with an empty list for tags without any solutions
+	 * @throws CoreException
+	 *             if the marketplace couldn't be queried, or with a {@link Status#CANCEL_STATUS cancel status} if
+	 *             the lookup was canceled
+	 */
+	public Map<String, List<INode>> lookup(Collection<String> tags, IProgressMonitor monitor) throws CoreException {
+		IMarketplaceService service = marketplaceService.get();
+		String marketplace = getMarketplace(service);
+		Map<String, List<INode>> result = new LinkedHashMap<>();
+		Batch batch = null;
+		boolean scheduleBatch = false;
+		synchronized (this) {
+			long now = System.currentTimeMillis();
+			for (String tag : tags) {
+				String key = getKey(marketplace, tag);
+				Entry entry = entries.get(key);
+				if (entry != null && entry.isExpired(now)) {
+					entries.remove(key);
+					entry = null;
+				}
+				if (entry != null && entry.nodes != null) {
+					result.put(tag, entry.nodes);
+					continue;
+				}
+				if (batch == null) {
+					if (pendingBatch == null || !pendingBatch.marketplace.equals(marketplace)) {
+						// a batch only queries a single marketplace - the replaced one is scheduled already
+						pendingBatch = new Batch(service, marketplace);
+						scheduleBatch = true;
+					}
+					batch = pendingBatch;
+					batch.waiting++;
+				}
+				if (entry == null) {
+					batch.queryTags.add(tag);
+				} else {
+					batch.resolveTags.add(tag);
+				}
+			}
+		}
+		if (batch == null) {
+			return result;
+		}
+		if (scheduleBatch) {
+			// give concurrent lookups a chance to join the batch
+			batch.schedule(batchWindow);
+		}
+		await(batch, monitor);
+		if (batch.error != null) {
+			throw batch.error;
+		}
+		synchronized (this) {
+			for (String tag : tags) {
+				if (!result.containsKey(tag)) {
+					Entry entry = entries.get(getKey(marketplace, tag));
+					result.put(tag, entry == null || entry.nodes == null ? Collections.emptyList() : entry.nodes);
+				}
+			}
+		}
+		return result;
+	}
+
+	private void query(Batch batch, IProgressMonitor monitor) throws CoreException {
+		IMarketplaceService service = batch.service;
+		long now = System.currentTimeMillis();
+		if (!batch.queryTags.isEmpty()) {
+			List<String> queryTags = new ArrayList<>(batch.queryTags);
+			List<? extends INode> nodes;
+			synchronized (this) {
+				queryCount++;
+			}
+			nodes = service.tagged(queryTags, monitor).getNodes();
+			checkCanceled(monitor);
+			Map<String, List<INode>> nodesByTag = new LinkedHashMap<>();
+			if (!assignNodesToTags(queryTags, nodes, nodesByTag)) {
+				// can't tell which tag some nodes were found for, so ask for each tag on its own
+				for (String tag : queryTags) {
+					synchronized (this) {
+						queryCount++;
+					}
+					nodesByTag.put(tag, new ArrayList<>(service.tagged(Collections.singletonList(tag), monitor)
+							.getNodes()));
+					checkCanceled(monitor);
+				}
+			}
+			synchronized (this) {
+				for (Map.Entry<String, List<INode>> tagNodes : nodesByTag.entrySet()) {
+					List<INode> tagged = Collections.unmodifiableList(tagNodes.getValue());
+					entries.put(getKey(batch.marketplace, tagNodes.getKey()), new Entry(now, getIds(tagged), tagged));
+				}
+			}
+		}
+		if (!batch.resolveTags.isEmpty()) {
+			resolve(service, batch.marketplace, batch.resolveTags, monitor);
+		}
+		save();
+	}
+
+	private void resolve(IMarketplaceService service, String marketplace, Set<String> resolveTags,
+			IProgressMonitor monitor) throws CoreException {
+		Set<String> nodeIds = new LinkedHashSet<>();
+		synchronized (this) {
+			for (String tag : resolveTags) {
+				Entry entry = entries.get(getKey(marketplace, tag));
+				if (entry != null) {
+					nodeIds.addAll(entry.nodeIds);
+				}
+			}
+		}
+		List<INode> queryNodes = new ArrayList<>();
+		for (String nodeId : nodeIds) {
+			queryNodes.add(QueryHelper.nodeById(nodeId));
+		}
+		synchronized (this) {
+			queryCount++;
+		}
+		Map<String, INode> resolvedById = new HashMap<>();
+		for (INode node : service.getNodes(queryNodes, monitor)) {
+			resolvedById.put(node.getId(), node);
+		}
+		checkCanceled(monitor);
+		synchronized (this) {
+			for (String tag : resolveTags) {
+				Entry entry = entries.get(getKey(marketplace, tag));
+				if (entry == null) {
+					continue;
+				}
+				List<INode> nodes = new ArrayList<>();
+				for (String nodeId : entry.nodeIds) {
+					INode node = resolvedById.get(nodeId);
+					if (node != null) {
+						nodes.add(node);
+					}
+				}
+				entry.nodes = Collections.unmodifiableList(nodes);
+			}
+		}
+	}
+
+	/**
+	 * Sort the found nodes by the queried tags they carry.
+	 *
+	 * @return false if a node doesn't carry any of the tags, so it's unknown which tags it belongs to
+	 */
+	private static boolean assignNodesToTags(List<String> tags, List<? extends INode> nodes,
+			Map<String, List<INode>> nodesByTag) {
+		for (String tag : tags) {
+			nodesByTag.put(tag, new ArrayList<>());
+		}
+		for (INode node : nodes) {
+			boolean assigned = tags.size() == 1;
+			if (node.getTags() != null && node.getTags().getTags() != null) {
+				for (ITag nodeTag : node.getTags().getTags()) {
+					for (String tag : tags) {
+						// the marketplace matches tags case-insensitively
+						if (tag.equalsIgnoreCase(nodeTag.getName())) {
+							nodesByTag.get(tag).add(node);
+							assigned = true;
+						}
+					}
+				}
+			}
+			if (!assigned) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String getMarketplace(IMarketplaceService service) {
+		URL baseUrl = service.getBaseUrl();
+		if (baseUrl == null) {
+			return ""; //$NON-NLS-1$
+		}
+		String marketplace = baseUrl.toExternalForm();
+		while (marketplace.endsWith("/")) { //$NON-NLS-1$
+			marketplace = marketplace.substring(0, marketplace.length() - 1);
+		}
+		return marketplace;
+	}
+
+	/**
+	 * @return the key of the entry for the given tag on the given marketplace, also used in the persistent file
+	 */
+	private static String getKey(String marketplace, String tag) {
+		return marketplace + '|' + tag;
+	}
+
+	private static List<String> getIds(List<INode> nodes) {
+		List<String> ids = new ArrayList<>(nodes.size());
+		for (INode node : nodes) {
+			if (node.getId() != null) {
+				ids.add(node.getId());
+			}
+		}
+		return ids;
+	}
+
+	private void await(Batch batch, IProgressMonitor monitor) throws CoreException {
+		try {
+			while (!batch.done.await(100, TimeUnit.MILLISECONDS)) {
+				if (monitor != null && monitor.isCanceled()) {
+					leave(batch);
+					throw new CoreException(Status.CANCEL_STATUS);
+				}
+			}
+		} catch (InterruptedException e) {
+			leave(batch);
+			throw new CoreException(Status.CANCEL_STATUS);
+		}
+	}
+
+	/**
+	 * Stop waiting for the given batch, canceling it if nobody else is waiting for it anymore.
+	 */
+	private synchronized void leave(Batch batch) {
+		batch.waiting--;
+		if (batch.waiting == 0) {
+			if (pendingBatch == batch) {
+				pendingBatch = null;
+			}
+			batch.cancel();
+		}
+	}
+
+	private static void checkCanceled(IProgressMonitor monitor) throws CoreException {
+		if (monitor != null && monitor.isCanceled()) {
+			throw new CoreException(Status.CANCEL_STATUS);
+		}
+	}
+
+	/**
+	 * @return the number of marketplace requests this cache has made
+	 */
+	public synchronized int getQueryCount() {
+		return queryCount;
+	}
+
+	private synchronized void load() {
+		if (file == null || !file.isFile()) {
+			return;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+			properties.load(in);
+		} catch (IOException | IllegalArgumentException e) {
+			// start over
+			MarketplaceClientUi.log(IStatus.WARNING, Messages.TagDiscoveryCache_LoadError, e);
+			file.delete();
+			return;
+		}
+		long now = System.currentTimeMillis();
+		for (String key : properties.stringPropertyNames()) {
+			if (key.indexOf('|') == -1) {
+				// entry from an older version, unknown which marketplace it has been found on
+				continue;
+			}
+			String value = properties.getProperty(key);
+			int separator = value.indexOf(';');
+			try {
+				long timestamp = Long.parseLong(separator == -1 ? value : value.substring(0, separator));
+				String ids = separator == -1 ? "" : value.substring(separator + 1); //$NON-NLS-1$
+				List<String> nodeIds = ids.isEmpty() ? Collections.emptyList() : Arrays.asList(ids.split(",")); //$NON-NLS-1$
+				Entry entry = new Entry(timestamp, nodeIds, nodeIds.isEmpty() ? Collections.emptyList() : null);
+				if (!entry.isExpired(now)) {
+					entries.put(key, entry);
+				}
+			} catch (NumberFormatException e) {
+				// skip broken entry
+			}
+		}
+	}
+
+	private void save() {
+		if (file == null) {
+			return;
+		}
+		Properties properties = new Properties();
+		synchronized (this) {
+			long now = System.currentTimeMillis();
+			for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+				Entry value = entry.getValue();
+				if (!value.isExpired(now)) {
+					properties.setProperty(entry.getKey(), value.timestamp + ";" + String.join(",", value.nodeIds)); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		}
+		File container = file.getParentFile();
+		if (container != null && !container.exists()) {
+			container.mkdirs();
+		}
+		synchronized (file) {
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+				properties.store(out, null);
+			} catch (IOException e) {
+				// fail safe
+				MarketplaceClientUi.error(e);
+			}
+		}
+	}
+}
@@ -15,33 +15,52 @@ package org.eclipse.epp.internal.mpc.ui.operations;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Priority;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
 import org.eclipse.equinox.internal.p2.discovery.model.CatalogItem;
 import org.eclipse.equinox.p2.core.ProvisionException;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
-import org.eclipse.equinox.p2.operations.ProvisioningSession;
-import org.eclipse.equinox.p2.operations.RepositoryTracker;
 import org.eclipse.equinox.p2.query.IQuery;
 import org.eclipse.equinox.p2.query.IQueryResult;
 import org.eclipse.equinox.p2.query.QueryUtil;
 import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
-import org.eclipse.equinox.p2.repository.metadata.IMetadataRepositoryManager;
 import org.eclipse.equinox.p2.ui.ProvisioningUI;
 import org.eclipse.jface.operation.IRunnableWithProgress;
+import org.eclipse.osgi.util.NLS;
 
 public abstract class AbstractProvisioningOperation implements IRunnableWithProgress {
 
+	/**
+	 * A task that is performed for each of a number of repositories
+	 */
+	@FunctionalInterface
+	protected interface RepositoryTask<S, T> {
+		T run(S repository, IProgressMonitor monitor) throws Exception;
+	}
+
 	protected static final String P2_FEATURE_GROUP_SUFFIX = ".feature.group"; //$NON-NLS-1$
 
+	private static final long POLL_INTERVAL = 100;
+
 	protected final List<CatalogItem> items;
 
 	protected final ProvisioningUI provisioningUI;
@@ -61,38 +80,44 @@ public abstract class AbstractProvisioningOperation implements IRunnableWithProg
 	protected List<IMetadataRepository> addRepositories(SubMonitor monitor) throws
 	URISyntaxException, ProvisionException {
 		// tell p2 that it's okay to use these repositories
-		ProvisioningSession session = ProvisioningUI.getDefaultUI().getSession();
-		RepositoryTracker repositoryTracker = ProvisioningUI.getDefaultUI().getRepositoryTracker();
+		RepositoryLeaseManager leaseManager = RepositoryLeaseManager.getDefault();
 		repositoryLocations = new HashSet<>();
 		if (addedRepositoryLocations == null) {
 			addedRepositoryLocations = new HashSet<>();
 		}
 
-		Set<URI> knownRepositories = new HashSet<>(Arrays.asList(repositoryTracker.getKnownRepositories(session)));
-
 		monitor.setWorkRemaining(items.size() * 5);
 		for (CatalogItem descriptor : items) {
 			String siteUrl = descriptor.getSiteUrl();
 			if (siteUrl != null) {
 				URI uri = URLUtil.toURI(siteUrl);
-				if (repositoryLocations.add(uri) && !knownRepositories.contains(uri)) {
+				if (repositoryLocations.add(uri) && addedRepositoryLocations.add(uri)) {
 					checkCancelled(monitor);
-					repositoryTracker.addRepository(uri, null, session);
-					addedRepositoryLocations.add(uri);
+					leaseManager.acquire(uri);
 				}
 			}
 			monitor.worked(1);
 		}
 
-		// fetch meta-data for these repositories
-		ArrayList<IMetadataRepository> repositories = new ArrayList<>();
-		monitor.setWorkRemaining(repositories.size());
-		IMetadataRepositoryManager manager = (IMetadataRepositoryManager) session.getProvisioningAgent().getService(
-				IMetadataRepositoryManager.SERVICE_NAME);
-		for (URI uri : repositoryLocations) {
-			checkCancelled(monitor);
-			IMetadataRepository repository = manager.loadRepository(uri, monitor.newChild(1));
-			repositories.add(repository);
+		// fetch meta-data for these repositories - this is where repositories that are still leased pay off
+		Map<URI, Throwable> failures = new LinkedHashMap<>();
+		List<IMetadataRepository> repositories = runConcurrently(repositoryLocations, Function.identity(),
+				leaseManager::loadMetadataRepository, monitor, failures);
+		if (!failures.isEmpty()) {
+			Throwable failure = failures.values().iterator().next();
+			if (repositories.isEmpty()) {
+				// nothing to continue with
+				if (failure instanceof ProvisionException) {
+					throw (ProvisionException) failure;
+				}
+				throw new ProvisionException(
+						MarketplaceClientUi.newStatus(IStatus.ERROR, failure.getMessage(), failure));
+			}
+			// the solutions of the other repositories can still be installed
+			for (Map.Entry<URI, Throwable> entry : failures.entrySet()) {
+				MarketplaceClientUi.log(IStatus.WARNING,
+						NLS.bind(Messages.ProvisioningOperation_repositoryLoadFailed, entry.getKey()), entry.getValue());
+			}
 		}
 		return repositories;
 	}
@@ -102,29 +127,114 @@ public abstract class AbstractProvisioningOperation implements IRunnableWithProg
 	 * repository. We select installable units by matching both the feature id and the repository; it is possible though
 	 * unlikely that the same feature id is available from more than one of the selected repositories, and we must
 	 * ensure that the user gets the one that they asked for.
+	 * <p>
+	 * Each repository is only queried for the features requested from it, and repositories are queried concurrently.
 	 */
 	protected List<IInstallableUnit> queryInstallableUnits(SubMonitor monitor, List<IMetadataRepository> repositories)
 			throws URISyntaxException {
-		final List<IInstallableUnit> installableUnits = new ArrayList<>();
-
-		monitor.setWorkRemaining(repositories.size());
-		for (final IMetadataRepository repository : repositories) {
-			checkCancelled(monitor);
-			final Set<String> installableUnitIdsThisRepository = getDescriptorIds(repository);
+		final Map<IMetadataRepository, Set<String>> featureIdsByRepository = new LinkedHashMap<>();
+		for (IMetadataRepository repository : repositories) {
+			Set<String> installableUnitIdsThisRepository = getDescriptorIds(repository);
+			if (!installableUnitIdsThisRepository.isEmpty()) {
+				featureIdsByRepository.put(repository, installableUnitIdsThisRepository);
+			}
+		}
 
-			IQuery<IInstallableUnit> query = QueryUtil.createLatestQuery(QueryUtil.createIUGroupQuery());
-			IQueryResult<IInstallableUnit> result = repository.query(query, monitor.newChild(1));
+		Map<IMetadataRepository, Throwable> failures = new LinkedHashMap<>();
+		List<IQueryResult<IInstallableUnit>> results = runConcurrently(featureIdsByRepository.keySet(),
+				IMetadataRepository::getLocation, (repository, taskMonitor) -> repository.query(
+						createFeatureQuery(featureIdsByRepository.get(repository)), taskMonitor),
+				monitor, failures);
+		for (Map.Entry<IMetadataRepository, Throwable> entry : failures.entrySet()) {
+			MarketplaceClientUi.log(IStatus.WARNING,
+					NLS.bind(Messages.ProvisioningOperation_repositoryQueryFailed, entry.getKey().getLocation()),
+					entry.getValue());
+		}
 
+		final List<IInstallableUnit> installableUnits = new ArrayList<>();
+		for (IQueryResult<IInstallableUnit> result : results) {
 			for (IInstallableUnit iu : result) {
-				String id = iu.getId();
-				if (installableUnitIdsThisRepository.contains(id)) {
-					installableUnits.add(iu);
-				}
+				installableUnits.add(iu);
 			}
 		}
 		return installableUnits;
 	}
 
+	private static IQuery<IInstallableUnit> createFeatureQuery(Set<String> featureIds) {
+		List<IQuery<IInstallableUnit>> idQueries = new ArrayList<>(featureIds.size());
+		for (String featureId : featureIds) {
+			idQueries.add(QueryUtil.createIUQuery(featureId));
+		}
+		IQuery<IInstallableUnit> anyIdQuery = QueryUtil.createCompoundQuery(idQueries, false);
+		return QueryUtil.createLatestQuery(
+				QueryUtil.createCompoundQuery(QueryUtil.createIUGroupQuery(), anyIdQuery, true));
+	}
+
+	/**
+	 * Run the given task for all repositories on the shared {@link IOTaskExecutor}, with the priority of the calling
+	 * thread and limited per repository host. Each task is run with its own monitor, which is canceled if the given
+	 * monitor is canceled. A failing task does not affect the others - its failure is put into the given map instead.
+	 *
+	 * @param locations
+	 *            determines the location of each repository
+	 * @return the results of all successful tasks, in the order of the given repositories
+	 */
+	protected <S, T> List<T> runConcurrently(Collection<S> repositories, Function<S, URI> locations,
+			RepositoryTask<S, T> task, SubMonitor monitor, Map<S, Throwable> failures) {
+		monitor.setWorkRemaining(repositories.size());
+		List<T> results = new ArrayList<>(repositories.size());
+		if (repositories.isEmpty()) {
+			return results;
+		}
+		IOTaskExecutor executor = IOTaskExecutor.getDefault();
+		Priority priority = IOTaskExecutor.getCurrentPriority();
+		List<S> inputs = new ArrayList<>(repositories);
+		List<IProgressMonitor> taskMonitors = new ArrayList<>(inputs.size());
+		List<Future<T>> futures = new ArrayList<>(inputs.size());
+		try {
+			for (S input : inputs) {
+				IProgressMonitor taskMonitor = new NullProgressMonitor();
+				taskMonitors.add(taskMonitor);
+				URI location = locations.apply(input);
+				futures.add(executor.submit(priority, location == null ? null : location.getHost(), () -> {
+					checkCancelled(taskMonitor);
+					return task.run(input, taskMonitor);
+				}));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				Future<T> future = futures.get(i);
+				while (true) {
+					checkCancelled(monitor);
+					try {
+						results.add(future.get(POLL_INTERVAL, TimeUnit.MILLISECONDS));
+						break;
+					} catch (TimeoutException e) {
+						// check for cancellation and continue waiting
+					} catch (InterruptedException e) {
+						throw new OperationCanceledException();
+					} catch (ExecutionException e) {
+						Throwable cause = e.getCause();
+						if (cause instanceof OperationCanceledException) {
+							throw (OperationCanceledException) cause;
+						}
+						failures.put(inputs.get(i), cause);
+						break;
+					}
+				}
+				monitor.worked(1);
+			}
+			return results;
+		} finally {
+			// stop whatever is still running or queued if we didn't get here regularly
+			for (IProgressMonitor taskMonitor : taskMonitors) {
+				taskMonitor.setCanceled(true);
+			}
+			for (Future<T> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
 	private Set<String> getDescriptorIds(final IMetadataRepository repository) throws URISyntaxException {
 		final Set<String> installableUnitIdsThisRepository = new HashSet<>();
 		// determine all installable units for this repository
@@ -154,28 +264,65 @@ public abstract class AbstractProvisioningOperation implements IRunnableWithProg
 		}
 	}
 
+	public Set<URI> getRepositoryLocations() {
+		return repositoryLocations;
+	}
+
+	/**
+	 * @return the repository locations this operation holds {@link RepositoryLeaseManager leases} on. The caller of
+	 *         the operation is responsible for releasing them.
+	 */
 	public Set<URI> getAddedRepositoryLocations() {
 		return addedRepositoryLocations;
 	}
 
 	protected void removeAddedRepositoryLocations() {
 		if (addedRepositoryLocations != null) {
-			removeRepositoryLocations(addedRepositoryLocations);
+			removeRepositoryLocations(addedRepositoryLocations, true);
 			addedRepositoryLocations = null;
 		}
 	}
 
 	/**
-	 * remove the given repository locations from the repository tracker.
+	 * Release the leases on the given repository locations. Repositories that aren't leased by anybody else anymore
+	 * are reverted after a grace period.
 	 *
 	 * @param repositoryLocations
 	 */
 	public static void removeRepositoryLocations(Set<URI> repositoryLocations) {
+		removeRepositoryLocations(repositoryLocations, false);
+	}
+
+	/**
+	 * Release the leases on the given repository locations.
+	 *
+	 * @param repositoryLocations
+	 * @param immediately
+	 *            true to revert repositories that aren't leased by anybody else anymore right away instead of after a
+	 *            grace period
+	 */
+	public static void removeRepositoryLocations(Set<URI> repositoryLocations, boolean immediately) {
+		if (repositoryLocations == null || repositoryLocations.isEmpty()) {
+			return;
+		}
+		RepositoryLeaseManager leaseManager = RepositoryLeaseManager.getDefault();
+		for (URI location : repositoryLocations) {
+			leaseManager.release(location, immediately);
+		}
+	}
+
+	/**
+	 * Keep the given repository locations permanently, e.g. after installing from them, and drop their leases.
+	 *
+	 * @param repositoryLocations
+	 */
+	public static void keepRepositoryLocations(Set<URI> repositoryLocations) {
 		if (repositoryLocations == null || repositoryLocations.isEmpty()) {
 			return;
 		}
-		ProvisioningSession session = ProvisioningUI.getDefaultUI().getSession();
-		RepositoryTracker repositoryTracker = ProvisioningUI.getDefaultUI().getRepositoryTracker();
-		repositoryTracker.removeRepositories(repositoryLocations.toArray(new URI[repositoryLocations.size()]), session);
+		RepositoryLeaseManager leaseManager = RepositoryLeaseManager.getDefault();
+		for (URI location : repositoryLocations) {
+			leaseManager.keep(location);
+		}
 	}
 }
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.operations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Priority;
+
+/**
+ * Resolves a number of alternative candidates concurrently and picks the first acceptable result in the order the
+ * candidates were {@link #add(Candidate) added}. A result is only picked once all preferred candidates have failed, so
+ * the outcome is the same as if the candidates had been tried one after the other. As soon as a candidate succeeds, all
+ * less preferred candidates are canceled.
+ * <p>
+ * Candidates are resolved on the shared {@link IOTaskExecutor} with the priority of the calling thread. Every planner
+ * invocation holds its own copy of the solver state, so the number of candidates resolved at the same time is bounded
+ * by the memory that's still available, unless a fixed bound is given.
+ *
+ * @author agent
+ */
+public class ConcurrentResolution<T> {
+
+	/**
+	 * Rough upper bound for the memory a single planner invocation needs
+	 */
+	static final long MEMORY_PER_RESOLUTION = 256L * 1024 * 1024;
+
+	private static final long POLL_INTERVAL = 100;
+
+	public interface Candidate<T> {
+		T resolve(IProgressMonitor monitor) throws CoreException;
+	}
+
+	private final Predicate<T> acceptable;
+
+	private final int maxConcurrency;
+
+	private final List<Candidate<T>> candidates = new ArrayList<>();
+
+	/**
+	 * Create a resolution whose concurrency is bounded by the available memory.
+	 */
+	public ConcurrentResolution(Predicate<T> acceptable) {
+		this(acceptable, 0);
+	}
+
+	/**
+	 * @param maxConcurrency
+	 *            the maximum number of candidates to resolve at the same time, or 0 to bound the concurrency by the
+	 *            available memory
+	 */
+	public ConcurrentResolution(Predicate<T> acceptable, int maxConcurrency) {
+		if (maxConcurrency < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.acceptable = acceptable;
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	public ConcurrentResolution<T> add(Candidate<T> candidate) {
+		candidates.add(candidate);
+		return this;
+	}
+
+	/**
+	 * Compute how many planner invocations fit into the memory that's currently available, but at least one.
+	 */
+	public static int computeMemoryBoundConcurrency(int candidateCount) {
+		Runtime runtime = Runtime.getRuntime();
+		long headroom = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+		long slots = headroom / MEMORY_PER_RESOLUTION;
+		return (int) Math.max(1, Math.min(candidateCount, slots));
+	}
+
+	/**
+	 * Resolve all candidates, waiting for their results in order of preference.
+	 *
+	 * @return the first acceptable result, or the result of the last candidate if none is acceptable
+	 * @throws CoreException
+	 *             if a candidate failed with an exception before a more preferred candidate succeeded
+	 * @throws OperationCanceledException
+	 *             if the given monitor has been canceled
+	 */
+	public T run(IProgressMonitor progressMonitor) throws CoreException {
+		if (candidates.isEmpty()) {
+			throw new IllegalStateException();
+		}
+		SubMonitor monitor = SubMonitor.convert(progressMonitor, candidates.size());
+		int concurrency = maxConcurrency == 0 ? computeMemoryBoundConcurrency(candidates.size())
+				: Math.min(maxConcurrency, candidates.size());
+		List<IProgressMonitor> candidateMonitors = new ArrayList<>(candidates.size());
+		List<CompletableFuture<T>> futures = new ArrayList<>(candidates.size());
+		for (int i = 0; i < candidates.size(); i++) {
+			candidateMonitors.add(new NullProgressMonitor());
+			futures.add(new CompletableFuture<>());
+		}
+		IOTaskExecutor executor = IOTaskExecutor.getDefault();
+		Priority priority = IOTaskExecutor.getCurrentPriority();
+		AtomicInteger next = new AtomicInteger();
+		try {
+			// each finished candidate starts the next one, so no more than the given number run at the same time
+			for (int i = 0; i < concurrency; i++) {
+				submitNext(executor, priority, next, candidateMonitors, futures);
+			}
+			T result = null;
+			for (Future<T> future : futures) {
+				result = waitFor(future, monitor);
+				monitor.worked(1);
+				if (acceptable.test(result)) {
+					break;
+				}
+			}
+			return result;
+		} finally {
+			// stop whatever is still running
+			cancelFrom(0, candidateMonitors);
+			for (Future<T> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	private void submitNext(IOTaskExecutor executor, Priority priority, AtomicInteger next,
+			List<IProgressMonitor> candidateMonitors, List<CompletableFuture<T>> futures) {
+		int index = next.getAndIncrement();
+		if (index >= candidates.size()) {
+			return;
+		}
+		Candidate<T> candidate = candidates.get(index);
+		IProgressMonitor candidateMonitor = candidateMonitors.get(index);
+		CompletableFuture<T> future = futures.get(index);
+		executor.execute(priority, null, () -> {
+			try {
+				if (future.isDone()) {
+					// canceled while queued
+					return;
+				}
+				if (candidateMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				T result = candidate.resolve(candidateMonitor);
+				if (!candidateMonitor.isCanceled() && acceptable.test(result)) {
+					// less preferred candidates can't win anymore
+					cancelFrom(index + 1, candidateMonitors);
+				}
+				future.complete(result);
+			} catch (Throwable ex) {
+				future.completeExceptionally(ex);
+			} finally {
+				submitNext(executor, priority, next, candidateMonitors, futures);
+			}
+		});
+	}
+
+	private T waitFor(Future<T> future, IProgressMonitor monitor) throws CoreException {
+		while (true) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				return future.get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// check for cancellation and continue waiting
+			} catch (InterruptedException | CancellationException e) {
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof CoreException) {
+					throw (CoreException) cause;
+				}
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new CoreException(MarketplaceClientCore.computeStatus((Exception) cause, null));
+			}
+		}
+	}
+
+	private static void cancelFrom(int index, List<IProgressMonitor> candidateMonitors) {
+		for (int i = index; i < candidateMonitors.size(); i++) {
+			candidateMonitors.get(i).setCanceled(true);
+		}
+	}
+}
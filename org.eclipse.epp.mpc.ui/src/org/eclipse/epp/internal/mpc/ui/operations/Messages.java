@@ -29,6 +29,10 @@ class Messages extends NLS {
 
 	public static String ProvisioningOperation_proceedQuestion;
 
+	public static String ProvisioningOperation_repositoryLoadFailed;
+
+	public static String ProvisioningOperation_repositoryQueryFailed;
+
 	public static String ProvisioningOperation_unavailableSolutions;
 
 	public static String ProvisioningOperation_unavailableSolutions_proceedQuestion;
@@ -37,6 +41,8 @@ class Messages extends NLS {
 
 	public static String ProvisioningOperation_unexpectedErrorUrl;
 
+	public static String RepositoryLeaseManager_releasingRepository;
+
 	public static String ResolveFeatureNamesOperation_resolvingFeatures;
 	static {
 		// initialize resource bundle
@@ -20,6 +20,7 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -39,6 +40,8 @@ import org.eclipse.epp.internal.mpc.ui.wizards.SelectionModel.FeatureEntry;
 import org.eclipse.epp.mpc.ui.Operation;
 import org.eclipse.equinox.internal.p2.discovery.model.CatalogItem;
 import org.eclipse.equinox.internal.p2.ui.discovery.util.WorkbenchUtil;
+import org.eclipse.equinox.p2.engine.IProfile;
+import org.eclipse.equinox.p2.engine.IProfileRegistry;
 import org.eclipse.equinox.p2.engine.ProvisioningContext;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
 import org.eclipse.equinox.p2.metadata.Version;
@@ -64,6 +67,12 @@ import org.eclipse.swt.widgets.Display;
  */
 public class ProfileChangeOperationComputer extends AbstractProvisioningOperation {
 
+	/**
+	 * System property to turn off resolving the candidates of the {@link ResolutionStrategy#FALLBACK_STRATEGY fallback
+	 * strategy} concurrently
+	 */
+	public static final String CONCURRENT_RESOLUTION_PROPERTY = "marketplace.concurrentResolution.enabled"; //$NON-NLS-1$
+
 	public enum ResolutionStrategy {
 		ALL_REPOSITORIES, SELECTED_REPOSITORIES, FALLBACK_STRATEGY
 	}
@@ -124,6 +133,16 @@ public class ProfileChangeOperationComputer extends AbstractProvisioningOperatio
 
 	private String errorMessage;
 
+	private boolean interactive = true;
+
+	private boolean concurrentResolution = Boolean.parseBoolean(System.getProperty(CONCURRENT_RESOLUTION_PROPERTY,
+			Boolean.TRUE.toString()));
+
+	/**
+	 * The requested change as it was when this computer was created, see {@link #computeResolutionKey()}
+	 */
+	private final List<Object> requestedChange;
+
 	/**
 	 * @param operationType
 	 *            the type of operation to perform
@@ -152,6 +171,52 @@ public class ProfileChangeOperationComputer extends AbstractProvisioningOperatio
 		this.resolutionStrategy = resolutionStrategy;
 		this.dependenciesRepository = dependenciesRepository;
 		this.withRemediation = withRemediation;
+
+		Set<String> itemIds = new HashSet<>();
+		for (CatalogItem item : items) {
+			itemIds.add(item.getId());
+		}
+		Map<String, Operation> featureOperations = new HashMap<>();
+		for (FeatureEntry entry : featureEntries) {
+			featureOperations.put(entry.getFeatureDescriptor().getId(), entry.computeChangeOperation());
+		}
+		this.requestedChange = Arrays.asList(operationType, itemIds, featureOperations, dependenciesRepository,
+				resolutionStrategy, withRemediation);
+	}
+
+	/**
+	 * Compute a key that identifies the operation this computer computes. The key covers the requested change and the
+	 * state of the profile it is applied to, so a computed operation can be reused as long as the key stays the same.
+	 */
+	public Object computeResolutionKey() {
+		ProvisioningSession session = provisioningUI.getSession();
+		String profileId = provisioningUI.getProfileId();
+		IProfileRegistry profileRegistry = (IProfileRegistry) session.getProvisioningAgent()
+				.getService(IProfileRegistry.SERVICE_NAME);
+		IProfile profile = profileRegistry == null ? null : profileRegistry.getProfile(profileId);
+		long profileTimestamp = profile == null ? 0 : profile.getTimestamp();
+		return Arrays.asList(requestedChange, profileId, profileTimestamp);
+	}
+
+	/**
+	 * Set whether the user may be asked how to proceed during computation. If not, the computation fails instead
+	 * wherever the user would be asked.
+	 */
+	public void setInteractive(boolean interactive) {
+		this.interactive = interactive;
+	}
+
+	/**
+	 * Set whether the repository sets of the {@link ResolutionStrategy#FALLBACK_STRATEGY fallback strategy} are
+	 * resolved concurrently instead of one after the other. Either way, the operation of the first set that resolves
+	 * successfully is used.
+	 */
+	public void setConcurrentResolution(boolean concurrentResolution) {
+		this.concurrentResolution = concurrentResolution;
+	}
+
+	public OperationType getOperationType() {
+		return operationType;
 	}
 
 	@Override
@@ -191,15 +256,6 @@ public class ProfileChangeOperationComputer extends AbstractProvisioningOperatio
 				default:
 					throw new UnsupportedOperationException(operationType.name());
 				}
-				if (withRemediation && operation != null && operation.getResolutionResult().getSeverity() == IStatus.ERROR) {
-					RemediationOperation remediationOperation = new RemediationOperation(ProvisioningUI.getDefaultUI()
-							.getSession(), operation.getProfileChangeRequest());
-					remediationOperation.resolveModal(monitor.newChild(500));
-					if (remediationOperation.getResolutionResult() == Status.OK_STATUS) {
-						errorMessage = operation.getResolutionDetails();
-						operation = remediationOperation;
-					}
-				}
 				checkCancelled(monitor);
 			} finally {
 				monitor.done();
@@ -277,6 +333,23 @@ public class ProfileChangeOperationComputer extends AbstractProvisioningOperatio
 		ProfileChangeOperation create(List<IInstallableUnit> ius) throws CoreException;
 	}
 
+	private static final class Resolution {
+
+		private final ProfileChangeOperation operation;
+
+		private final String errorMessage;
+
+		private Resolution(ProfileChangeOperation operation, String errorMessage) {
+			this.operation = operation;
+			this.errorMessage = errorMessage;
+		}
+
+		private boolean isResolved() {
+			return operation.getResolutionResult() != null
+					&& operation.getResolutionResult().getSeverity() != IStatus.ERROR;
+		}
+	}
+
 	private ProfileChangeOperation resolveInstall(IProgressMonitor monitor, final IInstallableUnit[] ius,
 			URI[] repositories) throws CoreException {
 		return resolve(monitor, ius1 -> provisioningUI.getInstallOperation(ius1, null), ius, repositories);
@@ -314,6 +387,43 @@ public class ProfileChangeOperationComputer extends AbstractProvisioningOperatio
 	private ProfileChangeOperation resolve(IProgressMonitor monitor, ProfileChangeOperationFactory operationFactory,
 			IInstallableUnit[] ius, URI[] repositories) throws CoreException {
 		List<IInstallableUnit> installableUnits = Arrays.asList(ius);
+		List<Set<URI>> candidateLocations = computeCandidateRepositoryLocations(repositories);
+
+		final int workPerCandidate = 1000;
+		SubMonitor subMonitor = SubMonitor.convert(monitor, candidateLocations.size() * workPerCandidate
+				+ (withRemediation ? workPerCandidate : 0));
+		Resolution resolution = null;
+		if (concurrentResolution && candidateLocations.size() > 1) {
+			ConcurrentResolution<Resolution> candidates = new ConcurrentResolution<>(Resolution::isResolved);
+			for (int i = 0; i < candidateLocations.size(); i++) {
+				// create the operations up front, only the resolution runs concurrently
+				ProfileChangeOperation operation = createOperation(operationFactory, installableUnits,
+						candidateLocations.get(i));
+				boolean remediate = withRemediation && i == candidateLocations.size() - 1;
+				candidates.add(candidateMonitor -> resolveCandidate(candidateMonitor, operation, remediate));
+			}
+			resolution = candidates.run(subMonitor);
+		} else {
+			for (int i = 0; i < candidateLocations.size(); i++) {
+				ProfileChangeOperation operation = createOperation(operationFactory, installableUnits,
+						candidateLocations.get(i));
+				boolean remediate = withRemediation && i == candidateLocations.size() - 1;
+				resolution = resolveCandidate(subMonitor.newChild(workPerCandidate
+						+ (remediate ? workPerCandidate : 0)), operation, remediate);
+				if (resolution.isResolved()) {
+					break;
+				}
+			}
+		}
+		errorMessage = resolution.errorMessage;
+		return resolution.operation;
+	}
+
+	/**
+	 * Compute the repositories to resolve against for each applicable strategy, in order of preference. Strategies that
+	 * would use the same repositories as a preceding one are skipped.
+	 */
+	private List<Set<URI>> computeCandidateRepositoryLocations(URI[] repositories) {
 		List<ResolutionStrategy> strategies = new ArrayList<>(2);
 		switch (resolutionStrategy) {
 		case FALLBACK_STRATEGY:
@@ -329,15 +439,10 @@ public class ProfileChangeOperationComputer extends AbstractProvisioningOperatio
 
 		URI[] knownRepositories = repositoryTracker.getKnownRepositories(session);
 
-		ProfileChangeOperation operation = null;
-		final int workPerStrategy = 1000;
-		SubMonitor subMonitor = SubMonitor.convert(monitor, strategies.size() * workPerStrategy + workPerStrategy);
+		List<Set<URI>> candidateLocations = new ArrayList<>(strategies.size());
 		Set<URI> previousRepositoryLocations = null;
 		for (ResolutionStrategy strategy : strategies) {
 			Set<URI> repositoryLocations = new HashSet<>(Arrays.asList(repositories));
-			if (strategy == ResolutionStrategy.SELECTED_REPOSITORIES) {
-				repositoryLocations.addAll(Arrays.asList(repositories));
-			}
 			if (dependenciesRepository != null) {
 				repositoryLocations.add(dependenciesRepository);
 			}
@@ -347,22 +452,44 @@ public class ProfileChangeOperationComputer extends AbstractProvisioningOperatio
 			if (repositoryLocations.equals(previousRepositoryLocations)) {
 				continue;
 			}
-			operation = operationFactory.create(installableUnits);
-			if (!repositoryLocations.isEmpty()) {
-				URI[] locations = repositoryLocations.toArray(new URI[repositoryLocations.size()]);
-				operation.getProvisioningContext().setMetadataRepositories(locations);
-				operation.getProvisioningContext().setArtifactRepositories(locations);
-			}
-			resolveModal(subMonitor.newChild(workPerStrategy), operation);
-			if (operation.getResolutionResult() != null
-					&& operation.getResolutionResult().getSeverity() != IStatus.ERROR) {
-				break;
-			}
+			candidateLocations.add(repositoryLocations);
 			previousRepositoryLocations = repositoryLocations;
 		}
+		return candidateLocations;
+	}
+
+	private static ProfileChangeOperation createOperation(ProfileChangeOperationFactory operationFactory,
+			List<IInstallableUnit> installableUnits, Set<URI> repositoryLocations) throws CoreException {
+		ProfileChangeOperation operation = operationFactory.create(installableUnits);
+		if (!repositoryLocations.isEmpty()) {
+			URI[] locations = repositoryLocations.toArray(new URI[repositoryLocations.size()]);
+			operation.getProvisioningContext().setMetadataRepositories(locations);
+			operation.getProvisioningContext().setArtifactRepositories(locations);
+		}
 		return operation;
 	}
 
+	/**
+	 * Resolve the given operation. If that fails and remediation is requested, try to find a remedy for the failed
+	 * change request.
+	 */
+	private Resolution resolveCandidate(IProgressMonitor monitor, ProfileChangeOperation operation, boolean remediate)
+			throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor, remediate ? 2 : 1);
+		resolveModal(progress.newChild(1), operation);
+		Resolution resolution = new Resolution(operation, null);
+		if (remediate && !resolution.isResolved() && operation.getResolutionResult() != null) {
+			checkCancelled(progress);
+			RemediationOperation remediationOperation = new RemediationOperation(ProvisioningUI.getDefaultUI()
+					.getSession(), operation.getProfileChangeRequest());
+			remediationOperation.resolveModal(progress.newChild(1));
+			if (remediationOperation.getResolutionResult() == Status.OK_STATUS) {
+				resolution = new Resolution(remediationOperation, operation.getResolutionDetails());
+			}
+		}
+		return resolution;
+	}
+
 	public void resolveModal(IProgressMonitor monitor, ProfileChangeOperation operation) throws CoreException {
 		operation.resolveModal(new SubProgressMonitor(monitor, items.size()));
 	}
@@ -514,6 +641,10 @@ public class ProfileChangeOperationComputer extends AbstractProvisioningOperatio
 			}
 		}
 
+		if (message.length() > 0 && !interactive) {
+			throw new CoreException(new Status(IStatus.ERROR, MarketplaceClientUi.BUNDLE_ID,
+					NLS.bind(Messages.ProvisioningOperation_unavailableSolutions, detailedMessage), null));
+		}
 		if (message.length() > 0) {
 			// instead of aborting here we ask the user if they wish to proceed anyways
 			final boolean[] okayToProceed = new boolean[1];
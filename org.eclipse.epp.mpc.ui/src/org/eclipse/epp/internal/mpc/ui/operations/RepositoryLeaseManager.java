@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.operations;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientDebug;
+import org.eclipse.equinox.p2.core.IProvisioningAgent;
+import org.eclipse.equinox.p2.core.ProvisionException;
+import org.eclipse.equinox.p2.repository.IRepositoryManager;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactRepository;
+import org.eclipse.equinox.p2.repository.artifact.IArtifactRepositoryManager;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepositoryManager;
+import org.eclipse.equinox.p2.ui.ProvisioningUI;
+
+/**
+ * Keeps track of the repositories used by update checks and provisioning operations during an IDE session. Every
+ * consumer {@link #acquire(URI) acquires} a lease on a repository location for as long as it needs the repository. The
+ * repository is added to the repository managers on the first lease and loaded repositories are kept while there are
+ * leases, so later consumers don't have to add and load the same repository again.
+ * <p>
+ * When the last lease is {@link #release(URI) released}, the repository is kept for a grace period, after which it is
+ * reverted to the state it had before the first lease - removed if it was unknown, disabled if it was disabled. The
+ * jobs reverting repositories after the grace period {@link Job#belongsTo(Object) belong to} the lease manager's
+ * family.
+ *
+ * @author agent
+ */
+public class RepositoryLeaseManager {
+
+	static final long GRACE_PERIOD = 2 * 60 * 1000;
+
+	private static RepositoryLeaseManager instance;
+
+	/**
+	 * Statistics about the use of leased repositories
+	 */
+	public static final class Statistics {
+
+		private final int leases;
+
+		private final int warmLeases;
+
+		private final int loads;
+
+		private final int loadHits;
+
+		private Statistics(int leases, int warmLeases, int loads, int loadHits) {
+			this.leases = leases;
+			this.warmLeases = warmLeases;
+			this.loads = loads;
+			this.loadHits = loadHits;
+		}
+
+		/**
+		 * @return the number of leases that have been acquired
+		 */
+		public int getLeases() {
+			return leases;
+		}
+
+		/**
+		 * @return the number of leases that reused a repository that was still leased or within its grace period
+		 */
+		public int getWarmLeases() {
+			return warmLeases;
+		}
+
+		/**
+		 * @return the number of repository loads that have been requested
+		 */
+		public int getLoads() {
+			return loads;
+		}
+
+		/**
+		 * @return the number of repository loads that were served from an already loaded repository
+		 */
+		public int getLoadHits() {
+			return loadHits;
+		}
+
+		@Override
+		public String toString() {
+			return "leases=" + leases + ", warm=" + warmLeases + ", loads=" + loads + ", hits=" + loadHits; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	}
+
+	private enum CleanupAction {
+		REMOVE, DISABLE;
+	}
+
+	private final class Lease {
+
+		private final URI location;
+
+		private final CleanupAction metadataCleanup;
+
+		private final CleanupAction artifactCleanup;
+
+		private int count;
+
+		private IMetadataRepository metadataRepository;
+
+		private IArtifactRepository artifactRepository;
+
+		private Job releaseJob;
+
+		private Lease(URI location) {
+			this.location = location;
+			this.metadataCleanup = getCleanupAction(metadataRepositoryManager, location);
+			this.artifactCleanup = getCleanupAction(artifactRepositoryManager, location);
+		}
+	}
+
+	private final IMetadataRepositoryManager metadataRepositoryManager;
+
+	private final IArtifactRepositoryManager artifactRepositoryManager;
+
+	private final long gracePeriod;
+
+	private final Map<URI, Lease> leases = new HashMap<>();
+
+	private int leaseCount;
+
+	private int warmLeaseCount;
+
+	private int loadCount;
+
+	private int loadHitCount;
+
+	public RepositoryLeaseManager(IMetadataRepositoryManager metadataRepositoryManager,
+			IArtifactRepositoryManager artifactRepositoryManager, long gracePeriod) {
+		this.metadataRepositoryManager = metadataRepositoryManager;
+		this.artifactRepositoryManager = artifactRepositoryManager;
+		this.gracePeriod = gracePeriod;
+	}
+
+	public static synchronized RepositoryLeaseManager getDefault() {
+		if (instance == null) {
+			IProvisioningAgent agent = ProvisioningUI.getDefaultUI().getSession().getProvisioningAgent();
+			instance = new RepositoryLeaseManager(
+					(IMetadataRepositoryManager) agent.getService(IMetadataRepositoryManager.SERVICE_NAME),
+					(IArtifactRepositoryManager) agent.getService(IArtifactRepositoryManager.SERVICE_NAME),
+					GRACE_PERIOD);
+		}
+		return instance;
+	}
+
+	/**
+	 * Revert all repositories of the default instance right away, including those that are still leased. Called when
+	 * the bundle is stopped, so no repositories are left behind.
+	 */
+	public static void shutdown() {
+		RepositoryLeaseManager manager;
+		synchronized (RepositoryLeaseManager.class) {
+			manager = instance;
+			instance = null;
+		}
+		if (manager != null) {
+			manager.releaseAll();
+		}
+	}
+
+	/**
+	 * Acquire a lease on the given repository location, adding the repository if necessary.
+	 */
+	public void acquire(URI location) {
+		Lease lease;
+		synchronized (this) {
+			leaseCount++;
+			lease = leases.get(location);
+			if (lease != null) {
+				warmLeaseCount++;
+				lease.count++;
+				if (lease.releaseJob != null) {
+					lease.releaseJob.cancel();
+					lease.releaseJob = null;
+				}
+				return;
+			}
+			lease = new Lease(location);
+			lease.count = 1;
+			leases.put(location, lease);
+		}
+		//add artifact repo first, because if anything goes wrong it's better
+		//to have artifact without meta than the other way around (bug 560062)
+		if (artifactRepositoryManager != null) {
+			artifactRepositoryManager.addRepository(location);
+		}
+		if (metadataRepositoryManager != null) {
+			metadataRepositoryManager.addRepository(location);
+		}
+	}
+
+	/**
+	 * Release a lease on the given repository location. If this was the last lease, the repository is reverted after
+	 * the grace period.
+	 */
+	public void release(URI location) {
+		release(location, false);
+	}
+
+	/**
+	 * Release a lease on the given repository location. If this was the last lease, the repository is reverted right
+	 * away if requested, or after the grace period otherwise.
+	 */
+	public synchronized void release(URI location, boolean immediately) {
+		Lease lease = leases.get(location);
+		if (lease == null || lease.count == 0) {
+			return;
+		}
+		lease.count--;
+		if (lease.count > 0) {
+			return;
+		}
+		if (!immediately && gracePeriod > 0) {
+			scheduleRelease(lease);
+			return;
+		}
+		//revert while holding the lock, so a new lease can't add the repository again in between
+		leases.remove(location);
+		revert(lease);
+	}
+
+	private void scheduleRelease(final Lease lease) {
+		Job releaseJob = new Job(Messages.RepositoryLeaseManager_releasingRepository) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				synchronized (RepositoryLeaseManager.this) {
+					if (lease.releaseJob != this || leases.get(lease.location) != lease) {
+						//leased again in the meantime
+						return Status.CANCEL_STATUS;
+					}
+					lease.releaseJob = null;
+					leases.remove(lease.location);
+					revert(lease);
+				}
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == RepositoryLeaseManager.this;
+			}
+		};
+		releaseJob.setSystem(true);
+		lease.releaseJob = releaseJob;
+		releaseJob.schedule(gracePeriod);
+	}
+
+	/**
+	 * Keep the repository at the given location as it is now, e.g. because something has been installed from it, and
+	 * drop all leases on it.
+	 */
+	public synchronized void keep(URI location) {
+		Lease lease = leases.remove(location);
+		if (lease != null && lease.releaseJob != null) {
+			lease.releaseJob.cancel();
+			lease.releaseJob = null;
+		}
+	}
+
+	/**
+	 * Revert all repositories right away, regardless of their leases.
+	 */
+	public synchronized void releaseAll() {
+		List<Lease> released = new ArrayList<>(leases.values());
+		leases.clear();
+		for (Lease lease : released) {
+			if (lease.releaseJob != null) {
+				lease.releaseJob.cancel();
+				lease.releaseJob = null;
+			}
+			revert(lease);
+		}
+	}
+
+	/**
+	 * Load the metadata repository at the given location, reusing the loaded repository of a current lease.
+	 */
+	public IMetadataRepository loadMetadataRepository(URI location, IProgressMonitor monitor)
+			throws ProvisionException {
+		Lease lease;
+		synchronized (this) {
+			loadCount++;
+			lease = leases.get(location);
+			if (lease != null && lease.metadataRepository != null) {
+				loadHitCount++;
+				return lease.metadataRepository;
+			}
+		}
+		IMetadataRepository repository = metadataRepositoryManager.loadRepository(location, monitor);
+		synchronized (this) {
+			if (lease != null && leases.get(location) == lease) {
+				lease.metadataRepository = repository;
+			}
+		}
+		return repository;
+	}
+
+	/**
+	 * Load the artifact repository at the given location, reusing the loaded repository of a current lease.
+	 */
+	public IArtifactRepository loadArtifactRepository(URI location, IProgressMonitor monitor)
+			throws ProvisionException {
+		Lease lease;
+		synchronized (this) {
+			loadCount++;
+			lease = leases.get(location);
+			if (lease != null && lease.artifactRepository != null) {
+				loadHitCount++;
+				return lease.artifactRepository;
+			}
+		}
+		IArtifactRepository repository = artifactRepositoryManager.loadRepository(location, monitor);
+		synchronized (this) {
+			if (lease != null && leases.get(location) == lease) {
+				lease.artifactRepository = repository;
+			}
+		}
+		return repository;
+	}
+
+	public synchronized boolean isLeased(URI location) {
+		return leases.containsKey(location);
+	}
+
+	public synchronized Statistics getStatistics() {
+		return new Statistics(leaseCount, warmLeaseCount, loadCount, loadHitCount);
+	}
+
+	private void revert(Lease lease) {
+		/*
+		 * A lot of side effects are happening when repos are loaded - especially composites:
+		 * - child repos get added, sometimes as system=true/enabled=false, or sometimes as system=false/enabled=false
+		 * - repos might get enabled
+		 * - repos might get converted from system=true to system=false, also changing the type from
+		 *   LocalMetadataRepository/simpleRepository to something else
+		 *
+		 * All of this makes it rather hopeless to try and revert the repo state completely, so we only revert
+		 * what we explicitly did. See bug 560062 for why both metadata and artifact repos are always handled.
+		 */
+		revert(metadataRepositoryManager, lease.location, lease.metadataCleanup);
+		revert(artifactRepositoryManager, lease.location, lease.artifactCleanup);
+		if (MarketplaceClientDebug.DEBUG) {
+			MarketplaceClientDebug.trace(MarketplaceClientDebug.REPOSITORIES_DEBUG_OPTION,
+					"Released repository {0} ({1})", lease.location, getStatistics()); //$NON-NLS-1$
+		}
+	}
+
+	private static void revert(IRepositoryManager<?> manager, URI location, CleanupAction action) {
+		if (manager == null || action == null) {
+			return;
+		}
+		switch (action) {
+		case REMOVE:
+			manager.removeRepository(location);
+			break;
+		case DISABLE:
+			manager.setEnabled(location, false);
+			break;
+		default:
+			throw new UnsupportedOperationException(action.name());
+		}
+	}
+
+	private static CleanupAction getCleanupAction(IRepositoryManager<?> manager, URI location) {
+		if (manager == null) {
+			return null;
+		}
+		if (!manager.contains(location)) {
+			//did not exist initially
+			return CleanupAction.REMOVE;
+		}
+		if (!manager.isEnabled(location)) {
+			//initially disabled
+			return CleanupAction.DISABLE;
+		}
+		return null;
+	}
+}
@@ -14,7 +14,9 @@ package org.eclipse.epp.internal.mpc.ui.preferences;
 
 import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUiResources;
+import org.eclipse.epp.internal.mpc.ui.catalog.UpdateNotifier;
 import org.eclipse.epp.internal.mpc.ui.discovery.MissingNatureDetector;
+import org.eclipse.epp.internal.mpc.ui.wizards.PreWarmer;
 
 public class MPCPreferenceInitializer extends AbstractPreferenceInitializer {
 
@@ -25,6 +27,10 @@ public class MPCPreferenceInitializer extends AbstractPreferenceInitializer {
 	public void initializeDefaultPreferences() {
 		MarketplaceClientUiResources.getInstance().getPreferenceStore().setDefault(
 				MissingNatureDetector.ENABLEMENT_PROPERTY, true);
+		MarketplaceClientUiResources.getInstance().getPreferenceStore().setDefault(
+				UpdateNotifier.ENABLEMENT_PROPERTY, true);
+		MarketplaceClientUiResources.getInstance().getPreferenceStore().setDefault(
+				PreWarmer.ENABLEMENT_PROPERTY, false);
 	}
 
 }
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.epp.internal.mpc.ui.util;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -26,6 +27,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
 
 /**
@@ -33,7 +35,7 @@ import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
  *
  * <pre>
  * <code>
- * ConcurrentTaskManager executor = new ConcurrentTaskManager(anticipatedNumberOfTasks,"Checking for updates");
+ * ConcurrentTaskManager executor = new ConcurrentTaskManager("Checking for updates");
  *   try {
  *   	for (...) {
  *   		executor.submit(new Runnable() {...});
@@ -45,31 +47,57 @@ import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
  * </code>
  * </pre>
  *
+ * Unless created with a dedicated executor service, tasks run on the shared {@link IOTaskExecutor}. Tasks submitted
+ * with a location are subject to its per-host limit.
+ *
  * @author dgreen
  */
 public class ConcurrentTaskManager {
 
 	private final java.util.concurrent.ExecutorService executor;
 
+	private final IOTaskExecutor sharedExecutor;
+
 	private final List<Future<?>> futures = new ArrayList<>();
 
 	private final String taskName;
 
 	public ConcurrentTaskManager(java.util.concurrent.ExecutorService executor, String taskName) {
 		this.executor = executor;
+		this.sharedExecutor = null;
 		this.taskName = taskName;
 	}
 
-	public ConcurrentTaskManager(int size, String taskName) {
-		this(Executors.newFixedThreadPool(Math.max(1, Math.min(size, 10))), taskName);
+	public ConcurrentTaskManager(IOTaskExecutor executor, String taskName) {
+		this.executor = null;
+		this.sharedExecutor = executor;
+		this.taskName = taskName;
+	}
+
+	public ConcurrentTaskManager(String taskName) {
+		this(IOTaskExecutor.getDefault(), taskName);
 	}
 
 	public <T> void submit(Callable<T> task) {
-		futures.add(executor.submit(task));
+		submit((URI) null, task);
 	}
 
 	public void submit(Runnable task) {
-		futures.add(executor.submit(task));
+		submit((URI) null, task);
+	}
+
+	/**
+	 * Submit a task talking to the given location.
+	 */
+	public <T> void submit(URI location, Callable<T> task) {
+		futures.add(executor != null ? executor.submit(task) : sharedExecutor.submit(location, task));
+	}
+
+	/**
+	 * Submit a task talking to the given location.
+	 */
+	public void submit(URI location, Runnable task) {
+		submit(location, Executors.callable(task));
 	}
 
 	public List<Future<?>> getFutures() {
@@ -121,13 +149,20 @@ public class ConcurrentTaskManager {
 				}
 			}
 		} finally {
-			executor.shutdownNow();
+			shutdownNow();
 			monitor.done();
 		}
 	}
 
 	public void shutdownNow() {
-		executor.shutdownNow();
+		if (executor != null) {
+			executor.shutdownNow();
+		} else {
+			// the shared executor keeps running for others
+			for (Future<?> future : futures) {
+				future.cancel(true);
+			}
+		}
 	}
 
 }
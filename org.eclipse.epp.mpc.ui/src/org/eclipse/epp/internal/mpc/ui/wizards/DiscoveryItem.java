@@ -21,6 +21,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
 import org.eclipse.epp.internal.mpc.core.service.AbstractDataStorageService.NotAuthorizedException;
+import org.eclipse.epp.internal.mpc.core.service.UserFavoritesService;
 import org.eclipse.epp.internal.mpc.core.util.URLUtil;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUiResources;
@@ -380,7 +381,13 @@ public class DiscoveryItem<T extends CatalogItem> extends AbstractMarketplaceDis
 	private void toggleFavorite() {
 		final INode node = this.getCatalogItemNode();
 		final IUserFavoritesService userFavoritesService = getUserFavoritesService();
-		if (node != null && userFavoritesService != null) {
+		if (node != null && userFavoritesService instanceof UserFavoritesService) {
+			// write-behind: show the new state right away, the change is written shortly after in the background
+			boolean newFavorited = !isFavorited();
+			((UserFavoritesService) userFavoritesService).queueFavorite(node, newFavorited);
+			setFavorited(newFavorited);
+			FavoritesSyncJob.schedule((UserFavoritesService) userFavoritesService, getViewer());
+		} else if (node != null && userFavoritesService != null) {
 			final boolean newFavorited = !isFavorited();
 			final Throwable[] error = new Throwable[] { null };
 			BusyIndicator.showWhile(getDisplay(), () -> {
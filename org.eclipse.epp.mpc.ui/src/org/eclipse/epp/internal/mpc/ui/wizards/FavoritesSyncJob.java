@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.wizards;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
+import org.eclipse.epp.internal.mpc.core.service.AbstractDataStorageService.NotAuthorizedException;
+import org.eclipse.epp.internal.mpc.core.service.UserFavoritesService;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
+import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCatalogSource;
+import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceNodeCatalogItem;
+import org.eclipse.epp.internal.mpc.ui.wizards.MarketplaceViewer.ContentType;
+import org.eclipse.equinox.internal.p2.discovery.model.CatalogItem;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.ui.statushandlers.StatusManager;
+import org.eclipse.userstorage.util.ConflictException;
+
+/**
+ * Writes favorites changes in the background, shortly after the last change. Changes made in quick succession are
+ * written together in a single update. If writing fails, the changes that were being written are dropped and the
+ * favorite state of the viewer's items is reset to the last known state. Changes made while the write was in progress
+ * are written by the next run.
+ *
+ * @author agent
+ */
+class FavoritesSyncJob extends Job {
+
+	static final long DELAY = 500;
+
+	private static final Map<UserFavoritesService, FavoritesSyncJob> jobs = new HashMap<>();
+
+	private final UserFavoritesService favoritesService;
+
+	private volatile MarketplaceViewer viewer;
+
+	private FavoritesSyncJob(UserFavoritesService favoritesService) {
+		super(Messages.FavoritesSyncJob_name);
+		this.favoritesService = favoritesService;
+		setSystem(true);
+		setPriority(SHORT);
+	}
+
+	/**
+	 * Schedule writing the pending favorites changes of the given service, postponing any write that hasn't started
+	 * yet.
+	 */
+	static void schedule(UserFavoritesService favoritesService, MarketplaceViewer viewer) {
+		FavoritesSyncJob job;
+		synchronized (jobs) {
+			job = jobs.get(favoritesService);
+			if (job == null) {
+				job = new FavoritesSyncJob(favoritesService);
+				jobs.put(favoritesService, job);
+			}
+		}
+		job.viewer = viewer;
+		if (job.getState() == Job.SLEEPING) {
+			job.cancel();
+		}
+		job.schedule(DELAY);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		try {
+			favoritesService.getStorageService().runWithLogin(() -> {
+				favoritesService.flushFavorites(monitor);
+				return null;
+			});
+			return Status.OK_STATUS;
+		} catch (Exception e) {
+			IStatus status = null;
+			// no need to report a cancelled login or a conflict the service already tried to resolve
+			if (!(e instanceof NotAuthorizedException) && !(e instanceof ConflictException)) {
+				status = MarketplaceClientCore.computeStatus(e, Messages.FavoritesSyncJob_failed);
+			}
+			resetFavorites(status);
+			return Status.OK_STATUS;
+		}
+	}
+
+	private void resetFavorites(IStatus status) {
+		MarketplaceViewer viewer = this.viewer;
+		Control control = viewer == null ? null : viewer.getControl();
+		if (control == null || control.isDisposed()) {
+			if (status != null) {
+				MarketplaceClientUi.handle(status, StatusManager.LOG);
+			}
+			return;
+		}
+		control.getDisplay().asyncExec(() -> {
+			if (control.isDisposed()) {
+				return;
+			}
+			Set<String> favoriteIds = favoritesService.getLastFavoriteIds();
+			for (CatalogItem item : viewer.getCatalog().getItems()) {
+				if (item instanceof MarketplaceNodeCatalogItem && isManagedBy(item, favoritesService)) {
+					MarketplaceNodeCatalogItem nodeItem = (MarketplaceNodeCatalogItem) item;
+					if (nodeItem.getUserFavorite() != null) {
+						nodeItem.setUserFavorite(favoriteIds.contains(nodeItem.getId()));
+					}
+				}
+			}
+			if (viewer.getContentType() == ContentType.FAVORITES) {
+				viewer.reload();
+			} else {
+				viewer.refresh();
+			}
+			if (status != null) {
+				MarketplaceClientUi.handle(status, StatusManager.SHOW | StatusManager.LOG);
+			}
+		});
+	}
+
+	private static boolean isManagedBy(CatalogItem item, UserFavoritesService favoritesService) {
+		if (item.getSource() instanceof MarketplaceCatalogSource) {
+			MarketplaceCatalogSource source = (MarketplaceCatalogSource) item.getSource();
+			return source.getMarketplaceService().getUserFavoritesService() == favoritesService;
+		}
+		return false;
+	}
+}
@@ -19,10 +19,19 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
 import org.eclipse.epp.internal.mpc.ui.catalog.FavoriteListCatalogItem;
 import org.eclipse.epp.internal.mpc.ui.catalog.FavoritesDiscoveryStrategy;
+import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCatalog;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceNodeCatalogItem;
 import org.eclipse.epp.internal.mpc.ui.catalog.UserActionCatalogItem;
+import org.eclipse.epp.internal.mpc.ui.catalog.UserActionCatalogItem.UserAction;
 import org.eclipse.epp.internal.mpc.ui.css.StyleHelper;
 import org.eclipse.equinox.internal.p2.discovery.AbstractDiscoveryStrategy;
 import org.eclipse.equinox.internal.p2.discovery.Catalog;
@@ -50,6 +59,7 @@ import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.swt.widgets.Widget;
+import org.eclipse.ui.statushandlers.StatusManager;
 
 public class FavoritesViewer extends CatalogViewer {
 
@@ -65,8 +75,13 @@ public class FavoritesViewer extends CatalogViewer {
 
 	private Button deselectAllButton;
 
+	private Job loadMoreJob;
+
+	private final ImportFavoritesPage page;
+
 	public FavoritesViewer(Catalog catalog, ImportFavoritesPage page, CatalogConfiguration configuration) {
 		super(catalog, page, page.getWizard().getContainer(), configuration);
+		this.page = page;
 		setAutomaticFind(false);
 		setRefreshJobDelay(50L);
 	}
@@ -224,6 +239,7 @@ public class FavoritesViewer extends CatalogViewer {
 		StructuredViewer viewer = super.doCreateViewer(container);
 		discoveryResources = new MarketplaceDiscoveryResources(container.getDisplay());
 		viewer.getControl().addDisposeListener(e -> {
+			cancelLoadMore();
 			discoveryResources.dispose();
 			discoveryResources = null;
 		});
@@ -302,6 +318,7 @@ public class FavoritesViewer extends CatalogViewer {
 		//so clear early. But do it there as well, since it can
 		//be triggered from other pathes...
 		setSelection(StructuredSelection.EMPTY);
+		cancelLoadMore();
 		super.updateCatalog();
 		updateButtonState(getSelection());
 	}
@@ -323,6 +340,8 @@ public class FavoritesViewer extends CatalogViewer {
 		if (element instanceof MarketplaceNodeCatalogItem) {
 			//marketplace entry
 			item = createDiscoveryItem(parent, (MarketplaceNodeCatalogItem) element);
+		} else if (isLoadMoreItem(element)) {
+			item = new LoadMoreActionItem(parent, getResources(), (UserActionCatalogItem) element, this);
 		} else if (element instanceof UserActionCatalogItem) {
 			item = new DiscoverFavoritesUserActionItem(parent, getResources(), (UserActionCatalogItem) element, this);
 		} else if (element instanceof FavoriteListCatalogItem) {
@@ -368,6 +387,85 @@ public class FavoritesViewer extends CatalogViewer {
 
 	@Override
 	protected void catalogUpdated(boolean wasCancelled, boolean wasError) {
+		showCatalog(wasCancelled, wasError);
+		if (!wasCancelled) {
+			UserActionCatalogItem loadMoreItem = findLoadMoreItem(getCatalog().getItems());
+			if (loadMoreItem != null) {
+				loadMore(loadMoreItem);
+			}
+		}
+	}
+
+	/**
+	 * Load the rest of a long favorites list in the background, starting with the page represented by the given item.
+	 * Each page is shown as soon as it's available, so the first entries can be reviewed while the rest is still
+	 * being resolved.
+	 */
+	public void loadMore(final UserActionCatalogItem loadMoreItem) {
+		if (isLoading()) {
+			return;
+		}
+		final Catalog catalog = getCatalog();
+		final Control control = getControl();
+		if (!(catalog instanceof MarketplaceCatalog) || control == null || control.isDisposed()) {
+			return;
+		}
+		loadMoreJob = new Job(Messages.FavoritesViewer_LoadMoreJobName) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				UserActionCatalogItem nextItem = loadMoreItem;
+				while (nextItem != null) {
+					IStatus status = ((MarketplaceCatalog) catalog).loadMore(nextItem, monitor);
+					if (status.getSeverity() == IStatus.CANCEL || monitor.isCanceled()) {
+						//superseded by another list
+						return Status.CANCEL_STATUS;
+					}
+					if (!status.isOK()) {
+						MarketplaceClientUi.handle(status, StatusManager.LOG);
+					}
+					if (control.isDisposed()) {
+						return Status.CANCEL_STATUS;
+					}
+					boolean wasError = status.getSeverity() == IStatus.ERROR;
+					control.getDisplay().asyncExec(() -> {
+						if (!control.isDisposed()) {
+							showCatalog(false, wasError);
+						}
+					});
+					nextItem = findLoadMoreItem(catalog.getItems());
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		loadMoreJob.setPriority(Job.INTERACTIVE);
+		loadMoreJob.setSystem(true);
+		loadMoreJob.addJobChangeListener(new JobChangeAdapter() {
+			@Override
+			public void done(IJobChangeEvent event) {
+				if (!control.isDisposed()) {
+					control.getDisplay().asyncExec(() -> updateWizardButtons());
+				}
+			}
+		});
+		loadMoreJob.schedule();
+		updateWizardButtons();
+	}
+
+	/**
+	 * @return true while the rest of a long favorites list is still being loaded
+	 */
+	public boolean isLoading() {
+		return loadMoreJob != null && loadMoreJob.getState() != Job.NONE;
+	}
+
+	private void updateWizardButtons() {
+		Control control = getControl();
+		if (control != null && !control.isDisposed() && page.getWizard().getContainer().getCurrentPage() == page) {
+			page.getWizard().getContainer().updateButtons();
+		}
+	}
+
+	private void showCatalog(boolean wasCancelled, boolean wasError) {
 		List<CatalogItem> items = getCatalog().getItems();
 		Set<CatalogItem> selectedItems = new LinkedHashSet<>();
 		for (CatalogItem catalogItem : items) {
@@ -380,6 +478,27 @@ public class FavoritesViewer extends CatalogViewer {
 		setSelection(new StructuredSelection(new ArrayList<>(selectedItems)));
 	}
 
+	private void cancelLoadMore() {
+		if (loadMoreJob != null) {
+			loadMoreJob.cancel();
+			loadMoreJob = null;
+		}
+	}
+
+	private static UserActionCatalogItem findLoadMoreItem(List<CatalogItem> items) {
+		for (CatalogItem item : items) {
+			if (isLoadMoreItem(item)) {
+				return (UserActionCatalogItem) item;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isLoadMoreItem(Object element) {
+		return element instanceof UserActionCatalogItem
+				&& ((UserActionCatalogItem) element).getUserAction() == UserAction.LOAD_MORE;
+	}
+
 	public void setInstallSelected(boolean install) {
 		this.installSelected = install;
 		updateInstallSelectedCheckbox();
@@ -91,6 +91,16 @@ public class ImportFavoritesPage extends CatalogPage {
 		return errorMessage;
 	}
 
+	/**
+	 * Only complete once the whole favorites list has been loaded, so the import doesn't miss entries that aren't
+	 * shown yet.
+	 */
+	@Override
+	public boolean isPageComplete() {
+		FavoritesViewer viewer = getViewer();
+		return super.isPageComplete() && (viewer == null || !viewer.isLoading());
+	}
+
 	@Override
 	protected FavoritesViewer getViewer() {
 		return (FavoritesViewer) super.getViewer();
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.wizards;
+
+import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceNodeCatalogItem;
+import org.eclipse.epp.internal.mpc.ui.catalog.UserActionCatalogItem;
+import org.eclipse.epp.mpc.core.model.ISearchResult;
+import org.eclipse.equinox.internal.p2.discovery.model.CatalogCategory;
+import org.eclipse.equinox.internal.p2.discovery.model.CatalogItem;
+import org.eclipse.equinox.internal.p2.discovery.model.Icon;
+import org.eclipse.equinox.internal.p2.ui.discovery.wizards.CatalogViewer;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Composite;
+
+public class LoadMoreActionItem extends AbstractUserActionItem {
+
+	private static final int LOAD_MORE_ACTION_ID = 0;
+
+	public LoadMoreActionItem(Composite parent, MarketplaceDiscoveryResources resources,
+			UserActionCatalogItem connector, CatalogViewer viewer) {
+		super(parent, resources, connector, viewer);
+	}
+
+	@Override
+	protected String getNameLabelText() {
+		return Messages.LoadMoreActionItem_title;
+	}
+
+	@Override
+	protected String getDescriptionText() {
+		Integer matchCount = ((ISearchResult) connector.getData()).getMatchCount();
+		CatalogCategory category = connector.getCategory();
+		if (matchCount == null || category == null) {
+			return Messages.LoadMoreActionItem_loadMoreTooltip;
+		}
+		int loadedCount = 0;
+		for (CatalogItem item : category.getItems()) {
+			if (item instanceof MarketplaceNodeCatalogItem) {
+				loadedCount++;
+			}
+		}
+		return NLS.bind(Messages.LoadMoreActionItem_description, loadedCount, matchCount);
+	}
+
+	@Override
+	protected Icon getIcon() {
+		return null;
+	}
+
+	@Override
+	protected void createButtons(Composite parent) {
+		createButton(parent, Messages.LoadMoreActionItem_loadMoreActionLabel,
+				Messages.LoadMoreActionItem_loadMoreTooltip, LOAD_MORE_ACTION_ID);
+	}
+
+	@Override
+	protected void buttonPressed(int id) {
+		CatalogViewer viewer = getViewer();
+		if (viewer instanceof MarketplaceViewer) {
+			((MarketplaceViewer) viewer).loadMore(connector);
+		} else if (viewer instanceof FavoritesViewer) {
+			((FavoritesViewer) viewer).loadMore(connector);
+		}
+	}
+}
@@ -593,6 +593,15 @@ public class MarketplacePage extends CatalogPage implements IWizardButtonLabelPr
 		newsTabItem.setControl(newsViewer.getControl());
 	}
 
+	/**
+	 * Update the news tab after the news of the current catalog have changed.
+	 */
+	void newsUpdated() {
+		if (tabFolder != null && !tabFolder.isDisposed()) {
+			updateNewsTab();
+		}
+	}
+
 	private void updateNewsTab() {
 		if (newsTabItem == null) {
 			createNewsTab();
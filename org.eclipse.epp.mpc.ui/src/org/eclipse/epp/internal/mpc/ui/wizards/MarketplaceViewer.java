@@ -18,8 +18,10 @@ package org.eclipse.epp.internal.mpc.ui.wizards;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -31,18 +33,26 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.epp.internal.mpc.core.MarketplaceClientCore;
 import org.eclipse.epp.internal.mpc.core.model.Identifiable;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Priority;
+import org.eclipse.epp.internal.mpc.ui.CatalogRegistry;
 import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUiResources;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCatalog;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCategory;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCategory.Contents;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceDiscoveryStrategy;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceNodeCatalogItem;
+import org.eclipse.epp.internal.mpc.ui.catalog.ResourceProvider;
 import org.eclipse.epp.internal.mpc.ui.catalog.UserActionCatalogItem;
 import org.eclipse.epp.internal.mpc.ui.catalog.UserActionCatalogItem.UserAction;
 import org.eclipse.epp.internal.mpc.ui.css.StyleHelper;
 import org.eclipse.epp.internal.mpc.ui.wizards.MarketplaceWizard.WizardState;
+import org.eclipse.epp.internal.mpc.ui.wizards.WizardBootstrap.Phase;
 import org.eclipse.epp.mpc.core.model.ICatalogBranding;
 import org.eclipse.epp.mpc.core.model.ICategory;
 import org.eclipse.epp.mpc.core.model.IIdentifiable;
@@ -56,6 +66,8 @@ import org.eclipse.equinox.internal.p2.discovery.AbstractDiscoveryStrategy;
 import org.eclipse.equinox.internal.p2.discovery.Catalog;
 import org.eclipse.equinox.internal.p2.discovery.model.CatalogCategory;
 import org.eclipse.equinox.internal.p2.discovery.model.CatalogItem;
+import org.eclipse.equinox.internal.p2.discovery.model.Icon;
+import org.eclipse.equinox.internal.p2.discovery.model.Overview;
 import org.eclipse.equinox.internal.p2.discovery.model.Tag;
 import org.eclipse.equinox.internal.p2.ui.discovery.util.ControlListItem;
 import org.eclipse.equinox.internal.p2.ui.discovery.util.ControlListViewer;
@@ -68,6 +80,7 @@ import org.eclipse.equinox.internal.p2.ui.discovery.wizards.CatalogViewer;
 import org.eclipse.equinox.internal.p2.ui.discovery.wizards.CategoryItem;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.jface.viewers.IStructuredSelection;
@@ -76,8 +89,12 @@ import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.jface.window.IShellProvider;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.ScrolledComposite;
+import org.eclipse.swt.events.ControlAdapter;
+import org.eclipse.swt.events.ControlEvent;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Button;
@@ -85,6 +102,7 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.ScrollBar;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.statushandlers.StatusManager;
 import org.osgi.framework.BundleContext;
@@ -100,6 +118,8 @@ public class MarketplaceViewer extends CatalogViewer {
 
 	public static final String QUERY_TAG_KEYWORD = "tag:"; //$NON-NLS-1$
 
+	private static final int MIN_TYPE_AHEAD_LENGTH = 2;
+
 	public enum ContentType {
 		SEARCH, FEATURED_MARKET, RECENT, POPULAR, INSTALLED, SELECTION, RELATED, FAVORITES
 	}
@@ -237,6 +257,12 @@ public class MarketplaceViewer extends CatalogViewer {
 
 	private Composite header;
 
+	private Job loadMoreJob;
+
+	private TypeAheadSearch typeAheadSearch;
+
+	private boolean searchAllCatalogs;
+
 	private final LoginListener loginListener = new LoginListener() {
 
 		@Override
@@ -268,6 +294,7 @@ public class MarketplaceViewer extends CatalogViewer {
 		header = parent;
 		header.setBackgroundMode(SWT.INHERIT_DEFAULT);
 		fixFindControlsLayout(parent);
+		installTypeAheadSearch(parent);
 		final int originalChildCount = parent.getChildren().length;
 		for (CatalogFilter filter : getConfiguration().getFilters()) {
 			if (filter instanceof MarketplaceFilter) {
@@ -285,6 +312,21 @@ public class MarketplaceViewer extends CatalogViewer {
 			Control child = children[x];
 			GridDataFactory.swtDefaults().hint(135, SWT.DEFAULT).applyTo(child);
 		}
+		if (CatalogRegistry.getInstance().getCatalogDescriptors().size() > 1) {
+			final Button searchAllButton = new Button(parent, SWT.CHECK);
+			searchAllButton.setText(Messages.MarketplaceViewer_searchAllCatalogs);
+			searchAllButton.setToolTipText(Messages.MarketplaceViewer_searchAllCatalogsTooltip);
+			searchAllButton.setSelection(searchAllCatalogs);
+			searchAllButton.addSelectionListener(new SelectionAdapter() {
+				@Override
+				public void widgetSelected(SelectionEvent e) {
+					searchAllCatalogs = searchAllButton.getSelection();
+					if (getFilterText().length() > 0) {
+						doQuery();
+					}
+				}
+			});
+		}
 		Button goButton = new Button(parent, SWT.PUSH);
 		goButton.setText(Messages.MarketplaceViewer_go);
 		goButton.addSelectionListener(new SelectionAdapter() {
@@ -295,14 +337,45 @@ public class MarketplaceViewer extends CatalogViewer {
 		});
 	}
 
-	protected static void fixFindControlsLayout(Composite header) {
-		TextSearchControl search = null;
+	private void installTypeAheadSearch(Composite header) {
+		TextSearchControl search = findTextSearchControl(header);
+		if (search == null) {
+			return;
+		}
+		typeAheadSearch = new TypeAheadSearch(header.getDisplay());
+		search.getTextControl().addModifyListener(e -> typeAheadQuery());
+	}
+
+	private void typeAheadQuery() {
+		if (!showQueryHeader(contentType) || contentType == ContentType.SELECTION) {
+			return;
+		}
+		String text = getFilterText();
+		String currentText = queryData.queryText == null ? "" : queryData.queryText; //$NON-NLS-1$
+		if (text.equals(currentText)) {
+			// e.g. programmatic update to the current query - nothing to search
+			typeAheadSearch.cancel();
+			return;
+		}
+		if (text.length() > 0 && text.length() < MIN_TYPE_AHEAD_LENGTH) {
+			return;
+		}
+		initQueryFromFilters();
+		final QueryData query = queryData;
+		typeAheadSearch.schedule(() -> doQuery(query, null, false));
+	}
+
+	private static TextSearchControl findTextSearchControl(Composite header) {
 		for (Control control : header.getChildren()) {
 			if (control instanceof TextSearchControl) {
-				search = (TextSearchControl) control;
-				break;
+				return (TextSearchControl) control;
 			}
 		}
+		return null;
+	}
+
+	protected static void fixFindControlsLayout(Composite header) {
+		TextSearchControl search = findTextSearchControl(header);
 		if (search == null) {
 			return;
 		}
@@ -383,6 +456,7 @@ public class MarketplaceViewer extends CatalogViewer {
 			}
 			setFilters(queryData);
 		});
+		updateResourcePriorities();
 	}
 
 	private String calculateAvailableUpdatesKey(List<MarketplaceNodeCatalogItem> availableUpdates) {
@@ -489,6 +563,8 @@ public class MarketplaceViewer extends CatalogViewer {
 		case UPDATE:
 			return new InstallUpdatesNotificationItem(parent, getResources(), catalogItem,
 					getWizard().getCatalogPage());
+		case LOAD_MORE:
+			return new LoadMoreActionItem(parent, getResources(), catalogItem, this);
 		}
 		return null;
 	}
@@ -646,7 +722,7 @@ public class MarketplaceViewer extends CatalogViewer {
 		IStatus status;
 		try {
 			final IStatus[] result = new IStatus[1];
-			context.run(true, true, monitor -> result[0] = getCatalog().refreshUserFavorites(monitor));
+			context.run(true, true, interactive(monitor -> result[0] = getCatalog().refreshUserFavorites(monitor)));
 			status = result[0];
 		} catch (InvocationTargetException e) {
 			status = computeStatus(e, Messages.MarketplaceViewer_unexpectedException);
@@ -660,60 +736,57 @@ public class MarketplaceViewer extends CatalogViewer {
 		return status;
 	}
 
-	private IStatus doQuery(final QueryData queryData,
-			final Set<? extends INode> nodes) {
+	private IStatus doQuery(final QueryData queryData, final Set<? extends INode> nodes) {
+		return doQuery(queryData, nodes, true);
+	}
+
+	/**
+	 * Run a query and show its result.
+	 *
+	 * @param committed
+	 *            true if the user explicitly asked for the query, false for a search for typed text. Committed queries
+	 *            block the wizard until they are done and also check the result for updates, while searches for typed
+	 *            text run in the background and can be superseded by the next one.
+	 */
+	private IStatus doQuery(final QueryData queryData, final Set<? extends INode> nodes, boolean committed) {
+		ResourceProvider resourceProvider = getResourceProvider();
+		if (resourceProvider != null) {
+			//resources of the current result are superseded by the new query
+			resourceProvider.deprioritizeDeferredResources();
+		}
+		if (loadMoreJob != null) {
+			//the current result is about to be replaced
+			loadMoreJob.cancel();
+		}
+		final ContentType queryType = contentType;
+		queryContentType = queryType;
+		final boolean searchAll = searchAllCatalogs;
+		if (!committed) {
+			typeAheadSearch.run(queryData.queryText, monitor -> {
+				IStatus status = runQuery(queryType, queryData, nodes, searchAll, monitor);
+				if (status != null && !status.isOK() && status.getSeverity() != IStatus.CANCEL) {
+					MarketplaceClientUi.handle(status, StatusManager.LOG);
+				}
+				return status == null ? Status.OK_STATUS : status;
+			}, () -> {
+				updateViewer(queryData.queryText);
+				updateResourcePriorities();
+			});
+			return Status.OK_STATUS;
+		}
+		if (typeAheadSearch != null) {
+			//explicit query replaces any pending search for typed text
+			typeAheadSearch.cancel();
+		}
 		try {
-			final ContentType queryType = contentType;
-			queryContentType = queryType;
 			final IStatus[] result = new IStatus[1];
-			context.run(true, true, monitor -> {
-				switch (queryType) {
-				case POPULAR:
-					result[0] = getCatalog().popular(monitor);
-					break;
-				case RECENT:
-					result[0] = getCatalog().recent(monitor);
-					break;
-				case RELATED:
-					result[0] = getCatalog().related(monitor);
-					break;
-				case INSTALLED:
-					result[0] = getCatalog().installed(monitor);
-					break;
-				case FAVORITES:
-					result[0] = getCatalog().userFavorites(false, monitor);
-					break;
-				case SELECTION:
-					Set<INode> selectedNodesById = getSelectionModel().getItemToSelectedOperation()
-					.keySet()
-					.stream()
-					.map(node -> QueryHelper.nodeById(node.getId()))
-					.collect(Collectors.toSet());
-					result[0] = getCatalog().performNodeQuery(monitor, selectedNodesById);
-					break;
-				case SEARCH:
-				case FEATURED_MARKET:
-				default:
-					if (nodes != null && !nodes.isEmpty()) {
-						result[0] = getCatalog().performNodeQuery(monitor, nodes);
-					} else if (queryData.queryText != null && queryData.queryText.length() > 0) {
-						String tag = getTagQuery(queryData.queryText);
-						if (tag != null) {
-							result[0] = getCatalog().tagged(tag, monitor);
-						} else {
-							result[0] = getCatalog().performQuery(queryData.queryMarket, queryData.queryCategory,
-									queryData.queryText, monitor);
-						}
-					} else {
-						result[0] = getCatalog().featured(monitor, queryData.queryMarket, queryData.queryCategory);
-					}
-					break;
-				}
+			context.run(true, true, interactive(monitor -> {
+				result[0] = runQuery(queryType, queryData, nodes, searchAll, monitor);
 				if (!monitor.isCanceled() && result[0] != null && result[0].getSeverity() != IStatus.CANCEL) {
 					getCatalog().checkForUpdates(monitor);
 				}
 				MarketplaceViewer.this.getControl().getDisplay().syncExec(() -> updateViewer(queryData.queryText));
-			});
+			}));
 
 			if (result[0] != null && !result[0].isOK() && result[0].getSeverity() != IStatus.CANCEL) {
 				MarketplaceClientUi.handle(result[0],
@@ -734,6 +807,129 @@ public class MarketplaceViewer extends CatalogViewer {
 		}
 	}
 
+	private IStatus runQuery(ContentType queryType, QueryData queryData, Set<? extends INode> nodes,
+			boolean searchAll, IProgressMonitor monitor) {
+		switch (queryType) {
+		case POPULAR:
+			return getCatalog().popular(monitor);
+		case RECENT:
+			return getCatalog().recent(monitor);
+		case RELATED:
+			return getCatalog().related(monitor);
+		case INSTALLED:
+			return getCatalog().installed(monitor);
+		case FAVORITES:
+			return getCatalog().userFavorites(false, monitor);
+		case SELECTION:
+			Set<INode> selectedNodesById = getSelectionModel().getItemToSelectedOperation()
+			.keySet()
+			.stream()
+			.map(node -> QueryHelper.nodeById(node.getId()))
+			.collect(Collectors.toSet());
+			return getCatalog().performNodeQuery(monitor, selectedNodesById);
+		case SEARCH:
+		case FEATURED_MARKET:
+		default:
+			if (nodes != null && !nodes.isEmpty()) {
+				return getCatalog().performNodeQuery(monitor, nodes);
+			} else if (queryData.queryText != null && queryData.queryText.length() > 0) {
+				String tag = getTagQuery(queryData.queryText);
+				if (tag != null) {
+					return getCatalog().tagged(tag, monitor);
+				}
+				return performTextQuery(queryData, searchAll, monitor);
+			}
+			return getCatalog().featured(monitor, queryData.queryMarket, queryData.queryCategory);
+		}
+	}
+
+	/**
+	 * Search for the query text, either in the current marketplace using the selected market and category, or across
+	 * all registered marketplaces. Filters don't apply to the latter, since markets and categories differ between
+	 * marketplaces.
+	 * <p>
+	 * Solutions of the current marketplace that are already known locally are shown right away, until the server's
+	 * result replaces them. When searching all marketplaces, the merged result is shown as each marketplace answers.
+	 */
+	private IStatus performTextQuery(final QueryData query, boolean searchAll, IProgressMonitor monitor) {
+		if (searchAll) {
+			final Control control = getControl();
+			return getCatalog().performFederatedQuery(query.queryText, () -> {
+				if (!control.isDisposed()) {
+					control.getDisplay().asyncExec(() -> {
+						if (!control.isDisposed()) {
+							updateViewer(query.queryText);
+						}
+					});
+				}
+			}, monitor);
+		}
+		SubMonitor progress = SubMonitor.convert(monitor, 100);
+		if (getCatalog().performLocalQuery(query.queryMarket, query.queryCategory, query.queryText,
+				progress.newChild(1))) {
+			final Control control = getControl();
+			control.getDisplay().syncExec(() -> {
+				if (!control.isDisposed()) {
+					updateViewer(query.queryText);
+				}
+			});
+		}
+		return getCatalog().performQuery(query.queryMarket, query.queryCategory, query.queryText,
+				progress.newChild(99));
+	}
+
+	/**
+	 * Run the given query with {@link Priority#INTERACTIVE interactive} priority, since the user is waiting for its
+	 * result.
+	 */
+	private static IRunnableWithProgress interactive(final IRunnableWithProgress query) {
+		return monitor -> {
+			Priority previousPriority = IOTaskExecutor.setCurrentPriority(Priority.INTERACTIVE);
+			try {
+				query.run(monitor);
+			} finally {
+				IOTaskExecutor.setCurrentPriority(previousPriority);
+			}
+		};
+	}
+
+	/**
+	 * Load the next page of the result represented by the given item in the background and append it to the current
+	 * contents. Only one page is loaded at a time.
+	 */
+	public void loadMore(final UserActionCatalogItem loadMoreItem) {
+		if (loadMoreJob != null && loadMoreJob.getState() != Job.NONE) {
+			return;
+		}
+		final String queryText = queryData.queryText;
+		final Control control = getControl();
+		loadMoreJob = new Job(Messages.MarketplaceViewer_LoadMoreJobName) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				IStatus status = getCatalog().loadMore(loadMoreItem, monitor);
+				if (status.getSeverity() == IStatus.CANCEL) {
+					//superseded by another query
+					return Status.CANCEL_STATUS;
+				}
+				if (!status.isOK()) {
+					MarketplaceClientUi.handle(status, StatusManager.LOG);
+				}
+				if (!control.isDisposed()) {
+					control.getDisplay().asyncExec(() -> {
+						if (!control.isDisposed()) {
+							updateViewer(queryText);
+							updateResourcePriorities();
+						}
+					});
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		loadMoreJob.setPriority(Job.INTERACTIVE);
+		loadMoreJob.setSystem(true);
+		loadMoreJob.schedule();
+	}
+
 	private String getTagQuery(String queryText) {
 		if (queryText != null && queryText.toLowerCase().startsWith(QUERY_TAG_KEYWORD)) {
 			String tag = queryText.substring(QUERY_TAG_KEYWORD.length()).trim();
@@ -979,6 +1175,7 @@ public class MarketplaceViewer extends CatalogViewer {
 
 		discoveryResources = new MarketplaceDiscoveryResources(container.getDisplay());
 		viewer.getControl().addDisposeListener(e -> discoveryResources.dispose());
+		addVisibleResourcesListener(viewer.getControl());
 
 		super.getResources().dispose();
 
@@ -990,6 +1187,145 @@ public class MarketplaceViewer extends CatalogViewer {
 		return viewer;
 	}
 
+	private void addVisibleResourcesListener(Control viewerControl) {
+		ScrolledComposite scrolledComposite = findScrolledComposite(viewerControl);
+		if (scrolledComposite == null) {
+			return;
+		}
+		ScrollBar verticalBar = scrolledComposite.getVerticalBar();
+		if (verticalBar != null) {
+			verticalBar.addSelectionListener(new SelectionAdapter() {
+				@Override
+				public void widgetSelected(SelectionEvent e) {
+					updateVisibleResources();
+				}
+			});
+		}
+		scrolledComposite.addControlListener(new ControlAdapter() {
+			@Override
+			public void controlResized(ControlEvent e) {
+				updateVisibleResources();
+			}
+		});
+	}
+
+	private static ScrolledComposite findScrolledComposite(Control control) {
+		if (control instanceof ScrolledComposite) {
+			return (ScrolledComposite) control;
+		}
+		if (control instanceof Composite) {
+			for (Control child : ((Composite) control).getChildren()) {
+				ScrolledComposite scrolledComposite = findScrolledComposite(child);
+				if (scrolledComposite != null) {
+					return scrolledComposite;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the scroll position of the catalog items, or null if the viewer isn't showing
+	 */
+	Point getScrollOrigin() {
+		Control control = getControl();
+		ScrolledComposite scrolledComposite = control == null || control.isDisposed() ? null
+				: findScrolledComposite(control);
+		return scrolledComposite == null ? null : scrolledComposite.getOrigin();
+	}
+
+	void setScrollOrigin(Point origin) {
+		Control control = getControl();
+		ScrolledComposite scrolledComposite = control == null || control.isDisposed() ? null
+				: findScrolledComposite(control);
+		if (scrolledComposite != null) {
+			scrolledComposite.setOrigin(origin);
+		}
+	}
+
+	private static ResourceProvider getResourceProvider() {
+		MarketplaceClientUiResources resources = MarketplaceClientUiResources.getInstance();
+		return resources == null ? null : resources.getResourceProvider();
+	}
+
+	/**
+	 * Cancel pending resource downloads that are not needed by the current catalog contents anymore and give priority
+	 * to those that are currently visible.
+	 */
+	private void updateResourcePriorities() {
+		ResourceProvider resourceProvider = getResourceProvider();
+		if (resourceProvider == null) {
+			return;
+		}
+		Set<String> retainedResources = new HashSet<>();
+		for (CatalogItem item : getCatalog().getItems()) {
+			addIconResources(item, retainedResources);
+			Overview overview = item.getOverview();
+			if (overview != null) {
+				addResource(overview.getScreenshot(), retainedResources);
+			}
+		}
+		resourceProvider.retainDeferredResources(retainedResources);
+
+		Control control = getControl();
+		if (control != null && !control.isDisposed()) {
+			//wait for the new items to be laid out
+			control.getDisplay().asyncExec(this::updateVisibleResources);
+		}
+	}
+
+	private void updateVisibleResources() {
+		ResourceProvider resourceProvider = getResourceProvider();
+		if (resourceProvider == null || getViewer() == null) {
+			return;
+		}
+		ScrolledComposite scrolledComposite = findScrolledComposite(getViewer().getControl());
+		if (scrolledComposite == null || scrolledComposite.isDisposed()
+				|| !(scrolledComposite.getContent() instanceof Composite)) {
+			return;
+		}
+		Rectangle clientArea = scrolledComposite.getClientArea();
+		Point origin = scrolledComposite.getOrigin();
+		Rectangle visibleArea = new Rectangle(origin.x, origin.y, clientArea.width, clientArea.height);
+
+		Set<String> visibleResources = new HashSet<>();
+		UserActionCatalogItem visibleLoadMoreItem = null;
+		Composite content = (Composite) scrolledComposite.getContent();
+		for (Control child : content.getChildren()) {
+			if (child instanceof ControlListItem<?> && !child.isDisposed() && child.isVisible()
+					&& child.getBounds().intersects(visibleArea)) {
+				Object data = ((ControlListItem<?>) child).getData();
+				if (data instanceof UserActionCatalogItem
+						&& ((UserActionCatalogItem) data).getUserAction() == UserAction.LOAD_MORE) {
+					visibleLoadMoreItem = (UserActionCatalogItem) data;
+				} else if (data instanceof CatalogItem) {
+					addIconResources((CatalogItem) data, visibleResources);
+				}
+			}
+		}
+		resourceProvider.setVisibleResources(visibleResources);
+		if (visibleLoadMoreItem != null) {
+			//user scrolled to the end of the loaded results
+			loadMore(visibleLoadMoreItem);
+		}
+	}
+
+	private static void addIconResources(CatalogItem item, Collection<String> resources) {
+		Icon icon = item.getIcon();
+		if (icon != null) {
+			addResource(icon.getImage32(), resources);
+			addResource(icon.getImage48(), resources);
+			addResource(icon.getImage64(), resources);
+			addResource(icon.getImage128(), resources);
+		}
+	}
+
+	private static void addResource(String resource, Collection<String> resources) {
+		if (resource != null && resource.length() > 0) {
+			resources.add(resource);
+		}
+	}
+
 	/**
 	 * not supported, instead usee {@link #modifySelection(CatalogItem, Operation)}
 	 */
@@ -1045,15 +1381,90 @@ public class MarketplaceViewer extends CatalogViewer {
 				}
 				catalogUpdated(wasCancelled, !wasCancelled);
 			}
-		} else {
+		} else if (!updateBootstrapCatalog()) {
 			super.updateCatalog();
 			if (getControl().isDisposed()) {
 				return;
 			}
+		} else if (getControl().isDisposed()) {
+			return;
 		}
 		refresh();
 	}
 
+	/**
+	 * Show the initial content the wizard has already started to discover in the background, waiting for it if
+	 * necessary.
+	 *
+	 * @return false if there is no such content and the catalog needs to be updated the regular way
+	 */
+	private boolean updateBootstrapCatalog() {
+		if (showRestoredCatalog()) {
+			return true;
+		}
+		IStatus status;
+		try {
+			status = getWizard().awaitBootstrapContent(context);
+			if (status == null) {
+				return false;
+			}
+		} catch (InvocationTargetException e) {
+			status = computeStatus(e, Messages.MarketplaceViewer_unexpectedException);
+		} catch (InterruptedException e) {
+			// cancelled by user so nothing to do here.
+			status = Status.CANCEL_STATUS;
+		}
+		boolean wasCancelled = status.getSeverity() == IStatus.CANCEL;
+		boolean wasError = !status.isOK() && !wasCancelled;
+		if (wasError) {
+			MarketplaceClientUi.handle(status, StatusManager.SHOW | StatusManager.BLOCK | StatusManager.LOG);
+		}
+		if (!getControl().isDisposed()) {
+			catalogUpdated(wasCancelled, wasError);
+		}
+		return true;
+	}
+
+	/**
+	 * Show the content a previous wizard has left behind right away, and update it once the initial content has been
+	 * revalidated in the background.
+	 *
+	 * @return false if there is no previous content to show
+	 */
+	private boolean showRestoredCatalog() {
+		WizardSessionCache.Session session = getWizard().takeRestoredSession();
+		if (session == null) {
+			return false;
+		}
+		catalogUpdated(false, false);
+		final Point scrollOrigin = session.getScrollOrigin();
+		final Display display = getControl().getDisplay();
+		if (scrollOrigin != null) {
+			// after the items have been laid out
+			display.asyncExec(() -> {
+				if (!getControl().isDisposed()) {
+					setScrollOrigin(scrollOrigin);
+				}
+			});
+		}
+		getWizard().getBootstrap().getPhase(Phase.CONTENT).whenComplete((result, ex) -> {
+			if (!display.isDisposed()) {
+				display.asyncExec(() -> {
+					// don't interfere if the user has already moved on
+					if (!getControl().isDisposed() && isShowingDefaultContent() && updateBootstrapCatalog()
+							&& !getControl().isDisposed()) {
+						Point origin = getScrollOrigin();
+						refresh();
+						if (origin != null) {
+							setScrollOrigin(origin);
+						}
+					}
+				});
+			}
+		});
+		return true;
+	}
+
 	@Override
 	protected IStatus computeStatus(InvocationTargetException e, String message) {
 		return MarketplaceClientCore.computeStatus(e, message);
@@ -1083,6 +1494,15 @@ public class MarketplaceViewer extends CatalogViewer {
 		return selectionModel;
 	}
 
+	/**
+	 * @return true if the viewer shows the unfiltered content of the search tab
+	 */
+	boolean isShowingDefaultContent() {
+		return getContentType() == ContentType.SEARCH
+				&& (queryData.queryText == null || queryData.queryText.length() == 0)
+				&& queryData.queryMarket == null && queryData.queryCategory == null;
+	}
+
 	/**
 	 * the text for the current query
 	 */
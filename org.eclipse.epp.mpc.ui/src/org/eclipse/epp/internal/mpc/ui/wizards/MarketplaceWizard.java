@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
@@ -57,6 +58,7 @@ import org.eclipse.epp.internal.mpc.ui.catalog.FavoritesCatalog;
 import org.eclipse.epp.internal.mpc.ui.catalog.FavoritesDiscoveryStrategy;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCatalog;
 import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceDiscoveryStrategy;
+import org.eclipse.epp.internal.mpc.ui.catalog.PreWarmCache;
 import org.eclipse.epp.internal.mpc.ui.commands.MarketplaceWizardCommand;
 import org.eclipse.epp.internal.mpc.ui.operations.AbstractProvisioningOperation;
 import org.eclipse.epp.internal.mpc.ui.operations.ProfileChangeOperationComputer;
@@ -64,6 +66,7 @@ import org.eclipse.epp.internal.mpc.ui.operations.ProfileChangeOperationComputer
 import org.eclipse.epp.internal.mpc.ui.wizards.MarketplaceViewer.ContentType;
 import org.eclipse.epp.internal.mpc.ui.wizards.SelectionModel.CatalogItemEntry;
 import org.eclipse.epp.internal.mpc.ui.wizards.SelectionModel.FeatureEntry;
+import org.eclipse.epp.internal.mpc.ui.wizards.WizardBootstrap.Phase;
 import org.eclipse.epp.mpc.core.model.ICategory;
 import org.eclipse.epp.mpc.core.model.IMarket;
 import org.eclipse.epp.mpc.core.model.INews;
@@ -88,6 +91,7 @@ import org.eclipse.equinox.p2.ui.ProvisioningUI;
 import org.eclipse.jface.dialogs.IDialogConstants;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.operation.IRunnableContext;
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.LabelProvider;
 import org.eclipse.jface.viewers.StructuredSelection;
@@ -126,7 +130,7 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 
 	private static final String IGNORED_UPDATES_PREFERENCE = "ignoredUpdates"; //$NON-NLS-1$
 
-	private static final String PREF_DEFAULT_CATALOG = CatalogDescriptor.class.getSimpleName();
+	static final String PREF_DEFAULT_CATALOG = CatalogDescriptor.class.getSimpleName();
 
 	private static final String DEBUG_NEWS_FLAG = MarketplaceClientUi.BUNDLE_ID + "/news/debug"; //$NON-NLS-1$
 
@@ -229,6 +233,18 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 
 	private boolean openFavoritesBannerShown;
 
+	private final SpeculativeResolver speculativeResolver = new SpeculativeResolver(this);
+
+	private WizardBootstrap bootstrap;
+
+	private CatalogDescriptor bootstrapDescriptor;
+
+	private MarketplaceDiscoveryStrategy bootstrapStrategy;
+
+	private final Set<Phase> takenBootstrapPhases = EnumSet.noneOf(Phase.class);
+
+	private WizardSessionCache.Session restoredSession;
+
 	public String getErrorMessage() {
 		return errorMessage;
 	}
@@ -250,6 +266,11 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 			public void selectionChanged() {
 				super.selectionChanged();
 				profileChangeOperation = null;
+				if (Display.getCurrent() != null) {
+					speculativeResolver.selectionChanged();
+				} else {
+					speculativeResolver.discard();
+				}
 			}
 		};
 	}
@@ -276,6 +297,7 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 	public void resetProfileChangeOperation() {
 		profileChangeOperation = null;
 		currentJREPlan = null;
+		speculativeResolver.selectionChanged();
 	}
 
 	void initializeInitialSelection() throws CoreException {
@@ -524,6 +546,7 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 	@Override
 	public void addPages() {
 		doDefaultCatalogSelection();
+		startBootstrap();
 		super.addPages();
 		featureSelectionWizardPage = new FeatureSelectionWizardPage();
 		addPage(featureSelectionWizardPage);
@@ -577,6 +600,10 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 
 	@Override
 	public void dispose() {
+		if (bootstrap != null) {
+			bootstrap.cancel();
+		}
+		speculativeResolver.discard();
 		removeAddedRepositoryLocations();
 		if (getConfiguration().getCatalogDescriptor() != null) {
 			// remember the catalog for next time.
@@ -588,12 +615,48 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 				// ignore
 			}
 		}
-		if (getCatalog() != null) {
+		if (getCatalog() != null && !retainCatalog()) {
 			getCatalog().dispose();
 		}
 		super.dispose();
 	}
 
+	/**
+	 * Keep the catalog for the next wizard if it shows the default content of the selected marketplace.
+	 *
+	 * @see WizardSessionCache
+	 */
+	private boolean retainCatalog() {
+		CatalogDescriptor catalogDescriptor = getConfiguration().getCatalogDescriptor();
+		MarketplacePage catalogPage = getCatalogPage();
+		if (catalogDescriptor == null || catalogPage == null || catalogPage.getViewer() == null) {
+			return false;
+		}
+		MarketplaceViewer viewer = catalogPage.getViewer();
+		if (!viewer.isShowingDefaultContent()) {
+			return false;
+		}
+		CompletableFuture<?> content = bootstrap == null ? null : bootstrap.getPhase(Phase.CONTENT);
+		if (content != null && !content.isDone()) {
+			// interrupted while still discovering
+			return false;
+		}
+		List<AbstractDiscoveryStrategy> discoveryStrategies = getCatalog().getDiscoveryStrategies();
+		for (AbstractDiscoveryStrategy strategy : discoveryStrategies) {
+			if (!(strategy instanceof MarketplaceDiscoveryStrategy)
+					|| !catalogDescriptor.equals(((MarketplaceDiscoveryStrategy) strategy).getCatalogDescriptor())) {
+				return false;
+			}
+		}
+		if (!WizardSessionCache.getInstance().retain(catalogDescriptor, getCatalog(), viewer.getScrollOrigin())) {
+			return false;
+		}
+		for (AbstractDiscoveryStrategy strategy : discoveryStrategies) {
+			((MarketplaceDiscoveryStrategy) strategy).suspend();
+		}
+		return true;
+	}
+
 	@Override
 	public boolean performFinish() {
 		if (profileChangeOperation != null
@@ -609,6 +672,8 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 					provisioningJob.addJobChangeListener(new ProvisioningJobListener(operationNewInstallItems));
 				}
 				ProvisioningUI.getDefaultUI().schedule(provisioningJob, StatusManager.SHOW | StatusManager.LOG);
+				// the installed solutions should keep their update sites
+				AbstractProvisioningOperation.keepRepositoryLocations(addedRepositoryLocations);
 				addedRepositoryLocations = null;
 				return true;
 			}
@@ -762,7 +827,7 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 	}
 
 	public void updateProfileChangeOperation() {
-		removeAddedRepositoryLocations();
+		Set<URI> previousRepositoryLocations = addedRepositoryLocations;
 		addedRepositoryLocations = null;
 		profileChangeOperation = null;
 		currentJREPlan = null;
@@ -770,59 +835,24 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 		IWizardContainer wizardContainer = getContainer();
 		if (getSelectionModel().computeProvisioningOperationViable()) {
 			ProfileChangeOperationComputer provisioningOperation = null;
+			Set<URI> keptRepositoryLocations = Collections.emptySet();
 			try {
 				final Map<CatalogItem, Operation> itemToOperation = getSelectionModel().getItemToSelectedOperation();
-				final Set<CatalogItem> selectedItems = getSelectionModel().getSelectedCatalogItems();
-				OperationType operationType = null;
-				for (Map.Entry<CatalogItem, Operation> entry : itemToOperation.entrySet()) {
-					if (!selectedItems.contains(entry.getKey())) {
-						continue;
-					}
-					OperationType entryOperationType = OperationType.map(entry.getValue());
-					if (entryOperationType != null) {
-						if (operationType == null || operationType == OperationType.UPDATE || entryOperationType == OperationType.CHANGE) {
-							operationType = entryOperationType;
-						}
-					}
-				}
-				Map<FeatureEntry, Operation> featureEntries = getSelectionModel().getFeatureEntryToOperation(false,
-						false);
-				if (operationType == OperationType.CHANGE || operationType == OperationType.UPDATE) {
-					Set<OperationType> featureOperations = EnumSet.noneOf(OperationType.class);
-					for (Entry<FeatureEntry, Operation> entry : featureEntries.entrySet()) {
-						OperationType operation = OperationType.map(entry.getValue());
-						if (operation != null) {
-							featureOperations.add(operation);
-						}
-					}
-					if (featureOperations.contains(OperationType.INSTALL)
-							&& featureOperations.contains(OperationType.UPDATE)) {
-						//just perform install instead, which covers update
-						featureOperations.remove(OperationType.UPDATE);
-					}
-					if (featureOperations.size() == 1) {
-						operationType = featureOperations.iterator().next();
-					}
-				}
-				URI dependenciesRepository = null;
-				if (getConfiguration().getCatalogDescriptor().getDependenciesRepository() != null) {
-					try {
-						dependenciesRepository = getConfiguration().getCatalogDescriptor()
-								.getDependenciesRepository()
-								.toURI();
-					} catch (URISyntaxException e) {
-						throw new InvocationTargetException(e);
-					}
+				provisioningOperation = createProfileChangeOperationComputer();
+				OperationType operationType = provisioningOperation.getOperationType();
+				ProfileChangeOperationComputer speculativeOperation = speculativeResolver
+						.take(provisioningOperation.computeResolutionKey());
+				if (speculativeOperation != null && joinSpeculativeResolution(wizardContainer)) {
+					// keep the sites the resolved operation relies on
+					provisioningOperation = speculativeOperation;
+					keptRepositoryLocations = removeRepositoryLocations(previousRepositoryLocations,
+							speculativeOperation.getRepositoryLocations());
+					previousRepositoryLocations = null;
+				} else {
+					removeRepositoryLocations(previousRepositoryLocations, null);
+					previousRepositoryLocations = null;
+					wizardContainer.run(true, true, provisioningOperation);
 				}
-				provisioningOperation = new ProfileChangeOperationComputer(
-						operationType,
-						selectedItems,
-						featureEntries.keySet(),
-						dependenciesRepository,
-						getConfiguration().getCatalogDescriptor().isInstallFromAllRepositories() ? ProfileChangeOperationComputer.ResolutionStrategy.FALLBACK_STRATEGY
-								: ProfileChangeOperationComputer.ResolutionStrategy.SELECTED_REPOSITORIES,
-								withRemediation);
-				wizardContainer.run(true, true, provisioningOperation);
 
 				profileChangeOperation = provisioningOperation.getOperation();
 				operationIUs = provisioningOperation.getIus();
@@ -891,10 +921,20 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 				MarketplaceClientUi.log(IStatus.CANCEL, MarketplaceClientUi.BUNDLE_ID,
 						Messages.MarketplaceWizard_ProvisioningOperationCancelled, e);
 			} finally {
+				removeRepositoryLocations(previousRepositoryLocations, null);
 				if (provisioningOperation != null) {
 					addedRepositoryLocations = provisioningOperation.getAddedRepositoryLocations();
 				}
+				if (!keptRepositoryLocations.isEmpty()) {
+					Set<URI> added = new HashSet<>(keptRepositoryLocations);
+					if (addedRepositoryLocations != null) {
+						added.addAll(addedRepositoryLocations);
+					}
+					addedRepositoryLocations = added;
+				}
 			}
+		} else {
+			removeRepositoryLocations(previousRepositoryLocations, null);
 		}
 		//re-get the container - in case the wizard was closed in the meantime, this will be null...
 		wizardContainer = getContainer();
@@ -908,6 +948,97 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 		addedRepositoryLocations = null;
 	}
 
+	/**
+	 * Remove the given repository locations from the repository tracker, except for those still in use.
+	 *
+	 * @return the locations that have been kept
+	 */
+	private static Set<URI> removeRepositoryLocations(Set<URI> repositoryLocations, Set<URI> inUse) {
+		if (repositoryLocations == null || repositoryLocations.isEmpty()) {
+			return Collections.emptySet();
+		}
+		Set<URI> remove = new HashSet<>(repositoryLocations);
+		Set<URI> keep = new HashSet<>();
+		if (inUse != null) {
+			for (URI location : repositoryLocations) {
+				if (inUse.contains(location)) {
+					remove.remove(location);
+					keep.add(location);
+				}
+			}
+		}
+		AbstractProvisioningOperation.removeRepositoryLocations(remove);
+		return keep;
+	}
+
+	private boolean joinSpeculativeResolution(IWizardContainer wizardContainer) throws InterruptedException {
+		boolean[] resolved = new boolean[1];
+		try {
+			wizardContainer.run(true, true, monitor -> resolved[0] = speculativeResolver.join(monitor));
+		} catch (InvocationTargetException e) {
+			MarketplaceClientUi.error(e.getCause());
+			return false;
+		}
+		return resolved[0];
+	}
+
+	/**
+	 * Set up the computation of the profile change operation for the current selection.
+	 */
+	ProfileChangeOperationComputer createProfileChangeOperationComputer() throws InvocationTargetException {
+		final Map<CatalogItem, Operation> itemToOperation = getSelectionModel().getItemToSelectedOperation();
+		final Set<CatalogItem> selectedItems = getSelectionModel().getSelectedCatalogItems();
+		OperationType operationType = null;
+		for (Map.Entry<CatalogItem, Operation> entry : itemToOperation.entrySet()) {
+			if (!selectedItems.contains(entry.getKey())) {
+				continue;
+			}
+			OperationType entryOperationType = OperationType.map(entry.getValue());
+			if (entryOperationType != null) {
+				if (operationType == null || operationType == OperationType.UPDATE || entryOperationType == OperationType.CHANGE) {
+					operationType = entryOperationType;
+				}
+			}
+		}
+		Map<FeatureEntry, Operation> featureEntries = getSelectionModel().getFeatureEntryToOperation(false,
+				false);
+		if (operationType == OperationType.CHANGE || operationType == OperationType.UPDATE) {
+			Set<OperationType> featureOperations = EnumSet.noneOf(OperationType.class);
+			for (Entry<FeatureEntry, Operation> entry : featureEntries.entrySet()) {
+				OperationType operation = OperationType.map(entry.getValue());
+				if (operation != null) {
+					featureOperations.add(operation);
+				}
+			}
+			if (featureOperations.contains(OperationType.INSTALL)
+					&& featureOperations.contains(OperationType.UPDATE)) {
+				//just perform install instead, which covers update
+				featureOperations.remove(OperationType.UPDATE);
+			}
+			if (featureOperations.size() == 1) {
+				operationType = featureOperations.iterator().next();
+			}
+		}
+		URI dependenciesRepository = null;
+		if (getConfiguration().getCatalogDescriptor().getDependenciesRepository() != null) {
+			try {
+				dependenciesRepository = getConfiguration().getCatalogDescriptor()
+						.getDependenciesRepository()
+						.toURI();
+			} catch (URISyntaxException e) {
+				throw new InvocationTargetException(e);
+			}
+		}
+		return new ProfileChangeOperationComputer(
+				operationType,
+				selectedItems,
+				featureEntries.keySet(),
+				dependenciesRepository,
+				getConfiguration().getCatalogDescriptor().isInstallFromAllRepositories() ? ProfileChangeOperationComputer.ResolutionStrategy.FALLBACK_STRATEGY
+						: ProfileChangeOperationComputer.ResolutionStrategy.SELECTED_REPOSITORIES,
+						withRemediation);
+	}
+
 	private Set<CatalogItem> computeNewInstallCatalogItems() {
 		Set<CatalogItem> items = new HashSet<>();
 		Map<CatalogItem, Collection<String>> iusByCatalogItem = new HashMap<>();
@@ -937,6 +1068,17 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 		final MarketplaceCatalog catalog = getCatalog();
 		synchronized (catalog) {
 			List<AbstractDiscoveryStrategy> discoveryStrategies = catalog.getDiscoveryStrategies();
+			if (bootstrapStrategy != null) {
+				MarketplaceDiscoveryStrategy strategy = bootstrapStrategy;
+				bootstrapStrategy = null;
+				if (bootstrapDescriptor.equals(getConfiguration().getCatalogDescriptor())
+						&& discoveryStrategies.size() == 1 && discoveryStrategies.get(0) == strategy) {
+					// keep the strategy the bootstrap is already discovering with
+					return;
+				}
+				// the user has moved on to another catalog
+				bootstrap.cancel();
+			}
 			for (AbstractDiscoveryStrategy strategy : discoveryStrategies) {
 				strategy.dispose();
 			}
@@ -951,8 +1093,125 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 		}
 	}
 
-	protected void updateNews() {
+	/**
+	 * Start the background requests for the selected catalog, so they are already running while the wizard is still
+	 * being set up.
+	 */
+	private void startBootstrap() {
+		CatalogDescriptor catalogDescriptor = getConfiguration().getCatalogDescriptor();
+		if (bootstrap == null || catalogDescriptor == null) {
+			return;
+		}
+		MarketplaceDiscoveryStrategy restoredStrategy = getRestoredStrategy(catalogDescriptor);
+		if (restoredStrategy != null) {
+			restoredStrategy.setShellProvider(this);
+		} else {
+			restoredSession = null;
+			initializeCatalog();
+		}
+		final MarketplaceDiscoveryStrategy strategy = (MarketplaceDiscoveryStrategy) getCatalog()
+				.getDiscoveryStrategies().get(0);
+		bootstrapDescriptor = catalogDescriptor;
+		bootstrapStrategy = strategy;
+
+		final PreWarmCache preWarmCache = PreWarmCache.getInstance();
+		final String marketplaceUrl = catalogDescriptor.getUrl().toExternalForm();
+		bootstrap.start(Phase.NEWS, monitor -> {
+			INews news = preWarmCache.getNews(marketplaceUrl);
+			return news != null ? news : strategy.performNewsDiscovery(monitor);
+		});
+		CompletableFuture<List<? extends IMarket>> markets = bootstrap.start(Phase.MARKETS, monitor -> {
+			List<? extends IMarket> result = preWarmCache.getMarkets(marketplaceUrl);
+			if (result == null) {
+				result = strategy.getMarketplaceService().listMarkets(monitor);
+			}
+			strategy.setPrefetchedMarkets(result);
+			return result;
+		});
+		if (!wantInitializeInitialSelection()) {
+			// the initial selection brings its own content
+			bootstrap.start(Phase.CONTENT, getCatalog()::performDiscovery, markets);
+		} else {
+			restoredSession = null;
+		}
+	}
+
+	private MarketplaceDiscoveryStrategy getRestoredStrategy(CatalogDescriptor catalogDescriptor) {
+		if (restoredSession == null || restoredSession.getCatalog() != getCatalog()
+				|| !catalogDescriptor.equals(restoredSession.getCatalogDescriptor())) {
+			return null;
+		}
+		List<AbstractDiscoveryStrategy> discoveryStrategies = getCatalog().getDiscoveryStrategies();
+		if (discoveryStrategies.size() != 1 || !(discoveryStrategies.get(0) instanceof MarketplaceDiscoveryStrategy)) {
+			return null;
+		}
+		MarketplaceDiscoveryStrategy strategy = (MarketplaceDiscoveryStrategy) discoveryStrategies.get(0);
+		return catalogDescriptor.equals(strategy.getCatalogDescriptor()) ? strategy : null;
+	}
+
+	/**
+	 * Set the session of a previous wizard whose catalog this wizard has been created with. The previous content is
+	 * shown right away while the bootstrap revalidates it.
+	 */
+	public void setRestoredSession(WizardSessionCache.Session restoredSession) {
+		this.restoredSession = restoredSession;
+	}
+
+	/**
+	 * Take the restored session if its content can be shown while the initial content is still being discovered.
+	 *
+	 * @return the restored session, or null if there is none or the initial content is already available
+	 */
+	WizardSessionCache.Session takeRestoredSession() {
+		WizardSessionCache.Session session = restoredSession;
+		restoredSession = null;
+		if (session == null || bootstrap == null || bootstrap.getPhase(Phase.CONTENT) == null
+				|| bootstrap.getPhase(Phase.CONTENT).isDone()
+				|| !session.getCatalogDescriptor().equals(getConfiguration().getCatalogDescriptor())) {
+			return null;
+		}
+		return session;
+	}
+
+	/**
+	 * Take the given bootstrap phase if it has been started for the selected catalog and hasn't been taken before.
+	 */
+	private boolean takeBootstrapPhase(Phase phase) {
+		if (bootstrap == null || bootstrap.isCancelled() || bootstrap.getPhase(phase) == null) {
+			return false;
+		}
 		CatalogDescriptor catalogDescriptor = getConfiguration().getCatalogDescriptor();
+		return catalogDescriptor != null && catalogDescriptor.equals(bootstrapDescriptor)
+				&& takenBootstrapPhases.add(phase);
+	}
+
+	/**
+	 * Get the initial catalog content discovered in the background, waiting for it in the given context if necessary.
+	 *
+	 * @return the discovery result, or null if no initial content has been discovered for the selected catalog
+	 */
+	IStatus awaitBootstrapContent(IRunnableContext context) throws InvocationTargetException,
+	InterruptedException {
+		if (!takeBootstrapPhase(Phase.CONTENT)) {
+			return null;
+		}
+		return bootstrap.await(Phase.CONTENT, context);
+	}
+
+	public WizardBootstrap getBootstrap() {
+		return bootstrap;
+	}
+
+	/**
+	 * Set the bootstrap to run the wizard's initial requests with. The wizard takes ownership of the bootstrap and
+	 * disposes it along with itself.
+	 */
+	public void setBootstrap(WizardBootstrap bootstrap) {
+		this.bootstrap = bootstrap;
+	}
+
+	protected void updateNews() {
+		final CatalogDescriptor catalogDescriptor = getConfiguration().getCatalogDescriptor();
 		INews news = null;
 		if (Boolean.parseBoolean(Platform.getDebugOption(DEBUG_NEWS_FLAG))) {
 			// use debug override values
@@ -970,7 +1229,20 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 				debugNews.setTimestamp(System.currentTimeMillis());
 			}
 		}
-		if (news == null) {
+		if (news == null && takeBootstrapPhase(Phase.NEWS)) {
+			CompletableFuture<INews> bootstrapNews = bootstrap.getPhase(Phase.NEWS);
+			if (!bootstrapNews.isDone()) {
+				// don't hold up the first page for the news, update the news tab once they arrive
+				final Display display = Display.getCurrent();
+				bootstrapNews.whenComplete((result, ex) -> {
+					if (!display.isDisposed()) {
+						display.asyncExec(() -> updateBootstrapNews(catalogDescriptor));
+					}
+				});
+			} else {
+				news = getBootstrapNews();
+			}
+		} else if (news == null) {
 			// try requesting news from marketplace
 			try {
 				final INews[] result = new INews[1];
@@ -999,6 +1271,35 @@ public class MarketplaceWizard extends DiscoveryWizard implements InstallProfile
 		CatalogRegistry.getInstance().addCatalogNews(catalogDescriptor, news);
 	}
 
+	private void updateBootstrapNews(CatalogDescriptor catalogDescriptor) {
+		if (getShell() == null || getShell().isDisposed()) {
+			return;
+		}
+		INews news = getBootstrapNews();
+		if (news != null) {
+			CatalogRegistry.getInstance().addCatalogNews(catalogDescriptor, news);
+			if (catalogDescriptor.equals(getConfiguration().getCatalogDescriptor())) {
+				getCatalogPage().newsUpdated();
+			}
+		}
+	}
+
+	private INews getBootstrapNews() {
+		try {
+			INews news = bootstrap.await(Phase.NEWS, getContainer());
+			if (news != null) {
+				getCatalog().setNews(news);
+			}
+			return news;
+		} catch (InvocationTargetException e) {
+			final IStatus status = MarketplaceClientCore.computeStatus(e, Messages.MarketplaceViewer_unexpectedException);
+			MarketplaceClientUi.handle(status, StatusManager.LOG);
+		} catch (InterruptedException e) {
+			// cancelled
+		}
+		return null;
+	}
+
 	protected boolean handleInstallRequest(final SolutionInstallationInfo installInfo, String url) {
 		final String installId = installInfo.getInstallId();
 		if (installId == null) {
@@ -77,8 +77,14 @@ class Messages extends NLS {
 
 	public static String DiscoveryItem_UnnamedSolution;
 
+	public static String FavoritesSyncJob_failed;
+
+	public static String FavoritesSyncJob_name;
+
 	public static String FavoritesViewer_DeselectAll;
 
+	public static String FavoritesViewer_LoadMoreJobName;
+
 	public static String FavoritesViewer_searchInputDescription;
 
 	public static String FavoritesViewer_searchLabel;
@@ -167,6 +173,14 @@ class Messages extends NLS {
 
 	public static String ItemButtonController_updatePending;
 
+	public static String LoadMoreActionItem_description;
+
+	public static String LoadMoreActionItem_loadMoreActionLabel;
+
+	public static String LoadMoreActionItem_loadMoreTooltip;
+
+	public static String LoadMoreActionItem_title;
+
 	public static String MarketplaceBrowserIntegration_cannotOpenMarketplaceWizard;
 
 	public static String MarketplaceCatalogConfiguration_invalidStateObject;
@@ -226,8 +240,16 @@ class Messages extends NLS {
 
 	public static String MarketplaceViewer_go;
 
+	public static String MarketplaceViewer_LoadMoreJobName;
+
 	public static String MarketplaceViewer_PopularBannerTitle;
 
+	public static String MarketplaceViewer_searchAllCatalogs;
+
+	public static String MarketplaceViewer_searchAllCatalogsTooltip;
+
+	public static String MarketplaceViewer_TypeAheadSearchJobName;
+
 	public static String MarketplaceViewer_unexpectedException;
 
 	public static String MarketplaceWizard_cannotOpenUrl;
@@ -282,6 +304,8 @@ class Messages extends NLS {
 
 	public static String OverviewToolTip_openUrlInBrowser;
 
+	public static String PreWarmer_name;
+
 	public static String ProvisioningJobListener_notificationTaskName;
 
 	public static String RatingTooltip_Continue;
@@ -344,6 +368,8 @@ class Messages extends NLS {
 
 	public static String ShareSolutionLink_Twitter;
 
+	public static String SpeculativeResolver_name;
+
 	public static String UserFavoritesAbstractImportActionItem_importFavoritesActionLabel;
 
 	public static String UserFavoritesAbstractImportActionItem_importFavoritesTooltip;
@@ -382,6 +408,8 @@ class Messages extends NLS {
 	public static String UserFavoritesUnsupportedActionItem_Subline;
 
 	public static String UserFavoritesUnsupportedActionItem_unsupportedFavoritesLabel;
+
+	public static String WizardBootstrap_waiting;
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
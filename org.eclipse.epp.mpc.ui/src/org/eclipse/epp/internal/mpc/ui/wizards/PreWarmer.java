@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.wizards;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.ui.CatalogRegistry;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientDebug;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUi;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientUiResources;
+import org.eclipse.epp.internal.mpc.ui.catalog.PreWarmCache;
+import org.eclipse.epp.mpc.core.model.ICatalog;
+import org.eclipse.epp.mpc.core.model.IMarket;
+import org.eclipse.epp.mpc.core.model.INews;
+import org.eclipse.epp.mpc.core.service.IMarketplaceService;
+import org.eclipse.epp.mpc.core.service.IMarketplaceServiceLocator;
+import org.eclipse.epp.mpc.core.service.ServiceHelper;
+import org.eclipse.epp.mpc.ui.CatalogDescriptor;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.ui.IStartup;
+
+/**
+ * Warms up the marketplace client while the IDE is idle, so opening the wizard for the first time is as fast as
+ * opening it again. Pre-warming looks up the marketplace services, which sets up the transport and opens pooled
+ * connections to the marketplace, and stores the catalogs and the markets and news of the marketplace the wizard will
+ * open with in the {@link PreWarmCache}. It is refreshed while the cached results are still valid.
+ * <p>
+ * Pre-warming is opt-in with the {@value #ENABLEMENT_PROPERTY} preference. It runs at low priority and is postponed
+ * while the IDE is busy or the system is under load. Failed attempts, e.g. while offline, are retried with increasing
+ * intervals.
+ *
+ * @author agent
+ */
+public class PreWarmer implements IStartup, IPropertyChangeListener {
+
+	public static final String ENABLEMENT_PROPERTY = "org.eclipse.epp.mpc.prewarm"; //$NON-NLS-1$
+
+	static final long STARTUP_DELAY = 2 * 60 * 1000;
+
+	static final long BUSY_DELAY = 5 * 60 * 1000;
+
+	static final long REFRESH_INTERVAL = 50 * 60 * 1000;
+
+	static final long MAX_RETRY_INTERVAL = 24 * 60 * 60 * 1000;
+
+	private PreWarmJob job;
+
+	private class PreWarmJob extends Job {
+
+		private volatile boolean stopped;
+
+		private long retryInterval = BUSY_DELAY;
+
+		public PreWarmJob() {
+			super(Messages.PreWarmer_name);
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == PreWarmer.this;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (stopped) {
+				return Status.CANCEL_STATUS;
+			}
+			if (MarketplaceClientUi.isWorkbenchBusy() || isSystemLoaded()) {
+				trace("IDE busy, postponing pre-warm"); //$NON-NLS-1$
+				reschedule(BUSY_DELAY);
+				return Status.OK_STATUS;
+			}
+			long start = System.currentTimeMillis();
+			IStatus status = preWarm(PreWarmCache.getInstance(), monitor);
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			if (status.getSeverity() >= IStatus.ERROR) {
+				// most likely offline - don't keep trying all the time
+				retryInterval = Math.min(2 * retryInterval, MAX_RETRY_INTERVAL);
+				trace("Pre-warm failed, retrying in {0} minutes: {1}", retryInterval / (60 * 1000), status); //$NON-NLS-1$
+				reschedule(retryInterval);
+			} else {
+				retryInterval = BUSY_DELAY;
+				trace("Pre-warm finished in {0} ms", System.currentTimeMillis() - start); //$NON-NLS-1$
+				reschedule(REFRESH_INTERVAL);
+			}
+			return Status.OK_STATUS;
+		}
+
+		private void reschedule(long delay) {
+			if (!stopped) {
+				schedule(delay);
+			}
+		}
+	}
+
+	@Override
+	public void earlyStartup() {
+		IPreferenceStore preferenceStore = MarketplaceClientUiResources.getInstance().getPreferenceStore();
+		preferenceStore.addPropertyChangeListener(this);
+		if (preferenceStore.getBoolean(ENABLEMENT_PROPERTY)) {
+			start(STARTUP_DELAY);
+		}
+	}
+
+	@Override
+	public void propertyChange(PropertyChangeEvent event) {
+		if (ENABLEMENT_PROPERTY.equals(event.getProperty())) {
+			boolean enabled;
+			if (event.getNewValue() instanceof String) {
+				enabled = Boolean.parseBoolean((String) event.getNewValue());
+			} else {
+				enabled = Boolean.TRUE.equals(event.getNewValue());
+			}
+			if (enabled) {
+				start(STARTUP_DELAY);
+			} else {
+				stop();
+			}
+		}
+	}
+
+	private synchronized void start(long delay) {
+		if (job == null) {
+			job = new PreWarmJob();
+			job.schedule(delay);
+		}
+	}
+
+	private synchronized void stop() {
+		if (job != null) {
+			job.stopped = true;
+			job.cancel();
+			job = null;
+			PreWarmCache.getInstance().clear();
+		}
+	}
+
+	private static boolean isSystemLoaded() {
+		// -1 if not available on this platform
+		double loadAverage = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+		return loadAverage >= Runtime.getRuntime().availableProcessors();
+	}
+
+	static IStatus preWarm(PreWarmCache cache, IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.PreWarmer_name, 300);
+		try {
+			IMarketplaceServiceLocator serviceLocator = ServiceHelper.getMarketplaceServiceLocator();
+			if (serviceLocator == null) {
+				return Status.CANCEL_STATUS;
+			}
+			List<? extends ICatalog> catalogs = serviceLocator.getCatalogService().listCatalogs(progress.newChild(100));
+			cache.putCatalogs(catalogs);
+
+			String marketplaceUrl = findDefaultMarketplaceUrl(catalogs);
+			if (marketplaceUrl == null) {
+				return Status.OK_STATUS;
+			}
+			IMarketplaceService marketplaceService = serviceLocator.getMarketplaceService(marketplaceUrl);
+			List<? extends IMarket> markets = marketplaceService.listMarkets(progress.newChild(100));
+			INews news = null;
+			try {
+				news = marketplaceService.news(progress.newChild(100));
+			} catch (CoreException ex) {
+				// the wizard can do without news
+				trace("Failed to pre-warm news of {0}: {1}", marketplaceUrl, ex.getStatus()); //$NON-NLS-1$
+			}
+			cache.putMarketplace(marketplaceUrl, markets, news);
+			return Status.OK_STATUS;
+		} catch (CoreException ex) {
+			return ex.getStatus();
+		} finally {
+			progress.done();
+		}
+	}
+
+	/**
+	 * Guess the marketplace the wizard is going to open with, just like the wizard does.
+	 */
+	private static String findDefaultMarketplaceUrl(List<? extends ICatalog> catalogs) {
+		String defaultCatalogUrl = MarketplaceClientUiResources.getInstance()
+				.getPreferenceStore()
+				.getString(MarketplaceWizard.PREF_DEFAULT_CATALOG);
+		if (defaultCatalogUrl != null && defaultCatalogUrl.length() > 0) {
+			return defaultCatalogUrl;
+		}
+		List<CatalogDescriptor> catalogDescriptors = CatalogRegistry.getInstance().getCatalogDescriptors();
+		if (!catalogDescriptors.isEmpty()) {
+			return catalogDescriptors.get(0).getUrl().toExternalForm();
+		}
+		return catalogs.isEmpty() ? null : catalogs.get(0).getUrl();
+	}
+
+	private static void trace(String message, Object... parameters) {
+		if (MarketplaceClientDebug.DEBUG) {
+			MarketplaceClientDebug.trace(MarketplaceClientDebug.STARTUP_DEBUG_OPTION, message, parameters);
+		}
+	}
+}
@@ -55,7 +55,7 @@ class ProvisioningJobListener extends JobChangeAdapter {
 
 				@Override
 				protected IStatus run(final IProgressMonitor monitor) {
-					ConcurrentTaskManager taskManager = new ConcurrentTaskManager(installItems.size(),
+					ConcurrentTaskManager taskManager = new ConcurrentTaskManager(
 							Messages.ProvisioningJobListener_notificationTaskName);
 					for (CatalogItem item : installItems) {
 						if (item instanceof MarketplaceNodeCatalogItem) {
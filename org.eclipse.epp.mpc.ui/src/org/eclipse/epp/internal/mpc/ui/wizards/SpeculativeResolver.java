@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.wizards;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.ui.operations.AbstractProvisioningOperation;
+import org.eclipse.epp.internal.mpc.ui.operations.ProfileChangeOperationComputer;
+
+/**
+ * Resolves the profile change operation for the current selection in the background while the user is still
+ * selecting, so the operation is usually ready by the time the user proceeds. Every change of the selection discards
+ * the previous resolution and starts over once the selection has settled for a moment.
+ * <p>
+ * Background resolution can be turned off by setting the system property {@value #ENABLED_PROPERTY} to false.
+ *
+ * @author agent
+ */
+public class SpeculativeResolver {
+
+	/**
+	 * Sets up the computation of the profile change operation for the current selection
+	 */
+	@FunctionalInterface
+	public interface ComputerFactory {
+		ProfileChangeOperationComputer create() throws InvocationTargetException;
+	}
+
+	static final String ENABLED_PROPERTY = "marketplace.speculativeResolution.enabled"; //$NON-NLS-1$
+
+	static final long DELAY = 1000;
+
+	private static final long POLL_INTERVAL = 100;
+
+	private final class ResolveJob extends Job {
+
+		private final ProfileChangeOperationComputer computer;
+
+		private final Object key;
+
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		private boolean resolved;
+
+		private boolean adopted;
+
+		private ResolveJob(ProfileChangeOperationComputer computer, Object key) {
+			super(Messages.SpeculativeResolver_name);
+			this.computer = computer;
+			this.key = key;
+			computer.setInteractive(false);
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				boolean success = resolve(monitor);
+				synchronized (SpeculativeResolver.this) {
+					resolved = success;
+					if (success && (current == this || adopted)) {
+						return Status.OK_STATUS;
+					}
+				}
+				// nobody is interested in the result anymore
+				discardRepositories();
+				return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+			} finally {
+				done.countDown();
+			}
+		}
+
+		private boolean resolve(IProgressMonitor monitor) {
+			try {
+				computer.run(monitor);
+			} catch (InterruptedException e) {
+				return false;
+			} catch (InvocationTargetException e) {
+				// any problems are reported when the operation is computed for real
+				return false;
+			}
+			// the profile might have changed while we were resolving
+			return !monitor.isCanceled() && computer.getOperation() != null
+					&& key.equals(computer.computeResolutionKey());
+		}
+
+		private void discardRepositories() {
+			AbstractProvisioningOperation.removeRepositoryLocations(computer.getAddedRepositoryLocations());
+		}
+	}
+
+	private final BooleanSupplier viable;
+
+	private final ComputerFactory computers;
+
+	private final long delay;
+
+	private final boolean enabled;
+
+	private ResolveJob current;
+
+	private ResolveJob adopted;
+
+	SpeculativeResolver(MarketplaceWizard wizard) {
+		this(() -> wizard.getSelectionModel().computeProvisioningOperationViable(),
+				wizard::createProfileChangeOperationComputer, DELAY);
+	}
+
+	/**
+	 * @param viable
+	 *            tells if the current selection can be resolved at all
+	 * @param computers
+	 *            creates the computer for the current selection
+	 * @param delay
+	 *            the time in milliseconds the selection has to settle before it is resolved
+	 */
+	public SpeculativeResolver(BooleanSupplier viable, ComputerFactory computers, long delay) {
+		this.viable = viable;
+		this.computers = computers;
+		this.delay = delay;
+		this.enabled = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, Boolean.TRUE.toString()));
+	}
+
+	/**
+	 * Discard the current resolution and start resolving the new selection after a short delay. Must be called on the
+	 * UI thread.
+	 */
+	public void selectionChanged() {
+		discard();
+		if (!enabled || !viable.getAsBoolean()) {
+			return;
+		}
+		ProfileChangeOperationComputer computer;
+		try {
+			computer = computers.create();
+		} catch (InvocationTargetException e) {
+			// reported when the operation is computed for real
+			return;
+		}
+		ResolveJob job = new ResolveJob(computer, computer.computeResolutionKey());
+		synchronized (this) {
+			current = job;
+		}
+		job.schedule(delay);
+	}
+
+	/**
+	 * Take over the resolution for the given key. The caller becomes responsible for the repositories added by the
+	 * returned computer. If the resolution is still running, wait for it using {@link #join(IProgressMonitor)}.
+	 *
+	 * @return the computer of a matching resolution or null if there is none, in which case any other resolution is
+	 *         discarded
+	 */
+	public ProfileChangeOperationComputer take(Object key) {
+		synchronized (this) {
+			adopted = null;
+			ResolveJob job = current;
+			if (job != null && job.key.equals(key)) {
+				current = null;
+				job.adopted = true;
+				adopted = job;
+				if (job.getState() == Job.SLEEPING) {
+					// no need to wait any longer
+					job.wakeUp();
+				}
+				return job.computer;
+			}
+		}
+		discard();
+		return null;
+	}
+
+	/**
+	 * Wait for the resolution last returned by {@link #take(Object)} to finish.
+	 *
+	 * @return true if the operation has been resolved, false if the resolution failed and has to be repeated
+	 * @throws InterruptedException
+	 *             if the given monitor has been canceled
+	 */
+	public boolean join(IProgressMonitor monitor) throws InterruptedException {
+		ResolveJob job;
+		synchronized (this) {
+			job = adopted;
+			adopted = null;
+		}
+		if (job == null) {
+			return false;
+		}
+		monitor.beginTask(Messages.SpeculativeResolver_name, IProgressMonitor.UNKNOWN);
+		try {
+			while (!job.done.await(POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+				if (monitor.isCanceled()) {
+					job.cancel();
+					throw new InterruptedException();
+				}
+			}
+			synchronized (this) {
+				return job.resolved;
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * Discard the current resolution, removing any repositories it added.
+	 */
+	public void discard() {
+		ResolveJob job;
+		synchronized (this) {
+			job = current;
+			current = null;
+			if (job == null) {
+				return;
+			}
+			if (!job.resolved) {
+				// the job cleans up after itself when it's done
+				job.cancel();
+				return;
+			}
+		}
+		job.discardRepositories();
+	}
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.wizards;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientDebug;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Runs searches for text typed into the find field in the background. Input is debounced, so a search only starts
+ * once typing pauses. Starting a new search cancels a running one, including its pending download and parsing, and
+ * only the result of the latest search is applied.
+ * <p>
+ * Keeps track of how many searches were skipped by debouncing, cancelled while in flight or actually applied, which
+ * is traced with the {@link MarketplaceClientDebug#SEARCH_DEBUG_OPTION search debug option}.
+ *
+ * @author agent
+ */
+public class TypeAheadSearch {
+
+	public static final long DEBOUNCE_DELAY = 400;
+
+	public interface Query {
+		IStatus run(IProgressMonitor monitor);
+	}
+
+	private final Display display;
+
+	private Job currentJob;
+
+	private int debouncedCount;
+
+	private int supersededCount;
+
+	private int appliedCount;
+
+	public TypeAheadSearch(Display display) {
+		this.display = display;
+	}
+
+	/**
+	 * Start a search once typing pauses, replacing any previously scheduled or running one.
+	 *
+	 * @param startSearch
+	 *            starts the search, usually by {@link #run(String, Query, Runnable) running} it, called in the UI
+	 *            thread
+	 */
+	public synchronized void schedule(Runnable startSearch) {
+		cancel();
+		currentJob = new DebounceJob(startSearch);
+		currentJob.schedule(DEBOUNCE_DELAY);
+	}
+
+	/**
+	 * Run a search in the background right away, replacing any previously scheduled or running one.
+	 *
+	 * @param queryText
+	 *            the searched text, for tracing
+	 * @param query
+	 *            the search, run in the background
+	 * @param applyResult
+	 *            applies the result of a successful search, run in the UI thread
+	 */
+	public synchronized void run(String queryText, Query query, Runnable applyResult) {
+		cancel();
+		currentJob = new SearchJob(queryText, query, applyResult);
+		currentJob.schedule();
+	}
+
+	/**
+	 * Cancel the current search, e.g. because an explicit query replaces it.
+	 */
+	public synchronized void cancel() {
+		if (currentJob != null) {
+			if (currentJob instanceof DebounceJob && !((DebounceJob) currentJob).started) {
+				debouncedCount++;
+			} else if (currentJob instanceof SearchJob) {
+				supersededCount++;
+			}
+			currentJob.cancel();
+			currentJob = null;
+		}
+	}
+
+	/**
+	 * @return the number of searches that were replaced before typing paused
+	 */
+	public synchronized int getDebouncedCount() {
+		return debouncedCount;
+	}
+
+	/**
+	 * @return the number of searches that were cancelled after they had been started
+	 */
+	public synchronized int getSupersededCount() {
+		return supersededCount;
+	}
+
+	/**
+	 * @return the number of searches whose result has been applied
+	 */
+	public synchronized int getAppliedCount() {
+		return appliedCount;
+	}
+
+	private synchronized boolean isCurrent(Job job) {
+		return job == currentJob;
+	}
+
+	private synchronized void done(SearchJob job, boolean applied) {
+		if (applied) {
+			appliedCount++;
+		}
+		if (job == currentJob) {
+			currentJob = null;
+		}
+		MarketplaceClientDebug.trace(MarketplaceClientDebug.SEARCH_DEBUG_OPTION,
+				"Search for ''{0}'' {1}. Applied: {2}, cancelled in flight: {3}, skipped by debouncing: {4}", //$NON-NLS-1$
+				job.queryText, applied ? "applied" : "discarded", appliedCount, supersededCount, debouncedCount); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private class DebounceJob extends Job {
+
+		private final Runnable startSearch;
+
+		private volatile boolean started;
+
+		public DebounceJob(Runnable startSearch) {
+			super(Messages.MarketplaceViewer_TypeAheadSearchJobName);
+			this.startSearch = startSearch;
+			setPriority(INTERACTIVE);
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (monitor.isCanceled() || !isCurrent(this)) {
+				return Status.CANCEL_STATUS;
+			}
+			display.asyncExec(() -> {
+				if (isCurrent(this) && !display.isDisposed()) {
+					started = true;
+					startSearch.run();
+				}
+			});
+			return Status.OK_STATUS;
+		}
+	}
+
+	private class SearchJob extends Job {
+
+		private final String queryText;
+
+		private final Query query;
+
+		private final Runnable applyResult;
+
+		public SearchJob(String queryText, Query query, Runnable applyResult) {
+			super(Messages.MarketplaceViewer_TypeAheadSearchJobName);
+			this.queryText = queryText;
+			this.query = query;
+			this.applyResult = applyResult;
+			setPriority(INTERACTIVE);
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			IStatus status = query.run(monitor);
+			if (monitor.isCanceled() || status.getSeverity() == IStatus.CANCEL || !isCurrent(this)) {
+				done(this, false);
+				return Status.CANCEL_STATUS;
+			}
+			display.asyncExec(() -> {
+				boolean current = isCurrent(this);
+				if (current && !display.isDisposed()) {
+					applyResult.run();
+				}
+				done(this, current);
+			});
+			return Status.OK_STATUS;
+		}
+	}
+}
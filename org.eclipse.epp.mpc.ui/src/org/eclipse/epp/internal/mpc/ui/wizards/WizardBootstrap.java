@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.wizards;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor;
+import org.eclipse.epp.internal.mpc.core.util.IOTaskExecutor.Priority;
+import org.eclipse.epp.internal.mpc.ui.MarketplaceClientDebug;
+import org.eclipse.jface.operation.IRunnableContext;
+
+/**
+ * Runs the remote requests needed to open the marketplace wizard concurrently instead of one blocking step after the
+ * other. Each {@link Phase phase} is started as soon as its inputs are known and all phases it depends on are complete.
+ * Consumers {@link #await(Phase, IRunnableContext) wait} only for the phase they actually need, so the first page can
+ * be shown as soon as its own data has arrived.
+ * <p>
+ * Phases are run by the shared {@link IOTaskExecutor}, with a priority depending on whether the wizard waits for them.
+ * <p>
+ * Start and end of every phase are traced relative to the start of the bootstrap with the
+ * {@value MarketplaceClientDebug#STARTUP_DEBUG_OPTION} debug option.
+ *
+ * @author agent
+ */
+public class WizardBootstrap {
+
+	public enum Phase {
+		/**
+		 * The list of remote catalogs
+		 */
+		CATALOGS,
+		/**
+		 * Catalog images and wizard icons, after {@link #CATALOGS}
+		 */
+		BRANDING,
+		/**
+		 * News of the selected catalog
+		 */
+		NEWS,
+		/**
+		 * Markets of the selected catalog
+		 */
+		MARKETS,
+		/**
+		 * Initial content of the selected catalog, after {@link #MARKETS}
+		 */
+		CONTENT
+	}
+
+	public static interface Task<T> {
+		T run(IProgressMonitor monitor) throws Exception;
+	}
+
+	private static final long POLL_INTERVAL = 100;
+
+	private final long startTime = System.currentTimeMillis();
+
+	private final IProgressMonitor monitor = new NullProgressMonitor();
+
+	private final Map<Phase, CompletableFuture<?>> phases = new EnumMap<>(Phase.class);
+
+	private final IOTaskExecutor executor;
+
+	public WizardBootstrap() {
+		this.executor = IOTaskExecutor.getDefault();
+	}
+
+	/**
+	 * Start the given phase once all given dependencies are complete, regardless of their outcome. The task can inspect
+	 * its dependencies to fall back to other means if one of them failed.
+	 *
+	 * @throws IllegalStateException
+	 *             if the phase has already been started
+	 */
+	public synchronized <T> CompletableFuture<T> start(final Phase phase, final Task<T> task,
+			CompletableFuture<?>... dependencies) {
+		if (phases.containsKey(phase)) {
+			throw new IllegalStateException(phase.name());
+		}
+		CompletableFuture<Void> ready = CompletableFuture.allOf(dependencies).handle((result, ex) -> null);
+		CompletableFuture<T> future = ready.thenApplyAsync(v -> run(phase, task),
+				command -> executor.execute(getPriority(phase), null, command));
+		phases.put(phase, future);
+		return future;
+	}
+
+	private <T> T run(Phase phase, Task<T> task) {
+		long phaseStart = System.currentTimeMillis();
+		trace("Phase {0} started after {1} ms", phase, phaseStart - startTime); //$NON-NLS-1$
+		boolean success = false;
+		try {
+			if (monitor.isCanceled()) {
+				throw new CoreException(Status.CANCEL_STATUS);
+			}
+			T result = task.run(monitor);
+			success = true;
+			return result;
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new CompletionException(e);
+		} finally {
+			long phaseEnd = System.currentTimeMillis();
+			trace("Phase {0} {1} after {2} ms, took {3} ms", phase, success ? "finished" : "failed", //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+					phaseEnd - startTime, phaseEnd - phaseStart);
+		}
+	}
+
+	/**
+	 * The wizard waits for the catalogs and the initial content, while news and branding can follow later.
+	 */
+	private static Priority getPriority(Phase phase) {
+		switch (phase) {
+		case BRANDING:
+		case NEWS:
+			return Priority.BACKGROUND;
+		default:
+			return Priority.INTERACTIVE;
+		}
+	}
+
+	/**
+	 * @return the given phase, or null if it hasn't been started
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T> CompletableFuture<T> getPhase(Phase phase) {
+		return (CompletableFuture<T>) phases.get(phase);
+	}
+
+	/**
+	 * Get the result of the given phase, waiting for it in the given context if it isn't available yet. Cancelling the
+	 * wait cancels the whole bootstrap.
+	 *
+	 * @throws InvocationTargetException
+	 *             if the phase failed
+	 * @throws InterruptedException
+	 *             if the phase or the wait was cancelled
+	 * @throws IllegalStateException
+	 *             if the phase hasn't been started
+	 */
+	public <T> T await(Phase phase, IRunnableContext context) throws InvocationTargetException,
+	InterruptedException {
+		final CompletableFuture<T> future = getPhase(phase);
+		if (future == null) {
+			throw new IllegalStateException(phase.name());
+		}
+		if (!future.isDone()) {
+			long waitStart = System.currentTimeMillis();
+			context.run(true, true, progress -> {
+				progress.beginTask(Messages.WizardBootstrap_waiting, IProgressMonitor.UNKNOWN);
+				try {
+					while (!future.isDone()) {
+						if (progress.isCanceled()) {
+							cancel();
+							throw new InterruptedException();
+						}
+						try {
+							future.get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+						} catch (TimeoutException | ExecutionException | CancellationException e) {
+							// check again
+						}
+					}
+				} finally {
+					progress.done();
+				}
+			});
+			trace("Waited {1} ms for phase {0}", phase, System.currentTimeMillis() - waitStart); //$NON-NLS-1$
+		}
+		try {
+			return future.get();
+		} catch (CancellationException e) {
+			throw new InterruptedException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CompletionException && cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+			if (cause instanceof CoreException && ((CoreException) cause).getStatus().getSeverity() == IStatus.CANCEL) {
+				throw new InterruptedException();
+			}
+			throw new InvocationTargetException(cause);
+		}
+	}
+
+	/**
+	 * Cancel all running phases and don't start any more.
+	 */
+	public void cancel() {
+		monitor.setCanceled(true);
+	}
+
+	public boolean isCancelled() {
+		return monitor.isCanceled();
+	}
+
+	private static void trace(String message, Object... parameters) {
+		if (MarketplaceClientDebug.DEBUG) {
+			MarketplaceClientDebug.trace(MarketplaceClientDebug.STARTUP_DEBUG_OPTION, message, parameters);
+		}
+	}
+}
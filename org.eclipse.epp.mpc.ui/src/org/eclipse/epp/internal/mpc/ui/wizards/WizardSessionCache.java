@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 The Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ * 	agent - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.epp.internal.mpc.ui.wizards;
+
+import java.lang.ref.SoftReference;
+import java.util.function.LongSupplier;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.epp.internal.mpc.ui.catalog.MarketplaceCatalog;
+import org.eclipse.epp.mpc.ui.CatalogDescriptor;
+import org.eclipse.swt.graphics.Point;
+
+/**
+ * Keeps the catalog of the last closed marketplace wizard, so a wizard reopened for the same marketplace can show the
+ * previous content right away while it is revalidated in the background.
+ * <p>
+ * Only one session is kept, and only if it is small enough. It is held softly, so the memory can be reclaimed whenever
+ * it's needed elsewhere, and it is disposed if the wizard hasn't been reopened for a while.
+ *
+ * @author agent
+ */
+public class WizardSessionCache {
+
+	static final long MAX_IDLE = 30 * 60 * 1000;
+
+	static final int MAX_ITEMS = 1000;
+
+	private static final WizardSessionCache instance = new WizardSessionCache(MAX_IDLE, MAX_ITEMS);
+
+	public static class Session {
+
+		private final CatalogDescriptor catalogDescriptor;
+
+		private final MarketplaceCatalog catalog;
+
+		private final Point scrollOrigin;
+
+		private final long timestamp;
+
+		private Session(CatalogDescriptor catalogDescriptor, MarketplaceCatalog catalog, Point scrollOrigin,
+				long timestamp) {
+			this.catalogDescriptor = catalogDescriptor;
+			this.catalog = catalog;
+			this.scrollOrigin = scrollOrigin;
+			this.timestamp = timestamp;
+		}
+
+		public CatalogDescriptor getCatalogDescriptor() {
+			return catalogDescriptor;
+		}
+
+		public MarketplaceCatalog getCatalog() {
+			return catalog;
+		}
+
+		/**
+		 * @return the scroll position of the catalog viewer when the wizard was closed, or null if unknown
+		 */
+		public Point getScrollOrigin() {
+			return scrollOrigin;
+		}
+	}
+
+	private final long maxIdle;
+
+	private final int maxItems;
+
+	private final LongSupplier clock;
+
+	private final Job evictJob = new Job(WizardSessionCache.class.getSimpleName()) {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			evictExpired();
+			return Status.OK_STATUS;
+		}
+	};
+
+	private SoftReference<Session> retained;
+
+	public WizardSessionCache(long maxIdle, int maxItems) {
+		this(maxIdle, maxItems, System::currentTimeMillis);
+	}
+
+	/**
+	 * @param clock
+	 *            the current time in milliseconds
+	 */
+	public WizardSessionCache(long maxIdle, int maxItems, LongSupplier clock) {
+		this.maxIdle = maxIdle;
+		this.maxItems = maxItems;
+		this.clock = clock;
+		evictJob.setSystem(true);
+	}
+
+	public static WizardSessionCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Keep the given catalog for the next wizard, replacing any previously retained session.
+	 *
+	 * @return true if the catalog has been retained, false if it is too big and should be disposed by the caller
+	 */
+	public synchronized boolean retain(CatalogDescriptor catalogDescriptor, MarketplaceCatalog catalog,
+			Point scrollOrigin) {
+		if (catalog.getItems().isEmpty() || catalog.getItems().size() > maxItems) {
+			return false;
+		}
+		Session previous = take();
+		if (previous != null && previous.catalog != catalog) {
+			previous.catalog.dispose();
+		}
+		retained = new SoftReference<>(new Session(catalogDescriptor, catalog, scrollOrigin, clock.getAsLong()));
+		//don't keep the catalog around until the next wizard if that takes too long
+		evictJob.cancel();
+		evictJob.schedule(maxIdle + 1);
+		return true;
+	}
+
+	/**
+	 * Take the retained session, so it can't be handed out twice.
+	 *
+	 * @return the last session, or null if there is none or it has expired
+	 */
+	public synchronized Session take() {
+		Session session = retained == null ? null : retained.get();
+		retained = null;
+		evictJob.cancel();
+		if (session != null && isExpired(session)) {
+			session.catalog.dispose();
+			return null;
+		}
+		return session;
+	}
+
+	/**
+	 * Dispose the retained session if it has expired. This is done automatically once a session has been retained for
+	 * longer than the maximum idle time.
+	 */
+	public synchronized void evictExpired() {
+		Session session = retained == null ? null : retained.get();
+		if (session != null && isExpired(session)) {
+			retained = null;
+			session.catalog.dispose();
+		}
+	}
+
+	/**
+	 * Dispose the retained session, e.g. when the bundle is stopped.
+	 */
+	public synchronized void clear() {
+		Session session = take();
+		if (session != null) {
+			session.catalog.dispose();
+		}
+	}
+
+	private boolean isExpired(Session session) {
+		return clock.getAsLong() - session.timestamp > maxIdle;
+	}
+}